@@ -0,0 +1,61 @@
+# Copyright (c) 2018, Oracle and/or its affiliates.
+#
+# All rights reserved.
+#
+# Redistribution and use in source and binary forms, with or without modification, are
+# permitted provided that the following conditions are met:
+#
+# 1. Redistributions of source code must retain the above copyright notice, this list of
+# conditions and the following disclaimer.
+# 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+# conditions and the following disclaimer in the documentation and/or other materials provided
+# with the distribution.
+#
+# THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+# OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+# MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+# COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+# EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+# GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+# AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+# NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+# OF THE POSSIBILITY OF SUCH DAMAGE.
+# helpers for the memory benchmarks, which are run by mx as separate processes
+import gc
+
+
+def _snapshot():
+    """
+    Returns the live bytes and, on graalpython, the histogram of all types and Java classes on the
+    heap. On other implementations, only the bytes allocated by Python are known.
+
+    The histogram is JVM-wide and counts shallow sizes: the total covers the whole heap, so its
+    difference is the retained size of the graph plus whatever else the VM allocated meanwhile,
+    while the row of a type only counts its Java object, not the storage behind it.
+    """
+    gc.collect()
+    if hasattr(gc, "_truffle_type_histogram"):
+        histogram = gc._truffle_type_histogram(True)
+        return sum(b for _, b in histogram.values()), histogram
+    import tracemalloc
+    if not tracemalloc.is_tracing():
+        tracemalloc.start()
+    return tracemalloc.get_traced_memory()[0], {}
+
+
+def measure(name, build, count):
+    """
+    Builds an object graph of count objects and prints the bytes it retains per object, and how
+    many instances and bytes of each type it added to the heap.
+    """
+    bytes_before, histogram_before = _snapshot()
+    graph = build()
+    bytes_after, histogram_after = _snapshot()
+
+    print("%s-bytes-per-object: %.2f" % (name, (bytes_after - bytes_before) / count))
+    for type_name in sorted(histogram_after):
+        instances, size = histogram_after[type_name]
+        instances_before, size_before = histogram_before.get(type_name, (0, 0))
+        if size - size_before > 0:
+            print("type %s: %d %d" % (type_name, instances - instances_before, size - size_before))
+    return graph
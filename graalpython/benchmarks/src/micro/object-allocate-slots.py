@@ -0,0 +1,65 @@
+# Copyright (c) 2017, 2018, Oracle and/or its affiliates.
+# Copyright (c) 2013, Regents of the University of California
+#
+# All rights reserved.
+#
+# Redistribution and use in source and binary forms, with or without modification, are
+# permitted provided that the following conditions are met:
+#
+# 1. Redistributions of source code must retain the above copyright notice, this list of
+# conditions and the following disclaimer.
+# 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+# conditions and the following disclaimer in the documentation and/or other materials provided
+# with the distribution.
+#
+# THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+# OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+# MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+# COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+# EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+# GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+# AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+# NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+# OF THE POSSIBILITY OF SUCH DAMAGE.
+# micro benchmark: allocation of objects with __slots__
+import time
+
+iteration = 50000  # 50000
+
+
+class Foo(object):
+    __slots__ = ("a",)
+
+    def __init__(self, a):
+        self.a = a
+
+
+def do_stuff():
+    num = 24
+    foo = Foo(0)
+    for i in range(iteration):
+        num += foo.a % 3
+        foo = Foo(num)
+    # foo.a = num # replace the line above with this line to remove allocation
+
+    return num
+
+
+def measure(num):
+    print("Start timing...")
+    start = time.time()
+
+    for i in range(num):
+        result = do_stuff()
+
+    print(result)
+    duration = "%.3f\n" % (time.time() - start)
+    print("object-allocate-slots: " + duration)
+
+
+# warm up
+print('warming up ...')
+for i in range(2000):
+    do_stuff()
+
+measure(5000)
@@ -0,0 +1,55 @@
+# Copyright (c) 2018, Oracle and/or its affiliates.
+#
+# All rights reserved.
+#
+# Redistribution and use in source and binary forms, with or without modification, are
+# permitted provided that the following conditions are met:
+#
+# 1. Redistributions of source code must retain the above copyright notice, this list of
+# conditions and the following disclaimer.
+# 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+# conditions and the following disclaimer in the documentation and/or other materials provided
+# with the distribution.
+#
+# THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+# OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+# MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+# COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+# EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+# GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+# AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+# NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+# OF THE POSSIBILITY OF SUCH DAMAGE.
+# helpers for the startup benchmarks, which are run by mx as separate processes
+import sys
+import time
+
+
+def _forget(name):
+    for key in list(sys.modules):
+        if key == name or key.startswith(name + "."):
+            del sys.modules[key]
+
+
+def measure_import(name):
+    """
+    Prints the time to import a module for the first time in this process and the time to
+    import it again after it and its submodules were removed from sys.modules.
+
+    The warm import runs in the same process and context as the cold one: the module is found,
+    parsed and executed again, but the code of the interpreter, the file system caches and the
+    modules the package itself imports (e.g. the sre modules for re) are already loaded. It is not
+    the time to import the module in a new context of a warm VM; the coldImport benchmark of
+    ImportBenchmark in the python-jmh suite measures that.
+    """
+    start = time.time()
+    __import__(name)
+    cold = time.time() - start
+
+    _forget(name)
+    start = time.time()
+    __import__(name)
+    warm = time.time() - start
+
+    print("import-%s-cold: %.6f" % (name, cold))
+    print("import-%s-warm: %.6f" % (name, warm))
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code codecs.encode} and {@code codecs.decode} as implemented by
+ * {@code CodecsModuleBuiltins}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecsBenchmark extends PolyglotBenchmark {
+    @Param({"16", "4096"}) int length;
+    @Param({"utf-8", "latin-1", "ascii"}) String encoding;
+    @Param({"ascii", "latin1"}) String text;
+
+    private Value encode;
+    private Value decode;
+    private Value string;
+    private Value bytes;
+
+    @Override
+    protected void setUp() {
+        String alphabet = text.equals("ascii") ? "abcdefghijklmnop" : "äöüßéèàç";
+        string = eval("(" + quote(alphabet) + " * " + length + ")[:" + length + "]");
+        if (encoding.equals("ascii") && !text.equals("ascii")) {
+            // not encodable, measure the error path instead
+            encode = eval("import codecs\nlambda s: codecs.encode(s, '" + encoding + "', 'replace')");
+        } else {
+            encode = eval("import codecs\nlambda s: codecs.encode(s, '" + encoding + "')");
+        }
+        bytes = encode.execute(string);
+        decode = eval("import codecs\nlambda b: codecs.decode(b, '" + encoding + "', 'replace')");
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder("'");
+        for (char c : s.toCharArray()) {
+            sb.append(String.format("\\u%04x", (int) c));
+        }
+        return sb.append('\'').toString();
+    }
+
+    @Benchmark
+    public Value encode() {
+        return encode.execute(string);
+    }
+
+    @Benchmark
+    public Value decode() {
+        return decode.execute(bytes);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage.DictEntry;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage.Equivalence;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EconomicMapStorageBenchmark {
+    /** Hashes and compares keys like {@code dict} does for builtin keys, without calling nodes. */
+    static final Equivalence EQUIVALENCE = new Equivalence() {
+        @Override
+        public int hashCode(Object o) {
+            return o.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object left, Object right) {
+            return left.equals(right);
+        }
+    };
+
+    @Param({"8", "1024", "65536"}) int size;
+    @Param({"int", "long", "str"}) String keyType;
+
+    private Object[] keys;
+    private EconomicMapStorage filled;
+
+    @Setup
+    public void setUp() {
+        keys = new Object[size];
+        for (int i = 0; i < size; i++) {
+            switch (keyType) {
+                case "int":
+                    keys[i] = i;
+                    break;
+                case "long":
+                    keys[i] = (long) i << 32;
+                    break;
+                default:
+                    keys[i] = "key" + i;
+            }
+        }
+        filled = EconomicMapStorage.create(false);
+        for (Object key : keys) {
+            filled.setItem(key, key, EQUIVALENCE);
+        }
+    }
+
+    @Benchmark
+    public EconomicMapStorage put() {
+        EconomicMapStorage storage = EconomicMapStorage.create(false);
+        for (Object key : keys) {
+            storage.setItem(key, key, EQUIVALENCE);
+        }
+        return storage;
+    }
+
+    @Benchmark
+    public EconomicMapStorage putPresized() {
+        EconomicMapStorage storage = EconomicMapStorage.create(size, false);
+        for (Object key : keys) {
+            storage.setItem(key, key, EQUIVALENCE);
+        }
+        return storage;
+    }
+
+    @Benchmark
+    public void get(Blackhole bh) {
+        for (Object key : keys) {
+            bh.consume(filled.getItem(key, EQUIVALENCE));
+        }
+    }
+
+    @Benchmark
+    public void iterateEntries(Blackhole bh) {
+        for (DictEntry entry : filled.entries()) {
+            bh.consume(entry.getValue());
+        }
+    }
+
+    @Benchmark
+    public EconomicMapStorage removeAndReinsert() {
+        for (int i = 0; i < keys.length; i += 2) {
+            filled.remove(keys[i], EQUIVALENCE);
+        }
+        for (int i = 0; i < keys.length; i += 2) {
+            filled.setItem(keys[i], keys[i], EQUIVALENCE);
+        }
+        return filled;
+    }
+
+    @Benchmark
+    public Object copy() {
+        return filled.copy(EQUIVALENCE);
+    }
+}
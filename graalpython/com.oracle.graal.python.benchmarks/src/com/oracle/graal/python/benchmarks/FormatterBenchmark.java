@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.benchmarks;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oracle.graal.python.runtime.formatting.FloatFormatter;
+import com.oracle.graal.python.runtime.formatting.IntegerFormatter;
+import com.oracle.graal.python.runtime.formatting.InternalFormat;
+import com.oracle.graal.python.runtime.formatting.InternalFormat.Spec;
+
+/**
+ * The format specifications used here are all valid, so the formatters never need the core to
+ * raise errors and are created without one. The float and integer specifications are separate
+ * states, so each benchmark only runs with the parameters it uses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatterBenchmark {
+    @State(Scope.Thread)
+    public static class FloatFormat {
+        @Param({"", ".6f", "e", ">20,.3f"}) String floatSpec;
+
+        Spec spec;
+        final double value = 12345.6789;
+
+        @Setup
+        public void setUp() {
+            spec = InternalFormat.fromText(null, floatSpec).withDefaults(Spec.NUMERIC);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class IntFormat {
+        @Param({"", "x", ">20,d"}) String intSpec;
+
+        Spec spec;
+        final int intValue = 123456789;
+        final BigInteger bigValue = BigInteger.valueOf(Long.MAX_VALUE).pow(4);
+
+        @Setup
+        public void setUp() {
+            spec = InternalFormat.fromText(null, intSpec).withDefaults(Spec.NUMERIC);
+        }
+    }
+
+    @Benchmark
+    public String formatDouble(FloatFormat state) {
+        return new FloatFormatter(null, state.spec).format(state.value).getResult();
+    }
+
+    @Benchmark
+    public String formatInt(IntFormat state) {
+        return new IntegerFormatter(null, state.spec).format(state.intValue).getResult();
+    }
+
+    @Benchmark
+    public String formatBigInteger(IntFormat state) {
+        return new IntegerFormatter(null, state.spec).format(state.bigValue).getResult();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of importing common standard library modules. A cold import is the first
+ * import of the module in a new context. A warm import happens in a context that has imported the
+ * module before, after the module and its submodules were removed from {@code sys.modules}, so it
+ * re-executes them with warm code and file system caches.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(3)
+public class ImportBenchmark {
+    @State(Scope.Thread)
+    public static class ColdImport {
+        @Param({"re", "json", "collections", "datetime"}) String module;
+
+        private Context context;
+        Value importModule;
+
+        @Setup(Level.Invocation)
+        public void setUpContext() {
+            context = Context.newBuilder("python").allowAllAccess(true).build();
+            importModule = context.eval(Source.create("python", "lambda name: __import__(name)"));
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDownContext() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WarmImport extends PolyglotBenchmark {
+        @Param({"re", "json", "collections", "datetime"}) String module;
+
+        Value importModule;
+        private Value forget;
+
+        @Override
+        protected void setUp() {
+            importModule = eval("lambda name: __import__(name)");
+            forget = eval("import sys\n" +
+                            "def forget(name):\n" +
+                            "    for key in list(sys.modules):\n" +
+                            "        if key == name or key.startswith(name + '.'):\n" +
+                            "            del sys.modules[key]\n" +
+                            "forget");
+            importModule.execute(module);
+        }
+
+        @Setup(Level.Invocation)
+        public void forgetModule() {
+            forget.execute(module);
+        }
+    }
+
+    @Benchmark
+    public Value coldImport(ColdImport state) {
+        return state.importModule.execute(state.module);
+    }
+
+    @Benchmark
+    public Value warmImport(WarmImport state) {
+        return state.importModule.execute(state.module);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStoreException;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequenceStorageBenchmark {
+    @Param({"8", "1024", "65536"}) int size;
+    @Param({"int", "double", "object"}) String storageType;
+
+    private Object[] values;
+    private SequenceStorage filled;
+
+    @Setup
+    public void setUp() throws SequenceStoreException {
+        values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = storageType.equals("double") ? (Object) (double) i : (Object) i;
+        }
+        filled = append();
+    }
+
+    private SequenceStorage createEmpty() {
+        switch (storageType) {
+            case "int":
+                return new IntSequenceStorage();
+            case "double":
+                return new DoubleSequenceStorage();
+            default:
+                return new ObjectSequenceStorage(0);
+        }
+    }
+
+    @Benchmark
+    public SequenceStorage append() throws SequenceStoreException {
+        SequenceStorage storage = createEmpty();
+        for (Object value : values) {
+            storage.append(value);
+        }
+        return storage;
+    }
+
+    @Benchmark
+    public void getItem(Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(filled.getItemNormalized(i));
+        }
+    }
+
+    @Benchmark
+    public SequenceStorage insertFront() throws SequenceStoreException {
+        SequenceStorage storage = createEmpty();
+        int count = Math.min(size, 1024);
+        for (int i = 0; i < count; i++) {
+            storage.insertItem(0, values[i]);
+        }
+        return storage;
+    }
+
+    @Benchmark
+    public SequenceStorage copy() {
+        return filled.copy();
+    }
+
+    @Benchmark
+    public SequenceStorage slice() {
+        return filled.getSliceInBound(0, size, 2, (size + 1) / 2);
+    }
+
+    @Benchmark
+    public SequenceStorage extend() throws SequenceStoreException {
+        SequenceStorage storage = createEmpty();
+        storage.extend(filled);
+        return storage;
+    }
+
+    @Benchmark
+    public int index() {
+        return filled.index(values[size - 1]);
+    }
+}
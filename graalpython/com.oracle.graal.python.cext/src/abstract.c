@@ -70,7 +70,7 @@ static PyObject * do_unaryop(PyObject *v, UnaryOp unaryop, char *unaryop_name) {
 }
 
 static PyObject * do_binop(PyObject *v, PyObject *w, BinOp binop, char *binop_name) {
-    PyObject *result = truffle_invoke(PY_TRUFFLE_CEXT, "PyNumber_BinOp", to_java(v), to_java(w), binop, truffle_read_string(binop_name));
+    PyObject *result = truffle_invoke(PY_TRUFFLE_CEXT, "PyNumber_BinOp", to_java(v), to_java(w), binop, truffle_read_string(binop_name), ERROR_MARKER);
     if (result == ERROR_MARKER) {
     	return NULL;
     }
@@ -201,9 +201,9 @@ PyObject * PyNumber_Float(PyObject *o) {
 }
 
 PyObject * PyIter_Next(PyObject *iter) {
-	void* result = polyglot_invoke(PY_TRUFFLE_CEXT, "PyIter_Next", to_java(iter));
-	if (result == ERROR_MARKER && PyErr_Occurred() && PyErr_ExceptionMatches(PyExc_StopIteration)) {
-        PyErr_Clear();
+	void* result = polyglot_invoke(PY_TRUFFLE_CEXT, "PyIter_Next", to_java(iter), ERROR_MARKER);
+	if (result == ERROR_MARKER) {
+		// an exhausted iterator does not set an error
 		return NULL;
 	}
     return to_sulong(result);
@@ -228,7 +228,7 @@ Py_ssize_t PySequence_Length(PyObject *s) {
 #define PySequence_Length PySequence_Size
 
 PyObject* PySequence_GetItem(PyObject *s, Py_ssize_t i) {
-	void* result = polyglot_invoke(PY_TRUFFLE_CEXT, "PySequence_GetItem", to_java(s), i);
+	void* result = polyglot_invoke(PY_TRUFFLE_CEXT, "PySequence_GetItem", to_java(s), i, ERROR_MARKER);
 	if(result == ERROR_MARKER) {
 		return NULL;
 	}
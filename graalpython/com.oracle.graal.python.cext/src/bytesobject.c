@@ -43,6 +43,10 @@
 PyTypeObject PyBytes_Type = PY_TRUFFLE_TYPE("bytes", &PyType_Type, Py_TPFLAGS_DEFAULT | Py_TPFLAGS_BASETYPE | Py_TPFLAGS_BYTES_SUBCLASS);
 
 PyObject* PyBytes_FromStringAndSize(const char* str, Py_ssize_t sz) {
+    if (str == NULL) {
+        // the caller fills the contents via 'PyBytes_AS_STRING'
+        return to_sulong(truffle_invoke(PY_TRUFFLE_CEXT, "PyTruffle_Bytes_EmptyWithCapacity", sz));
+    }
     setlocale(LC_ALL, NULL);
     const char* encoding = nl_langinfo(CODESET);
     return to_sulong(truffle_invoke(PY_TRUFFLE_CEXT, "PyBytes_FromStringAndSize", truffle_read_n_string(str, sz), truffle_read_string(encoding)));
@@ -58,23 +62,12 @@ char* PyBytes_AsString(PyObject *obj) {
 	if (obj == NULL) {
 		return NULL;
 	}
-	// returns a Java byte array
- 	void *result = truffle_invoke(PY_TRUFFLE_CEXT, "PyTruffle_Bytes_AsString", to_java(obj), ERROR_MARKER);
- 	if (result == ERROR_MARKER) {
- 		return NULL;
- 	}
- 	if(truffle_has_size(result)) {
- 		int n = truffle_get_size(result);
- 		char *barr = (char *) malloc(n*sizeof(char));
-
- 		// we need to read element-by-element
- 		int i;
- 		for(i=0; i < n; i++) {
- 			barr[i] = truffle_read_idx_c(result, i);
- 		}
- 		return barr;
- 	}
- 	return NULL;
+	// returns a wrapper of the bytes object's storage; it is moved into native memory once
+	void *result = truffle_invoke(PY_TRUFFLE_CEXT, "PyTruffle_Bytes_AsString", to_java(obj), ERROR_MARKER);
+	if (result == ERROR_MARKER) {
+		return NULL;
+	}
+	return (char *) result;
 }
 
 int PyBytes_AsStringAndSize(PyObject *obj, char **s, Py_ssize_t *len) {
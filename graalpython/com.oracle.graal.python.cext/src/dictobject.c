@@ -51,7 +51,7 @@ int PyDict_SetItem(PyObject* d, PyObject* k, PyObject* v) {
 }
 
 PyObject* PyDict_GetItem(PyObject* d, PyObject* k) {
-    void* result = truffle_invoke(PY_TRUFFLE_CEXT, "PyDict_GetItem", to_java(d), to_java(k));
+    void* result = truffle_invoke(PY_TRUFFLE_CEXT, "PyDict_GetItem", to_java(d), to_java(k), ERROR_MARKER);
     if (result == ERROR_MARKER) {
         return NULL;
     } else {
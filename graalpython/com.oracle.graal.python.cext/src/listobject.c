@@ -51,7 +51,7 @@ PyObject* PyList_New(Py_ssize_t size) {
 }
 
 PyObject* PyList_GetItem(PyObject *op, Py_ssize_t i) {
-    PyObject* result = truffle_invoke(PY_TRUFFLE_CEXT, "PyList_GetItem", to_java(op), i);
+    PyObject* result = truffle_invoke(PY_TRUFFLE_CEXT, "PyList_GetItem", to_java(op), i, ERROR_MARKER);
     if (result == ERROR_MARKER) {
         return NULL;
     } else {
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.test.grammar;
+
+import static com.oracle.graal.python.test.PythonTests.assertPrints;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+import org.junit.Test;
+
+import com.oracle.graal.python.parser.antlr.SourceCharStream;
+
+public class SourceCharStreamTests {
+
+    @Test
+    public void lookahead() {
+        CharStream stream = SourceCharStream.create(new StringBuilder("ab"), "test.py");
+        assertTrue(stream instanceof SourceCharStream);
+        assertEquals("test.py", stream.getSourceName());
+        assertEquals(2, stream.size());
+        assertEquals('a', stream.LA(1));
+        assertEquals('b', stream.LA(2));
+        assertEquals(IntStream.EOF, stream.LA(-1));
+        stream.consume();
+        assertEquals('a', stream.LA(-1));
+        assertEquals('b', stream.LA(1));
+        stream.consume();
+        assertEquals(IntStream.EOF, stream.LA(1));
+        assertEquals(2, stream.index());
+        stream.seek(0);
+        assertEquals('a', stream.LA(1));
+    }
+
+    @Test
+    public void getText() {
+        CharStream stream = SourceCharStream.create("def foo(): pass\n");
+        assertEquals(IntStream.UNKNOWN_SOURCE_NAME, stream.getSourceName());
+        assertEquals("foo", stream.getText(Interval.of(4, 6)));
+        assertEquals("pass\n", stream.getText(Interval.of(11, 100)));
+        assertEquals("", stream.getText(Interval.of(20, 30)));
+    }
+
+    @Test
+    public void surrogatesAreCopied() {
+        CharStream stream = SourceCharStream.create("x = '\uD83D\uDE00'\n");
+        assertFalse(stream instanceof SourceCharStream);
+        assertEquals(0x1F600, stream.LA(6));
+    }
+
+    @Test
+    public void parseWithSourceStream() {
+        String source = "x = [i for i in (1, 2, 3) if i > 1]\n" + //
+                        "def f(a, *args, b=2, **kwargs):\n" + //
+                        "    return a, args, b, kwargs\n" + //
+                        "print(x, f(1, 2, c=3))\n";
+        assertPrints("[2, 3] (1, (2,), 2, {'c': 3})\n", source);
+    }
+}
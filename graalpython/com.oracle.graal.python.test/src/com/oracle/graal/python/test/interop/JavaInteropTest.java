@@ -39,11 +39,15 @@
 package com.oracle.graal.python.test.interop;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 
 import org.graalvm.polyglot.Context;
@@ -239,6 +243,72 @@ public class JavaInteropTest extends PythonTests {
         assertEquals("'e39957904b7e79caf4fa54f30e8e4ee74d4e9e37'", dacapo.getMember("sha1").toString());
     }
 
+    @Test
+    public void executeFunctionsAndMethods() {
+        Value foo = context.eval("python", "def foo(a, b=2):\n" +
+                        "    return a + b\n" +
+                        "foo");
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i + 2, foo.execute(i).asInt());
+            assertEquals(i + 3, foo.execute(i, 3).asInt());
+        }
+        assertEquals(3.5, foo.execute(1.5).asDouble(), 0);
+        assertEquals("ab", foo.execute("a", "b").asString());
+
+        Value bar = context.eval("python", "class X():\n" +
+                        "    def bar(self, a):\n" +
+                        "        return (self, a)\n" +
+                        "X().bar");
+        Value result = bar.execute((byte) 1);
+        assertTrue(result.getArraySize() == 2);
+        assertEquals(1, result.getArrayElement(1).asInt());
+        assertTrue(result.getArrayElement(0).getMember("bar").canExecute());
+    }
+
+    @Test
+    public void accessDictMembers() {
+        Value dict = context.eval("python", "{'a': 1, 'b': 'two', 'keys': 3}");
+        Set<String> keys = dict.getMemberKeys();
+        assertTrue("keys found: " + keys, keys.contains("a") && keys.contains("b") && keys.contains("keys"));
+        assertEquals(1, dict.getMember("a").asInt());
+        assertEquals("two", dict.getMember("b").asString());
+        assertEquals(3, dict.getMember("[keys").asInt());
+        assertTrue(dict.getMember("keys").canExecute());
+        assertFalse(dict.hasMember("c"));
+
+        Value mixed = context.eval("python", "{'a': 1, 2: 'b'}");
+        assertFalse(mixed.getMemberKeys().contains("a"));
+
+        Value obj = context.eval("python", "class X():\n" +
+                        "    def __init__(self):\n" +
+                        "        self.x = 1\n" +
+                        "X()");
+        assertTrue(obj.getMemberKeys().contains("x"));
+        assertEquals(1, obj.getMember("x").asInt());
+        assertFalse(obj.hasMember("y"));
+    }
+
+    @Test
+    public void mutateDictWhileIteratingKeys() {
+        Value dict = context.eval("python", "{'a': 1, 'b': 2, 'c': 3}");
+        Value mutate = context.eval("python", "def mutate(d):\n" +
+                        "    d.clear()\n" +
+                        "    for i in range(100):\n" +
+                        "        d['x' + str(i)] = i\n" +
+                        "mutate");
+        List<String> seen = new ArrayList<>();
+        for (String key : dict.getMemberKeys()) {
+            if (seen.isEmpty()) {
+                mutate.execute(dict);
+            }
+            seen.add(key);
+        }
+        // the keys are those of the dict when the iteration started
+        assertEquals(Arrays.asList("a", "b", "c"), seen);
+        assertEquals(100, dict.getMemberKeys().size());
+        assertFalse(dict.hasMember("a"));
+    }
+
     public static class ForeignObjectWithOOInvoke implements TruffleObject {
         public String getMyName() {
             return getClass().getName();
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.graal.python.test.PythonTests;
+
+public class BackgroundParserTests extends PythonTests {
+    private Path tmp;
+    private ByteArrayOutputStream out;
+    private Context context;
+
+    @Before
+    public void setUpTest() throws IOException {
+        tmp = Files.createTempDirectory("graalpython");
+        Path pkg = Files.createDirectory(tmp.resolve("bgpkg"));
+        Files.write(pkg.resolve("__init__.py"), "from . import first\nfrom .second import value\n".getBytes());
+        Files.write(pkg.resolve("first.py"), "import bgpkg.third\nname = 'first'\n".getBytes());
+        Files.write(pkg.resolve("second.py"), "from .third import name\nvalue = name * 2\n".getBytes());
+        Files.write(pkg.resolve("third.py"), "name = 'third'\n".getBytes());
+        Files.write(pkg.resolve("broken.py"), "def f(:\n".getBytes());
+        Files.write(pkg.resolve("changed.py"), "name = 'old'\n".getBytes());
+        Files.write(pkg.resolve("latin.py"), "# -*- coding: latin-1 -*-\nname = 'caf\u00e9'\n".getBytes(StandardCharsets.ISO_8859_1));
+        out = new ByteArrayOutputStream();
+        context = Context.newBuilder().allowAllAccess(true).option("python.BackgroundParseThreads", "2").out(out).build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(tmp)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private String run(String code) {
+        out.reset();
+        context.eval(Source.create("python", code));
+        return out.toString().replaceAll("\r\n", "\n");
+    }
+
+    @Test
+    public void importsParsedAhead() {
+        String code = "import sys\nsys.path.insert(0, '" + tmp + "')\n" +
+                        "import bgpkg\nprint(bgpkg.first.name, bgpkg.value, bgpkg.third.name)\n";
+        assertEquals("first thirdthird third\n", run(code));
+    }
+
+    @Test
+    public void changedFileIsParsedAgain() throws IOException {
+        run("import sys\nsys.path.insert(0, '" + tmp + "')\nimport bgpkg\n");
+        Files.write(tmp.resolve("bgpkg").resolve("changed.py"), "name = 'new'\n".getBytes());
+        assertEquals("new\n", run("import bgpkg.changed\nprint(bgpkg.changed.name)\n"));
+    }
+
+    @Test
+    public void codingDeclarationIsRespected() {
+        String code = "import sys\nsys.path.insert(0, '" + tmp + "')\n" +
+                        "import bgpkg\nimport bgpkg.latin\nprint(len(bgpkg.latin.name), ord(bgpkg.latin.name[-1]))\n";
+        assertEquals("4 233\n", run(code));
+    }
+
+    @Test
+    public void syntaxErrorIsReported() {
+        run("import sys\nsys.path.insert(0, '" + tmp + "')\nimport bgpkg\n");
+        try {
+            run("import bgpkg.broken\n");
+        } catch (PolyglotException e) {
+            assertTrue(e.getMessage(), e.isSyntaxError() || e.getMessage().contains("SyntaxError"));
+            return;
+        }
+        throw new AssertionError("expected a SyntaxError");
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+import com.oracle.graal.python.test.PythonTests;
+
+public class CacheStatisticsTests extends PythonTests {
+    private static final String CODE = "class A:\n" +
+                    "    x = 1\n" +
+                    "for i in range(100):\n" +
+                    "    A.x = i\n" +
+                    "    A().x\n";
+
+    private static String runWithStatistics(String format, String sourceName) {
+        return runWithStatistics(format, sourceName, CODE);
+    }
+
+    private static String runWithStatistics(String format, String sourceName, String code) {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        Context.Builder builder = Context.newBuilder().allowAllAccess(true).err(err);
+        if (format != null) {
+            builder.option("python.CacheStatistics", format);
+        }
+        try (Context context = builder.build()) {
+            context.eval(Source.newBuilder("python", code, sourceName).buildLiteral());
+        }
+        return err.toString();
+    }
+
+    @Test
+    public void statisticsAreDumpedAtExit() {
+        String json = runWithStatistics("json", "stats_json.py");
+        assertTrue(json, json.trim().startsWith("["));
+        assertTrue(json, json.contains("\"location\": \"stats_json.py:"));
+        String table = runWithStatistics("table", "stats_table.py");
+        assertTrue(table, table.startsWith("location"));
+        assertTrue(table, table.contains("stats_table.py:"));
+    }
+
+    @Test
+    public void statisticsAreDisabledByDefault() {
+        assertEquals("", runWithStatistics(null, "stats_disabled.py"));
+    }
+
+    @Test
+    public void statisticsArePerContext() {
+        runWithStatistics("json", "stats_first.py");
+        String second = runWithStatistics("json", "stats_second.py");
+        assertTrue(second, second.contains("stats_second.py:"));
+        assertFalse(second, second.contains("stats_first.py:"));
+    }
+
+    @Test
+    public void unknownFormatIsRejected() {
+        try {
+            runWithStatistics("xml", "stats_unknown.py");
+            fail("expected the unknown format to be rejected");
+        } catch (PolyglotException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("CacheStatistics"));
+        }
+    }
+
+    @Test
+    public void generalizationsAreRecordedInTheStoringFunction() {
+        String code = "def fill(l):\n" +
+                        "    l.append('a')\n" +
+                        "\n" +
+                        "fill([1, 2])\n";
+        String json = runWithStatistics("json", "stats_generalization.py", code);
+        assertTrue(json, json.contains("\"location\": \"stats_generalization.py:1\", \"kind\": \"IntSequenceStorage -> ObjectSequenceStorage\""));
+    }
+}
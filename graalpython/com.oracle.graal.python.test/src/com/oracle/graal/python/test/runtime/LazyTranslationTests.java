@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.graal.python.test.PythonTests;
+
+public class LazyTranslationTests extends PythonTests {
+    private ByteArrayOutputStream out;
+    private Context context;
+
+    @Before
+    public void setUpTest() {
+        out = new ByteArrayOutputStream();
+        context = Context.newBuilder().allowAllAccess(true).option("python.LazyTranslation", "true").out(out).build();
+    }
+
+    @After
+    public void tearDown() {
+        context.close();
+    }
+
+    private String run(String code) {
+        out.reset();
+        context.eval(Source.create("python", code));
+        return out.toString().replaceAll("\r\n", "\n");
+    }
+
+    @Test
+    public void closures() {
+        String code = "def outer(x):\n" +
+                        "    def middle(y):\n" +
+                        "        def inner(z):\n" +
+                        "            return x + y + z\n" +
+                        "        return inner\n" +
+                        "    return middle\n" +
+                        "print(outer(1)(2)(3), outer(10)(20)(30))\n";
+        assertEquals("6 60\n", run(code));
+    }
+
+    @Test
+    public void nonlocalVariables() {
+        String code = "def counter():\n" +
+                        "    count = 0\n" +
+                        "    def increment():\n" +
+                        "        nonlocal count\n" +
+                        "        count += 1\n" +
+                        "        return count\n" +
+                        "    return increment\n" +
+                        "c = counter()\n" +
+                        "c()\n" +
+                        "print(c(), counter()())\n";
+        assertEquals("2 1\n", run(code));
+    }
+
+    @Test
+    public void generators() {
+        String code = "def numbers(n):\n" +
+                        "    def square(i):\n" +
+                        "        return i * i\n" +
+                        "    for i in range(n):\n" +
+                        "        yield square(i)\n" +
+                        "def total(n):\n" +
+                        "    return sum(numbers(n)) + sum(i for i in numbers(n))\n" +
+                        "print(list(numbers(4)), total(3))\n";
+        assertEquals("[0, 1, 4, 9] 10\n", run(code));
+    }
+
+    @Test
+    public void siblingCalledInBetween() {
+        String code = "def first(values):\n" +
+                        "    a, b, *rest = values\n" +
+                        "    return a < b < len(rest) + 10, rest\n" +
+                        "def second(values):\n" +
+                        "    x = y = values[0]\n" +
+                        "    for i, (p, q) in enumerate(zip(values, values[1:])):\n" +
+                        "        x += i * p * q\n" +
+                        "    return x, y\n" +
+                        "print(first([1, 2, 3, 4]))\n" +
+                        "print(second([1, 2, 3]))\n" +
+                        "print(first([5, 2]), second([2, 2]))\n";
+        assertEquals("(True, [3, 4])\n(7, 1)\n(False, []) (2, 2)\n", run(code));
+    }
+
+    @Test
+    public void classesInFunctions() {
+        String code = "def outer():\n" +
+                        "    def make():\n" +
+                        "        class Base:\n" +
+                        "            def name(self):\n" +
+                        "                return 'base'\n" +
+                        "        class Derived(Base):\n" +
+                        "            def name(self):\n" +
+                        "                return 'derived ' + super().name()\n" +
+                        "        return Derived\n" +
+                        "    return make()\n" +
+                        "cls = outer()\n" +
+                        "print(cls.__qualname__, cls().name())\n";
+        assertEquals("outer.<locals>.make.<locals>.Derived derived base\n", run(code));
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.graal.python.test.PythonTests;
+
+public class SharedCoreTests extends PythonTests {
+    private Engine engine;
+
+    @Before
+    public void setUpTest() {
+        engine = Engine.newBuilder().option("python.SharedCore", "true").build();
+    }
+
+    @After
+    public void tearDown() {
+        engine.close();
+    }
+
+    private Context newContext(ByteArrayOutputStream out) {
+        return Context.newBuilder().engine(engine).allowAllAccess(true).out(out).build();
+    }
+
+    private static String run(Context context, ByteArrayOutputStream out, String code) {
+        out.reset();
+        context.eval(Source.create("python", code));
+        return out.toString().replaceAll("\r\n", "\n");
+    }
+
+    @Test
+    public void builtinModulesAreIsolated() {
+        ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+        ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+        try (Context first = newContext(out1); Context second = newContext(out2)) {
+            run(first, out1, "import sys, math\nsys.foo = 42\nmath.pi = 3\nimport builtins\nbuiltins.len = None\n");
+            String code = "import sys, math, builtins\nprint(hasattr(sys, 'foo'), math.pi > 3, builtins.len is None)\n";
+            assertEquals("False True False\n", run(second, out2, code));
+            assertEquals("True False True\n", run(first, out1, code));
+        }
+    }
+
+    @Test
+    public void builtinModulesKeepIdentity() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Context context = newContext(out)) {
+            String code = "import sys, time\nimport time as t\nprint(t is time, sys.modules['time'] is time, sys.modules['sys'] is sys)\n";
+            assertEquals("True True True\n", run(context, out, code));
+        }
+    }
+
+    @Test
+    public void coreClassesAreIsolated() {
+        ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+        ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+        try (Context first = newContext(out1); Context second = newContext(out2)) {
+            run(first, out1, "import _collections\n_collections.defaultdict.foo = 42\nproperty.bar = 1\n");
+            String code = "import _collections\nprint(hasattr(_collections.defaultdict, 'foo'), hasattr(property, 'bar'))\n";
+            assertEquals("False False\n", run(second, out2, code));
+            assertEquals("True True\n", run(first, out1, code));
+        }
+    }
+
+    @Test
+    public void builtinClassesAreImmutable() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Context context = newContext(out)) {
+            String code = "try:\n    int.foo = 1\nexcept TypeError:\n    print('TypeError')\n";
+            assertEquals("TypeError\n", run(context, out, code));
+        }
+    }
+
+    @Test
+    public void builtinClassFunctionsUseContextGlobals() {
+        ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+        ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+        try (Context first = newContext(out1); Context second = newContext(out2)) {
+            // list.sort is defined in a core file and uses the TimSort class of its module
+            String breakSort = "list.sort.__globals__.TimSort = None\n" +
+                            "try:\n" +
+                            "    [2, 1].sort()\n" +
+                            "except TypeError:\n" +
+                            "    print('broken')\n";
+            assertEquals("broken\n", run(first, out1, breakSort));
+            assertEquals("[1, 2] True\n", run(second, out2, "l = [2, 1]\nl.sort()\nprint(l, list.sort.__globals__.TimSort is not None)\n"));
+        }
+    }
+
+    @Test
+    public void sysModulesAreIsolated() {
+        ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+        ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+        try (Context first = newContext(out1); Context second = newContext(out2)) {
+            run(first, out1, "import sys\nsys.modules['only_in_first'] = sys\n");
+            assertEquals("False\n", run(second, out2, "import sys\nprint('only_in_first' in sys.modules)\n"));
+        }
+    }
+}
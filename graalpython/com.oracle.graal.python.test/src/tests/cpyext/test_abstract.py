@@ -86,6 +86,28 @@ def _reference_next(args):
         raise SystemError
         
 
+class _StopIterationSubclass(StopIteration):
+    pass
+
+
+class _StopIterationSubclassIterator:
+    def __init__(self, n):
+        self.n = n
+
+    def __iter__(self):
+        return self
+
+    def __next__(self):
+        if self.n <= 0:
+            raise _StopIterationSubclass
+        self.n -= 1
+        return self.n
+
+
+def _reference_count_until_exhausted(args):
+    return len(list(args[0]))
+
+
 def _reference_size(args):
     seq = args[0]
     if isinstance(seq, dict):
@@ -544,6 +566,39 @@ class TestAbstract(CPyExtTestCase):
         arguments=["PyObject* sequence"],
     )
 
+    # items of primitive storages must be stable objects owned by the sequence
+    test_PySequence_Fast_ITEMS_primitive = CPyExtFunction(
+        lambda args: list(args[0]),
+        lambda: (
+            ([1,2,3],),
+            ([1.5,2.5],),
+            ([2**40,2**41],),
+            ((1,2,3),),
+            (('a','b'),),
+        ),
+        code='''PyObject* wrap_PySequence_Fast_ITEMS_primitive(PyObject* sequence) {
+            Py_ssize_t i;
+            Py_ssize_t n = PySequence_Fast_GET_SIZE(sequence);
+            PyObject **items = PySequence_Fast_ITEMS(sequence);
+            PyObject* result = PyList_New(n);
+            for (i = 0; i < n; i++) {
+                if (items[i] != PySequence_Fast_ITEMS(sequence)[i]) {
+                    PyErr_SetString(PyExc_SystemError, "item identity changed");
+                    return NULL;
+                }
+                Py_INCREF(items[i]);
+                PyList_SetItem(result, i, items[i]);
+            }
+            return result;
+        }
+        ''',
+        resultspec="O",
+        argspec='O',
+        callfunction="wrap_PySequence_Fast_ITEMS_primitive",
+        arguments=["PyObject* sequence"],
+        cmpfunc=unhandled_error_compare
+    )
+
     test_PyIter_Next = CPyExtFunction(
         _reference_next,
         lambda: (
@@ -569,6 +624,33 @@ class TestAbstract(CPyExtTestCase):
         cmpfunc=unhandled_error_compare
     )
 
+    test_PyIter_Next_Exhausted = CPyExtFunction(
+        _reference_count_until_exhausted,
+        lambda: (
+            (iter([]),),
+            (iter((1,2,3)),),
+            (iter({'a':0,'b':1}),),
+            (_StopIterationSubclassIterator(2),),
+        ),
+        code='''PyObject* wrap_PyIter_Next_Exhausted(PyObject* iter) {
+            long n = 0;
+            PyObject* item;
+            while ((item = PyIter_Next(iter)) != NULL) {
+                n++;
+            }
+            if (PyErr_Occurred()) {
+                return NULL;
+            }
+            return PyLong_FromLong(n);
+        }
+        ''',
+        resultspec="O",
+        argspec='O',
+        callfunction="wrap_PyIter_Next_Exhausted",
+        arguments=["PyObject* iter"],
+        cmpfunc=unhandled_error_compare
+    )
+
     test_PySequence_Check = CPyExtFunction(
         lambda args: not isinstance(args[0], dict) and hasattr(args[0], '__getitem__'),
         lambda: (
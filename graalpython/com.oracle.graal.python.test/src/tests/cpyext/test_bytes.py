@@ -221,3 +221,61 @@ class TestPyBytes(CPyExtTestCase):
         arguments=["PyObject* arg"],
         cmpfunc=unhandled_error_compare
     )
+
+    # writes through PyBytes_AS_STRING must be visible to Python code
+    test_PyBytes_AS_STRING_fill = CPyExtFunction(
+        lambda args: bytes(range(ord("a"), ord("a") + args[0])),
+        lambda: (
+            (0,),
+            (1,),
+            (26,),
+        ),
+        code='''PyObject* wrap_PyBytes_AS_STRING_fill(Py_ssize_t n) {
+            PyObject* result = PyBytes_FromStringAndSize(NULL, n);
+            char* data = PyBytes_AS_STRING(result);
+            Py_ssize_t i;
+            for (i = 0; i < n; i++) {
+                data[i] = 'a' + i;
+            }
+            return result;
+        }''',
+        resultspec="O",
+        argspec="n",
+        arguments=["Py_ssize_t n"],
+        callfunction="wrap_PyBytes_AS_STRING_fill",
+    )
+
+    # native writes must survive managed operations on the bytes in between
+    test_PyBytes_AS_STRING_write_after_compare = CPyExtFunction(
+        lambda args: b"a" * args[0] + b"b" * args[0],
+        lambda: (
+            (1,),
+            (8,),
+        ),
+        code='''PyObject* wrap_PyBytes_AS_STRING_write_after_compare(Py_ssize_t n) {
+            PyObject* result = PyBytes_FromStringAndSize(NULL, 2 * n);
+            char* data = PyBytes_AS_STRING(result);
+            Py_ssize_t i;
+            for (i = 0; i < n; i++) {
+                data[i] = 'a';
+            }
+            PyObject* cmp = PyObject_RichCompare(result, result, Py_EQ);
+            if (cmp == NULL) {
+                return NULL;
+            }
+            Py_DECREF(cmp);
+            for (i = n; i < 2 * n; i++) {
+                data[i] = 'b';
+            }
+            if (PyBytes_AS_STRING(result) != data) {
+                PyErr_SetString(PyExc_SystemError, "ob_sval moved");
+                return NULL;
+            }
+            return result;
+        }''',
+        resultspec="O",
+        argspec="n",
+        arguments=["Py_ssize_t n"],
+        callfunction="wrap_PyBytes_AS_STRING_write_after_compare",
+        cmpfunc=unhandled_error_compare
+    )
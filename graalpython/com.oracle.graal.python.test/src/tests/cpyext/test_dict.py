@@ -122,6 +122,23 @@ class TestPyDict(CPyExtTestCase):
         cmpfunc=unhandled_error_compare
     )
 
+    # PyDict_GetItem must not set an error for a missing key
+    test_PyDict_GetItem_Missing = CPyExtFunction(
+        lambda args: args[1] not in args[0],
+        lambda: (({}, "a"), ({'a': "hello"}, "a"), ({'a': "hello"}, "b"), ({1: "hello"}, 2)),
+        code='''PyObject* wrap_PyDict_GetItem_Missing(PyObject* dict, PyObject* key) {
+            if (PyDict_GetItem(dict, key) != NULL || PyErr_Occurred()) {
+                Py_RETURN_FALSE;
+            }
+            Py_RETURN_TRUE;
+        }''',
+        resultspec="O",
+        argspec='OO',
+        arguments=("PyObject* dict", "PyObject* key"),
+        callfunction="wrap_PyDict_GetItem_Missing",
+        cmpfunc=unhandled_error_compare
+    )
+
     # PyDict_DelItem
     test_PyDict_DelItem = CPyExtFunction(
         _reference_del_item,
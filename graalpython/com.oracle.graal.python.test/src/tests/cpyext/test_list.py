@@ -141,6 +141,33 @@ class TestPyList(CPyExtTestCase):
         cmpfunc=unhandled_error_compare
     )
 
+    test_PyList_GetItem_OutOfRange = CPyExtFunction(
+        lambda args: not (0 <= args[1] < len(args[0])),
+        lambda: (
+            ([1,2,3,4], 0),
+            ([1,2,3,4], 4),
+            ([], 0),
+            ([1.0,2.0], 5),
+            ([1,2,3,4], -1),
+        ),
+        code='''PyObject* wrap_PyList_GetItem_OutOfRange(PyObject* op, Py_ssize_t idx) {
+            if (PyList_GetItem(op, idx) != NULL) {
+                Py_RETURN_FALSE;
+            }
+            if (!PyErr_ExceptionMatches(PyExc_IndexError)) {
+                return NULL;
+            }
+            PyErr_Clear();
+            Py_RETURN_TRUE;
+        }
+        ''',
+        resultspec="O",
+        argspec='On',
+        arguments=["PyObject* op", "Py_ssize_t idx"],
+        callfunction="wrap_PyList_GetItem_OutOfRange",
+        cmpfunc=unhandled_error_compare
+    )
+
     test_PyList_GET_ITEM = CPyExtFunction(
         _wrap_list_fun(_reference_getitem),
         lambda: (
@@ -0,0 +1,211 @@
+# Copyright (c) 2018, Oracle and/or its affiliates.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or data
+# (collectively the "Software"), free of charge and under any and all copyright
+# rights in the Software, and any and all patent rights owned or freely
+# licensable by each licensor hereunder covering either (i) the unmodified
+# Software as contributed to or provided by such licensor, or (ii) the Larger
+# Works (as defined below), to deal in both
+#
+# (a) the Software, and
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+#     one is included with the Software (each a "Larger Work" to which the
+#     Software is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+import array
+
+
+def assert_raises(err, fn, *args, **kwargs):
+    raised = False
+    try:
+        fn(*args, **kwargs)
+    except err:
+        raised = True
+    assert raised
+
+
+def test_typecodes():
+    assert array.typecodes == "bBuhHiIlLqQfd"
+    assert_raises(ValueError, array.array, "x")
+    for code, size in (("b", 1), ("B", 1), ("h", 2), ("H", 2), ("i", 4), ("I", 4), ("q", 8), ("Q", 8), ("f", 4), ("d", 8)):
+        a = array.array(code)
+        assert a.typecode == code
+        assert a.itemsize == size
+        assert len(a) == 0
+
+
+def test_append_extend():
+    a = array.array("i")
+    for i in range(100):
+        a.append(i)
+    assert len(a) == 100
+    assert a[99] == 99
+    a.extend(array.array("i", [1, 2]))
+    a.extend(x * 2 for x in range(3))
+    assert a.tolist()[-5:] == [1, 2, 0, 2, 4]
+    assert_raises(TypeError, a.extend, array.array("d", [1.0]))
+    b = array.array("d", [1.5])
+    b += array.array("d", [2.5])
+    assert b.tolist() == [1.5, 2.5]
+
+
+def test_ranges():
+    assert_raises(OverflowError, array.array, "b", [128])
+    assert_raises(OverflowError, array.array, "B", [-1])
+    assert_raises(OverflowError, array.array, "h", [1 << 15])
+    assert_raises(OverflowError, array.array, "I", [1 << 32])
+    assert_raises(TypeError, array.array, "i", [1.0])
+    assert array.array("B", [255])[0] == 255
+    assert array.array("H", [65535])[0] == 65535
+    assert array.array("I", [4294967295])[0] == 4294967295
+    assert array.array("Q", [(1 << 64) - 1])[0] == (1 << 64) - 1
+    assert array.array("q", [-(1 << 63)])[0] == -(1 << 63)
+    assert array.array("f", [0.5])[0] == 0.5
+
+
+def test_slicing():
+    a = array.array("h", range(10))
+    assert a[2:5] == array.array("h", [2, 3, 4])
+    assert a[::3].tolist() == [0, 3, 6, 9]
+    assert a[::-4].tolist() == [9, 5, 1]
+    a[1:3] = array.array("h", [7, 7, 7, 7])
+    assert a.tolist() == [0, 7, 7, 7, 7, 3, 4, 5, 6, 7, 8, 9]
+    a[::2] = array.array("h", [0] * 6)
+    assert a.tolist() == [0, 7, 0, 7, 0, 3, 0, 5, 0, 7, 0, 9]
+    del a[::2]
+    assert a.tolist() == [7, 7, 3, 5, 7, 9]
+    del a[1:3]
+    assert a.tolist() == [7, 5, 7, 9]
+    a[:] = a
+    assert a.tolist() == [7, 5, 7, 9]
+    assert_raises(TypeError, a.__setitem__, slice(0, 1), [1])
+    assert_raises(ValueError, a.__setitem__, slice(0, 4, 2), array.array("h", [1]))
+
+
+def test_list_operations():
+    a = array.array("l", [3, 1, 2])
+    a.insert(0, 5)
+    a.insert(-1, 6)
+    a.insert(100, 7)
+    assert a.tolist() == [5, 3, 1, 6, 2, 7]
+    assert a.pop() == 7
+    assert a.pop(0) == 5
+    assert a.index(6) == 2
+    assert a.count(1) == 1
+    a.remove(1)
+    assert 6 in a
+    assert 1 not in a
+    a.reverse()
+    assert a.tolist() == [2, 6, 3]
+    assert_raises(ValueError, a.index, 42)
+    assert (a * 2).tolist() == [2, 6, 3, 2, 6, 3]
+    assert (a + a).tolist() == [2, 6, 3, 2, 6, 3]
+    a *= 2
+    assert len(a) == 6
+    a.fromlist([1, 2])
+    assert a[-2:].tolist() == [1, 2]
+    assert_raises(TypeError, a.fromlist, [1, "x"])
+    assert len(a) == 8
+
+
+def test_bytes_roundtrip():
+    for code, values in (("b", [-1, 2]), ("H", [1, 65535]), ("i", [1, -2, 3]), ("q", [1 << 40]), ("f", [1.5, -2.0]), ("d", [0.1, 1e300])):
+        a = array.array(code, values)
+        data = a.tobytes()
+        assert len(data) == len(values) * a.itemsize
+        b = array.array(code)
+        b.frombytes(data)
+        assert a == b
+        assert array.array(code, data) == a
+        b.byteswap()
+        b.byteswap()
+        assert a == b
+    a = array.array("i", [1])
+    assert_raises(ValueError, a.frombytes, b"\x00\x00\x00")
+    a = array.array("H", [1])
+    a.byteswap()
+    assert a[0] == 256
+
+
+def test_unicode():
+    a = array.array("u", "hello")
+    assert len(a) == 5
+    assert a[1] == "e"
+    assert a.tounicode() == "hello"
+    a.fromunicode(" world")
+    assert a.tounicode() == "hello world"
+    assert "".join(a) == "hello world"
+    assert_raises(ValueError, array.array("i").tounicode)
+    assert_raises(TypeError, array.array, "i", "abc")
+    assert repr(array.array("u")) == "array('u')"
+    assert repr(array.array("u", "it's")) == """array('u', "it's")"""
+    assert 5 not in array.array("u", "5")
+    assert "5" not in array.array("i", [5])
+    assert "5" in array.array("u", "5")
+
+
+def test_file_roundtrip():
+    import os
+    path = __file__ + ".tmp"
+    try:
+        a = array.array("d", [1.0, 2.5, -3.75])
+        with open(path, "wb", buffering=0) as f:
+            a.tofile(f)
+        b = array.array("d")
+        with open(path, "rb", buffering=0) as f:
+            b.fromfile(f, 2)
+            assert b.tolist() == [1.0, 2.5]
+            assert_raises(EOFError, b.fromfile, f, 2)
+        assert b.tolist() == [1.0, 2.5, -3.75]
+    finally:
+        os.unlink(path)
+
+
+def test_comparisons():
+    a = array.array("i", [1, 2, 3])
+    assert a < array.array("i", [1, 2, 4])
+    assert a <= array.array("i", [1, 2, 3])
+    assert a > array.array("i", [1, 2])
+    assert a >= array.array("d", [1.0, 2.0, 3.0])
+    assert not a > array.array("i", [1, 3])
+    assert_raises(TypeError, lambda: a < [1, 2, 3])
+
+
+def test_buffer_info():
+    a = array.array("h", [1, 2, 3])
+    address, length = a.buffer_info()
+    assert isinstance(address, int)
+    assert length == 3
+
+
+def test_extended_slicing():
+    a = array.array("f", range(10))
+    assert a[1::3].tolist() == [1.0, 4.0, 7.0]
+    assert a[::-2].tolist() == [9.0, 7.0, 5.0, 3.0, 1.0]
+    a[::2] = array.array("f", [-1] * 5)
+    assert a.tolist() == [-1.0, 1.0, -1.0, 3.0, -1.0, 5.0, -1.0, 7.0, -1.0, 9.0]
+    assert a.index(5) == 5
+    assert array.array("b", [3, 4]).typecode == "b"
+    assert type(array.array("b")).__name__ == "array"
@@ -0,0 +1,117 @@
+# Copyright (c) 2018, Oracle and/or its affiliates.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or data
+# (collectively the "Software"), free of charge and under any and all copyright
+# rights in the Software, and any and all patent rights owned or freely
+# licensable by each licensor hereunder covering either (i) the unmodified
+# Software as contributed to or provided by such licensor, or (ii) the Larger
+# Works (as defined below), to deal in both
+#
+# (a) the Software, and
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+#     one is included with the Software (each a "Larger Work" to which the
+#     Software is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+import bisect
+
+
+def assert_raises(err, fn, *args, **kwargs):
+    raised = False
+    try:
+        fn(*args, **kwargs)
+    except err:
+        raised = True
+    assert raised
+
+
+def test_bisect_storages():
+    for seq in ([1, 2, 2, 2, 5], [1 << 40, 2 << 40, 2 << 40, 2 << 40, 5 << 40], [1.0, 2.0, 2.0, 2.0, 5.0], ["a", "b", "b", "b", "e"]):
+        x = seq[1]
+        assert bisect.bisect_left(seq, x) == 1
+        assert bisect.bisect_right(seq, x) == 4
+        assert bisect.bisect(seq, x) == 4
+        assert bisect.bisect_left(seq, x, 2) == 2
+        assert bisect.bisect_right(seq, x, 0, 2) == 2
+        assert bisect.bisect_right(seq, x, hi=3) == 3
+        assert bisect.bisect_left(seq, seq[0], lo=3) == 3
+        assert bisect.bisect_left(seq, seq[-1]) == 4
+        assert bisect.bisect_right(seq, seq[-1]) == 5
+    assert bisect.bisect_left([], 1) == 0
+    assert bisect.bisect_right([1, 2, 3], 2.5) == 2
+    assert bisect.bisect_left([1.0, 2.0, 3.0], 2) == 1
+
+
+def test_bisect_sequences():
+    assert bisect.bisect_right((1, 3, 5), 3) == 2
+    assert bisect.bisect_left(range(0, 100, 2), 51) == 26
+    assert bisect.bisect_right("abcdef", "c") == 3
+
+
+def test_bisect_errors():
+    assert_raises(ValueError, bisect.bisect_left, [1, 2], 1, -1)
+    assert_raises(TypeError, bisect.bisect_right, 1, 1)
+    assert_raises(TypeError, bisect.bisect_right, [1, 2], "a")
+    assert_raises(IndexError, bisect.bisect_right, [1, 2], 1, 0, 5)
+
+
+def test_insort():
+    ints = []
+    for x in (5, 1, 4, 1, 3, 2):
+        bisect.insort(ints, x)
+    assert ints == [1, 1, 2, 3, 4, 5]
+    floats = [1.0, 3.0]
+    bisect.insort_left(floats, 2.0)
+    bisect.insort_right(floats, 3.0)
+    assert floats == [1.0, 2.0, 3.0, 3.0]
+    mixed = [1, 2, 3]
+    bisect.insort(mixed, 2.5)
+    bisect.insort(mixed, 1 << 70)
+    assert mixed == [1, 2, 2.5, 3, 1 << 70]
+    tail = [1, 2]
+    bisect.insort_left(tail, 0, 5)
+    assert tail == [1, 2, 0]
+
+
+def test_insort_calls_insert():
+    class Recorder(list):
+        def insert(self, index, value):
+            self.inserted = (index, value)
+            list.insert(self, index, value)
+
+    r = Recorder([1, 3])
+    bisect.insort(r, 2)
+    assert r.inserted == (1, 2)
+    assert r == [1, 2, 3]
+
+
+def test_bisect_calls_getitem_of_list_subclasses():
+    class Reversed(list):
+        def __getitem__(self, index):
+            return -list.__getitem__(self, index)
+
+    for items in ([3, 2, 1], [3.0, 2.0, 1.0], [1 << 40, 2, 1]):
+        r = Reversed(items)
+        assert bisect.bisect_left(r, -2) == 1
+        assert bisect.bisect_right(r, -2) == 2
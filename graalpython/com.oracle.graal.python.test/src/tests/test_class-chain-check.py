@@ -36,3 +36,63 @@ class TaskB(TaskA):
 def test_call():
     for t in [TaskA(), TaskB()]:
         assert t.doStuff() == "do stuff"
+
+
+def test_class_attribute_update():
+    class Counter:
+        instances = 0
+
+        def inc(self):
+            return "inc"
+
+    class SubCounter(Counter):
+        pass
+
+    for i in range(10):
+        assert SubCounter().inc() == "inc"
+        Counter.instances += 1
+        assert SubCounter.instances == i + 1
+
+    def other_inc(self):
+        return "other"
+
+    Counter.inc = other_inc
+    assert SubCounter().inc() == "other"
+
+    SubCounter.inc = lambda self: "sub"
+    assert SubCounter().inc() == "sub"
+    assert Counter().inc() == "other"
+
+    del SubCounter.inc
+    assert SubCounter().inc() == "other"
+
+
+def test_class_attribute_lookup_missing():
+    class A:
+        pass
+
+    class B(A):
+        pass
+
+    assert not hasattr(B(), "foo")
+    A.foo = 42
+    assert B().foo == 42
+    assert B.foo == 42
+
+
+def test_builtin_class_attributes_are_read_only():
+    try:
+        int.x = 1
+    except TypeError:
+        pass
+    else:
+        assert False, "setting an attribute of int should raise TypeError"
+    assert not hasattr(int, "x")
+
+    try:
+        del int.__add__
+    except TypeError:
+        pass
+    else:
+        assert False, "deleting an attribute of int should raise TypeError"
+    assert (1).__add__(2) == 3
@@ -94,6 +94,48 @@ class BasicTests(unittest.TestCase):
         assert float(99) == 99
         assert float(999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999999) == 1e+132
 
+    def test_repr(self):
+        data = [
+            (0.0, '0.0'),
+            (-0.0, '-0.0'),
+            (0.1, '0.1'),
+            (1.5, '1.5'),
+            (100.0, '100.0'),
+            (1e15, '1000000000000000.0'),
+            (1e16, '1e+16'),
+            (0.0001, '0.0001'),
+            (0.00001, '1e-05'),
+            (-0.000123, '-0.000123'),
+            (1/3, '0.3333333333333333'),
+            (2.82879384806159e17, '2.82879384806159e+17'),
+            (1.7976931348623157e308, '1.7976931348623157e+308'),
+            (5e-324, '5e-324'),
+            (float('inf'), 'inf'),
+            (float('-inf'), '-inf'),
+            (float('nan'), 'nan'),
+        ]
+        for value, expected in data:
+            self.assertEqual(repr(value), expected)
+            self.assertEqual(str(value), expected)
+
+    def test_parse(self):
+        data = [
+            ('1.5', 1.5),
+            ('  -2.5e-3\n', -0.0025),
+            ('+.5', 0.5),
+            ('1.', 1.0),
+            ('000123.4500', 123.45),
+            ('1e22', 1e22),
+            ('1e23', 1e23),
+            ('9007199254740993', 9007199254740992.0),
+            ('123456789012345678901234567890', 1.2345678901234568e+29),
+            ('2.2250738585072014e-308', 2.2250738585072014e-308),
+        ]
+        for input, expected in data:
+            self.assertEqual(float(input), expected)
+        for input in ['', '.', '1e', '1.5x', 'e5', '1..2']:
+            self.assertRaises(ValueError, float, input)
+
     def test_hex(self):
         data = [
             ('nan', 'nan'),
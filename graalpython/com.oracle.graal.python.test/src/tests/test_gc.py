@@ -54,3 +54,24 @@ def test_gc_collect():
 def test_gc_count():
     c0, c1, c2 = gc.get_count()
     assert c0 + c1 + c2 > 0, "we definitely had something collected"
+
+
+def test_gc_type_histogram():
+    if not hasattr(gc, "_truffle_type_histogram"):
+        return
+    try:
+        before = gc._truffle_type_histogram()
+    except NotImplementedError:
+        # no class histogram on this VM
+        return
+    keep = [[i] for i in range(1000)]
+    after = gc._truffle_type_histogram()
+    assert after["list"][0] - before.get("list", (0, 0))[0] >= 1000
+    assert after["list"][1] > before.get("list", (0, 0))[1]
+    assert all(isinstance(name, str) and "." not in name for name in after)
+    assert len(gc._truffle_type_histogram(True)) > len(after)
+    assert len(gc._truffle_type_histogram(1)) > len(after)
+    # unboxed values are counted under their Python types
+    assert "java.lang.String" not in gc._truffle_type_histogram(True)
+    assert after["str"][0] > 0
+    assert len(keep) == 1000
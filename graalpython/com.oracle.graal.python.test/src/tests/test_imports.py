@@ -89,3 +89,120 @@ def test_import_error():
 def test_import_some_star():
     import posix
     assert stat == posix.stat
+
+
+def test_import_builtin_module_with_core_patches():
+    import itertools
+    import _collections
+    assert sys.modules["itertools"] is itertools
+    assert sys.modules["_collections"] is _collections
+    # both classes are defined by the core library, not in Java
+    assert list(itertools.islice(itertools.count(3), 2)) == [3, 4]
+    assert _collections.defaultdict(list)["missing"] == []
+
+
+def test_repeated_import_follows_sys_modules():
+    import types
+    first = types.ModuleType("cached_import_mod")
+    first.value = 1
+    second = types.ModuleType("cached_import_mod")
+    second.value = 2
+
+    def do_import():
+        import cached_import_mod
+        from cached_import_mod import value
+        return cached_import_mod, value
+
+    sys.modules["cached_import_mod"] = first
+    try:
+        for i in range(3):
+            assert do_import() == (first, 1)
+        sys.modules["cached_import_mod"] = second
+        assert do_import() == (second, 2)
+        second.value = 3
+        assert do_import() == (second, 3)
+        sys.modules["cached_import_mod"] = None
+        try:
+            do_import()
+        except ImportError:
+            pass
+        else:
+            assert False
+    finally:
+        del sys.modules["cached_import_mod"]
+
+
+def test_repeated_dotted_import_returns_package():
+    import package.moduleY
+    for i in range(3):
+        import package.moduleY
+        assert package is sys.modules["package"]
+
+
+def test_repeated_from_import_of_submodule():
+    for i in range(3):
+        from package import moduleY
+        assert moduleY is sys.modules["package.moduleY"]
+
+
+def test_overridden_import_is_called():
+    import builtins
+    original_import = builtins.__import__
+    calls = []
+
+    def my_import(name, *args, **kwargs):
+        calls.append(name)
+        return original_import(name, *args, **kwargs)
+
+    builtins.__import__ = my_import
+    try:
+        import sys
+        from sys import path
+    finally:
+        builtins.__import__ = original_import
+    assert calls == ["sys", "sys"]
+
+
+def test_file_finder():
+    import importlib.machinery
+    tests_dir = sys._getframe().f_code.co_filename.rpartition("/")[0]
+    machinery = importlib.machinery
+    finder = machinery.FileFinder(tests_dir + "/package", (machinery.SourceFileLoader, machinery.SOURCE_SUFFIXES))
+    for i in range(2):
+        spec = finder.find_spec("package.moduleY")
+        assert spec.name == "package.moduleY"
+        assert spec.origin == tests_dir + "/package/moduleY.py"
+        assert spec.submodule_search_locations is None
+        assert isinstance(spec.loader, machinery.SourceFileLoader)
+        spec = finder.find_spec("package.subpackage1")
+        assert spec.origin == tests_dir + "/package/subpackage1/__init__.py"
+        assert spec.submodule_search_locations == [tests_dir + "/package/subpackage1"]
+        assert finder.find_spec("package.moduleDoesNotExist") is None
+        assert finder.find_spec("package.__init__") is not None
+        finder.invalidate_caches()
+
+
+def test_import_of_initializing_module_waits_for_lock():
+    import types
+    import _frozen_importlib
+    module = types.ModuleType("initializing_import_mod")
+    module.__spec__ = types.SimpleNamespace(_initializing=True)
+    original_lock_unlock = _frozen_importlib._lock_unlock_module
+    waited = []
+
+    def lock_unlock(name):
+        waited.append(name)
+        return original_lock_unlock(name)
+
+    sys.modules["initializing_import_mod"] = module
+    _frozen_importlib._lock_unlock_module = lock_unlock
+    try:
+        for i in range(3):
+            import initializing_import_mod
+            assert initializing_import_mod is module
+        module.__spec__._initializing = False
+        import initializing_import_mod
+    finally:
+        _frozen_importlib._lock_unlock_module = original_lock_unlock
+        del sys.modules["initializing_import_mod"]
+    assert waited == ["initializing_import_mod"] * 3
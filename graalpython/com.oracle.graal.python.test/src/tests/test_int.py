@@ -97,3 +97,43 @@ def test_int_bit_length():
     assert (int(-2432902008176640000)).bit_length() == 62
     assert (int(9999992432902008176640000999999)).bit_length() == 103
     assert (int(-9999992432902008176640000999999)).bit_length() == 103
+
+
+def test_int_from_str():
+    assert int("  -12 ") == -12
+    assert int("1_000_000") == 1000000
+    assert int("0x_ff", 16) == 255
+    assert int("0b101", 0) == 5
+    assert int("0o17", 0) == 15
+    assert int("z", 36) == 35
+    assert int("00", 0) == 0
+    assert int("9223372036854775807") == 9223372036854775807
+    assert int("9223372036854775808") == 9223372036854775808
+    assert int("-" + "9" * 40) == -(10 ** 40 - 1)
+    assert int("\u0661\u0662") == 12
+    for literal, base in [("", 10), ("_1", 10), ("1_", 10), ("1__0", 10), ("- 1", 10), ("010", 0), ("0x", 16), ("12", 2)]:
+        try:
+            int(literal, base)
+        except ValueError:
+            pass
+        else:
+            assert False, "expected ValueError for %r with base %d" % (literal, base)
+    try:
+        int("1", 37)
+    except ValueError:
+        pass
+    else:
+        assert False, "expected ValueError for base 37"
+
+
+def test_int_from_bytes_literal():
+    assert int(b"42") == 42
+    assert int(b" -7\n") == -7
+    assert int(bytearray(b"ff"), 16) == 255
+    assert int(b"1" * 30) == int("1" * 30)
+    try:
+        int(b"4x2")
+    except ValueError:
+        pass
+    else:
+        assert False, "expected ValueError"
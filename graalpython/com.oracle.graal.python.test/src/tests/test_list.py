@@ -533,6 +533,32 @@ class ListTest(list_tests.CommonTest):
         ob = My(10)
         self.assertRaises(TypeError, l.__imul__, ob)
 
+    def test_allocation_site_feedback(self):
+        # the same sites produce lists of varying element types and lengths
+        def comprehension(xs):
+            return [x for x in xs]
+
+        def literal(xs):
+            l = []
+            for x in xs:
+                l.append(x)
+            return l
+
+        inputs = [range(3), [1.5, 2.5], range(100), [1, 2**40], [1, 'a', None], [], range(5)]
+        for f in (comprehension, literal, list):
+            for i in range(3):
+                for xs in inputs:
+                    self.assertEqual(list(iter(xs)), f(xs))
+                    self.assertEqual(len(xs), len(f(xs)))
+        l = comprehension([1.5])
+        l.append(1)
+        self.assertEqual([1.5, 1], l)
+        l = literal([])
+        l.insert(0, 'x')
+        l.extend([1, 2])
+        self.assertEqual(['x', 1, 2], l)
+
+
 class ListCompareTest(CompareTest):
     
     def test_compare(self):
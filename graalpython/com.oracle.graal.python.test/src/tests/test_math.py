@@ -229,6 +229,21 @@ class MathTests(unittest.TestCase):
 
         self.assertFalse(math.isnan(False))
 
+    def test_classification_of_float_like_objects(self):
+        class FloatLike:
+            def __init__(self, value):
+                self.value = value
+
+            def __float__(self):
+                return self.value
+
+        for value in (1.5, INF, NINF, NAN):
+            self.assertEqual(math.isnan(FloatLike(value)), math.isnan(value))
+            self.assertEqual(math.isinf(FloatLike(value)), math.isinf(value))
+            self.assertEqual(math.isfinite(FloatLike(value)), math.isfinite(value))
+        self.assertRaises(TypeError, math.isinf, 'hello')
+        self.assertRaises(TypeError, math.isfinite, 'hello')
+
     def test_fabs(self):
         self.assertEqual(math.fabs(-1), 1)
         self.assertEqual(math.fabs(0), 0)
@@ -447,3 +462,132 @@ class MathTests(unittest.TestCase):
         self.assertEqual(math.ldexp(FF(10), II(12)), 40960.0)
         self.assertRaises(TypeError, math.ldexp, 'Hello', 1000000)
         self.assertRaises(TypeError, math.ldexp, 1, 'Hello')
+
+    def assertClose(self, name, got, expected):
+        self.assertTrue(math.isclose(got, expected, rel_tol=1e-13, abs_tol=1e-300), "%s: expected %r, got %r" % (name, expected, got))
+
+    def test_constants(self):
+        self.assertClose('pi', math.pi, 3.141592653589793238462643)
+        self.assertClose('e', math.e, 2.718281828459045235360287)
+        self.assertEqual(math.tau, 2 * math.pi)
+        self.assertTrue(math.isinf(math.inf))
+        self.assertTrue(math.isnan(math.nan))
+
+    def test_trig_and_hyperbolic(self):
+        self.assertClose('tan(pi/4)', math.tan(math.pi / 4), 1)
+        self.assertClose('asin(1)', math.asin(1), math.pi / 2)
+        self.assertClose('atan(1)', math.atan(1), math.pi / 4)
+        self.assertClose('atan2(1, 0)', math.atan2(1, 0), math.pi / 2)
+        self.assertClose('sinh(1)', math.sinh(1), 1.1752011936438014)
+        self.assertClose('cosh(2)', math.cosh(2), 3.7621956910836314)
+        self.assertClose('tanh(1)', math.tanh(1), 0.7615941559557649)
+        self.assertClose('acosh(2)', math.acosh(2), 1.3169578969248168)
+        self.assertClose('asinh(-2)', math.asinh(-2), -1.4436354751788103)
+        self.assertClose('atanh(0.5)', math.atanh(0.5), 0.5493061443340549)
+        self.assertRaises(ValueError, math.asin, 2)
+        self.assertRaises(ValueError, math.acos, -2)
+        self.assertRaises(ValueError, math.tan, INF)
+        self.assertRaises(ValueError, math.acosh, 0)
+        self.assertRaises(ValueError, math.atanh, 1)
+        self.assertRaises(OverflowError, math.cosh, 1000)
+        self.assertRaises(OverflowError, math.exp, 1000)
+        self.assertEqual(math.exp(NINF), 0.0)
+        self.assertClose('expm1(1e-10)', math.expm1(1e-10), 1.00000000005e-10)
+        self.assertClose('degrees(pi)', math.degrees(math.pi), 180.0)
+        self.assertClose('radians(180)', math.radians(180), math.pi)
+        self.assertClose('hypot(3, 4)', math.hypot(3, 4), 5.0)
+        self.assertEqual(math.hypot(INF, NAN), INF)
+
+    def test_log(self):
+        self.assertClose('log(e)', math.log(math.e), 1)
+        self.assertClose('log(8, 2)', math.log(8, 2), 3)
+        self.assertClose('log(10**400, 10)', math.log(10**400, 10), 400)
+        self.assertEqual(math.log2(2**100), 100.0)
+        self.assertEqual(math.log2(0.125), -3.0)
+        self.assertEqual(math.log10(1000), 3.0)
+        self.assertClose('log10(10**1000)', math.log10(10**1000), 1000)
+        self.assertClose('log1p(1e-10)', math.log1p(1e-10), 9.9999999995e-11)
+        self.assertEqual(math.log(INF), INF)
+        self.assertRaises(ValueError, math.log, 0)
+        self.assertRaises(ValueError, math.log, -1)
+        self.assertRaises(ValueError, math.log, -10**400)
+        self.assertRaises(ValueError, math.log2, 0.0)
+        self.assertRaises(ZeroDivisionError, math.log, 10, 1)
+
+    def test_pow(self):
+        self.assertEqual(math.pow(2, 10), 1024.0)
+        self.assertEqual(math.pow(NAN, 0), 1.0)
+        self.assertEqual(math.pow(1, NAN), 1.0)
+        self.assertEqual(math.pow(-1, INF), 1.0)
+        self.assertEqual(math.pow(INF, -1), 0.0)
+        self.assertEqual(math.pow(NINF, 3), NINF)
+        self.assertEqual(math.pow(0.5, NINF), INF)
+        self.assertRaises(ValueError, math.pow, 0, -1)
+        self.assertRaises(ValueError, math.pow, -8, 0.5)
+        self.assertRaises(OverflowError, math.pow, 10, 400)
+
+    def test_special_functions(self):
+        self.assertClose('erf(0.5)', math.erf(0.5), 0.5204998778130465)
+        self.assertClose('erf(-3)', math.erf(-3), -0.9999779095030014)
+        self.assertClose('erfc(0.5)', math.erfc(0.5), 0.4795001221869535)
+        self.assertClose('erfc(10)', math.erfc(10), 2.088487583762545e-45)
+        self.assertEqual(math.gamma(5), 24.0)
+        self.assertClose('gamma(0.5)', math.gamma(0.5), math.sqrt(math.pi))
+        self.assertClose('gamma(-0.5)', math.gamma(-0.5), -3.544907701811032)
+        self.assertClose('lgamma(100)', math.lgamma(100), 359.1342053695754)
+        self.assertEqual(math.lgamma(1), 0.0)
+        self.assertRaises(ValueError, math.gamma, 0)
+        self.assertRaises(ValueError, math.gamma, -2)
+        self.assertRaises(ValueError, math.lgamma, -1)
+        self.assertRaises(OverflowError, math.gamma, 200)
+
+    def test_trunc_modf_isinf_isfinite(self):
+        self.assertEqual(math.trunc(1.9), 1)
+        self.assertEqual(math.trunc(-1.9), -1)
+        self.assertEqual(math.trunc(1e20), 100000000000000000000)
+        self.assertEqual(math.trunc(7), 7)
+        self.assertRaises(ValueError, math.trunc, NAN)
+        self.assertRaises(OverflowError, math.trunc, INF)
+
+        class T:
+            def __trunc__(self):
+                return 42
+        self.assertEqual(math.trunc(T()), 42)
+        self.assertRaises(TypeError, math.trunc, object())
+
+        self.assertEqual(math.modf(1.5), (0.5, 1.0))
+        self.assertEqual(math.modf(-2.25), (-0.25, -2.0))
+        self.assertEqual(math.modf(INF), (0.0, INF))
+        self.assertTrue(math.isinf(NINF))
+        self.assertFalse(math.isinf(10**300))
+        self.assertTrue(math.isfinite(1.0))
+        self.assertFalse(math.isfinite(NAN))
+
+    def test_gcd(self):
+        self.assertEqual(math.gcd(0, 0), 0)
+        self.assertEqual(math.gcd(12, -18), 6)
+        self.assertEqual(math.gcd(-2**63, 0), 2**63)
+        self.assertEqual(math.gcd(2**100, 6 * 2**70), 2**71)
+        self.assertEqual(math.gcd(True, 4), 1)
+        self.assertRaises(TypeError, math.gcd, 1.0, 2)
+
+    def test_fsum(self):
+        self.assertEqual(math.fsum([]), 0.0)
+        self.assertEqual(math.fsum([0.1] * 10), 1.0)
+        self.assertEqual(math.fsum([1e100, 1.0, -1e100, 1e-100, 1e50, -1.0, -1e50]), 1e-100)
+        self.assertEqual(math.fsum([2.0**53, -0.5, -2.0**-54]), 2.0**53-1.0)
+        self.assertEqual(math.fsum([1.0, 1e-16, 1e-16]), 1.0000000000000002)
+        self.assertEqual(math.fsum(range(1000)), 499500.0)
+        self.assertEqual(math.fsum([2**60, 1, -2**60]), 1.0)
+        self.assertEqual(math.fsum(x / 10 for x in range(10)), 4.5)
+        self.assertEqual(math.fsum([1, 2.5, True]), 4.5)
+        self.assertEqual(math.fsum([INF, 1.0]), INF)
+        self.assertTrue(math.isnan(math.fsum([NAN, 1.0])))
+        self.assertRaises(ValueError, math.fsum, [INF, NINF])
+        self.assertRaises(OverflowError, math.fsum, [1e308, 1e308])
+        self.assertRaises(TypeError, math.fsum, ['spam'])
+
+        class L(list):
+            def __iter__(self):
+                return iter([1.0])
+        self.assertEqual(math.fsum(L([1.0, 2.0])), 1.0)
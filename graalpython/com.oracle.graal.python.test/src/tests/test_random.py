@@ -177,3 +177,30 @@ class TestBasicOps:
         randrange = self.gen.randrange
         k = sum(randrange(6755399441055744) % 3 == 2 for i in range(n))
         self.assertTrue(0.30 < k/n < .37, (k/n))
+
+
+def test_cpython_sequence():
+    # values as produced by CPython for the same seed
+    gen = random.Random(12345)
+    assert [gen.random() for i in range(3)] == [0.41661987254534116, 0.010169169457068361, 0.8252065092537432]
+    assert gen.getrandbits(5) == 9
+    assert gen.getrandbits(32) == 3672791226
+    assert gen.getrandbits(64) == 17188393767951940199
+    assert gen.getrandbits(123) == 4638776159594683076832661641253603924
+    internalstate = gen.getstate()[1]
+    assert len(internalstate) == 625
+    assert internalstate[-1] == 14
+
+
+def test_cpython_setstate():
+    gen = random.Random(42)
+    state = gen.getstate()
+    first = [gen.getrandbits(100) for i in range(700)]
+    gen.setstate(state)
+    assert first == [gen.getrandbits(100) for i in range(700)]
+    try:
+        gen.setstate((3, (1, 2, 3), None))
+    except ValueError:
+        pass
+    else:
+        assert False, "expected ValueError"
@@ -0,0 +1,164 @@
+# Copyright (c) 2018, Oracle and/or its affiliates.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or data
+# (collectively the "Software"), free of charge and under any and all copyright
+# rights in the Software, and any and all patent rights owned or freely
+# licensable by each licensor hereunder covering either (i) the unmodified
+# Software as contributed to or provided by such licensor, or (ii) the Larger
+# Works (as defined below), to deal in both
+#
+# (a) the Software, and
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+#     one is included with the Software (each a "Larger Work" to which the
+#     Software is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+
+def assert_raises(err, fn, *args, **kwargs):
+    raised = False
+    try:
+        fn(*args, **kwargs)
+    except err:
+        raised = True
+    assert raised
+
+
+class Point:
+    __slots__ = ("x", "y")
+
+    def __init__(self, x, y):
+        self.x = x
+        self.y = y
+
+
+class Point3D(Point):
+    __slots__ = "z"
+
+    def __init__(self, x, y, z):
+        Point.__init__(self, x, y)
+        self.z = z
+
+
+class PointWithDict(Point):
+    pass
+
+
+class Private:
+    __slots__ = ["__secret"]
+
+    def __init__(self):
+        self.__secret = 42
+
+    def get(self):
+        return self.__secret
+
+
+def test_slots_read_write():
+    p = Point(1, 2)
+    assert p.x == 1
+    assert p.y == 2
+    p.x = "changed"
+    assert p.x == "changed"
+    p.y = 3.5
+    assert p.y == 3.5
+
+
+def test_slots_no_dict():
+    p = Point(1, 2)
+    assert_raises(AttributeError, setattr, p, "z", 3)
+    assert_raises(AttributeError, getattr, p, "__dict__")
+
+
+def test_slots_unset_and_delete():
+    p = Point.__new__(Point)
+    assert_raises(AttributeError, getattr, p, "x")
+    p.x = 1
+    del p.x
+    assert_raises(AttributeError, getattr, p, "x")
+    assert_raises(AttributeError, delattr, p, "x")
+
+
+def test_slots_descriptors():
+    assert "member" in repr(Point.x)
+    assert "x" in repr(Point.x)
+    p = Point(5, 6)
+    assert Point.x.__get__(p, Point) == 5
+    # the object is checked, not the type passed along with it
+    assert Point.x.__get__(p, int) == 5
+    assert_raises(TypeError, Point.x.__get__, 1, Point)
+
+
+def test_slots_inheritance():
+    p = Point3D(1, 2, 3)
+    assert (p.x, p.y, p.z) == (1, 2, 3)
+    assert_raises(AttributeError, setattr, p, "w", 4)
+
+    d = PointWithDict(1, 2)
+    d.w = 4
+    assert d.w == 4
+    assert d.x == 1
+    assert Point.x.__get__(d, PointWithDict) == 1
+    d.x = 5
+    assert d.x == 5
+    del d.x
+    assert_raises(AttributeError, getattr, d, "x")
+    assert_raises(AttributeError, getattr, PointWithDict.__new__(PointWithDict), "y")
+
+
+def test_slots_mangling():
+    p = Private()
+    assert p.get() == 42
+    assert p._Private__secret == 42
+
+
+def test_slots_iterables():
+    class FromGenerator:
+        __slots__ = (name for name in ("a", "b"))
+
+    class FromSet:
+        __slots__ = {"c"}
+
+    g = FromGenerator()
+    g.a = 1
+    g.b = 2
+    assert (g.a, g.b) == (1, 2)
+    assert_raises(AttributeError, setattr, g, "c", 3)
+    s = FromSet()
+    s.c = 3
+    assert s.c == 3
+
+
+def test_slots_errors():
+    def bad_name():
+        class A:
+            __slots__ = ("not an identifier",)
+
+    def conflict():
+        class B:
+            __slots__ = ("a",)
+            a = 1
+
+    assert_raises(TypeError, bad_name)
+    assert_raises(ValueError, conflict)
@@ -0,0 +1,146 @@
+# Copyright (c) 2018, Oracle and/or its affiliates.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or data
+# (collectively the "Software"), free of charge and under any and all copyright
+# rights in the Software, and any and all patent rights owned or freely
+# licensable by each licensor hereunder covering either (i) the unmodified
+# Software as contributed to or provided by such licensor, or (ii) the Larger
+# Works (as defined below), to deal in both
+#
+# (a) the Software, and
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+#     one is included with the Software (each a "Larger Work" to which the
+#     Software is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+import struct
+
+
+def assert_raises(err, fn, *args, **kwargs):
+    raised = False
+    try:
+        fn(*args, **kwargs)
+    except err:
+        raised = True
+    assert raised
+
+
+def test_calcsize():
+    assert struct.calcsize("") == 0
+    assert struct.calcsize("<bhiqd") == 1 + 2 + 4 + 8 + 8
+    assert struct.calcsize("<lL") == 8
+    assert struct.calcsize("@bi") == 8
+    assert struct.calcsize("@ib") == 5
+    assert struct.calcsize("=bi") == 5
+    assert struct.calcsize("3x 2h 10s 5p") == 3 + 1 + 4 + 10 + 5
+    assert_raises(struct.error, struct.calcsize, "y")
+    assert_raises(struct.error, struct.calcsize, "<n")
+    assert_raises(struct.error, struct.calcsize, "12")
+
+
+def test_pack_unpack():
+    data = struct.pack(">bBhHiIqQ", -1, 255, -2, 65535, -3, 4294967295, -4, 18446744073709551615)
+    assert data == b"\xff\xff\xff\xfe\xff\xff\xff\xff\xff\xfd\xff\xff\xff\xff" + b"\xff" * 7 + b"\xfc" + b"\xff" * 8
+    assert struct.unpack(">bBhHiIqQ", data) == (-1, 255, -2, 65535, -3, 4294967295, -4, 18446744073709551615)
+    assert struct.pack("<i", 1) == b"\x01\x00\x00\x00"
+    assert struct.pack(">i", 1) == b"\x00\x00\x00\x01"
+    assert struct.pack("!h", 258) == b"\x01\x02"
+    assert struct.unpack("<?c", b"\x02x") == (True, b"x")
+    assert struct.unpack("<fd", struct.pack("<fd", 1.5, -0.25)) == (1.5, -0.25)
+    assert struct.unpack("<e", struct.pack("<e", 0.333251953125)) == (0.333251953125,)
+    assert struct.pack("<e", 1.0) == b"\x00\x3c"
+    assert struct.pack("<e", 65504.0) == b"\xff\x7b"
+    assert struct.unpack("<e", b"\x01\x00") == (2.0 ** -24,)
+
+
+def test_strings():
+    assert struct.pack("5s", b"abc") == b"abc\x00\x00"
+    assert struct.pack("2s", b"abc") == b"ab"
+    assert struct.unpack("3s", b"xyz") == (b"xyz",)
+    assert struct.pack("5p", b"abc") == b"\x03abc\x00"
+    assert struct.unpack("5p", b"\x09abcd") == (b"abcd",)
+    assert struct.pack("0s", b"abc") == b""
+    assert_raises(struct.error, struct.pack, "s", "a")
+    assert_raises(struct.error, struct.pack, "c", b"ab")
+
+
+def test_errors():
+    assert_raises(struct.error, struct.pack, "<b", 128)
+    assert_raises(struct.error, struct.pack, "<B", -1)
+    assert_raises(struct.error, struct.pack, "<Q", -1)
+    assert_raises(struct.error, struct.pack, "<i", 1.0)
+    assert_raises(struct.error, struct.pack, "<d", "x")
+    assert_raises(struct.error, struct.pack, "<ii", 1)
+    assert_raises(struct.error, struct.unpack, "<i", b"\x00")
+    assert_raises(OverflowError, struct.pack, "<f", 1e300)
+    assert_raises(OverflowError, struct.pack, "<e", 65520.0)
+    assert issubclass(struct.error, Exception)
+
+
+def test_index():
+    class Index:
+        def __index__(self):
+            return 7
+
+    assert struct.pack("<b", Index()) == b"\x07"
+    assert struct.pack("<?", []) == b"\x00"
+    assert struct.pack("<d", 3) == struct.pack("<d", 3.0)
+
+
+def test_struct_object():
+    s = struct.Struct("<hi")
+    assert s.size == 6
+    assert s.format == "<hi"
+    assert s.unpack(s.pack(1, 2)) == (1, 2)
+    assert struct.Struct(b"<h").size == 2
+
+
+def test_pack_into_unpack_from():
+    s = struct.Struct("<ih")
+    buf = bytearray(10)
+    s.pack_into(buf, 2, -1, 3)
+    assert buf == bytearray(b"\x00\x00\xff\xff\xff\xff\x03\x00\x00\x00")
+    assert s.unpack_from(buf, 2) == (-1, 3)
+    assert s.unpack_from(buf, offset=2) == (-1, 3)
+    assert s.unpack_from(bytes(buf)) == (-65536, -1)
+    struct.pack_into("<h", buf, -2, 258)
+    assert buf[-2:] == b"\x02\x01"
+    assert struct.unpack_from("<h", buf, -2) == (258,)
+    assert_raises(struct.error, s.pack_into, buf, 5, 1, 2)
+    assert_raises(struct.error, s.unpack_from, buf, 5)
+    assert_raises(TypeError, s.pack_into, b"0123456789", 0, 1, 2)
+
+
+def test_iter_unpack():
+    data = struct.pack("<4h", 1, 2, 3, 4)
+    assert list(struct.iter_unpack("<h", data)) == [(1,), (2,), (3,), (4,)]
+    assert list(struct.Struct("<hh").iter_unpack(bytearray(data))) == [(1, 2), (3, 4)]
+    assert_raises(struct.error, struct.iter_unpack, "<i", b"\x00" * 6)
+    assert_raises(struct.error, struct.iter_unpack, "", b"")
+
+
+def test_clearcache():
+    assert struct.calcsize("<q") == 8
+    struct._clearcache()
+    assert struct.calcsize("<q") == 8
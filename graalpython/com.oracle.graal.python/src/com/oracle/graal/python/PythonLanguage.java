@@ -130,14 +130,21 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
     @Override
     protected PythonContext createContext(Env env) {
         ensureHomeInOptions(env);
-        if (env.getOptions().get(PythonOptions.SharedCore) && sharedCore != null) {
-            return new PythonContext(this, env, sharedCore);
+        if (env.getOptions().get(PythonOptions.SharedCore)) {
+            return new PythonContext(this, env, getOrCreateSharedCore());
         } else {
             Python3Core newCore = new Python3Core(this, new PythonParserImpl());
             return new PythonContext(this, env, newCore);
         }
     }
 
+    private synchronized PythonCore getOrCreateSharedCore() {
+        if (sharedCore == null) {
+            sharedCore = new Python3Core(this, new PythonParserImpl());
+        }
+        return sharedCore;
+    }
+
     private void ensureHomeInOptions(Env env) {
         String languageHome = getLanguageHome();
         String sysPrefix = env.getOptions().get(PythonOptions.SysPrefix);
@@ -216,21 +223,25 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
 
     @Override
     protected void initializeContext(PythonContext context) throws Exception {
-        Python3Core core = (Python3Core) getCore();
-        boolean fullInit = !PythonOptions.getOption(context, PythonOptions.LazyInit);
+        Python3Core core = (Python3Core) context.getCore();
         if (context.getOptions().get(PythonOptions.SharedCore)) {
-            if (sharedCore == null) {
-                sharedCore = context.getCore();
-                core.bootstrap();
-            } else {
-                fullInit = false;
+            synchronized (core) {
+                if (!core.isInitialized()) {
+                    // The first context initializes the shared core in place. The core is always
+                    // loaded eagerly here, because all contexts copy their modules from it.
+                    core.bootstrap();
+                    context.initializeSysModules();
+                    core.initialize();
+                }
             }
+            // switches the context over to its own copies of the now initialized core
+            context.initialize();
         } else {
             core.bootstrap();
-        }
-        context.initialize();
-        if (fullInit) {
-            core.initialize();
+            context.initialize();
+            if (!PythonOptions.getOption(context, PythonOptions.LazyInit)) {
+                core.initialize();
+            }
         }
     }
 
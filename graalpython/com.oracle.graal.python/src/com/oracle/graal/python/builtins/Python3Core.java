@@ -36,14 +36,20 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 
 import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.modules.ArrayModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.AstModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.AtexitModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.BisectModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.BuiltinConstructors;
 import com.oracle.graal.python.builtins.modules.BuiltinFunctions;
 import com.oracle.graal.python.builtins.modules.CodecsModuleBuiltins;
@@ -64,20 +70,25 @@ import com.oracle.graal.python.builtins.modules.RandomModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.SREModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.SignalModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.StringModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.StructModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.SysModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.TimeModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.TruffleCextBuiltins;
 import com.oracle.graal.python.builtins.modules.WeakRefModuleBuiltins;
+import com.oracle.graal.python.builtins.objects.PEllipsis;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.PNotImplemented;
 import com.oracle.graal.python.builtins.objects.array.ArrayBuiltins;
 import com.oracle.graal.python.builtins.objects.bool.BoolBuiltins;
 import com.oracle.graal.python.builtins.objects.bytes.ByteArrayBuiltins;
 import com.oracle.graal.python.builtins.objects.bytes.BytesBuiltins;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
 import com.oracle.graal.python.builtins.objects.cell.CellBuiltins;
 import com.oracle.graal.python.builtins.objects.code.CodeBuiltins;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorage.DictEntry;
 import com.oracle.graal.python.builtins.objects.complex.ComplexBuiltins;
+import com.oracle.graal.python.builtins.objects.complex.PComplex;
 import com.oracle.graal.python.builtins.objects.dict.DictBuiltins;
 import com.oracle.graal.python.builtins.objects.dict.DictItemsBuiltins;
 import com.oracle.graal.python.builtins.objects.dict.DictItemsIteratorBuiltins;
@@ -90,14 +101,19 @@ import com.oracle.graal.python.builtins.objects.enumerate.EnumerateBuiltins;
 import com.oracle.graal.python.builtins.objects.exception.BaseExceptionBuiltins;
 import com.oracle.graal.python.builtins.objects.exception.PBaseException;
 import com.oracle.graal.python.builtins.objects.floats.FloatBuiltins;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
 import com.oracle.graal.python.builtins.objects.foreign.TruffleObjectBuiltins;
 import com.oracle.graal.python.builtins.objects.frame.FrameBuiltins;
 import com.oracle.graal.python.builtins.objects.function.FunctionBuiltins;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
 import com.oracle.graal.python.builtins.objects.function.PFunction;
+import com.oracle.graal.python.builtins.objects.function.PythonCallable;
 import com.oracle.graal.python.builtins.objects.generator.GeneratorBuiltins;
+import com.oracle.graal.python.builtins.objects.getsetdescriptor.GetSetDescriptor;
 import com.oracle.graal.python.builtins.objects.getsetdescriptor.GetSetDescriptorTypeBuiltins;
+import com.oracle.graal.python.builtins.objects.getsetdescriptor.MemberDescriptor;
+import com.oracle.graal.python.builtins.objects.getsetdescriptor.MemberDescriptorBuiltins;
 import com.oracle.graal.python.builtins.objects.ints.IntBuiltins;
 import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.iterator.ForeignIteratorBuiltins;
@@ -108,6 +124,8 @@ import com.oracle.graal.python.builtins.objects.list.ListBuiltins;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.mappingproxy.MappingproxyBuiltins;
 import com.oracle.graal.python.builtins.objects.method.MethodBuiltins;
+import com.oracle.graal.python.builtins.objects.method.PBuiltinMethod;
+import com.oracle.graal.python.builtins.objects.method.PMethod;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.object.ObjectBuiltins;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
@@ -116,9 +134,13 @@ import com.oracle.graal.python.builtins.objects.range.RangeBuiltins;
 import com.oracle.graal.python.builtins.objects.referencetype.ReferenceTypeBuiltins;
 import com.oracle.graal.python.builtins.objects.reversed.ReversedBuiltins;
 import com.oracle.graal.python.builtins.objects.set.FrozenSetBuiltins;
+import com.oracle.graal.python.builtins.objects.set.PFrozenSet;
+import com.oracle.graal.python.builtins.objects.set.PSet;
 import com.oracle.graal.python.builtins.objects.set.SetBuiltins;
 import com.oracle.graal.python.builtins.objects.slice.SliceBuiltins;
+import com.oracle.graal.python.builtins.objects.str.PString;
 import com.oracle.graal.python.builtins.objects.str.StringBuiltins;
+import com.oracle.graal.python.builtins.objects.struct.StructBuiltins;
 import com.oracle.graal.python.builtins.objects.traceback.TracebackBuiltins;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.builtins.objects.tuple.TupleBuiltins;
@@ -130,6 +152,8 @@ import com.oracle.graal.python.runtime.PythonCore;
 import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.PythonParseResult;
 import com.oracle.graal.python.runtime.PythonParser;
+import com.oracle.graal.python.runtime.StartupProfile;
+import com.oracle.graal.python.runtime.StartupProfile.Phase;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
@@ -184,8 +208,23 @@ public final class Python3Core implements PythonCore {
                     "bytes",
                     "float",
                     "time",
+                    "_struct",
     };
 
+    /**
+     * Core files that only patch their own builtin module and are not needed to start up. With
+     * {@link PythonOptions#LazyCoreModules}, these are loaded when the module is first looked up.
+     */
+    private static final Set<String> LAZY_CORE_FILES = new HashSet<>(Arrays.asList(
+                    "_functools",
+                    "_weakref",
+                    "itertools",
+                    "_sre",
+                    "_collections",
+                    "time",
+                    "_struct",
+                    "python_cext"));
+
     private static final Map<String, Object> BUILTIN_CONSTANTS = new HashMap<>();
     static {
         BUILTIN_CONSTANTS.put("NotImplemented", PNotImplemented.NOT_IMPLEMENTED);
@@ -232,11 +271,15 @@ public final class Python3Core implements PythonCore {
                     new FrameBuiltins(),
                     new MappingproxyBuiltins(),
                     new GetSetDescriptorTypeBuiltins(),
+                    new MemberDescriptorBuiltins(),
                     new BaseExceptionBuiltins(),
                     new PosixModuleBuiltins(),
                     new ImpModuleBuiltins(),
                     new ArrayModuleBuiltins(),
                     new ArrayBuiltins(),
+                    new StructModuleBuiltins(),
+                    new StructBuiltins(),
+                    new BisectModuleBuiltins(),
                     new TimeModuleBuiltins(),
                     new MathModuleBuiltins(),
                     new MarshalModuleBuiltins(),
@@ -284,6 +327,31 @@ public final class Python3Core implements PythonCore {
     // used in case PythonOptions.SharedCore is false
     @CompilationFinal private PythonContext singletonContext;
 
+    // lazy core files that have not been loaded, yet
+    private final Set<String> pendingCoreFiles = new HashSet<>();
+    // lazy core files being loaded, guarded by the lock on pendingCoreFiles
+    private final Map<String, LoadingCoreFile> loadingCoreFiles = new HashMap<>();
+
+    private static final class LoadingCoreFile {
+        private final Thread thread = Thread.currentThread();
+        private final CountDownLatch loaded = new CountDownLatch(1);
+
+        private void awaitLoaded() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    loaded.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     // only applicable while running initialization code (stored in context afterwards)
     private PException currentException;
 
@@ -326,12 +394,14 @@ public final class Python3Core implements PythonCore {
 
     @Override
     public void bootstrap() {
+        long start = StartupProfile.start();
         initializeTypes();
         populateBuiltins();
         publishBuiltinModules();
 
         builtinsModule = builtinModules.get("builtins");
         setBuiltinsConstants();
+        StartupProfile.record("<bootstrap>", Phase.BOOTSTRAP, start);
     }
 
     @Override
@@ -341,35 +411,159 @@ public final class Python3Core implements PythonCore {
 
     public void initialize() {
         String coreHome = PythonCore.getCoreHomeOrFail();
+        PythonContext context = getContext();
+        // a shared core is copied into each context after initialization, so it must be complete
+        if (PythonOptions.getOption(context, PythonOptions.LazyCoreModules) && !PythonOptions.getOption(context, PythonOptions.SharedCore)) {
+            synchronized (pendingCoreFiles) {
+                pendingCoreFiles.addAll(LAZY_CORE_FILES);
+            }
+        }
         loadFile("builtins", coreHome);
         findKnownExceptionTypes();
         for (String s : CORE_FILES) {
-            loadFile(s, coreHome);
+            if (!isPendingCoreFile(s)) {
+                loadFile(s, coreHome);
+            }
+        }
+        unpublishPendingModules();
+        exportCInterface(context);
+        if (PythonOptions.getOption(context, PythonOptions.SharedCore)) {
+            bindGlobalsOfBuiltinClassFunctions();
         }
-        exportCInterface(getContext());
         currentException = null;
         initialized = true;
     }
 
+    /**
+     * Builtin classes are shared by all contexts of a shared core, so the functions that the core
+     * files attach to them (e.g. {@code list.sort}) are not copied per context. Instead, they look
+     * up their globals in the calling context, so that they see the same module-level state and
+     * classes as the rest of the context.
+     */
+    private void bindGlobalsOfBuiltinClassFunctions() {
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (PythonBuiltinClassType type : PythonBuiltinClassType.values()) {
+            bindGlobalsOfClassFunctions(lookupType(type), seen);
+        }
+        for (PythonModule module : builtinModules.values()) {
+            for (String attr : module.getAttributeNames()) {
+                Object value = module.getAttribute(attr);
+                if (value instanceof PythonBuiltinClass) {
+                    bindGlobalsOfClassFunctions((PythonBuiltinClass) value, seen);
+                }
+            }
+        }
+    }
+
+    private static void bindGlobalsOfClassFunctions(PythonBuiltinClass klass, Set<Object> seen) {
+        if (klass != null && seen.add(klass)) {
+            for (String attr : klass.getAttributeNames()) {
+                bindGlobalsOfFunctions(klass.getStorage().get(attr), seen);
+            }
+        }
+    }
+
+    private static void bindGlobalsOfFunctions(Object value, Set<Object> seen) {
+        if (value == null || !seen.add(value)) {
+            return;
+        }
+        if (value instanceof PFunction) {
+            ((PFunction) value).setContextGlobals();
+        } else if (value instanceof PMethod) {
+            bindGlobalsOfFunctions(((PMethod) value).__func__(), seen);
+        } else if (value instanceof GetSetDescriptor) {
+            bindGlobalsOfFunctions(((GetSetDescriptor) value).getGet(), seen);
+            bindGlobalsOfFunctions(((GetSetDescriptor) value).getSet(), seen);
+        } else if (value.getClass() == PythonObject.class) {
+            // e.g. classmethod objects of the core files that wrap a function
+            PythonObject object = (PythonObject) value;
+            for (String attr : object.getAttributeNames()) {
+                bindGlobalsOfFunctions(object.getAttribute(attr), seen);
+            }
+        }
+    }
+
+    /**
+     * @return whether the core file has not been loaded completely, yet
+     */
+    private boolean isPendingCoreFile(String name) {
+        synchronized (pendingCoreFiles) {
+            return pendingCoreFiles.contains(name) || loadingCoreFiles.containsKey(name);
+        }
+    }
+
+    /**
+     * Modules with pending core files must not be found in {@code sys.modules}, so that the first
+     * import goes through {@code _imp} and thereby {@link #lookupBuiltinModule(String)}.
+     */
+    private void unpublishPendingModules() {
+        PDict sysModules = (PDict) builtinModules.get("sys").getAttribute("modules");
+        synchronized (pendingCoreFiles) {
+            for (String name : pendingCoreFiles) {
+                sysModules.delItem(name);
+            }
+        }
+    }
+
+    /**
+     * Loads a pending core file. The file is executed without holding the lock on
+     * {@link #pendingCoreFiles}, because its code may import other modules. Other threads importing
+     * the module wait until it is registered instead of seeing it half loaded. A recursive import of
+     * the module on the loading thread sees the partially initialized module, just like for any
+     * other module.
+     */
+    private void loadPendingCoreFile(String name) {
+        LoadingCoreFile loading;
+        synchronized (pendingCoreFiles) {
+            loading = loadingCoreFiles.get(name);
+            if (loading == null) {
+                if (!pendingCoreFiles.remove(name)) {
+                    return;
+                }
+                loadingCoreFiles.put(name, new LoadingCoreFile());
+            }
+        }
+        if (loading != null) {
+            if (loading.thread != Thread.currentThread()) {
+                loading.awaitLoaded();
+            }
+            return;
+        }
+        try {
+            loadFile(name, PythonCore.getCoreHomeOrFail());
+            ((PDict) builtinModules.get("sys").getAttribute("modules")).setItem(name, builtinModules.get(name));
+        } finally {
+            synchronized (pendingCoreFiles) {
+                loading = loadingCoreFiles.remove(name);
+            }
+            loading.loaded.countDown();
+        }
+    }
+
+    /**
+     * Copies a core object for a context that shares this core. Immutable values, builtin
+     * functions and builtin classes (whose attributes cannot be set) are shared. Everything else
+     * that can be mutated from Python is copied, including classes defined in the core files and
+     * their instances. Copies share call targets and code with the originals, so only the
+     * containers themselves take extra heap.
+     */
+    @Override
+    @TruffleBoundary
     public Object duplicate(Map<Object, Object> replacements, Object value) {
         Object replacement = replacements.get(value);
         if (replacement != null) {
             return replacement;
         }
-        if (value instanceof String || value instanceof PNone || value instanceof PNotImplemented || value instanceof Boolean || value instanceof Integer || value instanceof PInt ||
-                        value instanceof Double) {
+        if (isImmutableCoreObject(value)) {
             return value;
         } else if (value instanceof PFunction) {
             PFunction function = (PFunction) value;
-            PythonModule globals = (PythonModule) function.getGlobals();
-            PFunction newFunction = function.copyWithGlobals((PythonObject) duplicate(replacements, globals));
+            PFunction newFunction = function.copyWithGlobals((PythonObject) duplicate(replacements, function.getGlobals()));
+            replacements.put(function, newFunction);
             for (String attr : function.getAttributeNames()) {
                 newFunction.setAttribute(attr, duplicate(replacements, function.getAttribute(attr)));
             }
             return newFunction;
-        } else if (value instanceof PBuiltinFunction) {
-            assert ((PythonObject) value).getAttributeNames().isEmpty();
-            return value;
         } else if (value instanceof PythonModule) {
             PythonModule module = (PythonModule) value;
             PythonModule newModule = factory().createPythonModule(module.getModuleName(), module.getModulePath());
@@ -379,13 +573,10 @@ public final class Python3Core implements PythonCore {
             }
             return newModule;
         } else if (value instanceof PythonClass) {
-            // TODO: all classes in core should be PythonBuiltinClass
-            return value;
-        } else if (value instanceof PythonBuiltinClass) {
-            return value;
+            return duplicateClass(replacements, (PythonClass) value);
         } else if (value instanceof PDict) {
             PDict dict = (PDict) value;
-            PDict newDict = factory().createDict();
+            PDict newDict = factory().createDict((PythonClass) duplicate(replacements, dict.getPythonClass()));
             replacements.put(dict, newDict);
             for (DictEntry attr : dict.entries()) {
                 newDict.setItem(duplicate(replacements, attr.getKey()), duplicate(replacements, attr.getValue()));
@@ -404,30 +595,104 @@ public final class Python3Core implements PythonCore {
         } else if (value instanceof PList) {
             PList list = (PList) value;
             assert list.getAttributeNames().isEmpty();
-            PList newList = factory().createList();
+            PList newList = factory().createList((PythonClass) duplicate(replacements, list.getPythonClass()));
             replacements.put(list, newList);
             for (int i = 0; i < list.len(); i++) {
                 newList.append(duplicate(replacements, list.getItem(i)));
             }
             return newList;
+        } else if (value instanceof PSet) {
+            // set elements are hashable and therefore not copied
+            PSet set = (PSet) value;
+            PSet newSet = factory().createSet((PythonClass) duplicate(replacements, set.getPythonClass()),
+                            set.getDictStorage().copy(HashingStorage.getSlowPathEquivalence(null)));
+            replacements.put(set, newSet);
+            return newSet;
+        } else if (value instanceof PMethod) {
+            PMethod method = (PMethod) value;
+            PMethod newMethod = factory().createMethod(duplicate(replacements, method.__self__()), (PFunction) duplicate(replacements, method.__func__()));
+            replacements.put(method, newMethod);
+            return newMethod;
+        } else if (value instanceof PBuiltinMethod) {
+            PBuiltinMethod method = (PBuiltinMethod) value;
+            PBuiltinMethod newMethod = factory().createBuiltinMethod(duplicate(replacements, method.__self__()), method.__func__());
+            replacements.put(method, newMethod);
+            return newMethod;
+        } else if (value instanceof MemberDescriptor) {
+            MemberDescriptor descriptor = (MemberDescriptor) value;
+            MemberDescriptor newDescriptor = factory().createMemberDescriptor(descriptor.getName(), (PythonClass) duplicate(replacements, descriptor.getType()));
+            replacements.put(descriptor, newDescriptor);
+            return newDescriptor;
+        } else if (value instanceof GetSetDescriptor) {
+            GetSetDescriptor descriptor = (GetSetDescriptor) value;
+            GetSetDescriptor newDescriptor = factory().createGetSetDescriptor((PythonCallable) duplicate(replacements, descriptor.getGet()),
+                            (PythonCallable) duplicate(replacements, descriptor.getSet()), descriptor.getName(), (PythonClass) duplicate(replacements, descriptor.getType()));
+            replacements.put(descriptor, newDescriptor);
+            return newDescriptor;
+        } else if (value != null && value.getClass() == PythonObject.class) {
+            // instances of classes defined in the core files
+            PythonObject object = (PythonObject) value;
+            PythonObject newObject = factory().createPythonObject((PythonClass) duplicate(replacements, object.getPythonClass()));
+            replacements.put(object, newObject);
+            for (String attr : object.getAttributeNames()) {
+                newObject.setAttribute(attr, duplicate(replacements, object.getAttribute(attr)));
+            }
+            return newObject;
+        }
+        throw new IllegalStateException("cannot copy core object of type " + (value == null ? "null" : value.getClass().getName()) + " for a context sharing the core");
+    }
+
+    private static boolean isImmutableCoreObject(Object value) {
+        if (value instanceof PBuiltinFunction) {
+            assert ((PythonObject) value).getAttributeNames().isEmpty();
+            return true;
+        }
+        return value == null || value instanceof String || value instanceof PString || value instanceof Boolean || value instanceof Integer || value instanceof Long || value instanceof Double ||
+                        value instanceof PInt || value instanceof PFloat || value instanceof PComplex || value instanceof PBytes || value instanceof PFrozenSet ||
+                        value instanceof PNone || value instanceof PNotImplemented || value instanceof PEllipsis || value instanceof PythonBuiltinClass;
+    }
+
+    private PythonClass duplicateClass(Map<Object, Object> replacements, PythonClass klass) {
+        PythonClass[] bases = klass.getBaseClasses();
+        PythonClass[] newBases = new PythonClass[bases.length];
+        for (int i = 0; i < bases.length; i++) {
+            newBases[i] = (PythonClass) duplicate(replacements, bases[i]);
         }
-        assert value.getClass() == PythonObject.class;
-        // TODO: not sure what to do about these
-        return value;
+        PythonClass metaclass = (PythonClass) duplicate(replacements, klass.getPythonClass());
+        PythonClass newClass = factory().createPythonClass(metaclass, klass.getName(), newBases);
+        replacements.put(klass, newClass);
+        for (String attr : klass.getAttributeNames()) {
+            newClass.setAttribute(attr, duplicate(replacements, klass.getStorage().get(attr)));
+        }
+        if (klass.hasSlots()) {
+            newClass.setSlots(klass.getSlots(), klass.hasInstanceDict());
+        }
+        return newClass;
     }
 
+    /**
+     * Modules that are copied into every context that shares this core. All other builtin modules
+     * are copied on first import (see {@link PythonContext#lookupBuiltinModule(String)}).
+     */
+    private static final String[] STARTUP_MODULES = new String[]{
+                    "builtins",
+                    "sys",
+                    "_imp",
+                    "_warnings",
+                    "_frozen_importlib",
+                    "_frozen_importlib_external",
+                    "importlib._bootstrap",
+                    "importlib._bootstrap_external",
+    };
+
+    @Override
     public PythonModule createSysModule(PythonContext context) {
-        Map<Object, Object> replacements = new HashMap<>();
-        if (context.getOptions().get(PythonOptions.SharedCore)) {
-            for (PythonModule module : builtinModules.values()) {
-                duplicate(replacements, module);
-            }
+        PythonModule sys;
+        if (context.getOptions().get(PythonOptions.SharedCore) && initialized) {
+            sys = createSharedSysModule(context);
         } else {
-            for (PythonModule module : builtinModules.values()) {
-                replacements.put(module, module);
-            }
+            sys = builtinModules.get("sys");
         }
-        PythonModule sys = (PythonModule) replacements.get(builtinModules.get("sys"));
         String[] args = context.getEnv().getApplicationArguments();
         sys.setAttribute("argv", factory().createList(Arrays.copyOf(args, args.length, Object[].class)));
         String prefix = PythonCore.getSysPrefix(context.getEnv());
@@ -438,6 +703,32 @@ public final class Python3Core implements PythonCore {
         return sys;
     }
 
+    @TruffleBoundary
+    private PythonModule createSharedSysModule(PythonContext context) {
+        Map<Object, Object> copies = context.getSharedCoreCopies();
+        synchronized (copies) {
+            PythonModule sharedSys = builtinModules.get("sys");
+            PDict sharedModules = (PDict) sharedSys.getAttribute("modules");
+            PDict modules = factory().createDict();
+            copies.put(sharedModules, modules);
+            PythonModule sys = (PythonModule) duplicate(copies, sharedSys);
+            for (String name : STARTUP_MODULES) {
+                PythonModule module = builtinModules.get(name);
+                if (module != null) {
+                    modules.setItem(name, duplicate(copies, module));
+                }
+            }
+            // anything else put into sys.modules while initializing the core is not importable as
+            // a builtin, so it has to be copied right away
+            for (DictEntry entry : sharedModules.entries()) {
+                if (!(entry.getKey() instanceof String && builtinModules.containsKey(entry.getKey()))) {
+                    modules.setItem(duplicate(copies, entry.getKey()), duplicate(copies, entry.getValue()));
+                }
+            }
+            return sys;
+        }
+    }
+
     private void initializeSysPath(PythonContext context, PythonModule sys, String[] args) {
         Env env = context.getEnv();
         Object[] path = new Object[]{
@@ -480,7 +771,11 @@ public final class Python3Core implements PythonCore {
 
     @TruffleBoundary
     public PythonModule lookupBuiltinModule(String name) {
-        return builtinModules.get(name);
+        PythonModule module = builtinModules.get(name);
+        if (module != null && isPendingCoreFile(name)) {
+            loadPendingCoreFile(name);
+        }
+        return module;
     }
 
     public PythonBuiltinClass lookupType(PythonBuiltinClassType type) {
@@ -583,11 +878,14 @@ public final class Python3Core implements PythonCore {
         }
     }
 
+    @Override
     public void exportCInterface(PythonContext context) {
         Env env = context.getEnv();
         if (env != null) {
-            env.exportSymbol("python_cext", builtinModules.get("python_cext"));
-            env.exportSymbol("python_builtins", builtinsModule);
+            // do not trigger loading python_cext, that only needs to happen once the C API is used
+            PythonModule cext = isPendingCoreFile("python_cext") ? builtinModules.get("python_cext") : context.lookupBuiltinModule("python_cext");
+            env.exportSymbol("python_cext", cext);
+            env.exportSymbol("python_builtins", context.getBuiltins());
 
             // export all exception classes for the C API
             for (PythonErrorType errorType : PythonErrorType.values()) {
@@ -763,7 +1061,9 @@ public final class Python3Core implements PythonCore {
             mod = factory().createPythonModule("__anonymous__", "<bootstrap>");
         }
         CallTarget callTarget = Truffle.getRuntime().createCallTarget(parsedModule.getRootNode());
+        long start = StartupProfile.start();
         callTarget.call(PArguments.withGlobals(mod));
+        StartupProfile.record(s, Phase.EXECUTE, start);
     }
 
     private void findKnownExceptionTypes() {
@@ -32,6 +32,7 @@ public enum PythonBuiltinClassType {
     TruffleObject(com.oracle.truffle.api.interop.TruffleObject.class, "truffle_object"),
     Boolean(java.lang.Boolean.class, "bool"),
     GetSetDescriptor(com.oracle.graal.python.builtins.objects.getsetdescriptor.GetSetDescriptor.class, "get_set_desc"),
+    MemberDescriptor(com.oracle.graal.python.builtins.objects.getsetdescriptor.MemberDescriptor.class, "member_descriptor"),
     PArray(com.oracle.graal.python.builtins.objects.array.PArray.class, "array"),
     PBaseException(com.oracle.graal.python.builtins.objects.exception.PBaseException.class, "BaseException"),
     PBaseSetIterator(com.oracle.graal.python.builtins.objects.iterator.PBaseSetIterator.class, "iterator"),
@@ -56,12 +57,14 @@ public enum PythonBuiltinClassType {
     PEllipsis(com.oracle.graal.python.builtins.objects.PEllipsis.class, "ellipsis"),
     PEnumerate(com.oracle.graal.python.builtins.objects.enumerate.PEnumerate.class, "enumerate"),
     PFloat(com.oracle.graal.python.builtins.objects.floats.PFloat.class, "float"),
+    PFloatArray(com.oracle.graal.python.builtins.objects.array.PFloatArray.class, "array"),
     PFrame(com.oracle.graal.python.builtins.objects.frame.PFrame.class, "frame"),
     PFrozenSet(com.oracle.graal.python.builtins.objects.set.PFrozenSet.class, "frozenset"),
     PFunction(com.oracle.graal.python.builtins.objects.function.PFunction.class, "function"),
     PGenerator(com.oracle.graal.python.builtins.objects.generator.PGenerator.class, "generator"),
     PGeneratorFunction(com.oracle.graal.python.builtins.objects.function.PGeneratorFunction.class, "function"),
     PInt(com.oracle.graal.python.builtins.objects.ints.PInt.class, "int"),
+    PInt8Array(com.oracle.graal.python.builtins.objects.array.PInt8Array.class, "array"),
     PIntArray(com.oracle.graal.python.builtins.objects.array.PIntArray.class, "ints"),
     PIntArrayIterator(com.oracle.graal.python.builtins.objects.iterator.PIntArrayIterator.class, "iterator"),
     PIntegerSequenceIterator(com.oracle.graal.python.builtins.objects.iterator.PIntegerSequenceIterator.class, "iterator"),
@@ -83,10 +86,12 @@ public enum PythonBuiltinClassType {
     PForeignArrayIterator(com.oracle.graal.python.builtins.objects.iterator.PForeignArrayIterator.class, "foreign_iterator"),
     PSequenceReverseIterator(com.oracle.graal.python.builtins.objects.reversed.PSequenceReverseIterator.class, "reversed"),
     PSet(com.oracle.graal.python.builtins.objects.set.PSet.class, "set"),
+    PShortArray(com.oracle.graal.python.builtins.objects.array.PShortArray.class, "array"),
     PSlice(com.oracle.graal.python.builtins.objects.slice.PSlice.class, "slice"),
     PString(com.oracle.graal.python.builtins.objects.str.PString.class, "str"),
     PStringIterator(com.oracle.graal.python.builtins.objects.iterator.PStringIterator.class, "iterator"),
     PStringReverseIterator(com.oracle.graal.python.builtins.objects.reversed.PStringReverseIterator.class, "reversed"),
+    PStruct(com.oracle.graal.python.builtins.objects.struct.PStruct.class, "Struct"),
     PTraceback(com.oracle.graal.python.builtins.objects.traceback.PTraceback.class, "traceback"),
     PTuple(com.oracle.graal.python.builtins.objects.tuple.PTuple.class, "tuple"),
     PythonBuiltinClass(com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass.class, "type"),
@@ -109,6 +114,10 @@ public enum PythonBuiltinClassType {
         return shortName;
     }
 
+    public Class<?> getJavaClass() {
+        return clazz;
+    }
+
     private static final HashMap<Class<?>, PythonBuiltinClassType> fromJavaClass = new HashMap<>();
 
     static {
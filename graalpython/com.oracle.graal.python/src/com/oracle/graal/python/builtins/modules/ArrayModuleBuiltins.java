@@ -26,28 +26,29 @@
 package com.oracle.graal.python.builtins.modules;
 
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.array.ArrayBuiltins.ExtendNode;
+import com.oracle.graal.python.builtins.objects.array.ArrayBuiltinsFactory;
 import com.oracle.graal.python.builtins.objects.array.PArray;
-import com.oracle.graal.python.builtins.objects.range.PRange;
+import com.oracle.graal.python.builtins.objects.array.PCharArray;
+import com.oracle.graal.python.builtins.objects.bytes.PIBytesLike;
 import com.oracle.graal.python.builtins.objects.type.PythonClass;
-import com.oracle.graal.python.nodes.control.GetIteratorNode;
-import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.PNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
-import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.runtime.sequence.PSequence;
-import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
-import com.oracle.truffle.api.CompilerDirectives;
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
 
 @CoreFunctions(defineModule = "array")
 public final class ArrayModuleBuiltins extends PythonBuiltins {
@@ -57,123 +58,126 @@ public final class ArrayModuleBuiltins extends PythonBuiltins {
         return ArrayModuleBuiltinsFactory.getFactories();
     }
 
+    public ArrayModuleBuiltins() {
+        builtinConstants.put("typecodes", PArray.TYPE_CODES);
+    }
+
     // array.array(typecode[, initializer])
     @Builtin(name = "array", minNumOfArguments = 2, maxNumOfArguments = 3, constructsClass = PArray.class)
     @GenerateNodeFactory
+    @TypeSystemReference(PythonArithmeticTypes.class)
     abstract static class PythonArrayNode extends PythonBuiltinNode {
 
         @Specialization(guards = "noInitializer(typeCode,initializer)")
         PArray array(PythonClass cls, String typeCode, @SuppressWarnings("unused") Object initializer) {
-            /**
-             * TODO @param typeCode should be a char, not a string
-             */
-            return makeEmptyArray(cls, typeCode.charAt(0));
+            return makeEmptyArray(cls, typeCode, 0);
         }
 
         @Specialization
-        PArray arrayWithRangeInitializer(PythonClass cls, String typeCode, PRange range) {
-            if (!typeCode.equals("i")) {
-                typeError(typeCode, range);
+        PArray arrayWithStringInitializer(PythonClass cls, String typeCode, String str) {
+            PArray array = makeEmptyArray(cls, typeCode, str.length());
+            if (!(array instanceof PCharArray)) {
+                throw raise(TypeError, "cannot use a str to initialize an array with typecode '%s'", typeCode);
             }
+            ((PCharArray) array).fromString(str);
+            return array;
+        }
 
-            int[] intArray = new int[range.len()];
+        @Specialization(guards = "isBytesLike(initializer)")
+        PArray arrayWithBytesInitializer(PythonClass cls, String typeCode, Object initializer) {
+            PIBytesLike bytes = (PIBytesLike) initializer;
+            PArray array = makeEmptyArray(cls, typeCode, 0);
+            array.fromBytes(ByteBuffer.wrap(bytes.getInternalByteArray(), 0, bytes.len()));
+            return array;
+        }
 
-            int start = range.getStart();
-            int stop = range.getStop();
-            int step = range.getStep();
+        @Specialization(guards = "isSameKind(typeCode, initializer)")
+        PArray arrayWithArrayInitializer(PythonClass cls, String typeCode, PArray initializer) {
+            PArray array = makeEmptyArray(cls, typeCode, initializer.len());
+            array.extend(initializer);
+            return array;
+        }
 
-            int index = 0;
-            for (int i = start; i < stop; i += step) {
-                intArray[index++] = i;
+        @Specialization(guards = {"!isBytesLike(initializer)", "!isSameKind(typeCode, initializer)"})
+        PArray arrayWithSequenceInitializer(PythonClass cls, String typeCode, PSequence initializer) {
+            // sequences know their length, so the storage is sized once and filled by index
+            int length = initializer.len();
+            PArray array = makeEmptyArray(cls, typeCode, length);
+            for (int i = 0; i < length; i++) {
+                array.append(initializer.getItem(i));
             }
-
-            return factory().createIntArray(cls, intArray);
+            return array;
         }
 
-        @Specialization
-        PArray arrayWithSequenceInitializer(PythonClass cls, String typeCode, String str) {
-            if (!typeCode.equals("c")) {
-                typeError(typeCode, str);
-            }
+        @Specialization(guards = {"!noInitializer(typeCode,initializer)", "!isString(initializer)", "!isBytesLike(initializer)", "!isPSequence(initializer)"})
+        PArray arrayWithIterableInitializer(PythonClass cls, String typeCode, Object initializer,
+                        @Cached("createExtend()") ExtendNode extendNode) {
+            PArray array = makeEmptyArray(cls, typeCode, 0);
+            extendNode.execute(array, initializer);
+            return array;
+        }
 
-            return factory().createCharArray(cls, str.toCharArray());
+        @SuppressWarnings("unused")
+        @Specialization(guards = "!isString(typeCode)")
+        PArray arrayWithBadTypeCode(PythonClass cls, Object typeCode, Object initializer) {
+            throw raise(TypeError, "array() argument 1 must be a unicode character, not %p", typeCode);
         }
 
-        /**
-         * @param cls
-         */
-        @Specialization
-        PArray arrayWithSequenceInitializer(PythonClass cls, String typeCode, PSequence initializer,
-                        @Cached("create()") GetIteratorNode getIterator,
-                        @Cached("create()") GetNextNode next,
-                        @Cached("createBinaryProfile()") ConditionProfile errorProfile) {
-            SequenceStorage store;
-            switch (typeCode.charAt(0)) {
-                case 'i':
-                    Object iter = getIterator.executeWith(initializer);
-                    int[] intArray = new int[initializer.len()];
-                    int i = 0;
-
-                    while (true) {
-                        Object nextValue;
-                        try {
-                            nextValue = next.execute(iter);
-                        } catch (PException e) {
-                            e.expectStopIteration(getCore(), errorProfile);
-                            break;
-                        }
-                        if (nextValue instanceof Integer) {
-                            intArray[i++] = (int) nextValue;
-                        } else {
-                            CompilerDirectives.transferToInterpreter();
-                            operandTypeError();
-                        }
-                    }
-
-                    return factory().createIntArray(cls, intArray);
-                case 'd':
-                    store = initializer.getSequenceStorage();
-                    double[] doubleArray = new double[store.length()];
+        protected static ExtendNode createExtend() {
+            return ArrayBuiltinsFactory.ExtendNodeFactory.create(new PNode[0]);
+        }
 
-                    for (i = 0; i < doubleArray.length; i++) {
-                        Object val = store.getItemNormalized(i);
-                        doubleArray[i] = (double) val;
-                    }
+        protected static boolean isBytesLike(Object value) {
+            return value instanceof PIBytesLike;
+        }
 
-                    return factory().createDoubleArray(cls, doubleArray);
-                default:
-                    return null;
-            }
+        protected static boolean isPSequence(Object value) {
+            return value instanceof PSequence;
         }
 
-        @Specialization
-        PArray arrayWithObjectInitializer(@SuppressWarnings("unused") PythonClass cls, @SuppressWarnings("unused") String typeCode, Object initializer) {
-            throw new RuntimeException("Unsupported initializer " + initializer);
+        protected static boolean isSameKind(String typeCode, Object value) {
+            return value instanceof PArray && typeCode.length() == 1 && ((PArray) value).getTypeCode() == typeCode.charAt(0);
         }
 
-        private PArray makeEmptyArray(PythonClass cls, char type) {
+        private PArray makeEmptyArray(PythonClass cls, String typeCode, int capacity) {
+            if (typeCode.length() != 1) {
+                throw raise(TypeError, "array() argument 1 must be a unicode character, not str");
+            }
+            PArray array;
+            char type = typeCode.charAt(0);
             switch (type) {
-                case 'c':
                 case 'b':
                 case 'B':
-                    return factory().createCharArray(cls, new char[0]);
+                    array = factory().createInt8Array(cls, type, new byte[0]);
+                    break;
+                case 'u':
+                    array = factory().createCharArray(cls, type, new char[0]);
+                    break;
+                case 'h':
+                case 'H':
+                    array = factory().createShortArray(cls, type, new short[0]);
+                    break;
                 case 'i':
-                    return factory().createIntArray(cls, new int[0]);
+                case 'I':
+                    array = factory().createIntArray(cls, type, new int[0]);
+                    break;
+                case 'l':
+                case 'L':
+                case 'q':
+                case 'Q':
+                    array = factory().createLongArray(cls, type, new long[0]);
+                    break;
+                case 'f':
+                    array = factory().createFloatArray(cls, type, new float[0]);
+                    break;
                 case 'd':
-                    return factory().createDoubleArray(cls, new double[0]);
+                    array = factory().createDoubleArray(cls, type, new double[0]);
+                    break;
                 default:
-                    return null;
+                    throw raise(ValueError, "bad typecode (must be b, B, u, h, H, i, I, l, L, q, Q, f or d)");
             }
-        }
-
-        @TruffleBoundary
-        private void typeError(String typeCode, Object initializer) {
-            throw raise(TypeError, "unsupported operand type: %s %s and 'array.array'", typeCode, initializer);
-        }
-
-        @TruffleBoundary
-        private static void operandTypeError() {
-            throw new RuntimeException("Unexpected argument type for array() ");
+            array.ensureCapacity(capacity);
+            return array;
         }
     }
 }
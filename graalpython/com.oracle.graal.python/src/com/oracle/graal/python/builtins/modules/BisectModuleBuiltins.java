@@ -25,120 +25,322 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GETITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LEN__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LT__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
 import java.util.List;
 
 import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.nodes.PBaseNode;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallBinaryNode;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallTernaryNode;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.expression.BinaryComparisonNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
-import com.oracle.graal.python.runtime.sequence.PSequence;
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.graal.python.nodes.truffle.PythonTypes;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
 
-final class BisectModuleBuiltins extends PythonBuiltins {
+@CoreFunctions(defineModule = "_bisect")
+public final class BisectModuleBuiltins extends PythonBuiltins {
 
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
         return BisectModuleBuiltinsFactory.getFactories();
     }
 
-    // bisect.bisect(a, x, lo=0, hi=len(a))
-    @Builtin(name = "bisect", fixedNumOfArguments = 2, keywordArguments = {"lo", "hi"})
-    @GenerateNodeFactory
-    public abstract static class PythonBisectNode extends PythonBuiltinNode {
+    /**
+     * Finds the insertion point for {@code x} in the sorted sequence {@code a} between {@code lo}
+     * and {@code hi}, where a {@code hi} of {@code -1} means {@code len(a)}. Builtin lists with int,
+     * long or double storage are searched on the raw array without boxing; subclasses may override
+     * {@code __getitem__} or {@code __len__}, so they take the generic path.
+     */
+    @TypeSystemReference(PythonTypes.class)
+    @ImportStatic(PGuards.class)
+    abstract static class BisectNode extends PBaseNode {
+        private final boolean right;
 
-        @SuppressWarnings("unused")
-        @Specialization
-        public int bisect(Object arg1, Object arg2, PNone lo, PNone hi) {
-            return bisect(arg1, arg2);
+        @Child private LookupAndCallUnaryNode callLenNode;
+        @Child private LookupAndCallBinaryNode callGetItemNode;
+        @Child private BinaryComparisonNode lessThanNode;
+
+        BisectNode(boolean right) {
+            this.right = right;
         }
 
-        private int bisect(Object arg0, Object arg1) {
-            if (arg0 instanceof PList) {
-                PList plist = (PList) arg0;
+        abstract int execute(Object a, Object x, int lo, int hi);
 
-                if (plist.len() == 0) {
-                    return 0;
+        @Specialization(guards = {"cannotBeOverridden(list.getPythonClass())", "isIntStorage(list)", "isInBounds(list, hi)"})
+        int doInt(PList list, long x, int lo, int hi) {
+            IntSequenceStorage store = (IntSequenceStorage) list.getSequenceStorage();
+            int[] values = store.getInternalIntArray();
+            int low = lo;
+            int high = hi == -1 ? store.length() : hi;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (right ? x < values[mid] : values[mid] >= x) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
                 }
-
-                return getIndexRight(plist, arg1);
-            } else {
-                throw new RuntimeException("invalid arguments number for bisect() ");
             }
+            return low;
         }
 
-        private int getIndexRight(PSequence seq, Object key) {
-            if (key instanceof String) {
-                return binarySearchRightStr(seq, 0, seq.len() - 1, (String) key);
-            } else {
-                return binarySearchRightDouble(seq, 0, seq.len() - 1, (double) key);
+        @Specialization(guards = {"cannotBeOverridden(list.getPythonClass())", "isLongStorage(list)", "isInBounds(list, hi)"})
+        int doLong(PList list, long x, int lo, int hi) {
+            LongSequenceStorage store = (LongSequenceStorage) list.getSequenceStorage();
+            long[] values = store.getInternalLongArray();
+            int low = lo;
+            int high = hi == -1 ? store.length() : hi;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (right ? x < values[mid] : values[mid] >= x) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
             }
+            return low;
         }
 
-        @TruffleBoundary
-        private int binarySearchRightDouble(PSequence seq, int start, int stop, double key) {
-            if (start <= stop) {
-                int middle = (stop - start) / 2 + start;
-                if (((double) seq.getItem(middle)) > key) {
-                    if (middle - 1 >= 0 && ((double) seq.getItem(middle - 1)) < key) {
-                        return middle;
-                    } else if (middle - 1 <= 0) {
-                        return 0;
-                    } else {
-                        return binarySearchRightDouble(seq, start, middle - 1, key);
-                    }
-                } else if (((double) seq.getItem(middle)) < key) {
-                    if (middle + 1 < seq.len() && ((double) seq.getItem(middle + 1)) > key) {
-                        return middle + 1;
-                    } else if (middle + 1 >= seq.len() - 1) {
-                        return seq.len();
-                    } else {
-                        return binarySearchRightDouble(seq, middle + 1, stop, key);
-                    }
+        @Specialization(guards = {"cannotBeOverridden(list.getPythonClass())", "isDoubleStorage(list)", "isInBounds(list, hi)"})
+        int doDouble(PList list, double x, int lo, int hi) {
+            DoubleSequenceStorage store = (DoubleSequenceStorage) list.getSequenceStorage();
+            double[] values = store.getInternalDoubleArray();
+            int low = lo;
+            int high = hi == -1 ? store.length() : hi;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                // written with '<' only, so that NaN compares like in CPython
+                if (right ? x < values[mid] : !(values[mid] < x)) {
+                    high = mid;
                 } else {
-                    int i = middle + 1;
-                    while (((double) seq.getItem(i)) == key && i < seq.len()) {
-                        i++;
-                    }
-                    return i;
+                    low = mid + 1;
                 }
             }
-            return -1; // should not happen
-        }
-
-        @TruffleBoundary
-        private int binarySearchRightStr(PSequence seq, int start, int stop, String key) {
-            if (start <= stop) {
-                int middle = (stop - start) / 2 + start;
-                if (((String) seq.getItem(middle)).compareTo(key) > 0) {
-                    if (middle - 1 >= 0 && ((String) seq.getItem(middle - 1)).compareTo(key) < 0) {
-                        return middle;
-                    } else if (middle - 1 <= 0) {
-                        return 0;
-                    } else {
-                        return binarySearchRightStr(seq, start, middle - 1, key);
-                    }
-                } else if (((String) seq.getItem(middle)).compareTo(key) < 0) {
-                    if (middle + 1 < seq.len() && ((String) seq.getItem(middle + 1)).compareTo(key) > 0) {
-                        return middle + 1;
-                    } else if (middle + 1 >= seq.len() - 1) {
-                        return seq.len();
-                    } else {
-                        return binarySearchRightStr(seq, middle + 1, stop, key);
-                    }
+            return low;
+        }
+
+        @Specialization
+        int doGeneric(Object a, Object x, int lo, int hi) {
+            int low = lo;
+            int high = hi == -1 ? length(a) : hi;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                Object item = getCallGetItemNode().executeObject(a, mid);
+                if (right ? lessThan(x, item) : !lessThan(item, x)) {
+                    high = mid;
                 } else {
-                    int i = middle + 1;
-                    while (((String) seq.getItem(i)).compareTo(key) == 0 && i < seq.len()) {
-                        i++;
-                    }
-                    return i;
+                    low = mid + 1;
                 }
             }
-            return -1; // should not happen
+            return low;
+        }
+
+        protected static boolean isInBounds(PList list, int hi) {
+            return hi <= list.len();
+        }
+
+        private int length(Object a) {
+            if (callLenNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                callLenNode = insert(LookupAndCallUnaryNode.create(__LEN__));
+            }
+            Object length = callLenNode.executeObject(a);
+            if (length instanceof Integer) {
+                return (int) length;
+            } else if (length == PNone.NO_VALUE) {
+                throw raise(TypeError, "object of type '%p' has no len()", a);
+            }
+            throw raise(OverflowError, "cannot fit '%p' into an index-sized integer", length);
+        }
+
+        private boolean lessThan(Object left, Object right) {
+            if (lessThanNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                lessThanNode = insert(BinaryComparisonNode.create(__LT__, __GT__, "<"));
+            }
+            return lessThanNode.executeBool(left, right);
+        }
+
+        private LookupAndCallBinaryNode getCallGetItemNode() {
+            if (callGetItemNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                callGetItemNode = insert(LookupAndCallBinaryNode.create(__GETITEM__));
+            }
+            return callGetItemNode;
+        }
+
+        static BisectNode create(boolean right) {
+            return BisectModuleBuiltinsFactory.BisectNodeGen.create(right);
+        }
+    }
+
+    /**
+     * Inserts {@code x} at {@code index}. Builtin lists are modified directly, so typed storages
+     * shift their tail with a single array copy; anything else (and any index beyond the end,
+     * which {@code list.insert} clamps) goes through the {@code insert} method.
+     */
+    @TypeSystemReference(PythonTypes.class)
+    @ImportStatic(PGuards.class)
+    abstract static class InsertNode extends PBaseNode {
+        abstract void execute(Object a, int index, Object x);
+
+        @Specialization(guards = {"isBuiltinList(list)", "isIntStorage(list)", "index <= list.len()"})
+        void doInt(PList list, int index, int x) {
+            ((IntSequenceStorage) list.getSequenceStorage()).insertIntItem(index, x);
+        }
+
+        @Specialization(guards = {"isBuiltinList(list)", "isLongStorage(list)", "index <= list.len()"})
+        void doLong(PList list, int index, long x) {
+            ((LongSequenceStorage) list.getSequenceStorage()).insertLongItem(index, x);
+        }
+
+        @Specialization(guards = {"isBuiltinList(list)", "isDoubleStorage(list)", "index <= list.len()"})
+        void doDouble(PList list, int index, double x) {
+            ((DoubleSequenceStorage) list.getSequenceStorage()).insertDoubleItem(index, x);
+        }
+
+        @Specialization(guards = {"isBuiltinList(list)", "index <= list.len()"})
+        void doList(PList list, int index, Object x) {
+            list.insert(index, x);
+        }
+
+        @Specialization
+        void doGeneric(Object a, int index, Object x,
+                        @Cached("create(\"insert\")") LookupAndCallTernaryNode callInsert) {
+            callInsert.execute(a, index, x);
+        }
+
+        protected static boolean isBuiltinList(Object a) {
+            return a instanceof PList && PGuards.cannotBeOverridden(((PList) a).getPythonClass());
+        }
+
+        static InsertNode create() {
+            return BisectModuleBuiltinsFactory.InsertNodeGen.create();
+        }
+    }
+
+    abstract static class BisectBuiltinNode extends PythonBuiltinNode {
+        protected int getLo(Object lo) {
+            if (lo == PNone.NO_VALUE) {
+                return 0;
+            }
+            int value = asIndex(lo);
+            if (value < 0) {
+                throw raise(ValueError, "lo must be non-negative");
+            }
+            return value;
+        }
+
+        protected int getHi(Object hi) {
+            if (hi instanceof PNone) {
+                return -1;
+            }
+            return asIndex(hi);
+        }
+
+        private int asIndex(Object value) {
+            if (value instanceof Integer) {
+                return (int) value;
+            } else if (value instanceof Boolean) {
+                return PInt.intValue((Boolean) value);
+            } else if (value instanceof Long || value instanceof PInt) {
+                throw raise(OverflowError, "Python int too large to convert to C ssize_t");
+            }
+            throw raise(TypeError, "'%p' object cannot be interpreted as an integer", value);
+        }
+    }
+
+    // bisect_right(a, x, lo=0, hi=len(a))
+    @Builtin(name = "bisect_right", fixedNumOfArguments = 2, keywordArguments = {"lo", "hi"})
+    @GenerateNodeFactory
+    abstract static class BisectRightNode extends BisectBuiltinNode {
+        @Specialization
+        int bisect(Object a, Object x, Object lo, Object hi,
+                        @Cached("create(true)") BisectNode bisectNode) {
+            return bisectNode.execute(a, x, getLo(lo), getHi(hi));
+        }
+    }
+
+    // bisect(a, x, lo=0, hi=len(a)), an alias of bisect_right
+    @Builtin(name = "bisect", fixedNumOfArguments = 2, keywordArguments = {"lo", "hi"})
+    @GenerateNodeFactory
+    abstract static class PythonBisectNode extends BisectBuiltinNode {
+        @Specialization
+        int bisect(Object a, Object x, Object lo, Object hi,
+                        @Cached("create(true)") BisectNode bisectNode) {
+            return bisectNode.execute(a, x, getLo(lo), getHi(hi));
         }
     }
 
+    // bisect_left(a, x, lo=0, hi=len(a))
+    @Builtin(name = "bisect_left", fixedNumOfArguments = 2, keywordArguments = {"lo", "hi"})
+    @GenerateNodeFactory
+    abstract static class BisectLeftNode extends BisectBuiltinNode {
+        @Specialization
+        int bisect(Object a, Object x, Object lo, Object hi,
+                        @Cached("create(false)") BisectNode bisectNode) {
+            return bisectNode.execute(a, x, getLo(lo), getHi(hi));
+        }
+    }
+
+    // insort_right(a, x, lo=0, hi=len(a))
+    @Builtin(name = "insort_right", fixedNumOfArguments = 2, keywordArguments = {"lo", "hi"})
+    @GenerateNodeFactory
+    abstract static class InsortRightNode extends BisectBuiltinNode {
+        @Specialization
+        PNone insort(Object a, Object x, Object lo, Object hi,
+                        @Cached("create(true)") BisectNode bisectNode,
+                        @Cached("create()") InsertNode insertNode) {
+            insertNode.execute(a, bisectNode.execute(a, x, getLo(lo), getHi(hi)), x);
+            return PNone.NONE;
+        }
+    }
+
+    // insort(a, x, lo=0, hi=len(a)), an alias of insort_right
+    @Builtin(name = "insort", fixedNumOfArguments = 2, keywordArguments = {"lo", "hi"})
+    @GenerateNodeFactory
+    abstract static class InsortNode extends BisectBuiltinNode {
+        @Specialization
+        PNone insort(Object a, Object x, Object lo, Object hi,
+                        @Cached("create(true)") BisectNode bisectNode,
+                        @Cached("create()") InsertNode insertNode) {
+            insertNode.execute(a, bisectNode.execute(a, x, getLo(lo), getHi(hi)), x);
+            return PNone.NONE;
+        }
+    }
+
+    // insort_left(a, x, lo=0, hi=len(a))
+    @Builtin(name = "insort_left", fixedNumOfArguments = 2, keywordArguments = {"lo", "hi"})
+    @GenerateNodeFactory
+    abstract static class InsortLeftNode extends BisectBuiltinNode {
+        @Specialization
+        PNone insort(Object a, Object x, Object lo, Object hi,
+                        @Cached("create(false)") BisectNode bisectNode,
+                        @Cached("create()") InsertNode insertNode) {
+            insertNode.execute(a, bisectNode.execute(a, x, getLo(lo), getHi(hi)), x);
+            return PNone.NONE;
+        }
+    }
 }
@@ -44,6 +44,9 @@ import static com.oracle.graal.python.nodes.BuiltinNames.STR;
 import static com.oracle.graal.python.nodes.BuiltinNames.TUPLE;
 import static com.oracle.graal.python.nodes.BuiltinNames.TYPE;
 import static com.oracle.graal.python.nodes.BuiltinNames.ZIP;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__DICT__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__SLOTS__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__WEAKREF__;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.__GETITEM__;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEW__;
 import static com.oracle.graal.python.nodes.SpecialMethodNames.__REVERSED__;
@@ -53,6 +56,7 @@ import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeErro
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.oracle.graal.python.PythonLanguage;
@@ -84,8 +88,10 @@ import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.function.PythonCallable;
 import com.oracle.graal.python.builtins.objects.generator.PGenerator;
 import com.oracle.graal.python.builtins.objects.getsetdescriptor.GetSetDescriptor;
+import com.oracle.graal.python.builtins.objects.getsetdescriptor.MemberDescriptor;
 import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.iterator.PBaseSetIterator;
+import com.oracle.graal.python.builtins.objects.iterator.PCharArrayIterator;
 import com.oracle.graal.python.builtins.objects.iterator.PDoubleArrayIterator;
 import com.oracle.graal.python.builtins.objects.iterator.PDoubleSequenceIterator;
 import com.oracle.graal.python.builtins.objects.iterator.PForeignArrayIterator;
@@ -131,6 +137,7 @@ import com.oracle.graal.python.nodes.control.GetNextNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
 import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.runtime.IntegerParser;
 import com.oracle.graal.python.runtime.JavaTypeConversions;
 import com.oracle.graal.python.runtime.PythonParseResult;
 import com.oracle.graal.python.runtime.exception.PException;
@@ -597,95 +604,59 @@ public final class BuiltinConstructors extends PythonBuiltins {
         }
 
         @Specialization(guards = "isNoValue(keywordArg)")
-        public Object createInt(PythonClass cls, String arg, @SuppressWarnings("unused") PNone keywordArg) {
-            try {
-                Object value = JavaTypeConversions.stringToInt(arg, 10);
-                if (isPrimitiveInt(cls)) {
-                    return value;
-                } else {
-                    return value instanceof BigInteger ? factory().createInt(cls, (BigInteger) value) : factory().createInt(cls, (int) value);
-                }
-            } catch (NumberFormatException e) {
-                throw raise(ValueError, "invalid literal for int() with base 10: %s", arg);
-            }
+        Object parseInt(PythonClass cls, String arg, @SuppressWarnings("unused") PNone keywordArg) {
+            return parseInt(cls, arg, 10);
         }
 
-        @Specialization(guards = "isPrimitiveInt(cls)", rewriteOn = NumberFormatException.class)
-        @TruffleBoundary
-        int parseInt(Object cls, PIBytesLike arg, int keywordArg) throws NumberFormatException {
-            return parseInt(cls, new String(arg.getInternalByteArray()), keywordArg);
+        @Specialization
+        Object parseInt(PythonClass cls, String arg, int keywordArg) {
+            checkBase(keywordArg);
+            Object value = IntegerParser.parse(arg, keywordArg);
+            if (value == null) {
+                throw raise(ValueError, "invalid literal for int() with base %d: '%s'", keywordArg, arg);
+            }
+            return createIntFromParsed(cls, value);
         }
 
-        @Specialization(guards = "isPrimitiveInt(cls)", rewriteOn = NumberFormatException.class)
-        @TruffleBoundary
-        long parseLong(Object cls, PIBytesLike arg, int keywordArg) throws NumberFormatException {
-            return parseLong(cls, new String(arg.getInternalByteArray()), keywordArg);
+        @Specialization(guards = "isNoValue(keywordArg)")
+        Object parseInt(PythonClass cls, PString arg, @SuppressWarnings("unused") PNone keywordArg) {
+            return parseInt(cls, arg.getValue(), 10);
         }
 
         @Specialization
-        @TruffleBoundary
-        Object parsePInt(PythonClass cls, PIBytesLike arg, int keywordArg) {
-            return parsePInt(cls, new String(arg.getInternalByteArray()), keywordArg);
-        }
-
-        @Specialization(guards = "isPrimitiveInt(cls)", rewriteOn = NumberFormatException.class)
-        int parseInt(Object cls, PString arg, int keywordArg) throws NumberFormatException {
+        Object parseInt(PythonClass cls, PString arg, int keywordArg) {
             return parseInt(cls, arg.getValue(), keywordArg);
         }
 
-        @Specialization(guards = "isPrimitiveInt(cls)", rewriteOn = NumberFormatException.class)
-        @TruffleBoundary
-        long parseLong(Object cls, PString arg, int keywordArg) throws NumberFormatException {
-            return parseLong(cls, arg.getValue(), keywordArg);
+        @Specialization(guards = "isNoValue(keywordArg)")
+        Object parseInt(PythonClass cls, PIBytesLike arg, @SuppressWarnings("unused") PNone keywordArg) {
+            return parseInt(cls, arg, 10);
         }
 
         @Specialization
-        @TruffleBoundary
-        Object parsePInt(PythonClass cls, PString arg, int keywordArg) {
-            return parsePInt(cls, arg.getValue(), keywordArg);
-        }
-
-        @Specialization(guards = "isPrimitiveInt(cls)", rewriteOn = NumberFormatException.class)
-        @TruffleBoundary
-        int parseInt(@SuppressWarnings("unused") Object cls, String arg, int keywordArg) throws NumberFormatException {
-            return Integer.parseInt(arg, keywordArg);
-        }
-
-        @Specialization(guards = "isPrimitiveInt(cls)", rewriteOn = NumberFormatException.class)
-        @TruffleBoundary
-        long parseLong(@SuppressWarnings("unused") Object cls, String arg, int keywordArg) throws NumberFormatException {
-            return Long.parseLong(arg, keywordArg);
+        Object parseInt(PythonClass cls, PIBytesLike arg, int keywordArg) {
+            checkBase(keywordArg);
+            // parse the storage directly, without creating a String
+            Object value = IntegerParser.parse(arg.getInternalByteArray(), 0, arg.len(), keywordArg);
+            if (value == null) {
+                throw raise(ValueError, "invalid literal for int() with base %d: %s", keywordArg, arg);
+            }
+            return createIntFromParsed(cls, value);
         }
 
-        @Specialization
-        Object parsePInt(PythonClass cls, String arg, int keywordArg) {
-            Object int2 = JavaTypeConversions.toInt(arg, keywordArg);
-            if (int2 instanceof BigInteger) {
-                return factory().createInt(cls, (BigInteger) int2);
-            } else if (isPrimitiveInt(cls)) {
-                return int2;
-            } else {
-                assert int2 instanceof Integer;
-                return factory().createInt(cls, (int) int2);
+        private void checkBase(int base) {
+            if (!IntegerParser.isValidBase(base)) {
+                throw raise(ValueError, "int() base must be >= 2 and <= 36, or 0");
             }
         }
 
-        @Specialization
-        public Object createInt(PythonClass cls, String arg, Object keywordArg) {
-            if (keywordArg instanceof PNone) {
-                Object value = JavaTypeConversions.toInt(arg);
-                if (value == null) {
-                    throw raise(ValueError, "invalid literal for int() with base 10: %s", arg);
-                } else if (value instanceof BigInteger) {
-                    return factory().createInt(cls, (BigInteger) value);
-                } else if (isPrimitiveInt(cls)) {
-                    return value;
-                } else {
-                    return factory().createInt(cls, (int) value);
-                }
-            } else {
-                throw new RuntimeException("Not implemented integer with base: " + keywordArg);
+        private Object createIntFromParsed(PythonClass cls, Object value) {
+            if (value instanceof Integer) {
+                return isPrimitiveInt(cls) ? value : factory().createInt(cls, (int) value);
+            } else if (value instanceof Long) {
+                return isPrimitiveInt(cls) ? value : factory().createInt(cls, (long) value);
             }
+            return factory().createInt(cls, (BigInteger) value);
         }
 
         @SuppressWarnings("unused")
@@ -1071,7 +1042,10 @@ public final class BuiltinConstructors extends PythonBuiltins {
                         @Cached("create()") GetClassNode getMetaclassNode,
                         @Cached("create()") LookupInheritedAttributeNode getNewFuncNode,
                         @Cached("create()") CallDispatchNode callNewFuncNode,
-                        @Cached("create()") CreateArgumentsNode createArgs) {
+                        @Cached("create()") CreateArgumentsNode createArgs,
+                        @Cached("create()") GetIteratorNode getIterator,
+                        @Cached("create()") GetNextNode next,
+                        @Cached("createBinaryProfile()") ConditionProfile errorProfile) {
             PythonClass metaclass = calculate_metaclass(cls, bases, getMetaclassNode);
             if (metaclass != cls) {
                 Object newFunc = getNewFuncNode.execute(metaclass, __NEW__);
@@ -1104,9 +1078,98 @@ public final class BuiltinConstructors extends PythonBuiltins {
             for (DictEntry entry : namespace.entries()) {
                 pythonClass.setAttribute(entry.getKey(), entry.getValue());
             }
+            Object slots = namespace.getItem(__SLOTS__);
+            if (slots != null) {
+                initializeSlots(pythonClass, namespace, slots, getIterator, next, errorProfile);
+            } else {
+                pythonClass.inheritSlots();
+            }
             return pythonClass;
         }
 
+        private void initializeSlots(PythonClass pythonClass, PDict namespace, Object slotsObject, GetIteratorNode getIterator, GetNextNode next, ConditionProfile errorProfile) {
+            Object[] slotNames;
+            if (slotsObject instanceof String || slotsObject instanceof PString) {
+                slotNames = new Object[]{slotsObject};
+            } else if (slotsObject instanceof PTuple) {
+                slotNames = ((PTuple) slotsObject).getArray();
+            } else if (slotsObject instanceof PList) {
+                slotNames = ((PList) slotsObject).getSequenceStorage().getCopyOfInternalArray();
+            } else {
+                Object iterator = getIterator.executeWith(slotsObject);
+                ArrayList<Object> items = new ArrayList<>();
+                while (true) {
+                    try {
+                        items.add(next.execute(iterator));
+                    } catch (PException e) {
+                        e.expectStopIteration(getCore(), errorProfile);
+                        break;
+                    }
+                }
+                slotNames = items.toArray();
+            }
+            ArrayList<String> ownSlots = new ArrayList<>();
+            boolean ownDict = false;
+            for (Object slotName : slotNames) {
+                String slot;
+                if (slotName instanceof String) {
+                    slot = (String) slotName;
+                } else if (slotName instanceof PString) {
+                    slot = ((PString) slotName).getValue();
+                } else {
+                    throw raise(TypeError, "__slots__ items must be strings, not '%p'", slotName);
+                }
+                if (!isIdentifier(slot)) {
+                    throw raise(TypeError, "__slots__ must be identifiers");
+                }
+                if (__DICT__.equals(slot)) {
+                    if (ownDict) {
+                        throw raise(TypeError, "__dict__ slot disallowed: we already got one");
+                    }
+                    ownDict = true;
+                } else if (!__WEAKREF__.equals(slot)) {
+                    slot = mangle(pythonClass.getName(), slot);
+                    if (namespace.hasKey(slot)) {
+                        throw raise(ValueError, "'%s' in __slots__ conflicts with class variable", slot);
+                    }
+                    if (!ownSlots.contains(slot)) {
+                        ownSlots.add(slot);
+                    }
+                }
+            }
+            for (String slot : ownSlots) {
+                pythonClass.setAttribute(slot, factory().createMemberDescriptor(slot, pythonClass));
+            }
+            pythonClass.setSlots(ownSlots.toArray(new String[ownSlots.size()]), ownDict);
+        }
+
+        private static boolean isIdentifier(String name) {
+            if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0)) || name.charAt(0) == '$') {
+                return false;
+            }
+            for (int i = 1; i < name.length(); i++) {
+                if (!Character.isJavaIdentifierPart(name.charAt(i)) || name.charAt(i) == '$') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static String mangle(String className, String name) {
+            // private names are mangled like in CPython's _Py_Mangle
+            if (!name.startsWith("__") || name.endsWith("__") || name.indexOf('.') != -1) {
+                return name;
+            }
+            int start = 0;
+            while (start < className.length() && className.charAt(start) == '_') {
+                start++;
+            }
+            if (start == className.length()) {
+                return name;
+            }
+            return "_" + className.substring(start) + name;
+        }
+
         private PythonClass calculate_metaclass(PythonClass cls, PTuple bases, GetClassNode getMetaclassNode) {
             PythonClass winner = cls;
             for (Object base : bases.getArray()) {
@@ -1292,7 +1355,7 @@ public final class BuiltinConstructors extends PythonBuiltins {
                     PRangeIterator.class, PIntegerSequenceIterator.class, PSequenceIterator.class,
                     PBaseSetIterator.class, PRangeIterator.class, PDoubleArrayIterator.class,
                     PDoubleSequenceIterator.class, PLongSequenceIterator.class, PLongArrayIterator.class,
-                    PIntArrayIterator.class, PStringIterator.class, PRangeReverseIterator.class,
+                    PIntArrayIterator.class, PCharArrayIterator.class, PStringIterator.class, PRangeReverseIterator.class,
     }, isPublic = false)
     @GenerateNodeFactory
     public abstract static class IteratorTypeNode extends PythonBuiltinNode {
@@ -1440,6 +1503,16 @@ public final class BuiltinConstructors extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "member_descriptor", constructsClass = {MemberDescriptor.class}, isPublic = false, minNumOfArguments = 1, takesVariableArguments = true, takesVariableKeywords = true)
+    @GenerateNodeFactory
+    public abstract static class MemberDescriptorNode extends PythonBuiltinNode {
+        @Specialization
+        @SuppressWarnings("unused")
+        Object call(Object cls, Object[] args, PKeyword[] kwargs) {
+            throw raise(TypeError, "cannot create 'member_descriptor' instances");
+        }
+    }
+
     // slice(stop)
     // slice(start, stop[, step])
     @Builtin(name = "slice", minNumOfArguments = 2, maxNumOfArguments = 4, constructsClass = PSlice.class)
@@ -61,6 +61,7 @@ import static com.oracle.graal.python.nodes.SpecialMethodNames.__SUBCLASSCHECK__
 import static com.oracle.graal.python.nodes.frame.FrameSlotIDs.RETURN_SLOT_ID;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.AttributeError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.SyntaxError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
 
@@ -121,6 +122,9 @@ import com.oracle.graal.python.runtime.PythonCore;
 import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.PythonParseResult;
 import com.oracle.graal.python.runtime.PythonParser;
+import com.oracle.graal.python.runtime.SourceDecoder;
+import com.oracle.graal.python.runtime.StartupProfile;
+import com.oracle.graal.python.runtime.StartupProfile.Phase;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
 import com.oracle.truffle.api.CallTarget;
@@ -458,7 +462,13 @@ public final class BuiltinFunctions extends PythonBuiltins {
         @Specialization
         @TruffleBoundary
         Object compile(PBytes source, String filename, String mode, Object kwFlags, Object kwDontInherit, Object kwOptimize) {
-            return compile(new String(source.getInternalByteArray()), filename, mode, kwFlags, kwDontInherit, kwOptimize);
+            String text;
+            try {
+                text = SourceDecoder.decode(source.getInternalByteArray(), source.len());
+            } catch (IllegalArgumentException e) {
+                throw raise(SyntaxError, "unknown encoding: %s", e.getMessage());
+            }
+            return compile(text, filename, mode, kwFlags, kwDontInherit, kwOptimize);
         }
 
         @SuppressWarnings("unused")
@@ -1159,7 +1169,9 @@ public final class BuiltinFunctions extends PythonBuiltins {
             Source src = getCore().getCoreSource(name);
             PythonParseResult parsedModule = getCore().getParser().parse(getCore(), src);
             CallTarget callTarget = Truffle.getRuntime().createCallTarget(parsedModule.getRootNode());
+            long start = StartupProfile.start();
             callTarget.call(PArguments.withGlobals(mod));
+            StartupProfile.record(src.getName(), Phase.EXECUTE, start);
             return PNone.NONE;
         }
     }
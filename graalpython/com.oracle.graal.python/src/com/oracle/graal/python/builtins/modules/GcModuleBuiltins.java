@@ -25,16 +25,30 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.NotImplementedError;
+
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.expression.CastToBooleanNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -75,4 +89,86 @@ public final class GcModuleBuiltins extends PythonBuiltins {
             return factory().createTuple(new Object[]{count, 0, 0});
         }
     }
+
+    /**
+     * Returns a dict that maps the name of each builtin type to a tuple of the number of its live
+     * instances and the bytes they occupy. The numbers come from the class histogram of the JVM, so
+     * they are JVM-wide: they include the objects of all contexts and of the shared core, not just
+     * those of the calling context. They are also shallow, they only count the Java object that
+     * represents a Python object, not its storage (e.g. the {@code SequenceStorage} of a list).
+     * Values that are represented unboxed, as {@code String}, {@code Integer}, {@code Long},
+     * {@code Double} or {@code Boolean}, are counted as {@code str}, {@code int}, {@code float} and
+     * {@code bool}, which includes the strings and boxes of the JVM and of other languages, too. A
+     * class histogram cannot tell the classes defined in Python apart, their instances are all
+     * counted as {@code object}. If {@code all} is true, all other Java classes on the heap are
+     * included with their Java names, which shows the storage objects, too.
+     */
+    @Builtin(name = "_truffle_type_histogram", minNumOfArguments = 0, maxNumOfArguments = 1)
+    @GenerateNodeFactory
+    abstract static class GcTypeHistogramNode extends PythonBuiltinNode {
+        private static final Pattern HISTOGRAM_LINE = Pattern.compile("^\\s*\\d+:\\s+(\\d+)\\s+(\\d+)\\s+(\\S+)", Pattern.MULTILINE);
+        private static final Map<String, String> PYTHON_TYPE_NAMES = new HashMap<>();
+
+        static {
+            for (PythonBuiltinClassType type : PythonBuiltinClassType.values()) {
+                PYTHON_TYPE_NAMES.put(type.getJavaClass().getName(), type.toString());
+            }
+            PYTHON_TYPE_NAMES.put(String.class.getName(), PythonBuiltinClassType.PString.toString());
+            PYTHON_TYPE_NAMES.put(Integer.class.getName(), PythonBuiltinClassType.PInt.toString());
+            PYTHON_TYPE_NAMES.put(Long.class.getName(), PythonBuiltinClassType.PInt.toString());
+            PYTHON_TYPE_NAMES.put(Double.class.getName(), PythonBuiltinClassType.PFloat.toString());
+        }
+
+        @Child private CastToBooleanNode castToBooleanNode;
+
+        @Specialization
+        PDict doNone(@SuppressWarnings("unused") PNone all) {
+            return createHistogram(false);
+        }
+
+        @Specialization
+        PDict doBoolean(boolean all) {
+            return createHistogram(all);
+        }
+
+        @Specialization(guards = "!isNoValue(all)", replaces = "doBoolean")
+        PDict doGeneric(Object all) {
+            if (castToBooleanNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                castToBooleanNode = insert(CastToBooleanNode.createIfTrueNode());
+            }
+            return createHistogram(castToBooleanNode.executeWith(all));
+        }
+
+        @TruffleBoundary
+        private PDict createHistogram(boolean all) {
+            String text;
+            try {
+                ObjectName diagnosticCommand = new ObjectName("com.sun.management:type=DiagnosticCommand");
+                text = (String) ManagementFactory.getPlatformMBeanServer().invoke(diagnosticCommand, "gcClassHistogram", new Object[]{new String[0]},
+                                new String[]{String[].class.getName()});
+            } catch (JMException | RuntimeException e) {
+                throw raise(NotImplementedError, "the class histogram of the heap is not available on this VM");
+            }
+            Map<String, long[]> counts = new LinkedHashMap<>();
+            Matcher matcher = HISTOGRAM_LINE.matcher(text);
+            while (matcher.find()) {
+                String name = PYTHON_TYPE_NAMES.get(matcher.group(3));
+                if (name == null) {
+                    if (!all) {
+                        continue;
+                    }
+                    name = matcher.group(3);
+                }
+                long[] entry = counts.computeIfAbsent(name, k -> new long[2]);
+                entry[0] += Long.parseLong(matcher.group(1));
+                entry[1] += Long.parseLong(matcher.group(2));
+            }
+            Map<Object, Object> result = new LinkedHashMap<>();
+            for (Map.Entry<String, long[]> entry : counts.entrySet()) {
+                result.put(entry.getKey(), factory().createTuple(new Object[]{entry.getValue()[0], entry.getValue()[1]}));
+            }
+            return factory().createDict(result);
+        }
+    }
 }
@@ -41,6 +41,7 @@ package com.oracle.graal.python.builtins.modules;
 import static com.oracle.graal.python.nodes.SpecialAttributeNames.__FILE__;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.ImportError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.NotImplementedError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
 
 import java.io.IOException;
 import java.net.URI;
@@ -59,9 +60,12 @@ import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
 import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.runtime.PathEntryFinder;
 import com.oracle.graal.python.runtime.PythonCore;
 import com.oracle.graal.python.runtime.PythonParseResult;
 import com.oracle.graal.python.runtime.exception.PException;
@@ -225,7 +229,7 @@ public class ImpModuleBuiltins extends PythonBuiltins {
                 // call into Python to initialize python_cext module globals
                 ReadAttributeFromObjectNode readNode = ReadAttributeFromObjectNode.create();
                 CallUnaryMethodNode callNode = CallUnaryMethodNode.create();
-                callNode.executeObject(readNode.execute(getContext().getCore().lookupBuiltinModule("python_cext"), INITIALIZE_CAPI), capi);
+                callNode.executeObject(readNode.execute(getContext().lookupBuiltinModule("python_cext"), INITIALIZE_CAPI), capi);
                 getContext().setCapiWasLoaded();
             }
         }
@@ -282,7 +286,7 @@ public class ImpModuleBuiltins extends PythonBuiltins {
             if ("built-in".equals(origin)) {
                 for (String bm : getCore().builtinModuleNames()) {
                     if (bm.equals(name)) {
-                        return getCore().lookupBuiltinModule(bm);
+                        return getContext().lookupBuiltinModule(bm);
                     }
                 }
             }
@@ -296,7 +300,7 @@ public class ImpModuleBuiltins extends PythonBuiltins {
         @Specialization
         @TruffleBoundary
         public Object run(String path, String modulename) {
-            return run(path, getCore().lookupBuiltinModule(modulename));
+            return run(path, getContext().lookupBuiltinModule(modulename));
         }
 
         @Specialization
@@ -332,4 +336,45 @@ public class ImpModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "_truffle_find_module_file", fixedNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class FindModuleFileNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        public Object find(String path, String name, PTuple suffixes) {
+            Object[] suffixObjects = suffixes.getArray();
+            String[] suffixStrings = new String[suffixObjects.length];
+            for (int i = 0; i < suffixObjects.length; i++) {
+                Object suffix = suffixObjects[i];
+                if (suffix instanceof String) {
+                    suffixStrings[i] = (String) suffix;
+                } else if (suffix instanceof PString) {
+                    suffixStrings[i] = ((PString) suffix).getValue();
+                } else {
+                    throw raise(TypeError, "module suffixes must be strings, not %p", suffix);
+                }
+            }
+            PathEntryFinder.Result result = getContext().getPathEntryFinder().find(getContext().getEnv(), path, name, suffixStrings);
+            if (result == null) {
+                return PNone.NONE;
+            }
+            return factory().createTuple(new Object[]{result.path, result.suffixIndex, result.packagePath == null ? PNone.NONE : result.packagePath});
+        }
+    }
+
+    @Builtin(name = "_truffle_invalidate_path_cache", minNumOfArguments = 0, maxNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class InvalidatePathCacheNode extends PythonBuiltinNode {
+        @Specialization
+        public Object invalidate(String path) {
+            getContext().getPathEntryFinder().invalidate(path);
+            return PNone.NONE;
+        }
+
+        @Specialization
+        public Object invalidateAll(@SuppressWarnings("unused") PNone path) {
+            getContext().getPathEntryFinder().invalidateAll();
+            return PNone.NONE;
+        }
+    }
 }
@@ -28,9 +28,11 @@ package com.oracle.graal.python.builtins.modules;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ZeroDivisionError;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.List;
 
 import com.oracle.graal.python.builtins.Builtin;
@@ -39,12 +41,25 @@ import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.floats.PFloat;
 import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.PBaseNode;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNode;
+import com.oracle.graal.python.nodes.SpecialMethodNames;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.control.GetIteratorNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
@@ -54,6 +69,7 @@ import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.nodes.UnexpectedResultException;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 
 @CoreFunctions(defineModule = "math")
@@ -68,36 +84,233 @@ public class MathModuleBuiltins extends PythonBuiltins {
         // Add constant values
         builtinConstants.put("pi", Math.PI);
         builtinConstants.put("e", Math.E);
+        builtinConstants.put("tau", 2 * Math.PI);
+        builtinConstants.put("inf", Double.POSITIVE_INFINITY);
+        builtinConstants.put("nan", Double.NaN);
     }
 
-    // math.sqrt
-    @Builtin(name = "sqrt", fixedNumOfArguments = 1)
-    @GenerateNodeFactory
-    public abstract static class SqrtNode extends PythonBuiltinNode {
+    /**
+     * Converts a real number to a double like {@code PyFloat_AsDouble}.
+     */
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @ImportStatic({MathGuards.class, SpecialMethodNames.class})
+    public abstract static class ToDoubleNode extends PBaseNode {
+
+        public abstract double execute(Object value);
 
         @Specialization
-        public double sqrt(int value) {
-            return Math.sqrt(value);
+        public double doLong(long value) {
+            return value;
+        }
+
+        @Specialization
+        public double doDouble(double value) {
+            return value;
+        }
+
+        @Specialization
+        public double doPInt(PInt value) {
+            return toDouble(this, value.getValue());
+        }
+
+        @Specialization(guards = "!isNumber(value)")
+        public double doGeneric(Object value,
+                        @Cached("create(__FLOAT__)") LookupAndCallUnaryNode callFloatNode) {
+            try {
+                return callFloatNode.executeDouble(value);
+            } catch (UnexpectedResultException e) {
+                Object result = e.getResult();
+                if (result == PNone.NO_VALUE) {
+                    throw raise(TypeError, "must be real number, not %p", value);
+                } else if (result instanceof PFloat) {
+                    return ((PFloat) result).getValue();
+                }
+                throw raise(TypeError, "%p.__float__ returned non-float (type %p)", value, result);
+            }
+        }
+
+        public static ToDoubleNode create() {
+            return MathModuleBuiltinsFactory.ToDoubleNodeGen.create();
+        }
+    }
+
+    @TruffleBoundary
+    static double toDouble(PBaseNode node, BigInteger value) {
+        double result = value.doubleValue();
+        if (Double.isInfinite(result)) {
+            throw node.raise(OverflowError, "int too large to convert to float");
         }
+        return result;
+    }
+
+    /**
+     * Base class of the functions from a real number to a float. The result is checked like in
+     * CPython's {@code math_1}: a NaN computed from a non-NaN argument is a domain error and an
+     * infinity computed from a finite argument is a range error if the function
+     * {@link #canOverflow() can overflow} and a domain error otherwise.
+     */
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @ImportStatic(MathGuards.class)
+    public abstract static class MathDoubleUnaryBuiltinNode extends PythonUnaryBuiltinNode {
 
         @Specialization
-        public double sqrt(double value) {
+        public double doLong(long value) {
+            return count(value);
+        }
+
+        @Specialization
+        public double doDouble(double value) {
+            return count(value);
+        }
+
+        @Specialization
+        public double doPInt(PInt value) {
+            return count(value.getValue());
+        }
+
+        @Specialization(guards = "!isNumber(value)")
+        public double doGeneric(Object value,
+                        @Cached("create()") ToDoubleNode toDoubleNode) {
+            return count(toDoubleNode.execute(value));
+        }
+
+        protected double count(BigInteger value) {
+            return count(toDouble(this, value));
+        }
+
+        protected double count(double value) {
+            double result = compute(value);
+            checkResult(value, result);
+            return result;
+        }
+
+        protected abstract double compute(double value);
+
+        protected boolean canOverflow() {
+            return false;
+        }
+
+        protected void checkResult(double value, double result) {
+            if (Double.isNaN(result) && !Double.isNaN(value)) {
+                throw raise(ValueError, "math domain error");
+            } else if (Double.isInfinite(result) && Double.isFinite(value)) {
+                if (canOverflow()) {
+                    throw raise(OverflowError, "math range error");
+                }
+                throw raise(ValueError, "math domain error");
+            }
+        }
+    }
+
+    /**
+     * Base class of the logarithms, which also accept ints that are too large for a float.
+     */
+    public abstract static class MathLogBuiltinNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        @TruffleBoundary
+        protected double count(BigInteger value) {
+            if (value.signum() <= 0) {
+                throw raise(ValueError, "math domain error");
+            }
+            int shift = value.bitLength() - Long.SIZE;
+            if (shift <= 0) {
+                return count(value.doubleValue());
+            }
+            // log(x) == log(x / 2**shift) + shift * log(2)
+            return compute(value.shiftRight(shift).doubleValue()) + compute(2.0) * shift;
+        }
+    }
+
+    /**
+     * Base class of the functions from two real numbers to a float, with the result checks of
+     * CPython's {@code math_2}.
+     */
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @ImportStatic(MathGuards.class)
+    public abstract static class MathDoubleBinaryBuiltinNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        public double doLL(long left, long right) {
+            return count(left, right);
+        }
+
+        @Specialization
+        public double doLD(long left, double right) {
+            return count(left, right);
+        }
+
+        @Specialization
+        public double doDL(double left, long right) {
+            return count(left, right);
+        }
+
+        @Specialization
+        public double doDD(double left, double right) {
+            return count(left, right);
+        }
+
+        @Specialization
+        public double doGeneric(Object left, Object right,
+                        @Cached("create()") ToDoubleNode leftToDouble,
+                        @Cached("create()") ToDoubleNode rightToDouble) {
+            return count(leftToDouble.execute(left), rightToDouble.execute(right));
+        }
+
+        protected double count(double left, double right) {
+            double result = compute(left, right);
+            checkResult(left, right, result);
+            return result;
+        }
+
+        protected abstract double compute(double left, double right);
+
+        protected void checkResult(double left, double right, double result) {
+            if (Double.isNaN(result) && !Double.isNaN(left) && !Double.isNaN(right)) {
+                throw raise(ValueError, "math domain error");
+            } else if (Double.isInfinite(result) && Double.isFinite(left) && Double.isFinite(right)) {
+                throw raise(OverflowError, "math range error");
+            }
+        }
+    }
+
+    @Builtin(name = "sqrt", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class SqrtNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
             return Math.sqrt(value);
         }
     }
 
     @Builtin(name = "exp", fixedNumOfArguments = 1)
     @GenerateNodeFactory
-    public abstract static class ExpNode extends PythonBuiltinNode {
+    public abstract static class ExpNode extends MathDoubleUnaryBuiltinNode {
 
-        @Specialization
-        public double exp(int value) {
+        @Override
+        protected double compute(double value) {
             return Math.exp(value);
         }
 
-        @Specialization
-        public double exp(double value) {
-            return Math.exp(value);
+        @Override
+        protected boolean canOverflow() {
+            return true;
+        }
+    }
+
+    @Builtin(name = "expm1", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class Expm1Node extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            return Math.expm1(value);
+        }
+
+        @Override
+        protected boolean canOverflow() {
+            return true;
         }
     }
 
@@ -571,6 +784,19 @@ public class MathModuleBuiltins extends PythonBuiltins {
 
     }
 
+    /**
+     * The exponent {@code e} of {@code value == m * 2**e} with {@code 0.5 <= |m| < 1}, for finite
+     * non-zero values.
+     */
+    static int frexpExponent(double value) {
+        int exponent = Math.getExponent(value);
+        if (exponent == Double.MIN_EXPONENT - 1) {
+            // subnormal
+            return Math.getExponent(value * 0x1p54) - 54 + 1;
+        }
+        return exponent + 1;
+    }
+
     @Builtin(name = "frexp", fixedNumOfArguments = 1)
     @TypeSystemReference(PythonArithmeticTypes.class)
     @ImportStatic(MathGuards.class)
@@ -578,44 +804,11 @@ public class MathModuleBuiltins extends PythonBuiltins {
     public abstract static class FrexpNode extends PythonBuiltinNode {
 
         public static PTuple frexp(double value, PythonObjectFactory factory) {
-            int exponent = 0;
-            double mantissa = 0.0;
-
-            if (value == 0.0 || value == -0.0) {
-                return factory.createTuple(new Object[]{mantissa, exponent});
-            }
-
-            if (Double.isNaN(value)) {
-                mantissa = Double.NaN;
-                exponent = -1;
-                return factory.createTuple(new Object[]{mantissa, exponent});
-            }
-
-            if (Double.isInfinite(value)) {
-                mantissa = value;
-                exponent = -1;
-                return factory.createTuple(new Object[]{mantissa, exponent});
-            }
-
-            boolean neg = false;
-            mantissa = value;
-
-            if (mantissa < 0) {
-                mantissa = -mantissa;
-                neg = true;
+            if (value == 0.0 || !Double.isFinite(value)) {
+                return factory.createTuple(new Object[]{value, 0});
             }
-            if (mantissa >= 1.0) {
-                while (mantissa >= 1) {
-                    ++exponent;
-                    mantissa /= 2;
-                }
-            } else if (mantissa < 0.5) {
-                while (mantissa < 0.5) {
-                    --exponent;
-                    mantissa *= 2;
-                }
-            }
-            return factory.createTuple(new Object[]{neg ? -mantissa : mantissa, exponent});
+            int exponent = frexpExponent(value);
+            return factory.createTuple(new Object[]{Math.scalb(value, -exponent), exponent});
         }
 
         @Specialization
@@ -640,6 +833,7 @@ public class MathModuleBuiltins extends PythonBuiltins {
     }
 
     @Builtin(name = "isnan", fixedNumOfArguments = 1)
+    @ImportStatic(MathGuards.class)
     @GenerateNodeFactory
     @SuppressWarnings("unused")
     public abstract static class IsNanNode extends PythonBuiltinNode {
@@ -674,9 +868,10 @@ public class MathModuleBuiltins extends PythonBuiltins {
             return false;
         }
 
-        @Fallback
-        public boolean isNan(Object value) {
-            throw raise(TypeError, "must be real number, not %p", value);
+        @Specialization(guards = "!isNumber(value)")
+        public boolean isNan(Object value,
+                        @Cached("create()") ToDoubleNode toDoubleNode) {
+            return isNan(toDoubleNode.execute(value));
         }
     }
 
@@ -829,139 +1024,989 @@ public class MathModuleBuiltins extends PythonBuiltins {
 
     @Builtin(name = "acos", fixedNumOfArguments = 1)
     @GenerateNodeFactory
-    public abstract static class AcosNode extends PythonBuiltinNode {
+    public abstract static class AcosNode extends MathDoubleUnaryBuiltinNode {
 
-        @Specialization
-        public double acos(int value) {
+        @Override
+        protected double compute(double value) {
             return Math.acos(value);
         }
+    }
 
-        @Specialization
-        public double acos(double value) {
-            return Math.acos(value);
+    @Builtin(name = "asin", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class AsinNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            return Math.asin(value);
         }
     }
 
-    @Builtin(name = "cos", fixedNumOfArguments = 1)
+    @Builtin(name = "atan", fixedNumOfArguments = 1)
     @GenerateNodeFactory
-    public abstract static class CosNode extends PythonBuiltinNode {
+    public abstract static class AtanNode extends MathDoubleUnaryBuiltinNode {
 
-        @Specialization
-        public double cos(int value) {
-            return Math.cos(value);
+        @Override
+        protected double compute(double value) {
+            return Math.atan(value);
         }
+    }
 
-        @Specialization
-        public double cos(double value) {
+    @Builtin(name = "cos", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class CosNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
             return Math.cos(value);
         }
     }
 
     @Builtin(name = "sin", fixedNumOfArguments = 1)
     @GenerateNodeFactory
-    public abstract static class SinNode extends PythonBuiltinNode {
+    public abstract static class SinNode extends MathDoubleUnaryBuiltinNode {
 
-        @Specialization
-        public double sin(int value) {
+        @Override
+        protected double compute(double value) {
             return Math.sin(value);
         }
+    }
 
-        @Specialization
-        public double sin(double value) {
-            return Math.sin(value);
+    @Builtin(name = "tan", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class TanNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            return Math.tan(value);
+        }
+    }
+
+    @Builtin(name = "cosh", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class CoshNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            return Math.cosh(value);
+        }
+
+        @Override
+        protected boolean canOverflow() {
+            return true;
+        }
+    }
+
+    @Builtin(name = "sinh", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class SinhNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            return Math.sinh(value);
+        }
+
+        @Override
+        protected boolean canOverflow() {
+            return true;
+        }
+    }
+
+    @Builtin(name = "tanh", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class TanhNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            return Math.tanh(value);
+        }
+    }
+
+    private static final double TWO_POW_M28 = 3.7252902984619141E-09;
+    private static final double TWO_POW_P28 = 268435456.0;
+    private static final double LN2 = 6.93147180559945286227E-01;
+
+    // the inverse hyperbolic functions are ported from CPython's pymath.c
+
+    @Builtin(name = "acosh", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class AcoshNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            if (Double.isNaN(value)) {
+                return value;
+            } else if (value < 1.0) {
+                return Double.NaN;
+            } else if (value >= TWO_POW_P28) {
+                if (Double.isInfinite(value)) {
+                    return value;
+                }
+                return Math.log(value) + LN2;
+            } else if (value == 1.0) {
+                return 0.0;
+            } else if (value > 2.0) {
+                double t = value * value;
+                return Math.log(2.0 * value - 1.0 / (value + Math.sqrt(t - 1.0)));
+            }
+            double t = value - 1.0;
+            return Math.log1p(t + Math.sqrt(2.0 * t + t * t));
+        }
+    }
+
+    @Builtin(name = "asinh", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class AsinhNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            if (!Double.isFinite(value)) {
+                return value;
+            }
+            double absx = Math.abs(value);
+            double w;
+            if (absx < TWO_POW_M28) {
+                return value;
+            } else if (absx > TWO_POW_P28) {
+                w = Math.log(absx) + LN2;
+            } else if (absx > 2.0) {
+                w = Math.log(2.0 * absx + 1.0 / (Math.sqrt(value * value + 1.0) + absx));
+            } else {
+                double t = value * value;
+                w = Math.log1p(absx + t / (1.0 + Math.sqrt(1.0 + t)));
+            }
+            return Math.copySign(w, value);
+        }
+    }
+
+    @Builtin(name = "atanh", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class AtanhNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            if (Double.isNaN(value)) {
+                return value;
+            }
+            double absx = Math.abs(value);
+            double t;
+            if (absx >= 1.0) {
+                return Double.NaN;
+            } else if (absx < TWO_POW_M28) {
+                return value;
+            } else if (absx < 0.5) {
+                t = absx + absx;
+                t = 0.5 * Math.log1p(t + t * absx / (1.0 - absx));
+            } else {
+                t = 0.5 * Math.log1p((absx + absx) / (1.0 - absx));
+            }
+            return Math.copySign(t, value);
         }
     }
 
     @Builtin(name = "log", minNumOfArguments = 1, maxNumOfArguments = 2)
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @ImportStatic(MathGuards.class)
     @GenerateNodeFactory
-    public abstract static class LogNode extends PythonBuiltinNode {
+    public abstract static class LogNode extends PythonBinaryBuiltinNode {
 
         @Specialization
-        public double log(int value, @SuppressWarnings("unused") PNone novalue) {
-            return Math.log(value);
+        public double log(long value, @SuppressWarnings("unused") PNone novalue) {
+            return count(value);
         }
 
         @Specialization
         public double log(double value, @SuppressWarnings("unused") PNone novalue) {
-            return Math.log(value);
+            return count(value);
         }
 
         @Specialization
-        public double log(int value, int base) {
-            return Math.log(value) / Math.log(base);
+        @TruffleBoundary
+        public double log(PInt value, @SuppressWarnings("unused") PNone novalue) {
+            BigInteger bigValue = value.getValue();
+            if (bigValue.signum() <= 0) {
+                throw raise(ValueError, "math domain error");
+            }
+            int shift = bigValue.bitLength() - Long.SIZE;
+            if (shift <= 0) {
+                return count(bigValue.doubleValue());
+            }
+            return Math.log(bigValue.shiftRight(shift).doubleValue()) + LN2 * shift;
+        }
+
+        @Specialization(guards = "!isNumber(value)")
+        public double log(Object value, @SuppressWarnings("unused") PNone novalue,
+                        @Cached("create()") ToDoubleNode toDoubleNode) {
+            return count(toDoubleNode.execute(value));
+        }
+
+        @Specialization(guards = "!isNoValue(base)")
+        public double logBase(Object value, Object base,
+                        @Cached("createLog()") LogNode valueLogNode,
+                        @Cached("createLog()") LogNode baseLogNode) {
+            double num = (double) valueLogNode.execute(value, PNone.NO_VALUE);
+            double den = (double) baseLogNode.execute(base, PNone.NO_VALUE);
+            if (den == 0.0) {
+                throw raise(ZeroDivisionError, "float division by zero");
+            }
+            return num / den;
+        }
+
+        private double count(double value) {
+            double result = Math.log(value);
+            if (Double.isNaN(result) && !Double.isNaN(value) || Double.isInfinite(result) && Double.isFinite(value)) {
+                throw raise(ValueError, "math domain error");
+            }
+            return result;
+        }
+
+        protected static LogNode createLog() {
+            return MathModuleBuiltinsFactory.LogNodeFactory.create(new PNode[0]);
+        }
+    }
+
+    @Builtin(name = "log2", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class Log2Node extends MathLogBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            if (!(value > 0.0) || Double.isInfinite(value)) {
+                return Math.log(value);
+            }
+            // exact for powers of two, like CPython's m_log2
+            int exponent = frexpExponent(value);
+            double mantissa = Math.scalb(value, -exponent);
+            if (value >= 1.0) {
+                return Math.log(2.0 * mantissa) / LN2 + (exponent - 1);
+            }
+            return Math.log(mantissa) / LN2 + exponent;
+        }
+    }
+
+    @Builtin(name = "log10", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class Log10Node extends MathLogBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            return Math.log10(value);
+        }
+    }
+
+    @Builtin(name = "log1p", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class Log1pNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            return Math.log1p(value);
         }
     }
 
     @Builtin(name = "fabs", fixedNumOfArguments = 1)
     @GenerateNodeFactory
-    public abstract static class fabsNode extends PythonBuiltinNode {
+    public abstract static class FabsNode extends MathDoubleUnaryBuiltinNode {
 
-        @Specialization
-        public double fabs(int value) {
-            return Math.abs((long) value);
+        @Override
+        protected double compute(double value) {
+            return Math.abs(value);
         }
+    }
+
+    @Builtin(name = "degrees", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class DegreesNode extends MathDoubleUnaryBuiltinNode {
+
+        private static final double RAD_TO_DEG = 180.0 / Math.PI;
+
+        @Override
+        protected double compute(double value) {
+            return value * RAD_TO_DEG;
+        }
+
+        @Override
+        protected void checkResult(double value, double result) {
+            // overflows to infinity like in CPython
+        }
+    }
+
+    @Builtin(name = "radians", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class RadiansNode extends MathDoubleUnaryBuiltinNode {
+
+        private static final double DEG_TO_RAD = Math.PI / 180.0;
+
+        @Override
+        protected double compute(double value) {
+            return value * DEG_TO_RAD;
+        }
+    }
+
+    // erf, erfc, gamma and lgamma are ported from CPython's mathmodule.c
+
+    private static final int ERF_SERIES_TERMS = 25;
+    private static final double ERF_SERIES_CUTOFF = 1.5;
+    private static final int ERFC_CONTFRAC_TERMS = 50;
+    private static final double ERFC_CONTFRAC_CUTOFF = 30.0;
+    private static final double SQRT_PI = 1.772453850905516027298167483341145182798;
+
+    private static double erfSeries(double x) {
+        double x2 = x * x;
+        double acc = 0.0;
+        double fk = ERF_SERIES_TERMS + 0.5;
+        for (int i = 0; i < ERF_SERIES_TERMS; i++) {
+            acc = 2.0 + x2 * acc / fk;
+            fk -= 1.0;
+        }
+        return acc * x * Math.exp(-x2) / SQRT_PI;
+    }
+
+    private static double erfcContfrac(double x) {
+        if (x >= ERFC_CONTFRAC_CUTOFF) {
+            return 0.0;
+        }
+        double x2 = x * x;
+        double a = 0.0;
+        double da = 0.5;
+        double p = 1.0;
+        double pLast = 0.0;
+        double q = da + x2;
+        double qLast = 1.0;
+        for (int i = 0; i < ERFC_CONTFRAC_TERMS; i++) {
+            a += da;
+            da += 2.0;
+            double b = da + x2;
+            double temp = p;
+            p = b * p - a * pLast;
+            pLast = temp;
+            temp = q;
+            q = b * q - a * qLast;
+            qLast = temp;
+        }
+        return p / q * x * Math.exp(-x2) / SQRT_PI;
+    }
+
+    @Builtin(name = "erf", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class ErfNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            if (Double.isNaN(value)) {
+                return value;
+            }
+            double absx = Math.abs(value);
+            if (absx < ERF_SERIES_CUTOFF) {
+                return erfSeries(value);
+            }
+            double cf = erfcContfrac(absx);
+            return value > 0.0 ? 1.0 - cf : cf - 1.0;
+        }
+    }
+
+    @Builtin(name = "erfc", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class ErfcNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            if (Double.isNaN(value)) {
+                return value;
+            }
+            double absx = Math.abs(value);
+            if (absx < ERF_SERIES_CUTOFF) {
+                return 1.0 - erfSeries(value);
+            }
+            double cf = erfcContfrac(absx);
+            return value > 0.0 ? cf : 2.0 - cf;
+        }
+    }
+
+    private static final double LANCZOS_G = 6.024680040776729583740234375;
+    private static final double LANCZOS_G_MINUS_HALF = 5.524680040776729583740234375;
+    @CompilationFinal(dimensions = 1) private static final double[] LANCZOS_NUM_COEFFS = new double[]{
+                    23531376880.410759688572007674451636754734846804940, 42919803642.649098768957899047001988850926355848959,
+                    35711959237.355668049440185451547166705960488635843, 17921034426.037209699919755754458931112671403265390,
+                    6039542586.3520280050642916443072979210699388420708, 1439720407.3117216736632230727949123939715485786772,
+                    248874557.86205415651146038641322942321632125127801, 31426415.585400194380614231628318205362874684987640,
+                    2876370.6289353724412254090516208496135991145378768, 186056.26539522349504029498971604569928220784236328,
+                    8071.6720023658162106380029022722506138218516325024, 210.82427775157934587250973392071336271166969580291,
+                    2.5066282746310002701649081771338373386264310793408};
+    @CompilationFinal(dimensions = 1) private static final double[] LANCZOS_DEN_COEFFS = new double[]{
+                    0.0, 39916800.0, 120543840.0, 150917976.0, 105258076.0, 45995730.0, 13339535.0,
+                    2637558.0, 357423.0, 32670.0, 1925.0, 66.0, 1.0};
+    @CompilationFinal(dimensions = 1) private static final double[] GAMMA_INTEGRAL = new double[]{
+                    1.0, 1.0, 2.0, 6.0, 24.0, 120.0, 720.0, 5040.0, 40320.0, 362880.0, 3628800.0, 39916800.0,
+                    479001600.0, 6227020800.0, 87178291200.0, 1307674368000.0, 20922789888000.0,
+                    355687428096000.0, 6402373705728000.0, 121645100408832000.0, 2432902008176640000.0,
+                    51090942171709440000.0, 1124000727777607680000.0};
+
+    private static double lanczosSum(double x) {
+        double num = 0.0;
+        double den = 0.0;
+        if (x < 5.0) {
+            for (int i = LANCZOS_NUM_COEFFS.length - 1; i >= 0; i--) {
+                num = num * x + LANCZOS_NUM_COEFFS[i];
+                den = den * x + LANCZOS_DEN_COEFFS[i];
+            }
+        } else {
+            for (int i = 0; i < LANCZOS_NUM_COEFFS.length; i++) {
+                num = num / x + LANCZOS_NUM_COEFFS[i];
+                den = den / x + LANCZOS_DEN_COEFFS[i];
+            }
+        }
+        return num / den;
+    }
+
+    /**
+     * {@code sin(pi * x)}, with the reduction done on {@code x} so that it is exact for integers.
+     */
+    private static double sinPi(double x) {
+        double y = Math.abs(x) % 2.0;
+        double r;
+        switch ((int) Math.round(2.0 * y)) {
+            case 0:
+                r = Math.sin(Math.PI * y);
+                break;
+            case 1:
+                r = Math.cos(Math.PI * (y - 0.5));
+                break;
+            case 2:
+                r = Math.sin(Math.PI * (1.0 - y));
+                break;
+            case 3:
+                r = -Math.cos(Math.PI * (y - 1.5));
+                break;
+            default:
+                r = Math.sin(Math.PI * (y - 2.0));
+                break;
+        }
+        return Math.copySign(1.0, x) * r;
+    }
+
+    @Builtin(name = "gamma", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class GammaNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            if (Double.isNaN(value) || value == Double.POSITIVE_INFINITY) {
+                return value;
+            } else if (value == Double.NEGATIVE_INFINITY || value == 0.0) {
+                return Double.NaN;
+            } else if (value == Math.floor(value)) {
+                if (value < 0.0) {
+                    return Double.NaN;
+                } else if (value <= GAMMA_INTEGRAL.length) {
+                    return GAMMA_INTEGRAL[(int) value - 1];
+                }
+            }
+            double absx = Math.abs(value);
+            if (absx < 1e-20) {
+                return 1.0 / value;
+            } else if (absx > 200.0) {
+                return value < 0.0 ? 0.0 / sinPi(value) : Double.POSITIVE_INFINITY;
+            }
+            double y = absx + LANCZOS_G_MINUS_HALF;
+            double z;
+            if (absx > LANCZOS_G_MINUS_HALF) {
+                z = (y - absx) - LANCZOS_G_MINUS_HALF;
+            } else {
+                z = (y - LANCZOS_G_MINUS_HALF) - absx;
+            }
+            z = z * LANCZOS_G / y;
+            double r;
+            if (value < 0.0) {
+                r = -Math.PI / sinPi(absx) / absx * Math.exp(y) / lanczosSum(absx);
+                r -= z * r;
+                if (absx < 140.0) {
+                    r /= Math.pow(y, absx - 0.5);
+                } else {
+                    double sqrtpow = Math.pow(y, absx / 2.0 - 0.25);
+                    r /= sqrtpow;
+                    r /= sqrtpow;
+                }
+            } else {
+                r = lanczosSum(absx) / Math.exp(y);
+                r += z * r;
+                if (absx < 140.0) {
+                    r *= Math.pow(y, absx - 0.5);
+                } else {
+                    double sqrtpow = Math.pow(y, absx / 2.0 - 0.25);
+                    r *= sqrtpow;
+                    r *= sqrtpow;
+                }
+            }
+            return r;
+        }
+
+        @Override
+        protected boolean canOverflow() {
+            return true;
+        }
+    }
+
+    @Builtin(name = "lgamma", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class LgammaNode extends MathDoubleUnaryBuiltinNode {
+
+        @Override
+        protected double compute(double value) {
+            if (Double.isNaN(value)) {
+                return value;
+            } else if (Double.isInfinite(value)) {
+                return Double.POSITIVE_INFINITY;
+            } else if (value == Math.floor(value) && value <= 2.0) {
+                return value <= 0.0 ? Double.NaN : 0.0;
+            }
+            double absx = Math.abs(value);
+            if (absx < 1e-20) {
+                return -Math.log(absx);
+            }
+            double r = Math.log(lanczosSum(absx)) - LANCZOS_G;
+            r += (absx - 0.5) * (Math.log(absx + LANCZOS_G - 0.5) - 1);
+            if (value < 0.0) {
+                r = Math.log(Math.PI) - Math.log(Math.abs(sinPi(absx))) - Math.log(absx) - r;
+            }
+            return r;
+        }
+
+        @Override
+        protected boolean canOverflow() {
+            return true;
+        }
+    }
+
+    @Builtin(name = "pow", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    public abstract static class PowNode extends MathDoubleBinaryBuiltinNode {
+
+        @Override
+        protected double compute(double left, double right) {
+            if (Double.isFinite(left) && Double.isFinite(right)) {
+                return Math.pow(left, right);
+            }
+            // C99 semantics for non-finite arguments, which differ from Math.pow
+            if (Double.isNaN(left)) {
+                return right == 0.0 ? 1.0 : left;
+            } else if (Double.isNaN(right)) {
+                return left == 1.0 ? 1.0 : right;
+            } else if (Double.isInfinite(left)) {
+                boolean oddRight = Double.isFinite(right) && Math.abs(right) % 2.0 == 1.0;
+                if (right > 0.0) {
+                    return oddRight ? left : Math.abs(left);
+                } else if (right == 0.0) {
+                    return 1.0;
+                }
+                return oddRight ? Math.copySign(0.0, left) : 0.0;
+            } else if (Math.abs(left) == 1.0) {
+                return 1.0;
+            } else if (right > 0.0 && Math.abs(left) > 1.0) {
+                return right;
+            } else if (right < 0.0 && Math.abs(left) < 1.0) {
+                return -right;
+            }
+            return 0.0;
+        }
+
+        @Override
+        protected void checkResult(double left, double right, double result) {
+            if (Double.isFinite(left) && Double.isFinite(right)) {
+                if (Double.isNaN(result) || (Double.isInfinite(result) && left == 0.0)) {
+                    throw raise(ValueError, "math domain error");
+                } else if (Double.isInfinite(result)) {
+                    throw raise(OverflowError, "math range error");
+                }
+            }
+        }
+    }
+
+    @Builtin(name = "atan2", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    public abstract static class Atan2Node extends MathDoubleBinaryBuiltinNode {
+
+        @Override
+        protected double compute(double left, double right) {
+            return Math.atan2(left, right);
+        }
+    }
+
+    @Builtin(name = "hypot", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    public abstract static class HypotNode extends MathDoubleBinaryBuiltinNode {
+
+        @Override
+        protected double compute(double left, double right) {
+            return Math.hypot(left, right);
+        }
+    }
+
+    @Builtin(name = "trunc", fixedNumOfArguments = 1)
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @ImportStatic(MathGuards.class)
+    @GenerateNodeFactory
+    public abstract static class TruncNode extends PythonUnaryBuiltinNode {
 
         @Specialization
-        public double fabs(long value) {
-            return Math.abs(value);
+        public long trunc(long value) {
+            return value;
+        }
+
+        @Specialization(guards = "fitsLong(value)")
+        public long truncToLong(double value) {
+            return (long) value;
+        }
+
+        @Specialization(guards = "!fitsLong(value)")
+        public PInt trunc(double value) {
+            if (Double.isNaN(value)) {
+                throw raise(ValueError, "cannot convert float NaN to integer");
+            } else if (Double.isInfinite(value)) {
+                throw raise(OverflowError, "cannot convert float infinity to integer");
+            }
+            return factory().createInt(toBigInteger(value));
         }
 
         @Specialization
+        public PInt trunc(PInt value) {
+            return factory().createInt(value.getValue());
+        }
+
+        @Specialization(guards = "!isNumber(value)")
+        public Object trunc(Object value,
+                        @Cached("create(__TRUNC__)") LookupAndCallUnaryNode dispatchTrunc) {
+            Object result = dispatchTrunc.executeObject(value);
+            if (result == PNone.NO_VALUE) {
+                throw raise(TypeError, "type %p doesn't define __trunc__ method", value);
+            }
+            return result;
+        }
+
+        protected static boolean fitsLong(double value) {
+            return -0x1p63 <= value && value < 0x1p63;
+        }
+
         @TruffleBoundary
-        public PInt fabs(PInt value) {
-            BigInteger xabs = value.getValue().abs();
-            return factory().createInt(xabs);
+        private static BigInteger toBigInteger(double value) {
+            return new BigDecimal(value).toBigInteger();
         }
+    }
+
+    @Builtin(name = "isinf", fixedNumOfArguments = 1)
+    @ImportStatic(MathGuards.class)
+    @GenerateNodeFactory
+    @SuppressWarnings("unused")
+    public abstract static class IsInfNode extends PythonBuiltinNode {
 
         @Specialization
-        public double fabs(double value) {
-            return Math.abs(value);
+        public boolean isInf(int value) {
+            return false;
         }
 
         @Specialization
-        public double fabs(PFloat value) {
-            return Math.abs(value.getValue());
+        public boolean isInf(long value) {
+            return false;
         }
 
         @Specialization
-        public double fabs(boolean value) {
-            return value ? 1.0 : 0.0;
+        public boolean isInf(double value) {
+            return Double.isInfinite(value);
         }
 
-        @Fallback
-        public double fabs(Object value) {
-            throw raise(TypeError, "must be real number, not %p", value);
+        @Specialization
+        public boolean isInf(PInt value) {
+            return false;
+        }
+
+        @Specialization
+        public boolean isInf(PFloat value) {
+            return Double.isInfinite(value.getValue());
+        }
+
+        @Specialization
+        public boolean isInf(boolean value) {
+            return false;
+        }
+
+        @Specialization(guards = "!isNumber(value)")
+        public boolean isInf(Object value,
+                        @Cached("create()") ToDoubleNode toDoubleNode) {
+            return isInf(toDoubleNode.execute(value));
         }
     }
 
-    @Builtin(name = "pow", fixedNumOfArguments = 2)
+    @Builtin(name = "isfinite", fixedNumOfArguments = 1)
+    @ImportStatic(MathGuards.class)
     @GenerateNodeFactory
-    public abstract static class PowNode extends PythonBuiltinNode {
+    @SuppressWarnings("unused")
+    public abstract static class IsFiniteNode extends PythonBuiltinNode {
 
         @Specialization
-        double pow(int left, int right) {
-            return pow((double) left, (double) right);
+        public boolean isFinite(int value) {
+            return true;
         }
 
         @Specialization
-        double pow(PInt left, PInt right) {
-            return pow(left.doubleValue(), right.doubleValue());
+        public boolean isFinite(long value) {
+            return true;
+        }
+
+        @Specialization
+        public boolean isFinite(double value) {
+            return Double.isFinite(value);
         }
 
-        @TruffleBoundary
         @Specialization
-        double pow(double left, double right) {
-            return Math.pow(left, right);
+        public boolean isFinite(PInt value) {
+            return true;
+        }
+
+        @Specialization
+        public boolean isFinite(PFloat value) {
+            return Double.isFinite(value.getValue());
+        }
+
+        @Specialization
+        public boolean isFinite(boolean value) {
+            return true;
+        }
+
+        @Specialization(guards = "!isNumber(value)")
+        public boolean isFinite(Object value,
+                        @Cached("create()") ToDoubleNode toDoubleNode) {
+            return isFinite(toDoubleNode.execute(value));
         }
     }
 
-    @Builtin(name = "atan2", fixedNumOfArguments = 2)
+    @Builtin(name = "modf", fixedNumOfArguments = 1)
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @ImportStatic(MathGuards.class)
     @GenerateNodeFactory
-    public abstract static class Atan2Node extends PythonBuiltinNode {
+    public abstract static class ModfNode extends PythonUnaryBuiltinNode {
 
         @Specialization
-        double atan2(double left, double right) {
-            return Math.atan2(left, right);
+        public PTuple modf(long value) {
+            return modf((double) value);
+        }
+
+        @Specialization
+        public PTuple modf(double value) {
+            if (Double.isInfinite(value)) {
+                return factory().createTuple(new Object[]{Math.copySign(0.0, value), value});
+            } else if (Double.isNaN(value)) {
+                return factory().createTuple(new Object[]{value, value});
+            }
+            double intPart = value < 0.0 ? Math.ceil(value) : Math.floor(value);
+            return factory().createTuple(new Object[]{Math.copySign(value - intPart, value), intPart});
+        }
+
+        @Specialization
+        public PTuple modf(PInt value) {
+            return modf(toDouble(this, value.getValue()));
+        }
+
+        @Specialization(guards = "!isNumber(value)")
+        public PTuple modf(Object value,
+                        @Cached("create()") ToDoubleNode toDoubleNode) {
+            return modf(toDoubleNode.execute(value));
+        }
+    }
+
+    @Builtin(name = "gcd", fixedNumOfArguments = 2)
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @GenerateNodeFactory
+    public abstract static class GcdNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(rewriteOn = ArithmeticException.class)
+        public long gcd(long left, long right) {
+            long a = left < 0 ? Math.negateExact(left) : left;
+            long b = right < 0 ? Math.negateExact(right) : right;
+            while (b != 0) {
+                long t = a % b;
+                a = b;
+                b = t;
+            }
+            return a;
+        }
+
+        @Specialization
+        public PInt gcdBig(long left, long right) {
+            return factory().createInt(gcd(BigInteger.valueOf(left), BigInteger.valueOf(right)));
+        }
+
+        @Specialization
+        public PInt gcd(long left, PInt right) {
+            return factory().createInt(gcd(BigInteger.valueOf(left), right.getValue()));
+        }
+
+        @Specialization
+        public PInt gcd(PInt left, long right) {
+            return factory().createInt(gcd(left.getValue(), BigInteger.valueOf(right)));
+        }
+
+        @Specialization
+        public PInt gcd(PInt left, PInt right) {
+            return factory().createInt(gcd(left.getValue(), right.getValue()));
+        }
+
+        @Fallback
+        public Object gcd(Object left, Object right) {
+            Object culprit = PGuards.isInteger(left) || left instanceof Boolean || left instanceof PInt ? right : left;
+            throw raise(TypeError, "'%p' object cannot be interpreted as an integer", culprit);
+        }
+
+        @TruffleBoundary
+        private static BigInteger gcd(BigInteger left, BigInteger right) {
+            return left.gcd(right);
+        }
+    }
+
+    @Builtin(name = "fsum", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    public abstract static class FsumNode extends PythonUnaryBuiltinNode {
+
+        private static final int NUM_PARTIALS = 32;
+
+        /**
+         * The state of Shewchuk's exact summation: non-overlapping partial sums in increasing
+         * magnitude, and the separately accumulated non-finite summands.
+         */
+        private static final class Partials {
+            private double[] partials = new double[NUM_PARTIALS];
+            private int length;
+            private double specialSum;
+            private double infSum;
+        }
+
+        @Specialization(guards = {"isDoubleStorage(list)", "cannotBeOverridden(list.getPythonClass())"})
+        public double doDoubleList(PList list) {
+            DoubleSequenceStorage store = (DoubleSequenceStorage) list.getSequenceStorage();
+            double[] values = store.getInternalDoubleArray();
+            int length = store.length();
+            Partials partials = new Partials();
+            for (int i = 0; i < length; i++) {
+                add(partials, values[i]);
+            }
+            return sum(partials);
+        }
+
+        @Specialization(guards = {"isIntStorage(list)", "cannotBeOverridden(list.getPythonClass())"})
+        public double doIntList(PList list) {
+            IntSequenceStorage store = (IntSequenceStorage) list.getSequenceStorage();
+            int[] values = store.getInternalIntArray();
+            int length = store.length();
+            Partials partials = new Partials();
+            for (int i = 0; i < length; i++) {
+                add(partials, values[i]);
+            }
+            return sum(partials);
+        }
+
+        @Specialization(guards = {"isLongStorage(list)", "cannotBeOverridden(list.getPythonClass())"})
+        public double doLongList(PList list) {
+            LongSequenceStorage store = (LongSequenceStorage) list.getSequenceStorage();
+            long[] values = store.getInternalLongArray();
+            int length = store.length();
+            Partials partials = new Partials();
+            for (int i = 0; i < length; i++) {
+                add(partials, values[i]);
+            }
+            return sum(partials);
+        }
+
+        @Specialization
+        public double doGeneric(Object iterable,
+                        @Cached("create()") GetIteratorNode getIterator,
+                        @Cached("create()") GetNextNode next,
+                        @Cached("create()") ToDoubleNode toDoubleNode,
+                        @Cached("createBinaryProfile()") ConditionProfile errorProfile) {
+            Object iterator = getIterator.executeWith(iterable);
+            Partials partials = new Partials();
+            while (true) {
+                Object value;
+                try {
+                    value = next.execute(iterator);
+                } catch (PException e) {
+                    e.expectStopIteration(getCore(), errorProfile);
+                    return sum(partials);
+                }
+                add(partials, toDoubleNode.execute(value));
+            }
+        }
+
+        private void add(Partials state, double value) {
+            double[] p = state.partials;
+            double x = value;
+            int i = 0;
+            for (int j = 0; j < state.length; j++) {
+                double y = p[j];
+                if (Math.abs(x) < Math.abs(y)) {
+                    double t = x;
+                    x = y;
+                    y = t;
+                }
+                double hi = x + y;
+                double lo = y - (hi - x);
+                if (lo != 0.0) {
+                    p[i++] = lo;
+                }
+                x = hi;
+            }
+            state.length = i;
+            if (x != 0.0) {
+                if (!Double.isFinite(x)) {
+                    // either an intermediate overflow or a non-finite summand
+                    if (Double.isFinite(value)) {
+                        throw raise(OverflowError, "intermediate overflow in fsum");
+                    }
+                    if (Double.isInfinite(value)) {
+                        state.infSum += value;
+                    }
+                    state.specialSum += value;
+                    state.length = 0;
+                } else {
+                    if (state.length == p.length) {
+                        state.partials = p = Arrays.copyOf(p, p.length * 2);
+                    }
+                    p[state.length++] = x;
+                }
+            }
+        }
+
+        private double sum(Partials state) {
+            if (state.specialSum != 0.0) {
+                if (Double.isNaN(state.infSum)) {
+                    throw raise(ValueError, "-inf + inf in fsum");
+                }
+                return state.specialSum;
+            }
+            double[] p = state.partials;
+            int n = state.length;
+            double hi = 0.0;
+            if (n > 0) {
+                hi = p[--n];
+                double lo = 0.0;
+                // sum exactly until the first inexact addition
+                while (n > 0) {
+                    double x = hi;
+                    double y = p[--n];
+                    hi = x + y;
+                    lo = y - (hi - x);
+                    if (lo != 0.0) {
+                        break;
+                    }
+                }
+                // round half-even correctly if the remaining partials push lo over the midpoint
+                if (n > 0 && ((lo < 0.0 && p[n - 1] < 0.0) || (lo > 0.0 && p[n - 1] > 0.0))) {
+                    double y = lo * 2.0;
+                    double x = hi + y;
+                    if (y == x - hi) {
+                        hi = x;
+                    }
+                }
+            }
+            return hi;
         }
     }
 }
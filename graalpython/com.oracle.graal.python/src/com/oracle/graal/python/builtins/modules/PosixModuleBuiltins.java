@@ -142,6 +142,18 @@ public class PosixModuleBuiltins extends PythonBuiltins {
         return PosixModuleBuiltinsFactory.getFactories();
     }
 
+    /**
+     * Returns the channel behind {@code fd}, or {@code null} if the descriptor is not open or is
+     * one of the standard streams, which are not backed by channels.
+     */
+    @TruffleBoundary
+    public static SeekableByteChannel lookupFileChannel(int fd) {
+        if (fd < 3 || fd >= files.size()) {
+            return null;
+        }
+        return files.get(fd);
+    }
+
     private abstract static class PythonFileNode extends PythonBuiltinNode {
         protected SeekableByteChannel getFileChannel(int fd) {
             if (files.size() <= fd || fd < 3) {
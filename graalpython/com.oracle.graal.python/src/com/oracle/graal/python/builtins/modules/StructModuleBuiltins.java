@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.struct.PStruct;
+import com.oracle.graal.python.builtins.objects.struct.StructFormat;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.GetStructFormatNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.PackIntoNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.PackNode;
+import com.oracle.graal.python.builtins.objects.struct.StructNodes.UnpackNode;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.builtins.objects.type.PythonClass;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+
+/**
+ * The {@code _struct} module. The module-level functions share compiled formats through a
+ * per-context cache (see {@link StructFormat#lookup}); the {@code error} class and
+ * {@code iter_unpack} are defined in {@code lib-graalpython/_struct.py}.
+ */
+@CoreFunctions(defineModule = "_struct")
+public class StructModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return StructModuleBuiltinsFactory.getFactories();
+    }
+
+    // _struct.Struct(format)
+    @Builtin(name = "Struct", fixedNumOfArguments = 2, constructsClass = PStruct.class)
+    @GenerateNodeFactory
+    abstract static class StructNode extends PythonBuiltinNode {
+        @Specialization
+        PStruct struct(PythonClass cls, Object format,
+                        @Cached("create()") GetStructFormatNode getFormatNode) {
+            return factory().createStruct(cls, getFormatNode.execute(format));
+        }
+    }
+
+    // _struct.calcsize(format)
+    @Builtin(name = "calcsize", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    abstract static class CalcSizeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        int calcsize(Object format,
+                        @Cached("create()") GetStructFormatNode getFormatNode) {
+            return getFormatNode.execute(format).getSize();
+        }
+    }
+
+    // _struct.pack(format, v1, v2, ...)
+    @Builtin(name = "pack", minNumOfArguments = 1, takesVariableArguments = true)
+    @GenerateNodeFactory
+    abstract static class PackFunctionNode extends PythonBuiltinNode {
+        @Specialization
+        PBytes pack(Object format, Object[] args,
+                        @Cached("create()") GetStructFormatNode getFormatNode,
+                        @Cached("create()") PackNode packNode) {
+            return packNode.execute(getFormatNode.execute(format), args);
+        }
+    }
+
+    // _struct.pack_into(format, buffer, offset, v1, v2, ...)
+    @Builtin(name = "pack_into", minNumOfArguments = 3, takesVariableArguments = true)
+    @GenerateNodeFactory
+    abstract static class PackIntoFunctionNode extends PythonBuiltinNode {
+        @Specialization
+        PNone packInto(Object format, Object buffer, long offset, Object[] args,
+                        @Cached("create()") GetStructFormatNode getFormatNode,
+                        @Cached("create()") PackIntoNode packIntoNode) {
+            packIntoNode.execute(getFormatNode.execute(format), buffer, offset, args);
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = "!isInteger(offset)")
+        @SuppressWarnings("unused")
+        PNone packInto(Object format, Object buffer, Object offset, Object[] args) {
+            throw raise(TypeError, "an integer is required (got type %p)", offset);
+        }
+    }
+
+    // _struct.unpack(format, buffer)
+    @Builtin(name = "unpack", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class UnpackFunctionNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PTuple unpack(Object format, Object buffer,
+                        @Cached("create()") GetStructFormatNode getFormatNode,
+                        @Cached("create()") UnpackNode unpackNode) {
+            return unpackNode.execute(getFormatNode.execute(format), buffer, 0, true);
+        }
+    }
+
+    // _struct.unpack_from(format, buffer, offset=0)
+    @Builtin(name = "unpack_from", fixedNumOfArguments = 2, keywordArguments = {"offset"})
+    @GenerateNodeFactory
+    abstract static class UnpackFromFunctionNode extends PythonBuiltinNode {
+        @Specialization
+        PTuple unpackFrom(Object format, Object buffer, @SuppressWarnings("unused") PNone offset,
+                        @Cached("create()") GetStructFormatNode getFormatNode,
+                        @Cached("create()") UnpackNode unpackNode) {
+            return unpackNode.execute(getFormatNode.execute(format), buffer, 0, false);
+        }
+
+        @Specialization
+        PTuple unpackFrom(Object format, Object buffer, long offset,
+                        @Cached("create()") GetStructFormatNode getFormatNode,
+                        @Cached("create()") UnpackNode unpackNode) {
+            return unpackNode.execute(getFormatNode.execute(format), buffer, offset, false);
+        }
+
+        @Specialization(guards = {"!isInteger(offset)", "!isNoValue(offset)"})
+        @SuppressWarnings("unused")
+        PTuple unpackFrom(Object format, Object buffer, Object offset) {
+            throw raise(TypeError, "an integer is required (got type %p)", offset);
+        }
+    }
+
+    // _struct._clearcache()
+    @Builtin(name = "_clearcache", fixedNumOfArguments = 0)
+    @GenerateNodeFactory
+    abstract static class ClearCacheNode extends PythonBuiltinNode {
+        @Specialization
+        PNone clearcache() {
+            StructFormat.clearCache(getContext());
+            return PNone.NONE;
+        }
+    }
+}
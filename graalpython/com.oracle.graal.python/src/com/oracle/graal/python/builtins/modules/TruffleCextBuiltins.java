@@ -61,14 +61,18 @@ import com.oracle.graal.python.builtins.objects.bytes.BytesBuiltins;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
 import com.oracle.graal.python.builtins.objects.cext.CExtNodes;
 import com.oracle.graal.python.builtins.objects.cext.NativeCAPISymbols;
+import com.oracle.graal.python.builtins.objects.cext.PySequenceArrayWrapper;
 import com.oracle.graal.python.builtins.objects.cext.PythonObjectNativeWrapper;
 import com.oracle.graal.python.builtins.objects.cext.UnicodeObjectNodes.UnicodeAsWideCharNode;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes;
 import com.oracle.graal.python.builtins.objects.complex.PComplex;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.exception.PBaseException;
 import com.oracle.graal.python.builtins.objects.floats.PFloat;
 import com.oracle.graal.python.builtins.objects.function.Arity;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.str.PString;
 import com.oracle.graal.python.builtins.objects.traceback.PTraceback;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
@@ -76,20 +80,28 @@ import com.oracle.graal.python.builtins.objects.type.PythonClass;
 import com.oracle.graal.python.nodes.PGuards;
 import com.oracle.graal.python.nodes.SpecialAttributeNames;
 import com.oracle.graal.python.nodes.SpecialMethodNames;
+import com.oracle.graal.python.nodes.attributes.HasInheritedAttributeNode;
 import com.oracle.graal.python.nodes.attributes.WriteAttributeToObjectNode;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallBinaryNode;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.classes.IsSubtypeNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.expression.BinaryArithmetic;
 import com.oracle.graal.python.nodes.expression.BinaryComparisonNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
 import com.oracle.graal.python.nodes.interop.PForeignToPTypeNode;
 import com.oracle.graal.python.nodes.object.GetClassNode;
+import com.oracle.graal.python.nodes.subscript.GetItemNode;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonCore;
 import com.oracle.graal.python.runtime.exception.ExceptionUtils;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStoreException;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -110,6 +122,7 @@ import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 
 @CoreFunctions(defineModule = "python_cext")
 public class TruffleCextBuiltins extends PythonBuiltins {
@@ -352,6 +365,259 @@ public class TruffleCextBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "PyDict_GetItem", fixedNumOfArguments = 3)
+    @GenerateNodeFactory
+    abstract static class PyDictGetItemNode extends NativeBuiltin {
+        @Specialization
+        Object doDict(PDict dict, Object key, Object errorMarker,
+                        @Cached("create()") HashingStorageNodes.GetItemNode getItemNode) {
+            try {
+                Object result = getItemNode.execute(dict.getDictStorage(), key);
+                return result != null ? result : errorMarker;
+            } catch (PException e) {
+                transformToNative(e);
+                return errorMarker;
+            }
+        }
+
+        @Fallback
+        Object doGeneric(Object dict, @SuppressWarnings("unused") Object key, Object errorMarker) {
+            return raiseNative(errorMarker, PythonErrorType.TypeError, "expected dict, %p found", dict);
+        }
+    }
+
+    @Builtin(name = "PyDict_SetItem", fixedNumOfArguments = 3)
+    @GenerateNodeFactory
+    abstract static class PyDictSetItemNode extends NativeBuiltin {
+        @Specialization
+        int doDict(PDict dict, Object key, Object value,
+                        @Cached("create()") HashingStorageNodes.SetItemNode setItemNode) {
+            try {
+                setItemNode.execute(dict, dict.getDictStorage(), key, value);
+                return 0;
+            } catch (PException e) {
+                transformToNative(e);
+                return -1;
+            }
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        int doGeneric(Object dict, Object key, Object value) {
+            return raiseNative(-1, PythonErrorType.TypeError, "expected dict, %p found", dict);
+        }
+    }
+
+    @Builtin(name = "PyDict_DelItem", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class PyDictDelItemNode extends NativeBuiltin {
+        @Specialization
+        int doDict(PDict dict, Object key,
+                        @Cached("create()") HashingStorageNodes.DelItemNode delItemNode) {
+            try {
+                if (delItemNode.execute(dict, dict.getDictStorage(), key)) {
+                    return 0;
+                }
+                return raiseNative(-1, PythonErrorType.KeyError, "%s", key);
+            } catch (PException e) {
+                transformToNative(e);
+                return -1;
+            }
+        }
+
+        @Fallback
+        int doGeneric(Object dict, @SuppressWarnings("unused") Object key) {
+            return raiseNative(-1, PythonErrorType.TypeError, "expected dict, %p found", dict);
+        }
+    }
+
+    @Builtin(name = "PyDict_Size", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    abstract static class PyDictSizeNode extends NativeBuiltin {
+        @Specialization
+        int doDict(PDict dict) {
+            return dict.size();
+        }
+
+        @Fallback
+        int doGeneric(Object dict) {
+            return raiseNative(-1, PythonErrorType.TypeError, "expected dict, %p found", dict);
+        }
+    }
+
+    @Builtin(name = "PyList_GetItem", fixedNumOfArguments = 3)
+    @GenerateNodeFactory
+    abstract static class PyListGetItemNode extends NativeBuiltin {
+        @Specialization
+        Object doI(PList list, int pos, Object errorMarker) {
+            SequenceStorage store = list.getSequenceStorage();
+            if (pos < 0 || pos >= store.length()) {
+                return raiseNative(errorMarker, PythonErrorType.IndexError, "list index out of range");
+            }
+            return store.getItemNormalized(pos);
+        }
+
+        @Specialization
+        Object doL(PList list, long pos, Object errorMarker) {
+            if (pos != (int) pos) {
+                return raiseNative(errorMarker, PythonErrorType.IndexError, "list index out of range");
+            }
+            return doI(list, (int) pos, errorMarker);
+        }
+
+        @Fallback
+        Object doGeneric(@SuppressWarnings("unused") Object list, @SuppressWarnings("unused") Object pos, Object errorMarker) {
+            return raiseBadInternalCall(errorMarker);
+        }
+    }
+
+    @Builtin(name = "PyList_SetItem", fixedNumOfArguments = 3)
+    @GenerateNodeFactory
+    abstract static class PyListSetItemNode extends NativeBuiltin {
+        @Specialization
+        int doI(PList list, int pos, Object newItem) {
+            SequenceStorage store = list.getSequenceStorage();
+            if (pos < 0 || pos >= store.length()) {
+                return raiseNative(-1, PythonErrorType.IndexError, "list assignment index out of range");
+            }
+            try {
+                store.setItemNormalized(pos, newItem);
+            } catch (SequenceStoreException e) {
+                SequenceStorage generalized = store.generalizeFor(newItem);
+                list.setSequenceStorage(generalized);
+                try {
+                    generalized.setItemNormalized(pos, newItem);
+                } catch (SequenceStoreException e1) {
+                    return raiseNative(-1, PythonErrorType.SystemError, "cannot store item of type %p in the list", newItem);
+                }
+            }
+            return 0;
+        }
+
+        @Specialization
+        int doL(PList list, long pos, Object newItem) {
+            if (pos != (int) pos) {
+                return raiseNative(-1, PythonErrorType.IndexError, "list assignment index out of range");
+            }
+            return doI(list, (int) pos, newItem);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        int doGeneric(Object list, Object pos, Object newItem) {
+            return raiseBadInternalCall(-1);
+        }
+    }
+
+    @Builtin(name = "PyList_Append", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class PyListAppendNode extends NativeBuiltin {
+        @Specialization
+        int doList(PList list, Object newItem) {
+            list.append(newItem);
+            return 0;
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        int doGeneric(Object list, Object newItem) {
+            return raiseBadInternalCall(-1);
+        }
+    }
+
+    @Builtin(name = "PyList_Size", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    abstract static class PyListSizeNode extends NativeBuiltin {
+        @Specialization
+        int doList(PList list) {
+            return list.len();
+        }
+
+        @Fallback
+        int doGeneric(@SuppressWarnings("unused") Object list) {
+            return raiseBadInternalCall(-1);
+        }
+    }
+
+    @Builtin(name = "PyNumber_BinOp", fixedNumOfArguments = 5)
+    @GenerateNodeFactory
+    abstract static class PyNumberBinOpNode extends NativeBuiltin {
+        // in the order of enum 'e_binop' in 'abstract.c'
+        @CompilationFinal(dimensions = 1) private static final BinaryArithmetic[] OPERATORS = new BinaryArithmetic[]{
+                        BinaryArithmetic.Add, BinaryArithmetic.Sub, BinaryArithmetic.Mul, BinaryArithmetic.TrueDiv, BinaryArithmetic.LShift, BinaryArithmetic.RShift,
+                        BinaryArithmetic.Or, BinaryArithmetic.And, BinaryArithmetic.Xor, BinaryArithmetic.FloorDiv, BinaryArithmetic.Mod};
+
+        protected static final int OPERATOR_COUNT = OPERATORS.length;
+
+        @Specialization(guards = {"binop == cachedBinop", "isValid(cachedBinop)"}, limit = "OPERATOR_COUNT")
+        Object doCached(Object v, Object w, @SuppressWarnings("unused") int binop, @SuppressWarnings("unused") Object name, Object errorMarker,
+                        @Cached("binop") @SuppressWarnings("unused") int cachedBinop,
+                        @Cached("createOperation(cachedBinop)") LookupAndCallBinaryNode callNode) {
+            try {
+                return callNode.executeObject(v, w);
+            } catch (PException e) {
+                transformToNative(e);
+                return errorMarker;
+            }
+        }
+
+        @Specialization(guards = "!isValid(binop)")
+        Object doInvalid(@SuppressWarnings("unused") Object v, @SuppressWarnings("unused") Object w, @SuppressWarnings("unused") int binop, Object name, Object errorMarker) {
+            return raiseNative(errorMarker, PythonErrorType.SystemError, "unknown binary operator %s", name);
+        }
+
+        protected static boolean isValid(int binop) {
+            return binop >= 0 && binop < OPERATORS.length;
+        }
+
+        protected static LookupAndCallBinaryNode createOperation(int binop) {
+            return OPERATORS[binop].create();
+        }
+    }
+
+    @Builtin(name = "PyIter_Next", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class PyIterNextNode extends NativeBuiltin {
+        @Specialization
+        Object run(Object iterator, Object errorMarker,
+                        @Cached("create()") GetNextNode getNextNode,
+                        @Cached("create()") IsSubtypeNode isSubtypeNode,
+                        @Cached("createBinaryProfile()") ConditionProfile stopIterationProfile) {
+            try {
+                return getNextNode.execute(iterator);
+            } catch (PException e) {
+                // exhaustion (also by a subclass of StopIteration) is signalled without setting an
+                // error, so the exception is not reified for the common case of iterating to the end
+                if (stopIterationProfile.profile(isSubtypeNode.execute(e.getType(), getCore().getErrorClass(PythonErrorType.StopIteration)))) {
+                    return errorMarker;
+                }
+                transformToNative(e);
+                return errorMarker;
+            }
+        }
+    }
+
+    @Builtin(name = "PySequence_GetItem", fixedNumOfArguments = 3)
+    @GenerateNodeFactory
+    @ImportStatic(SpecialMethodNames.class)
+    abstract static class PySequenceGetItemNode extends NativeBuiltin {
+        @Specialization
+        Object run(Object sequence, Object index, Object errorMarker,
+                        @Cached("create(__GETITEM__)") HasInheritedAttributeNode hasGetItemNode,
+                        @Cached("create()") GetItemNode getItemNode) {
+            // like 'PySequence_Check': dictionaries are explicitly excluded
+            if (sequence instanceof PDict || !hasGetItemNode.execute(sequence)) {
+                return raiseNative(errorMarker, PythonErrorType.TypeError, "'%p' object does not support indexing", sequence);
+            }
+            try {
+                return getItemNode.execute(sequence, index);
+            } catch (PException e) {
+                transformToNative(e);
+                return errorMarker;
+            }
+        }
+    }
+
     @Builtin(name = "CreateFunction", minNumOfArguments = 2, maxNumOfArguments = 3)
     @GenerateNodeFactory
     abstract static class CreateFunctionNode extends PythonTernaryBuiltinNode {
@@ -682,6 +948,10 @@ public class TruffleCextBuiltins extends PythonBuiltins {
         protected Object raiseBadArgument(Object errorMarker) {
             return raiseNative(errorMarker, PythonErrorType.TypeError, "bad argument type for built-in operation");
         }
+
+        protected <T> T raiseBadInternalCall(T errorMarker) {
+            return raiseNative(errorMarker, PythonErrorType.SystemError, "bad argument to internal function");
+        }
     }
 
     abstract static class NativeUnicodeBuiltin extends NativeBuiltin {
@@ -1000,11 +1270,9 @@ public class TruffleCextBuiltins extends PythonBuiltins {
     abstract static class PyTruffle_Bytes_AsString extends NativeBuiltin {
         @Specialization
         Object doBytes(PBytes bytes, @SuppressWarnings("unused") Object errorMarker) {
-            // according to Python's documentation, the last byte is always '0x00'
-            byte[] store = bytes.getInternalByteArray();
-            byte[] nativeBytes = Arrays.copyOf(store, store.length + 1);
-            assert nativeBytes[nativeBytes.length - 1] == 0;
-            return getContext().getEnv().asGuestValue(nativeBytes);
+            // the wrapper provides the trailing '0x00' and moves the bytes into native memory once
+            // native code uses the pointer
+            return new PySequenceArrayWrapper(bytes);
         }
 
         @Specialization
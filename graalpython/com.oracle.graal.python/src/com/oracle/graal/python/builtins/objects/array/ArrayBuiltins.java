@@ -25,18 +25,65 @@
  */
 package com.oracle.graal.python.builtins.objects.array;
 
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__CONTAINS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__DELITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GETITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__IADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__IMUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LEN__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__MUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RMUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETITEM__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.MemoryError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OSError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.util.List;
 
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.PythonBuiltins;
-import com.oracle.graal.python.nodes.SpecialMethodNames;
+import com.oracle.graal.python.builtins.modules.PosixModuleBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.bytes.PIBytesLike;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.slice.PSlice;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.builtins.objects.type.PythonClass;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallBinaryNode;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.control.GetIteratorNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.expression.BinaryComparisonNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.graal.python.runtime.sequence.SequenceUtil.NormalizeIndexNode;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 
 @CoreFunctions(extendClasses = PArray.class)
 public class ArrayBuiltins extends PythonBuiltins {
@@ -46,114 +93,727 @@ public class ArrayBuiltins extends PythonBuiltins {
         return ArrayBuiltinsFactory.getFactories();
     }
 
-    @Builtin(name = SpecialMethodNames.__ADD__, fixedNumOfArguments = 2)
+    @Builtin(name = __ADD__, fixedNumOfArguments = 2)
     @GenerateNodeFactory
-    abstract static class AddNode extends PythonBuiltinNode {
+    abstract static class AddNode extends PythonBinaryBuiltinNode {
         @Specialization
-        PLongArray doPArray(PLongArray left, PLongArray right) {
-            long[] joined = new long[left.len() + right.len()];
-            System.arraycopy(left.getSequence(), 0, joined, 0, left.len());
-            System.arraycopy(right.getSequence(), 0, joined, left.len(), right.len());
-            return factory().createLongArray(joined);
+        PArray doPArray(PArray left, PArray right) {
+            return left.concat(factory(), right);
+        }
+
+        @Specialization(guards = "!isPArray(right)")
+        Object doGeneric(@SuppressWarnings("unused") PArray left, Object right) {
+            throw raise(TypeError, "can only append array (not \"%p\") to array", right);
         }
 
+        protected static boolean isPArray(Object value) {
+            return value instanceof PArray;
+        }
+    }
+
+    @Builtin(name = __IADD__, fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class IAddNode extends PythonBinaryBuiltinNode {
         @Specialization
-        PCharArray doPArray(PCharArray left, PCharArray right) {
-            char[] joined = new char[left.len() + right.len()];
-            System.arraycopy(left.getSequence(), 0, joined, 0, left.len());
-            System.arraycopy(right.getSequence(), 0, joined, left.len(), right.len());
-            return factory().createCharArray(joined);
+        PArray doPArray(PArray left, PArray right) {
+            left.extend(right);
+            return left;
+        }
+
+        @Specialization(guards = "!isPArray(right)")
+        Object doGeneric(@SuppressWarnings("unused") PArray left, Object right) {
+            throw raise(TypeError, "can only extend array with array (not \"%p\")", right);
         }
 
+        protected static boolean isPArray(Object value) {
+            return value instanceof PArray;
+        }
+    }
+
+    @Builtin(name = __RMUL__, fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class RMulNode extends PythonBinaryBuiltinNode {
         @Specialization
-        PDoubleArray doPArray(PDoubleArray left, PDoubleArray right) {
-            double[] joined = new double[left.len() + right.len()];
-            System.arraycopy(left.getSequence(), 0, joined, 0, left.len());
-            System.arraycopy(right.getSequence(), 0, joined, left.len(), right.len());
-            return factory().createDoubleArray(joined);
+        PArray doPArrayInt(PArray self, int times) {
+            return self.repeat(factory(), times);
         }
 
+        @SuppressWarnings("unused")
         @Specialization
-        PIntArray doPArray(PIntArray left, PIntArray right) {
-            int[] joined = new int[left.len() + right.len()];
-            System.arraycopy(left.getSequence(), 0, joined, 0, left.len());
-            System.arraycopy(right.getSequence(), 0, joined, left.len(), right.len());
-            return factory().createIntArray(joined);
+        Object doGeneric(PArray self, Object times) {
+            return PNotImplemented.NOT_IMPLEMENTED;
         }
     }
 
-    @Builtin(name = SpecialMethodNames.__RMUL__, fixedNumOfArguments = 2)
+    @Builtin(name = __MUL__, fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class MulNode extends RMulNode {
+    }
+
+    @Builtin(name = __IMUL__, fixedNumOfArguments = 2)
     @GenerateNodeFactory
-    abstract static class RMulNode extends PythonBuiltinNode {
+    abstract static class IMulNode extends PythonBinaryBuiltinNode {
         @Specialization
-        PLongArray doIntPArray(PLongArray right, int left) {
-            long[] newArray = new long[left * right.len()];
-            int count = 0;
-            for (int i = 0; i < left; i++) {
-                for (int j = 0; j < right.len(); j++) {
-                    newArray[count++] = right.getSequence()[i];
+        PArray doPArrayInt(PArray self, int times) {
+            self.repeatInPlace(times);
+            return self;
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        Object doGeneric(PArray self, Object times) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __LEN__, fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    abstract static class LenNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        int len(PArray self) {
+            return self.len();
+        }
+    }
+
+    @Builtin(name = __GETITEM__, fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class GetItemNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object doInt(PArray self, int idx,
+                        @Cached("create()") NormalizeIndexNode normalize) {
+            return self.getItemNormalized(normalize.forArray(idx, self.len()));
+        }
+
+        @Specialization
+        Object doSlice(PArray self, PSlice slice) {
+            return self.getSlice(factory(), slice);
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        Object doGeneric(PArray self, Object idx) {
+            throw raise(TypeError, "array indices must be integers");
+        }
+    }
+
+    @Builtin(name = __SETITEM__, fixedNumOfArguments = 3)
+    @GenerateNodeFactory
+    abstract static class SetItemNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PNone doInt(PArray self, int idx, Object value,
+                        @Cached("create()") NormalizeIndexNode normalize) {
+            self.setItemNormalized(normalize.forArrayAssign(idx, self.len()), value);
+            return PNone.NONE;
+        }
+
+        @Specialization
+        PNone doSlice(PArray self, PSlice slice, PSequence value) {
+            self.setSlice(slice, value);
+            return PNone.NONE;
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = "!isPSequence(value)")
+        PNone doSlice(PArray self, PSlice slice, Object value) {
+            throw raise(TypeError, "can only assign array (not \"%p\") to array slice", value);
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = "!isPSlice(idx)")
+        PNone doGeneric(PArray self, Object idx, Object value) {
+            throw raise(TypeError, "array indices must be integers");
+        }
+
+        protected static boolean isPSequence(Object value) {
+            return value instanceof PSequence;
+        }
+
+        protected static boolean isPSlice(Object value) {
+            return value instanceof PSlice;
+        }
+    }
+
+    @Builtin(name = __DELITEM__, fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class DelItemNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PNone doInt(PArray self, int idx) {
+            self.delItem(idx);
+            return PNone.NONE;
+        }
+
+        @Specialization
+        PNone doSlice(PArray self, PSlice slice) {
+            self.delSlice(slice);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = __CONTAINS__, fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class ContainsNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        boolean contains(PArray self, Object value,
+                        @Cached("create(__EQ__, __EQ__, __EQ__)") BinaryComparisonNode eqNode) {
+            for (int i = 0; i < self.len(); i++) {
+                if (eqNode.executeBool(self.getItemNormalized(i), value)) {
+                    return true;
                 }
             }
-            return factory().createLongArray(newArray);
+            return false;
         }
+    }
 
+    @Builtin(name = __EQ__, fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends PythonBinaryBuiltinNode {
         @Specialization
-        PCharArray doIntPArray(PCharArray right, int left) {
-            char[] newArray = new char[left * right.len()];
-            int count = 0;
-            for (int i = 0; i < left; i++) {
-                for (int j = 0; j < right.len(); j++) {
-                    newArray[count++] = right.getSequence()[i];
+        boolean eq(PArray self, PArray other,
+                        @Cached("create(__EQ__, __EQ__, __EQ__)") BinaryComparisonNode eqNode) {
+            if (self.len() != other.len()) {
+                return false;
+            }
+            for (int i = 0; i < self.len(); i++) {
+                if (!eqNode.executeBool(self.getItemNormalized(i), other.getItemNormalized(i))) {
+                    return false;
                 }
             }
-            return factory().createCharArray(newArray);
+            return true;
         }
 
+        @SuppressWarnings("unused")
+        @Specialization(guards = "!isPArray(other)")
+        Object doGeneric(PArray self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        protected static boolean isPArray(Object value) {
+            return value instanceof PArray;
+        }
+    }
+
+    @Builtin(name = __NE__, fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends PythonBinaryBuiltinNode {
         @Specialization
-        PDoubleArray doIntPArray(PDoubleArray right, int left) {
-            double[] newArray = new double[left * right.len()];
-            int count = 0;
-            for (int i = 0; i < left; i++) {
-                for (int j = 0; j < right.len(); j++) {
-                    newArray[count++] = right.getSequence()[i];
+        boolean ne(PArray self, PArray other,
+                        @Cached("create(__EQ__, __EQ__, __EQ__)") BinaryComparisonNode eqNode) {
+            if (self.len() != other.len()) {
+                return true;
+            }
+            for (int i = 0; i < self.len(); i++) {
+                if (!eqNode.executeBool(self.getItemNormalized(i), other.getItemNormalized(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = "!isPArray(other)")
+        Object doGeneric(PArray self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        protected static boolean isPArray(Object value) {
+            return value instanceof PArray;
+        }
+    }
+
+    @Builtin(name = __LT__, fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends ArrayComparisonNode {
+        @Specialization
+        boolean lt(PArray self, PArray other,
+                        @Cached("create(__EQ__, __EQ__, __EQ__)") BinaryComparisonNode eqNode,
+                        @Cached("create(__LT__, __GT__, __LT__)") BinaryComparisonNode ltNode) {
+            return doComparison(self, other, eqNode, ltNode);
+        }
+    }
+
+    @Builtin(name = __LE__, fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends ArrayComparisonNode {
+        @Specialization
+        boolean le(PArray self, PArray other,
+                        @Cached("create(__EQ__, __EQ__, __EQ__)") BinaryComparisonNode eqNode,
+                        @Cached("create(__LE__, __GE__, __LE__)") BinaryComparisonNode leNode) {
+            return doComparison(self, other, eqNode, leNode);
+        }
+    }
+
+    @Builtin(name = __GT__, fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends ArrayComparisonNode {
+        @Specialization
+        boolean gt(PArray self, PArray other,
+                        @Cached("create(__EQ__, __EQ__, __EQ__)") BinaryComparisonNode eqNode,
+                        @Cached("create(__GT__, __LT__, __GT__)") BinaryComparisonNode gtNode) {
+            return doComparison(self, other, eqNode, gtNode);
+        }
+    }
+
+    @Builtin(name = __GE__, fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends ArrayComparisonNode {
+        @Specialization
+        boolean ge(PArray self, PArray other,
+                        @Cached("create(__EQ__, __EQ__, __EQ__)") BinaryComparisonNode eqNode,
+                        @Cached("create(__GE__, __LE__, __GE__)") BinaryComparisonNode geNode) {
+            return doComparison(self, other, eqNode, geNode);
+        }
+    }
+
+    abstract static class ArrayComparisonNode extends PythonBinaryBuiltinNode {
+
+        static boolean doComparison(PArray self, PArray other,
+                        BinaryComparisonNode eqNode,
+                        BinaryComparisonNode compNode) {
+            int len = self.len();
+            int len2 = other.len();
+            int min = Math.min(len, len2);
+            for (int i = 0; i < min; i++) {
+                Object left = self.getItemNormalized(i);
+                Object right = other.getItemNormalized(i);
+                if (!eqNode.executeBool(left, right)) {
+                    return compNode.executeBool(left, right);
+                }
+            }
+            return compNode.executeBool(len, len2);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        PNotImplemented doOther(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __REPR__, fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object repr(PCharArray self,
+                        @Cached("create(__REPR__)") LookupAndCallUnaryNode reprNode) {
+            if (self.len() == 0) {
+                return "array('u')";
+            }
+            // like CPython, the items are shown as the repr of the string they form
+            return format(reprNode.executeObject(self.toUnicode()));
+        }
+
+        @Specialization(guards = "!isCharArray(self)")
+        String repr(PArray self) {
+            return self.toString();
+        }
+
+        @TruffleBoundary
+        private static String format(Object unicodeRepr) {
+            return "array('u', " + unicodeRepr + ")";
+        }
+
+        protected static boolean isCharArray(Object value) {
+            return value instanceof PCharArray;
+        }
+    }
+
+    // array.append(x)
+    @Builtin(name = "append", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class AppendNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "!self.isUnsigned()")
+        PNone appendInt(PIntArray self, int value) {
+            self.append(value);
+            return PNone.NONE;
+        }
+
+        @Specialization
+        PNone appendDouble(PDoubleArray self, double value) {
+            self.append(value);
+            return PNone.NONE;
+        }
+
+        @Specialization
+        PNone append(PArray self, Object value) {
+            self.append(value);
+            return PNone.NONE;
+        }
+    }
+
+    // array.extend(iterable)
+    @Builtin(name = "extend", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    public abstract static class ExtendNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        PNone extendArray(PArray self, PArray other) {
+            if (self.getTypeCode() != other.getTypeCode()) {
+                throw raise(TypeError, "can only extend with array of same kind");
+            }
+            self.extend(other);
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = "!isPArray(source)")
+        PNone extend(PArray self, Object source,
+                        @Cached("create()") GetIteratorNode getIterator,
+                        @Cached("create()") GetNextNode next,
+                        @Cached("createBinaryProfile()") ConditionProfile errorProfile) {
+            Object iterator = getIterator.executeWith(source);
+            while (true) {
+                Object value;
+                try {
+                    value = next.execute(iterator);
+                } catch (PException e) {
+                    e.expectStopIteration(getCore(), errorProfile);
+                    return PNone.NONE;
+                }
+                self.append(value);
+            }
+        }
+
+        protected static boolean isPArray(Object value) {
+            return value instanceof PArray;
+        }
+    }
+
+    // array.insert(i, x)
+    @Builtin(name = "insert", fixedNumOfArguments = 3)
+    @GenerateNodeFactory
+    abstract static class InsertNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PNone insert(PArray self, int idx, Object value) {
+            self.insert(idx, value);
+            return PNone.NONE;
+        }
+    }
+
+    // array.pop([i])
+    @Builtin(name = "pop", minNumOfArguments = 1, maxNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class PopNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object popLast(PArray self, @SuppressWarnings("unused") PNone none) {
+            return self.pop(-1);
+        }
+
+        @Specialization
+        Object pop(PArray self, int idx) {
+            return self.pop(idx);
+        }
+    }
+
+    // array.index(x)
+    @Builtin(name = "index", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class IndexNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        int index(PArray self, Object value,
+                        @Cached("create(__EQ__, __EQ__, __EQ__)") BinaryComparisonNode eqNode) {
+            for (int i = 0; i < self.len(); i++) {
+                if (eqNode.executeBool(self.getItemNormalized(i), value)) {
+                    return i;
                 }
             }
-            return factory().createDoubleArray(newArray);
+            throw raise(ValueError, "array.index(x): x not in array");
         }
+    }
 
+    // array.buffer_info()
+    @Builtin(name = "buffer_info", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    abstract static class BufferInfoNode extends PythonUnaryBuiltinNode {
         @Specialization
-        PIntArray doIntPArray(PIntArray right, int left) {
-            int[] newArray = new int[left * right.len()];
+        PTuple bufferInfo(PArray self) {
+            // JVM arrays have no stable address that could be passed to native code, so the
+            // address is reported as NULL; the length is still useful to compute buffer sizes
+            return factory().createTuple(new Object[]{0, self.len()});
+        }
+    }
+
+    // array.remove(x)
+    @Builtin(name = "remove", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class RemoveNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PNone remove(PArray self, Object value,
+                        @Cached("create(__EQ__, __EQ__, __EQ__)") BinaryComparisonNode eqNode) {
+            for (int i = 0; i < self.len(); i++) {
+                if (eqNode.executeBool(self.getItemNormalized(i), value)) {
+                    self.delItem(i);
+                    return PNone.NONE;
+                }
+            }
+            throw raise(ValueError, "array.remove(x): x not in array");
+        }
+    }
+
+    // array.count(x)
+    @Builtin(name = "count", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class CountNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        int count(PArray self, Object value,
+                        @Cached("create(__EQ__, __EQ__, __EQ__)") BinaryComparisonNode eqNode) {
             int count = 0;
-            for (int i = 0; i < left; i++) {
-                for (int j = 0; j < right.len(); j++) {
-                    newArray[count++] = right.getSequence()[i];
+            for (int i = 0; i < self.len(); i++) {
+                if (eqNode.executeBool(self.getItemNormalized(i), value)) {
+                    count++;
                 }
             }
-            return factory().createIntArray(newArray);
+            return count;
         }
     }
 
-    @Builtin(name = SpecialMethodNames.__MUL__, fixedNumOfArguments = 2)
+    // array.reverse()
+    @Builtin(name = "reverse", fixedNumOfArguments = 1)
     @GenerateNodeFactory
-    abstract static class MulNode extends RMulNode {
+    abstract static class ReverseNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PNone reverse(PArray self) {
+            self.reverse();
+            return PNone.NONE;
+        }
     }
 
-    @Builtin(name = SpecialMethodNames.__CONTAINS__, fixedNumOfArguments = 2)
+    // array.byteswap()
+    @Builtin(name = "byteswap", fixedNumOfArguments = 1)
     @GenerateNodeFactory
-    abstract static class ContainsNode extends PythonBinaryBuiltinNode {
+    abstract static class ByteSwapNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PNone byteswap(PArray self) {
+            self.byteswap();
+            return PNone.NONE;
+        }
+    }
+
+    // array.frombytes(bytes)
+    @Builtin(name = "frombytes", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class FromBytesNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PNone frombytes(PArray self, PIBytesLike bytes) {
+            self.fromBytes(ByteBuffer.wrap(bytes.getInternalByteArray(), 0, bytes.len()));
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = "!isBytesLike(bytes)")
+        PNone frombytes(@SuppressWarnings("unused") PArray self, Object bytes) {
+            throw raise(TypeError, "a bytes-like object is required, not '%p'", bytes);
+        }
+
+        protected static boolean isBytesLike(Object value) {
+            return value instanceof PIBytesLike;
+        }
+    }
+
+    // array.tobytes()
+    @Builtin(name = "tobytes", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    abstract static class ToBytesNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object tobytes(PArray self) {
+            return factory().createBytes(self.toBytes());
+        }
+    }
+
+    // array.fromlist(list)
+    @Builtin(name = "fromlist", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class FromListNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PNone fromlist(PArray self, PList list) {
+            int oldLength = self.length;
+            self.ensureCapacity(oldLength + list.len());
+            try {
+                for (int i = 0; i < list.len(); i++) {
+                    self.append(list.getItem(i));
+                }
+            } catch (PException e) {
+                // CPython leaves the array unchanged if any item cannot be converted
+                self.length = oldLength;
+                throw e;
+            }
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = "!isList(list)")
+        PNone fromlist(@SuppressWarnings("unused") PArray self, @SuppressWarnings("unused") Object list) {
+            throw raise(TypeError, "arg must be list");
+        }
+    }
+
+    // array.tolist()
+    @Builtin(name = "tolist", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    abstract static class ToListNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PList tolist(PArray self) {
+            Object[] items = new Object[self.len()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = self.getItemNormalized(i);
+            }
+            return factory().createList(items);
+        }
+    }
+
+    // array.fromunicode(s)
+    @Builtin(name = "fromunicode", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    abstract static class FromUnicodeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PNone fromunicode(PCharArray self, String str) {
+            self.fromString(str);
+            return PNone.NONE;
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        PNone fromunicode(PArray self, Object str) {
+            if (!(self instanceof PCharArray)) {
+                throw raise(ValueError, "fromunicode() may only be called on unicode type arrays");
+            }
+            throw raise(TypeError, "fromunicode() argument must be str, not %p", str);
+        }
+    }
+
+    // array.tounicode()
+    @Builtin(name = "tounicode", fixedNumOfArguments = 1)
+    @GenerateNodeFactory
+    abstract static class ToUnicodeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        String tounicode(PCharArray self) {
+            return self.toUnicode();
+        }
+
+        @Specialization(guards = "!isCharArray(self)")
+        String tounicode(@SuppressWarnings("unused") PArray self) {
+            throw raise(ValueError, "tounicode() may only be called on unicode type arrays");
+        }
+
+        protected static boolean isCharArray(Object value) {
+            return value instanceof PCharArray;
+        }
+    }
+
+    // array.fromfile(f, n)
+    @Builtin(name = "fromfile", fixedNumOfArguments = 3)
+    @GenerateNodeFactory
+    abstract static class FromFileNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PNone fromfile(PArray self, Object file, int n,
+                        @Cached("create(\"fileno\")") LookupAndCallUnaryNode callFileno,
+                        @Cached("create(\"read\")") LookupAndCallBinaryNode callRead) {
+            if (n < 0) {
+                throw raise(ValueError, "negative count");
+            }
+            long requested = (long) n * self.getItemSize();
+            if (requested > Integer.MAX_VALUE) {
+                throw raise(MemoryError);
+            }
+            ByteBuffer data;
+            SeekableByteChannel channel = getFileChannel(file, callFileno);
+            if (channel != null) {
+                data = readChannel(channel, (int) requested);
+            } else {
+                Object result = callRead.executeObject(file, (int) requested);
+                if (!(result instanceof PIBytesLike)) {
+                    throw raise(TypeError, "read() didn't return bytes");
+                }
+                PIBytesLike bytes = (PIBytesLike) result;
+                data = ByteBuffer.wrap(bytes.getInternalByteArray(), 0, bytes.len());
+            }
+            if (data.remaining() < requested) {
+                // keep the complete items that were read, like CPython does
+                data.limit(data.limit() - data.remaining() % self.getItemSize());
+                self.fromBytes(data);
+                PythonClass eofError = (PythonClass) getContext().getBuiltins().getAttribute("EOFError");
+                throw getCore().raise(factory().createBaseException(eofError, "read() didn't return enough bytes", new Object[0]), this);
+            }
+            self.fromBytes(data);
+            return PNone.NONE;
+        }
+
+        @TruffleBoundary
+        private ByteBuffer readChannel(SeekableByteChannel channel, int requested) {
+            ByteBuffer dst = ByteBuffer.allocate(requested);
+            try {
+                while (dst.hasRemaining() && channel.read(dst) > 0) {
+                    // keep reading until the request is satisfied or the file ends
+                }
+            } catch (IOException e) {
+                throw raise(OSError, e.getMessage());
+            }
+            dst.flip();
+            return dst;
+        }
+    }
+
+    // array.tofile(f)
+    @Builtin(name = "tofile", fixedNumOfArguments = 2)
+    @GenerateNodeFactory
+    abstract static class ToFileNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PNone tofile(PArray self, Object file,
+                        @Cached("create(\"fileno\")") LookupAndCallUnaryNode callFileno,
+                        @Cached("create(\"write\")") LookupAndCallBinaryNode callWrite) {
+            byte[] data = self.toBytes();
+            SeekableByteChannel channel = getFileChannel(file, callFileno);
+            if (channel != null) {
+                writeChannel(channel, data);
+            } else {
+                callWrite.executeObject(file, factory().createBytes(data));
+            }
+            return PNone.NONE;
+        }
+
+        @TruffleBoundary
+        private void writeChannel(SeekableByteChannel channel, byte[] data) {
+            ByteBuffer src = ByteBuffer.wrap(data);
+            try {
+                while (src.hasRemaining()) {
+                    channel.write(src);
+                }
+            } catch (IOException e) {
+                throw raise(OSError, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the channel behind a raw file object so that its contents can be transferred
+     * without going through {@code read} and {@code write}, or {@code null} if {@code file} has
+     * no usable file descriptor.
+     */
+    static SeekableByteChannel getFileChannel(Object file, LookupAndCallUnaryNode callFileno) {
+        Object fd;
+        try {
+            fd = callFileno.executeObject(file);
+        } catch (PException e) {
+            return null;
+        }
+        if (fd instanceof Integer) {
+            return PosixModuleBuiltins.lookupFileChannel((int) fd);
+        }
+        return null;
+    }
+
+    @Builtin(name = "itemsize", fixedNumOfArguments = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ItemSizeNode extends PythonUnaryBuiltinNode {
         @Specialization
-        boolean contains(PSequence self, Object other) {
-            return self.index(other) != -1;
+        int itemsize(PArray self) {
+            return self.getItemSize();
         }
     }
 
-    @Builtin(name = SpecialMethodNames.__LT__, fixedNumOfArguments = 2)
+    @Builtin(name = "typecode", fixedNumOfArguments = 1, isGetter = true)
     @GenerateNodeFactory
-    abstract static class LtNode extends PythonBinaryBuiltinNode {
+    abstract static class TypeCodeNode extends PythonUnaryBuiltinNode {
         @Specialization
-        boolean contains(PSequence self, PSequence other) {
-            return self.lessThan(other);
+        String typecode(PArray self) {
+            return String.valueOf(self.getTypeCode());
         }
     }
 }
@@ -25,47 +25,551 @@
  */
 package com.oracle.graal.python.builtins.objects.array;
 
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.MemoryError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.slice.PSlice;
+import com.oracle.graal.python.builtins.objects.slice.PSlice.SliceInfo;
+import com.oracle.graal.python.builtins.objects.str.PString;
 import com.oracle.graal.python.builtins.objects.type.PythonClass;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.graal.python.runtime.sequence.SequenceUtil;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorageFactory;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
+/**
+ * An {@code array.array}. Each subclass keeps its items unboxed in a primitive Java array of the
+ * matching width, of which only the first {@link #len()} elements are valid. Unsigned type codes
+ * share the storage class of their signed counterpart and are widened when read.
+ */
 public abstract class PArray extends PSequence {
 
-    public PArray(PythonClass clazz) {
+    public static final String TYPE_CODES = "bBuhHiIlLqQfd";
+
+    private static final BigInteger UNSIGNED_LONG_LIMIT = BigInteger.ONE.shiftLeft(Long.SIZE);
+
+    protected final char typeCode;
+    protected int length;
+
+    public PArray(PythonClass clazz, char typeCode, int length) {
         super(clazz);
+        this.typeCode = typeCode;
+        this.length = length;
+    }
+
+    public final char getTypeCode() {
+        return typeCode;
+    }
+
+    public final boolean isUnsigned() {
+        return typeCode == 'B' || typeCode == 'H' || typeCode == 'I' || typeCode == 'L' || typeCode == 'Q';
+    }
+
+    public abstract int getItemSize();
+
+    /**
+     * The backing primitive array. It may be longer than {@link #len()}.
+     */
+    protected abstract Object getBuffer();
+
+    protected abstract void setBuffer(Object buffer);
+
+    protected abstract Object allocateBuffer(int capacity);
+
+    protected abstract int capacity();
+
+    /**
+     * Creates a plain {@code array} of the same type code around {@code buffer}.
+     */
+    protected abstract PArray createArray(PythonObjectFactory factory, Object buffer);
+
+    public abstract Object getItemNormalized(int idx);
+
+    /**
+     * Converts {@code value} to the item type, raising the same errors as CPython, and stores it.
+     * The index may point past {@link #len()} as long as it is within the capacity.
+     */
+    public abstract void setItemNormalized(int idx, Object value);
+
+    public abstract void reverse();
+
+    public abstract void byteswap();
+
+    /**
+     * Bulk copies the valid items into {@code dst}, which is in native byte order.
+     */
+    protected abstract void writeTo(ByteBuffer dst);
+
+    /**
+     * Bulk copies {@code count} items from {@code src}, which is in native byte order, to the
+     * buffer starting at {@code offset}.
+     */
+    protected abstract void readFrom(ByteBuffer src, int offset, int count);
+
+    /**
+     * Copies {@code count} items between two buffers of this array's kind, reading every
+     * {@code srcStep}-th item from {@code srcPos} on and writing every {@code dstStep}-th item from
+     * {@code dstPos} on.
+     */
+    protected abstract void copyStrided(Object src, int srcPos, int srcStep, Object dst, int dstPos, int dstStep, int count);
+
+    @Override
+    public final int len() {
+        return length;
+    }
+
+    @Override
+    public final Object getItem(int idx) {
+        return getItemNormalized(SequenceUtil.normalizeIndex(idx, length, "array index out of range"));
     }
 
     @Override
-    public void setSlice(int start, int stop, int step, PSequence value) {
-        throw new UnsupportedOperationException();
+    public final PArray getSlice(PythonObjectFactory factory, int start, int stop, int step, int sliceLength) {
+        Object buffer = getBuffer();
+        Object newBuffer = allocateBuffer(sliceLength);
+        if (step == 1) {
+            System.arraycopy(buffer, start, newBuffer, 0, sliceLength);
+        } else {
+            copyStrided(buffer, start, step, newBuffer, 0, 1, sliceLength);
+        }
+        return createArray(factory, newBuffer);
     }
 
     @Override
-    public void setSlice(PSlice slice, PSequence value) {
-        throw new UnsupportedOperationException();
+    public final void setSlice(PSlice slice, PSequence value) {
+        SliceInfo info = slice.computeActualIndices(length);
+        setSlice(info.start, info.stop, info.step, value);
     }
 
     @Override
-    public void delItem(int idx) {
-        throw new UnsupportedOperationException();
+    public final void setSlice(int start, int stop, int step, PSequence value) {
+        if (!(value instanceof PArray)) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonLanguage.getCore().raise(TypeError, "can only assign array (not \"%p\") to array slice", value);
+        }
+        PArray other = (PArray) value;
+        checkSameKind(other);
+        Object src = other == this ? copyBuffer() : other.getBuffer();
+        int srcLength = other.length;
+        if (step == 1) {
+            replaceRange(start, Math.max(start, stop), src, srcLength);
+            return;
+        }
+        int sliceLength = PSlice.sliceLength(start, stop, step);
+        if (srcLength == 0) {
+            delSlice(start, step, sliceLength);
+        } else if (srcLength != sliceLength) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonLanguage.getCore().raise(ValueError, "attempt to assign array of size %d to extended slice of size %d", srcLength, sliceLength);
+        } else {
+            copyStrided(src, 0, 1, getBuffer(), start, step, sliceLength);
+        }
+    }
+
+    private void replaceRange(int start, int stop, Object src, int srcLength) {
+        int newLength = length - (stop - start) + srcLength;
+        ensureCapacity(newLength);
+        Object buffer = getBuffer();
+        System.arraycopy(buffer, stop, buffer, start + srcLength, length - stop);
+        System.arraycopy(src, 0, buffer, start, srcLength);
+        length = newLength;
     }
 
     @Override
+    public final void delItem(int idx) {
+        int index = SequenceUtil.normalizeIndex(idx, length, "array assignment index out of range");
+        Object buffer = getBuffer();
+        System.arraycopy(buffer, index + 1, buffer, index, length - index - 1);
+        length--;
+    }
+
+    public final void delSlice(PSlice slice) {
+        SliceInfo info = slice.computeActualIndices(length);
+        delSlice(info.start, info.step, info.length);
+    }
+
+    private void delSlice(int startParam, int stepParam, int sliceLength) {
+        if (sliceLength <= 0) {
+            return;
+        }
+        int start = startParam;
+        int step = stepParam;
+        if (step < 0) {
+            start += step * (sliceLength - 1);
+            step = -step;
+        }
+        // move the runs between the deleted items down in bulk
+        Object buffer = getBuffer();
+        int dst = start;
+        for (int k = 0; k < sliceLength; k++) {
+            int runStart = start + k * step + 1;
+            int runEnd = k == sliceLength - 1 ? length : runStart + step - 1;
+            System.arraycopy(buffer, runStart, buffer, dst, runEnd - runStart);
+            dst += runEnd - runStart;
+        }
+        length -= sliceLength;
+    }
+
+    public final void append(Object value) {
+        ensureCapacity(length + 1);
+        setItemNormalized(length, value);
+        length++;
+    }
+
+    public final void insert(int idx, Object value) {
+        int index = idx < 0 ? Math.max(0, idx + length) : Math.min(idx, length);
+        ensureCapacity(length + 1);
+        Object buffer = getBuffer();
+        System.arraycopy(buffer, index, buffer, index + 1, length - index);
+        try {
+            setItemNormalized(index, value);
+        } catch (PException e) {
+            System.arraycopy(buffer, index + 1, buffer, index, length - index);
+            throw e;
+        }
+        length++;
+    }
+
+    public final Object pop(int idx) {
+        if (length == 0) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonLanguage.getCore().raise(IndexError, "pop from empty array");
+        }
+        int index = SequenceUtil.normalizeIndex(idx, length, "pop index out of range");
+        Object result = getItemNormalized(index);
+        delItem(index);
+        return result;
+    }
+
+    /**
+     * Appends all items of an array with the same type code with a single copy.
+     */
+    public final void extend(PArray other) {
+        checkSameKind(other);
+        int otherLength = other.length;
+        ensureCapacity(length + otherLength);
+        System.arraycopy(other.getBuffer(), 0, getBuffer(), length, otherLength);
+        length += otherLength;
+    }
+
+    public final PArray concat(PythonObjectFactory factory, PArray other) {
+        checkSameKind(other);
+        Object newBuffer = allocateBuffer(checkedLength(length + (long) other.length));
+        System.arraycopy(getBuffer(), 0, newBuffer, 0, length);
+        System.arraycopy(other.getBuffer(), 0, newBuffer, length, other.length);
+        return createArray(factory, newBuffer);
+    }
+
+    public final PArray repeat(PythonObjectFactory factory, int times) {
+        int count = Math.max(0, times);
+        Object newBuffer = allocateBuffer(checkedLength((long) length * count));
+        fillRepeated(newBuffer, count);
+        return createArray(factory, newBuffer);
+    }
+
+    public final void repeatInPlace(int times) {
+        int count = Math.max(0, times);
+        int newLength = checkedLength((long) length * count);
+        ensureCapacity(newLength);
+        fillRepeated(getBuffer(), count);
+        length = newLength;
+    }
+
+    private void fillRepeated(Object dst, int count) {
+        Object buffer = getBuffer();
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(buffer, 0, dst, i * length, length);
+        }
+    }
+
+    /**
+     * Returns the machine representation of the items as one bulk copy.
+     */
+    public final byte[] toBytes() {
+        ByteBuffer dst = ByteBuffer.allocate(checkedLength((long) length * getItemSize())).order(ByteOrder.nativeOrder());
+        writeTo(dst);
+        return dst.array();
+    }
+
+    /**
+     * Appends the items encoded in {@code src} (in machine representation) with one bulk copy.
+     */
+    public final void fromBytes(ByteBuffer src) {
+        int itemSize = getItemSize();
+        if (src.remaining() % itemSize != 0) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonLanguage.getCore().raise(ValueError, "bytes length not a multiple of item size");
+        }
+        int count = src.remaining() / itemSize;
+        ensureCapacity(length + count);
+        readFrom(src.slice().order(ByteOrder.nativeOrder()), length, count);
+        length += count;
+    }
+
+    public final void ensureCapacity(int minCapacity) {
+        if (minCapacity > capacity()) {
+            grow(minCapacity);
+        }
+    }
+
+    private void grow(int minCapacity) {
+        if (minCapacity < 0) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonLanguage.getCore().raise(MemoryError);
+        }
+        int newCapacity = capacity() * 2 + 8;
+        if (newCapacity < minCapacity || newCapacity < 0) {
+            newCapacity = minCapacity;
+        }
+        Object newBuffer = allocateBuffer(newCapacity);
+        System.arraycopy(getBuffer(), 0, newBuffer, 0, length);
+        setBuffer(newBuffer);
+    }
+
+    private Object copyBuffer() {
+        Object copy = allocateBuffer(length);
+        System.arraycopy(getBuffer(), 0, copy, 0, length);
+        return copy;
+    }
+
+    private static int checkedLength(long newLength) {
+        if (newLength > Integer.MAX_VALUE) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonLanguage.getCore().raise(MemoryError);
+        }
+        return (int) newLength;
+    }
+
+    private void checkSameKind(PArray other) {
+        if (other.typeCode != typeCode) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonLanguage.getCore().raise(TypeError, "bad argument type for built-in operation");
+        }
+    }
+
+    /**
+     * Converts an item for the integer type codes, checking the range {@code [min, max]}.
+     */
+    protected final long castToLong(Object value, long min, long max) {
+        long result;
+        if (value instanceof Integer) {
+            result = (int) value;
+        } else if (value instanceof Long) {
+            result = (long) value;
+        } else if (value instanceof Boolean) {
+            result = (boolean) value ? 1 : 0;
+        } else if (value instanceof PInt) {
+            result = pintToLong((PInt) value);
+        } else {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonLanguage.getCore().raise(TypeError, "an integer is required (got type %p)", value);
+        }
+        if (result < min) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonLanguage.getCore().raise(OverflowError, "%s is less than minimum", getCTypeName());
+        } else if (result > max) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonLanguage.getCore().raise(OverflowError, "%s is greater than maximum", getCTypeName());
+        }
+        return result;
+    }
+
+    /**
+     * Converts an item for the 64-bit unsigned type codes, which store the two's complement of
+     * values above {@link Long#MAX_VALUE}.
+     */
+    protected final long castToUnsignedLong(Object value) {
+        if (value instanceof PInt) {
+            return pintToUnsignedLong((PInt) value);
+        }
+        return castToLong(value, 0, Long.MAX_VALUE);
+    }
+
+    @TruffleBoundary
+    private static long pintToLong(PInt value) {
+        try {
+            return value.longValueExact();
+        } catch (ArithmeticException e) {
+            throw PythonLanguage.getCore().raise(OverflowError, "Python int too large to convert to C long");
+        }
+    }
+
+    @TruffleBoundary
+    private long pintToUnsignedLong(PInt value) {
+        BigInteger big = value.getValue();
+        if (big.signum() < 0) {
+            throw PythonLanguage.getCore().raise(OverflowError, "%s is less than minimum", getCTypeName());
+        } else if (big.compareTo(UNSIGNED_LONG_LIMIT) >= 0) {
+            throw PythonLanguage.getCore().raise(OverflowError, "%s is greater than maximum", getCTypeName());
+        }
+        return big.longValue();
+    }
+
+    protected static double castToDouble(Object value) {
+        if (value instanceof Double) {
+            return (double) value;
+        } else if (value instanceof Integer) {
+            return (int) value;
+        } else if (value instanceof Long) {
+            return (long) value;
+        } else if (value instanceof Boolean) {
+            return (boolean) value ? 1 : 0;
+        } else if (value instanceof PFloat) {
+            return ((PFloat) value).getValue();
+        } else if (value instanceof PInt) {
+            return ((PInt) value).doubleValue();
+        }
+        CompilerDirectives.transferToInterpreter();
+        throw PythonLanguage.getCore().raise(TypeError, "must be real number, not %p", value);
+    }
+
+    private String getCTypeName() {
+        switch (typeCode) {
+            case 'b':
+                return "signed char";
+            case 'B':
+                return "unsigned byte integer";
+            case 'h':
+                return "signed short integer";
+            case 'H':
+                return "unsigned short";
+            case 'i':
+                return "signed integer";
+            case 'I':
+                return "unsigned int";
+            case 'L':
+            case 'Q':
+                return "unsigned long";
+            default:
+                return "signed long";
+        }
+    }
+
+    @Override
+    @TruffleBoundary
     public int index(Object value) {
-        throw new UnsupportedOperationException();
+        for (int i = 0; i < length; i++) {
+            if (itemEquals(getItemNormalized(i), value)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
+    /**
+     * Returns a copy of the items in the storage a list of them would use. Subclasses whose items
+     * fit into a typed storage override this with a bulk copy that does not box the items.
+     */
     @Override
+    @TruffleBoundary
     public SequenceStorage getSequenceStorage() {
-        throw new UnsupportedOperationException();
+        Object[] items = new Object[length];
+        for (int i = 0; i < length; i++) {
+            items[i] = getItemNormalized(i);
+        }
+        return new SequenceStorageFactory().createStorage(items);
     }
 
     @Override
+    @TruffleBoundary
     public boolean lessThan(PSequence sequence) {
-        throw new UnsupportedOperationException();
+        if (!(sequence instanceof PArray)) {
+            return false;
+        }
+        PArray other = (PArray) sequence;
+        int min = Math.min(length, other.length);
+        for (int i = 0; i < min; i++) {
+            Object left = getItemNormalized(i);
+            Object right = other.getItemNormalized(i);
+            if (!itemEquals(left, right)) {
+                return compareItems(left, right) < 0;
+            }
+        }
+        return length < other.length;
     }
 
-    public abstract Object getItemNormalized(int idx);
+    private static boolean itemEquals(Object item, Object value) {
+        if (item instanceof String) {
+            // only the items of 'u' arrays are strings, and they only equal strings
+            if (value instanceof PString) {
+                return item.equals(((PString) value).getValue());
+            }
+            return item.equals(value);
+        } else if (isIntegral(item) && isIntegral(value)) {
+            return toBigInteger(item).equals(toBigInteger(value));
+        } else if (isNumber(item) && isNumber(value)) {
+            return toDouble(item) == toDouble(value);
+        }
+        return false;
+    }
 
+    private static int compareItems(Object left, Object right) {
+        if (left instanceof String && right instanceof String) {
+            return ((String) left).compareTo((String) right);
+        } else if (isIntegral(left) && isIntegral(right)) {
+            return toBigInteger(left).compareTo(toBigInteger(right));
+        }
+        return Double.compare(toDouble(left), toDouble(right));
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Boolean || value instanceof PInt;
+    }
+
+    private static boolean isNumber(Object value) {
+        return isIntegral(value) || value instanceof Double || value instanceof PFloat;
+    }
+
+    private static BigInteger toBigInteger(Object value) {
+        if (value instanceof PInt) {
+            return ((PInt) value).getValue();
+        } else if (value instanceof Boolean) {
+            return (boolean) value ? BigInteger.ONE : BigInteger.ZERO;
+        }
+        return BigInteger.valueOf(((Number) value).longValue());
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof PFloat) {
+            return ((PFloat) value).getValue();
+        } else if (value instanceof PInt) {
+            return ((PInt) value).doubleValue();
+        } else if (value instanceof Boolean) {
+            return (boolean) value ? 1 : 0;
+        } else if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        throw new IllegalStateException("not an array item: " + value);
+    }
+
+    @Override
+    @TruffleBoundary
+    public String toString() {
+        StringBuilder buf = new StringBuilder("array('").append(typeCode).append('\'');
+        if (length > 0) {
+            buf.append(", [");
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    buf.append(", ");
+                }
+                buf.append(PSequence.toString(getItemNormalized(i)));
+            }
+            buf.append(']');
+        }
+        return buf.append(')').toString();
+    }
 }
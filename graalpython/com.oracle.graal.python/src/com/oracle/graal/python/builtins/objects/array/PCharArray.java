@@ -25,32 +25,70 @@
  */
 package com.oracle.graal.python.builtins.objects.array;
 
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.nio.ByteBuffer;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.str.PString;
 import com.oracle.graal.python.builtins.objects.type.PythonClass;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
-import com.oracle.graal.python.runtime.sequence.SequenceUtil;
+import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
+/**
+ * Storage for the type code {@code 'u'}. Items are UTF-16 code units, so the item size is 2.
+ */
 public final class PCharArray extends PArray {
 
-    private final char[] array;
+    private char[] array;
 
-    public PCharArray(PythonClass clazz, char[] elements) {
-        super(clazz);
+    public PCharArray(PythonClass clazz, char typeCode, char[] elements) {
+        super(clazz, typeCode, elements.length);
         this.array = elements;
     }
 
+    /**
+     * The backing array; only the first {@link #len()} elements are valid.
+     */
     public char[] getSequence() {
         return array;
     }
 
     @Override
-    public Object getItem(int idx) {
-        int index = SequenceUtil.normalizeIndex(idx, array.length, "array index out of range");
-        return getCharItemNormalized(index);
+    public int getItemSize() {
+        return Character.BYTES;
+    }
+
+    @Override
+    protected Object getBuffer() {
+        return array;
+    }
+
+    @Override
+    protected void setBuffer(Object buffer) {
+        array = (char[]) buffer;
+    }
+
+    @Override
+    protected Object allocateBuffer(int capacity) {
+        return new char[capacity];
+    }
+
+    @Override
+    protected int capacity() {
+        return array.length;
+    }
+
+    @Override
+    protected PCharArray createArray(PythonObjectFactory factory, Object buffer) {
+        return factory.createCharArray(typeCode, (char[]) buffer);
     }
 
     @Override
     public Object getItemNormalized(int idx) {
-        return getCharItemNormalized(idx);
+        return String.valueOf(array[idx]);
     }
 
     public char getCharItemNormalized(int idx) {
@@ -62,32 +100,70 @@ public final class PCharArray extends PArray {
     }
 
     @Override
-    public PCharArray getSlice(PythonObjectFactory factory, int start, int stop, int step, int length) {
-        char[] newArray = new char[length];
-        if (step == 1) {
-            System.arraycopy(array, start, newArray, 0, stop - start);
-            return factory.createCharArray(newArray);
+    public void setItemNormalized(int idx, Object value) {
+        String str = value instanceof PString ? ((PString) value).getValue() : value instanceof String ? (String) value : null;
+        if (str == null || str.length() != 1) {
+            CompilerDirectives.transferToInterpreter();
+            throw PythonLanguage.getCore().raise(TypeError, "array item must be unicode character");
         }
-        for (int i = start, j = 0; j < length; i += step, j++) {
-            newArray[j] = array[i];
+        array[idx] = str.charAt(0);
+    }
+
+    /**
+     * Appends the UTF-16 code units of {@code str}.
+     */
+    public void fromString(String str) {
+        int count = str.length();
+        ensureCapacity(length + count);
+        str.getChars(0, count, array, length);
+        length += count;
+    }
+
+    public String toUnicode() {
+        return new String(array, 0, length);
+    }
+
+    @Override
+    public void reverse() {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            char tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
         }
-        return factory.createCharArray(newArray);
     }
 
     @Override
-    public int len() {
-        return array.length;
+    public void byteswap() {
+        for (int i = 0; i < length; i++) {
+            array[i] = Character.reverseBytes(array[i]);
+        }
+    }
+
+    @Override
+    protected void writeTo(ByteBuffer dst) {
+        dst.asCharBuffer().put(array, 0, length);
+    }
+
+    @Override
+    protected void readFrom(ByteBuffer src, int offset, int count) {
+        src.asCharBuffer().get(array, offset, count);
+    }
+
+    @Override
+    protected void copyStrided(Object src, int srcPos, int srcStep, Object dst, int dstPos, int dstStep, int count) {
+        char[] from = (char[]) src;
+        char[] to = (char[]) dst;
+        for (int i = srcPos, j = dstPos, k = 0; k < count; i += srcStep, j += dstStep, k++) {
+            to[j] = from[i];
+        }
     }
 
     @Override
+    @TruffleBoundary
     public String toString() {
-        StringBuilder buf = new StringBuilder();
-        buf.append("array('c', [");
-        for (int i = 0; i < array.length - 1; i++) {
-            buf.append(array[i] + " ");
+        if (length == 0) {
+            return "array('u')";
         }
-        buf.append(array[array.length - 1]);
-        buf.append("])");
-        return buf.toString();
+        return "array('u', " + PSequence.toString(toUnicode()) + ")";
     }
 }
@@ -25,32 +25,67 @@
  */
 package com.oracle.graal.python.builtins.objects.array;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 import com.oracle.graal.python.builtins.objects.type.PythonClass;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
-import com.oracle.graal.python.runtime.sequence.SequenceUtil;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
+/**
+ * Storage for the type code {@code 'd'}.
+ */
 public final class PDoubleArray extends PArray {
 
-    private final double[] array;
+    private double[] array;
 
-    public PDoubleArray(PythonClass clazz, double[] elements) {
-        super(clazz);
+    public PDoubleArray(PythonClass clazz, char typeCode, double[] elements) {
+        super(clazz, typeCode, elements.length);
         this.array = elements;
     }
 
+    /**
+     * The backing array; only the first {@link #len()} elements are valid.
+     */
     public double[] getSequence() {
         return array;
     }
 
     @Override
-    public Object getItem(int idx) {
-        int index = SequenceUtil.normalizeIndex(idx, array.length, "array index out of range");
-        return getDoubleItemNormalized(index);
+    public int getItemSize() {
+        return Double.BYTES;
+    }
+
+    @Override
+    protected Object getBuffer() {
+        return array;
+    }
+
+    @Override
+    protected void setBuffer(Object buffer) {
+        array = (double[]) buffer;
+    }
+
+    @Override
+    protected Object allocateBuffer(int capacity) {
+        return new double[capacity];
+    }
+
+    @Override
+    protected int capacity() {
+        return array.length;
+    }
+
+    @Override
+    protected PDoubleArray createArray(PythonObjectFactory factory, Object buffer) {
+        return factory.createDoubleArray(typeCode, (double[]) buffer);
     }
 
     @Override
     public Object getItemNormalized(int idx) {
-        return getDoubleItemNormalized(idx);
+        return array[idx];
     }
 
     public double getDoubleItemNormalized(int idx) {
@@ -62,33 +97,48 @@ public final class PDoubleArray extends PArray {
     }
 
     @Override
-    public PDoubleArray getSlice(PythonObjectFactory factory, int start, int stop, int step, int length) {
-        double[] newArray = new double[length];
+    @TruffleBoundary
+    public SequenceStorage getSequenceStorage() {
+        return new DoubleSequenceStorage(Arrays.copyOf(array, length));
+    }
+
+    @Override
+    public void setItemNormalized(int idx, Object value) {
+        array[idx] = castToDouble(value);
+    }
 
-        if (step == 1) {
-            System.arraycopy(array, start, newArray, 0, stop - start);
-            return factory.createDoubleArray(newArray);
+    @Override
+    public void reverse() {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            double tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
         }
-        for (int i = start, j = 0; j < length; i += step, j++) {
-            newArray[j] = array[i];
+    }
+
+    @Override
+    public void byteswap() {
+        for (int i = 0; i < length; i++) {
+            array[i] = Double.longBitsToDouble(Long.reverseBytes(Double.doubleToRawLongBits(array[i])));
         }
-        return factory.createDoubleArray(newArray);
     }
 
     @Override
-    public int len() {
-        return array.length;
+    protected void writeTo(ByteBuffer dst) {
+        dst.asDoubleBuffer().put(array, 0, length);
+    }
+
+    @Override
+    protected void readFrom(ByteBuffer src, int offset, int count) {
+        src.asDoubleBuffer().get(array, offset, count);
     }
 
     @Override
-    public String toString() {
-        StringBuilder buf = new StringBuilder();
-        buf.append("array('d', [");
-        for (int i = 0; i < array.length - 1; i++) {
-            buf.append(array[i] + ", ");
+    protected void copyStrided(Object src, int srcPos, int srcStep, Object dst, int dstPos, int dstStep, int count) {
+        double[] from = (double[]) src;
+        double[] to = (double[]) dst;
+        for (int i = srcPos, j = dstPos, k = 0; k < count; i += srcStep, j += dstStep, k++) {
+            to[j] = from[i];
         }
-        buf.append(array[array.length - 1]);
-        buf.append("])");
-        return buf.toString();
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.array;
+
+import java.nio.ByteBuffer;
+
+import com.oracle.graal.python.builtins.objects.type.PythonClass;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Storage for the type codes {@code 'b'} and {@code 'B'}.
+ */
+public final class PInt8Array extends PArray {
+
+    private byte[] array;
+
+    public PInt8Array(PythonClass clazz, char typeCode, byte[] elements) {
+        super(clazz, typeCode, elements.length);
+        this.array = elements;
+    }
+
+    /**
+     * The backing array; only the first {@link #len()} elements are valid.
+     */
+    public byte[] getSequence() {
+        return array;
+    }
+
+    @Override
+    public int getItemSize() {
+        return Byte.BYTES;
+    }
+
+    @Override
+    protected Object getBuffer() {
+        return array;
+    }
+
+    @Override
+    protected void setBuffer(Object buffer) {
+        array = (byte[]) buffer;
+    }
+
+    @Override
+    protected Object allocateBuffer(int capacity) {
+        return new byte[capacity];
+    }
+
+    @Override
+    protected int capacity() {
+        return array.length;
+    }
+
+    @Override
+    protected PInt8Array createArray(PythonObjectFactory factory, Object buffer) {
+        return factory.createInt8Array(typeCode, (byte[]) buffer);
+    }
+
+    @Override
+    public Object getItemNormalized(int idx) {
+        return isUnsigned() ? array[idx] & 0xFF : (int) array[idx];
+    }
+
+    @Override
+    @TruffleBoundary
+    public SequenceStorage getSequenceStorage() {
+        int[] items = new int[length];
+        for (int i = 0; i < length; i++) {
+            items[i] = isUnsigned() ? array[i] & 0xFF : array[i];
+        }
+        return new IntSequenceStorage(items);
+    }
+
+    @Override
+    public void setItemNormalized(int idx, Object value) {
+        array[idx] = (byte) (isUnsigned() ? castToLong(value, 0, 0xFF) : castToLong(value, Byte.MIN_VALUE, Byte.MAX_VALUE));
+    }
+
+    @Override
+    public void reverse() {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            byte tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+
+    @Override
+    public void byteswap() {
+        // single bytes have nothing to swap
+    }
+
+    @Override
+    protected void writeTo(ByteBuffer dst) {
+        dst.put(array, 0, length);
+    }
+
+    @Override
+    protected void readFrom(ByteBuffer src, int offset, int count) {
+        src.get(array, offset, count);
+    }
+
+    @Override
+    protected void copyStrided(Object src, int srcPos, int srcStep, Object dst, int dstPos, int dstStep, int count) {
+        byte[] from = (byte[]) src;
+        byte[] to = (byte[]) dst;
+        for (int i = srcPos, j = dstPos, k = 0; k < count; i += srcStep, j += dstStep, k++) {
+            to[j] = from[i];
+        }
+    }
+}
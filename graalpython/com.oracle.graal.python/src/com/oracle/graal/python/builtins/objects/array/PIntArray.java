@@ -25,32 +25,71 @@
  */
 package com.oracle.graal.python.builtins.objects.array;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 import com.oracle.graal.python.builtins.objects.type.PythonClass;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
-import com.oracle.graal.python.runtime.sequence.SequenceUtil;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
+/**
+ * Storage for the type codes {@code 'i'} and {@code 'I'}.
+ */
 public final class PIntArray extends PArray {
 
-    private final int[] array;
+    private int[] array;
 
-    public PIntArray(PythonClass clazz, int[] elements) {
-        super(clazz);
+    public PIntArray(PythonClass clazz, char typeCode, int[] elements) {
+        super(clazz, typeCode, elements.length);
         this.array = elements;
     }
 
+    /**
+     * The backing array; only the first {@link #len()} elements are valid.
+     */
     public int[] getSequence() {
         return array;
     }
 
     @Override
-    public Object getItem(int idx) {
-        int index = SequenceUtil.normalizeIndex(idx, array.length, "array index out of range");
-        return getIntItemNormalized(index);
+    public int getItemSize() {
+        return Integer.BYTES;
+    }
+
+    @Override
+    protected Object getBuffer() {
+        return array;
+    }
+
+    @Override
+    protected void setBuffer(Object buffer) {
+        array = (int[]) buffer;
+    }
+
+    @Override
+    protected Object allocateBuffer(int capacity) {
+        return new int[capacity];
+    }
+
+    @Override
+    protected int capacity() {
+        return array.length;
+    }
+
+    @Override
+    protected PIntArray createArray(PythonObjectFactory factory, Object buffer) {
+        return factory.createIntArray(typeCode, (int[]) buffer);
     }
 
     @Override
     public Object getItemNormalized(int idx) {
-        return getIntItemNormalized(idx);
+        if (isUnsigned()) {
+            return Integer.toUnsignedLong(array[idx]);
+        }
+        return array[idx];
     }
 
     public int getIntItemNormalized(int idx) {
@@ -62,33 +101,55 @@ public final class PIntArray extends PArray {
     }
 
     @Override
-    public PIntArray getSlice(PythonObjectFactory factory, int start, int stop, int step, int length) {
-        int[] newArray = new int[length];
+    @TruffleBoundary
+    public SequenceStorage getSequenceStorage() {
+        if (isUnsigned()) {
+            long[] items = new long[length];
+            for (int i = 0; i < length; i++) {
+                items[i] = Integer.toUnsignedLong(array[i]);
+            }
+            return new LongSequenceStorage(items);
+        }
+        return new IntSequenceStorage(Arrays.copyOf(array, length));
+    }
+
+    @Override
+    public void setItemNormalized(int idx, Object value) {
+        array[idx] = (int) (isUnsigned() ? castToLong(value, 0, 0xFFFFFFFFL) : castToLong(value, Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
 
-        if (step == 1) {
-            System.arraycopy(array, start, newArray, 0, stop - start);
-            return factory.createIntArray(newArray);
+    @Override
+    public void reverse() {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
         }
-        for (int i = start, j = 0; j < length; i += step, j++) {
-            newArray[j] = array[i];
+    }
+
+    @Override
+    public void byteswap() {
+        for (int i = 0; i < length; i++) {
+            array[i] = Integer.reverseBytes(array[i]);
         }
-        return factory.createIntArray(newArray);
     }
 
     @Override
-    public int len() {
-        return array.length;
+    protected void writeTo(ByteBuffer dst) {
+        dst.asIntBuffer().put(array, 0, length);
+    }
+
+    @Override
+    protected void readFrom(ByteBuffer src, int offset, int count) {
+        src.asIntBuffer().get(array, offset, count);
     }
 
     @Override
-    public String toString() {
-        StringBuilder buf = new StringBuilder();
-        buf.append("array('i', [");
-        for (int i = 0; i < array.length - 1; i++) {
-            buf.append(array[i] + ", ");
+    protected void copyStrided(Object src, int srcPos, int srcStep, Object dst, int dstPos, int dstStep, int count) {
+        int[] from = (int[]) src;
+        int[] to = (int[]) dst;
+        for (int i = srcPos, j = dstPos, k = 0; k < count; i += srcStep, j += dstStep, k++) {
+            to[j] = from[i];
         }
-        buf.append(array[array.length - 1]);
-        buf.append("])");
-        return buf.toString();
     }
 }
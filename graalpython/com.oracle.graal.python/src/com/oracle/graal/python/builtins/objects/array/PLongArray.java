@@ -25,32 +25,80 @@
  */
 package com.oracle.graal.python.builtins.objects.array;
 
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.type.PythonClass;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
-import com.oracle.graal.python.runtime.sequence.SequenceUtil;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
+/**
+ * Storage for the type codes {@code 'l'}, {@code 'L'}, {@code 'q'} and {@code 'Q'}.
+ */
 public final class PLongArray extends PArray {
 
-    private final long[] array;
+    private long[] array;
 
-    public PLongArray(PythonClass clazz, long[] elements) {
-        super(clazz);
+    public PLongArray(PythonClass clazz, char typeCode, long[] elements) {
+        super(clazz, typeCode, elements.length);
         this.array = elements;
     }
 
+    /**
+     * The backing array; only the first {@link #len()} elements are valid.
+     */
     public long[] getSequence() {
         return array;
     }
 
     @Override
-    public Object getItem(int idx) {
-        int index = SequenceUtil.normalizeIndex(idx, array.length, "array index out of range");
-        return getLongItemNormalized(index);
+    public int getItemSize() {
+        return Long.BYTES;
+    }
+
+    @Override
+    protected Object getBuffer() {
+        return array;
+    }
+
+    @Override
+    protected void setBuffer(Object buffer) {
+        array = (long[]) buffer;
+    }
+
+    @Override
+    protected Object allocateBuffer(int capacity) {
+        return new long[capacity];
+    }
+
+    @Override
+    protected int capacity() {
+        return array.length;
+    }
+
+    @Override
+    protected PLongArray createArray(PythonObjectFactory factory, Object buffer) {
+        return factory.createLongArray(typeCode, (long[]) buffer);
     }
 
     @Override
     public Object getItemNormalized(int idx) {
-        return getLongItemNormalized(idx);
+        long value = array[idx];
+        if (value < 0 && isUnsigned()) {
+            return toUnsigned(value);
+        }
+        return value;
+    }
+
+    @TruffleBoundary
+    private static PInt toUnsigned(long value) {
+        BigInteger big = BigInteger.valueOf(value & Long.MAX_VALUE).setBit(Long.SIZE - 1);
+        return PythonLanguage.getCore().factory().createInt(big);
     }
 
     public long getLongItemNormalized(int idx) {
@@ -62,33 +110,56 @@ public final class PLongArray extends PArray {
     }
 
     @Override
-    public PLongArray getSlice(PythonObjectFactory factory, int start, int stop, int step, int length) {
-        long[] newArray = new long[length];
+    @TruffleBoundary
+    public SequenceStorage getSequenceStorage() {
+        if (isUnsigned()) {
+            for (int i = 0; i < length; i++) {
+                if (array[i] < 0) {
+                    // values above Long.MAX_VALUE need objects
+                    return super.getSequenceStorage();
+                }
+            }
+        }
+        return new LongSequenceStorage(Arrays.copyOf(array, length));
+    }
+
+    @Override
+    public void setItemNormalized(int idx, Object value) {
+        array[idx] = isUnsigned() ? castToUnsignedLong(value) : castToLong(value, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
 
-        if (step == 1) {
-            System.arraycopy(array, start, newArray, 0, stop - start);
-            return factory.createLongArray(newArray);
+    @Override
+    public void reverse() {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            long tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
         }
-        for (int i = start, j = 0; j < length; i += step, j++) {
-            newArray[j] = array[i];
+    }
+
+    @Override
+    public void byteswap() {
+        for (int i = 0; i < length; i++) {
+            array[i] = Long.reverseBytes(array[i]);
         }
-        return factory.createLongArray(newArray);
     }
 
     @Override
-    public int len() {
-        return array.length;
+    protected void writeTo(ByteBuffer dst) {
+        dst.asLongBuffer().put(array, 0, length);
+    }
+
+    @Override
+    protected void readFrom(ByteBuffer src, int offset, int count) {
+        src.asLongBuffer().get(array, offset, count);
     }
 
     @Override
-    public String toString() {
-        StringBuilder buf = new StringBuilder();
-        buf.append("array('i', [");
-        for (int i = 0; i < array.length - 1; i++) {
-            buf.append(array[i] + ", ");
+    protected void copyStrided(Object src, int srcPos, int srcStep, Object dst, int dstPos, int dstStep, int count) {
+        long[] from = (long[]) src;
+        long[] to = (long[]) dst;
+        for (int i = srcPos, j = dstPos, k = 0; k < count; i += srcStep, j += dstStep, k++) {
+            to[j] = from[i];
         }
-        buf.append(array[array.length - 1]);
-        buf.append("])");
-        return buf.toString();
     }
 }
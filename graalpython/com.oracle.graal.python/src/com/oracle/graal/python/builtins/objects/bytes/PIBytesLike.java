@@ -46,6 +46,11 @@ import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 public interface PIBytesLike {
     byte[] getInternalByteArray();
 
+    /**
+     * The number of valid bytes; the internal byte array may be longer.
+     */
+    int len();
+
     default byte[] getInternalBytesArrayCopy() {
         byte[] internalBytesArray = getInternalByteArray();
         return Arrays.copyOf(internalBytesArray, internalBytesArray.length);
@@ -38,6 +38,14 @@
  */
 package com.oracle.graal.python.builtins.objects.cext;
 
+import java.util.Arrays;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.interop.ForeignAccess;
 import com.oracle.truffle.api.interop.TruffleObject;
 
@@ -48,6 +56,15 @@ public class PySequenceArrayWrapper implements TruffleObject {
 
     private final Object delegate;
 
+    /**
+     * C code keeps the {@code PyObject*} it reads from the array as borrowed references, so the
+     * items must be objects that live as long as the sequence holds them. Primitive items of typed
+     * storages are boxed on their first read, and the boxes are kept here rather than in the
+     * sequence, so that its storage stays typed. A box is replaced when the item at its index
+     * changed.
+     */
+    private Object[] boxedItems;
+
     public PySequenceArrayWrapper(Object delegate) {
         this.delegate = delegate;
     }
@@ -56,6 +73,45 @@ public class PySequenceArrayWrapper implements TruffleObject {
         return delegate;
     }
 
+    static boolean needsBox(Object item) {
+        return item instanceof Integer || item instanceof Long || item instanceof Double || item instanceof String;
+    }
+
+    @TruffleBoundary
+    Object getBoxedItem(int idx, Object item) {
+        if (boxedItems == null) {
+            boxedItems = new Object[idx + 1];
+        } else if (idx >= boxedItems.length) {
+            boxedItems = Arrays.copyOf(boxedItems, Math.max(idx + 1, boxedItems.length * 2));
+        }
+        Object box = boxedItems[idx];
+        if (box == null || !isBoxOf(box, item)) {
+            box = createBox(PythonLanguage.getCore().factory(), item);
+            boxedItems[idx] = box;
+        }
+        return box;
+    }
+
+    private static boolean isBoxOf(Object box, Object item) {
+        if (item instanceof Integer || item instanceof Long) {
+            return box instanceof PInt && ((PInt) box).getValue().bitLength() < Long.SIZE && ((PInt) box).longValue() == ((Number) item).longValue();
+        } else if (item instanceof Double) {
+            return box instanceof PFloat && Double.doubleToRawLongBits(((PFloat) box).getValue()) == Double.doubleToRawLongBits((double) item);
+        }
+        return box instanceof PString && ((PString) box).getValue().equals(item);
+    }
+
+    private static Object createBox(PythonObjectFactory factory, Object item) {
+        if (item instanceof Integer) {
+            return factory.createInt((int) item);
+        } else if (item instanceof Long) {
+            return factory.createInt((long) item);
+        } else if (item instanceof Double) {
+            return factory.createFloat((double) item);
+        }
+        return factory.createString((String) item);
+    }
+
     static boolean isInstance(TruffleObject o) {
         return o instanceof PySequenceArrayWrapper;
     }
@@ -50,13 +50,16 @@ import com.oracle.graal.python.builtins.objects.tuple.TupleBuiltins;
 import com.oracle.graal.python.builtins.objects.tuple.TupleBuiltinsFactory;
 import com.oracle.graal.python.nodes.SpecialMethodNames;
 import com.oracle.graal.python.nodes.truffle.PythonTypes;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.interop.Message;
 import com.oracle.truffle.api.interop.MessageResolution;
 import com.oracle.truffle.api.interop.Resolve;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.nodes.Node;
 
 @MessageResolution(receiverType = PySequenceArrayWrapper.class)
@@ -68,7 +71,11 @@ public class PySequenceArrayWrapperMR {
         @Child private ToSulongNode toSulongNode;
 
         public Object access(PySequenceArrayWrapper object, Object key) {
-            return getToSulongNode().execute(getReadArrayItemNode().execute(object.getDelegate(), key));
+            Object item = getReadArrayItemNode().execute(object.getDelegate(), key);
+            if (PySequenceArrayWrapper.needsBox(item)) {
+                item = object.getBoxedItem((int) (long) key, item);
+            }
+            return getToSulongNode().execute(item);
         }
 
         private ReadArrayItemNode getReadArrayItemNode() {
@@ -113,6 +120,49 @@ public class PySequenceArrayWrapperMR {
         }
     }
 
+    @Resolve(message = "TO_NATIVE")
+    abstract static class ToNativeNode extends Node {
+        Object access(PySequenceArrayWrapper obj) {
+            Object delegate = obj.getDelegate();
+            if (delegate instanceof PBytes) {
+                // moves the bytes into native memory such that C can use plain pointer arithmetic
+                attachNativeMirror((PBytes) delegate);
+                return obj;
+            }
+            throw UnsupportedMessageException.raise(Message.TO_NATIVE);
+        }
+    }
+
+    @Resolve(message = "IS_POINTER")
+    abstract static class IsPointerNode extends Node {
+        Object access(PySequenceArrayWrapper obj) {
+            Object delegate = obj.getDelegate();
+            if (delegate instanceof PBytes) {
+                return ((ByteSequenceStorage) ((PBytes) delegate).getSequenceStorage()).isNativeMirrorAttached();
+            }
+            return false;
+        }
+    }
+
+    @Resolve(message = "AS_POINTER")
+    abstract static class AsPointerNode extends Node {
+        long access(PySequenceArrayWrapper obj) {
+            Object delegate = obj.getDelegate();
+            if (delegate instanceof PBytes) {
+                return attachNativeMirror((PBytes) delegate);
+            }
+            throw UnsupportedMessageException.raise(Message.AS_POINTER);
+        }
+    }
+
+    /**
+     * The native memory lives as long as the native wrapper of the bytes object, which C code
+     * references while it uses {@code ob_sval}.
+     */
+    private static long attachNativeMirror(PBytes bytes) {
+        return ((ByteSequenceStorage) bytes.getSequenceStorage()).attachNativeMirror(PythonObjectNativeWrapper.wrap(bytes));
+    }
+
     @ImportStatic(SpecialMethodNames.class)
     @TypeSystemReference(PythonTypes.class)
     abstract static class ReadArrayItemNode extends Node {
@@ -137,7 +187,7 @@ public class PySequenceArrayWrapperMR {
             if (idx == tuple.len()) {
                 return (byte) 0;
             }
-            return tuple.getInternalByteArray()[(int) idx];
+            return (byte) ((ByteSequenceStorage) tuple.getSequenceStorage()).getIntItemNormalized((int) idx);
         }
 
         protected static ListBuiltins.GetItemNode createListGetItem() {
@@ -174,7 +224,7 @@ public class PySequenceArrayWrapperMR {
 
         @Specialization
         Object doTuple(PBytes tuple, long idx, byte value) {
-            tuple.getInternalByteArray()[(int) idx] = value;
+            ((ByteSequenceStorage) tuple.getSequenceStorage()).setByteItemNormalized((int) idx, value);
             return value;
         }
 
@@ -49,6 +49,7 @@ import com.oracle.truffle.api.interop.TruffleObject;
 public class PythonObjectNativeWrapper implements TruffleObject {
     private final PythonAbstractObject pythonObject;
     private Object nativePointer;
+    private PySequenceArrayWrapper itemsWrapper;
 
     public PythonObjectNativeWrapper(PythonAbstractObject object) {
         this.pythonObject = object;
@@ -72,6 +73,17 @@ public class PythonObjectNativeWrapper implements TruffleObject {
         return pythonObject;
     }
 
+    /**
+     * @return the array wrapper of the items of a sequence, which is kept with this wrapper so that
+     *         the boxes of primitive items survive between reads of {@code ob_item}.
+     */
+    public PySequenceArrayWrapper getItemsWrapper() {
+        if (itemsWrapper == null) {
+            itemsWrapper = new PySequenceArrayWrapper(pythonObject);
+        }
+        return itemsWrapper;
+    }
+
     public static boolean isInstance(TruffleObject o) {
         return o instanceof PythonObjectNativeWrapper;
     }
@@ -38,8 +38,6 @@
  */
 package com.oracle.graal.python.builtins.objects.cext;
 
-import java.util.Arrays;
-
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.PythonAbstractObject;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
@@ -59,7 +57,6 @@ import com.oracle.graal.python.nodes.attributes.GetAttributeNode;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
 import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
-import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.sequence.PSequence;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
@@ -158,10 +155,8 @@ public class PythonObjectNativeWrapperMR {
                         @Cached("createClassProfile()") ValueProfile profile) {
             Object profiled = profile.profile(object);
             if (profiled instanceof PBytes) {
-                PythonContext context = getContext();
-                byte[] internalByteArray = ((PBytes) profiled).getInternalByteArray();
-                // TODO create a custom wrapper that has length+1 shape
-                return context.getEnv().asGuestValue(Arrays.copyOf(internalByteArray, internalByteArray.length + 1));
+                // the wrapper simulates the trailing '0x00' and writes go to the bytes' storage
+                return new PySequenceArrayWrapper(profiled);
             }
             throw UnsupportedMessageException.raise(Message.READ);
         }
@@ -211,7 +206,7 @@ public class PythonObjectNativeWrapperMR {
 
         @Specialization(guards = "eq(OB_ITEM, key)")
         Object doObItem(PSequence object, @SuppressWarnings("unused") String key) {
-            return new PySequenceArrayWrapper(object);
+            return PythonObjectNativeWrapper.wrap(object).getItemsWrapper();
         }
 
         @Specialization(guards = "eq(UNICODE_WSTR, key)")
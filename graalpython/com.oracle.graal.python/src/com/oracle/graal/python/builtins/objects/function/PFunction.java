@@ -28,10 +28,12 @@ package com.oracle.graal.python.builtins.objects.function;
 import static com.oracle.graal.python.nodes.SpecialAttributeNames.__NAME__;
 import static com.oracle.graal.python.nodes.SpecialAttributeNames.__QUALNAME__;
 
+import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.objects.cell.PCell;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
 import com.oracle.graal.python.builtins.objects.type.PythonClass;
 import com.oracle.graal.python.nodes.SpecialMethodNames;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.frame.FrameDescriptor;
@@ -49,6 +51,13 @@ public class PFunction extends PythonObject implements PythonCallable {
     private final PCell[] closure;
     private final boolean isStatic;
 
+    /**
+     * Whether this function is defined in a shared core, but reachable from a shared builtin class,
+     * so that it is not copied per context. Its globals are then the context's copy of the module
+     * it was defined in.
+     */
+    @CompilationFinal private boolean contextGlobals;
+
     public PFunction(PythonClass clazz, String name, String enclosingClassName, Arity arity, RootCallTarget callTarget, FrameDescriptor frameDescriptor, PythonObject globals, PCell[] closure) {
         super(clazz);
         this.name = name;
@@ -88,9 +97,20 @@ public class PFunction extends PythonObject implements PythonCallable {
 
     @Override
     public PythonObject getGlobals() {
+        if (contextGlobals) {
+            return PythonLanguage.getContext().getSharedCoreCopy(globals);
+        }
         return globals;
     }
 
+    public boolean hasContextGlobals() {
+        return contextGlobals;
+    }
+
+    public void setContextGlobals() {
+        contextGlobals = true;
+    }
+
     public RootNode getFunctionRootNode() {
         return callTarget.getRootNode();
     }
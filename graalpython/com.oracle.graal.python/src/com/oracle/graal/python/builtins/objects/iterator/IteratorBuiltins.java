@@ -153,6 +153,14 @@ public class IteratorBuiltins extends PythonBuiltins {
             throw raise(StopIteration);
         }
 
+        @Specialization
+        public String next(PCharArrayIterator self) {
+            if (self.hasNext()) {
+                return String.valueOf(self.__nextChar__());
+            }
+            throw raise(StopIteration);
+        }
+
         @Specialization
         public Object next(PStringIterator self) {
             if (self.index < self.value.length()) {
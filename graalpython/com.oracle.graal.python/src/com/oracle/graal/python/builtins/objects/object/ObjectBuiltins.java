@@ -396,7 +396,7 @@ public class ObjectBuiltins extends PythonBuiltins {
             return factory().createMappingproxy(self);
         }
 
-        @Specialization(guards = {"!isBuiltinObject(self)", "!isClass(self)"})
+        @Specialization(guards = {"!isBuiltinObject(self)", "!isClass(self)", "self.getPythonClass().hasInstanceDict()"})
         Object dict(PythonObject self) {
             PDict dict = self.getDict();
             if (dict == null) {
@@ -60,13 +60,17 @@ public class PythonObject extends PythonAbstractObject {
             this.pythonClass = (PythonClass) this;
         } else {
             this.pythonClass = pythonClass;
-            storage = pythonClass.getInstanceShape().newInstance();
+            storage = pythonClass.newInstanceStorage();
         }
     }
 
     public PythonObject(PythonClass pythonClass, Shape instanceShape) {
         this.pythonClass = pythonClass;
-        storage = instanceShape.newInstance();
+        if (pythonClass.hasSlots()) {
+            storage = pythonClass.newInstanceStorage();
+        } else {
+            storage = instanceShape.newInstance();
+        }
     }
 
     public final PythonClass getPythonClass() {
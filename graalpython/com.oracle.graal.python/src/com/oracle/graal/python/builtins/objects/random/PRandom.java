@@ -38,54 +38,190 @@
  */
 package com.oracle.graal.python.builtins.objects.random;
 
-import java.util.Random;
+import java.math.BigInteger;
 
 import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
 import com.oracle.graal.python.builtins.objects.type.PythonClass;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
+/**
+ * A Mersenne Twister (MT19937) generator that produces the same sequences as CPython's
+ * {@code _random.Random} for the same seed and that can exchange state with it via
+ * {@code getstate}/{@code setstate}. Like CPython's, it is not synchronized.
+ */
 public class PRandom extends PythonBuiltinObject {
-    private static class PythonRandom extends Random {
-        private static final long serialVersionUID = 1L;
-
-        long getSeed() {
-            int nextseed = this.next(48); // 48 magic number of bits shifted away in superclass
-            this.setSeed(nextseed);
-            return nextseed;
-        }
-    }
+    public static final int N = 624;
+    private static final int M = 397;
+    private static final int MATRIX_A = 0x9908b0df;
+    private static final int UPPER_MASK = 0x80000000;
+    private static final int LOWER_MASK = 0x7fffffff;
 
-    private PythonRandom javaRandom;
+    private final int[] state = new int[N];
+    private int index;
 
     public PRandom(PythonClass cls) {
         super(cls);
-        resetJavaRandom();
+        seedFromTime();
     }
 
+    @TruffleBoundary
+    public void seedFromTime() {
+        long time = System.currentTimeMillis();
+        long nanos = System.nanoTime();
+        initByArray(new int[]{(int) time, (int) (time >>> 32), (int) nanos, (int) (nanos >>> 32)});
+    }
+
+    /**
+     * Seeds the generator with the absolute value of {@code seed}, using all its bits.
+     */
     @TruffleBoundary
     public void setSeed(long seed) {
-        javaRandom.setSeed(seed);
+        if (seed == Long.MIN_VALUE) {
+            setSeed(BigInteger.valueOf(seed));
+            return;
+        }
+        long abs = Math.abs(seed);
+        int high = (int) (abs >>> 32);
+        initByArray(high != 0 ? new int[]{(int) abs, high} : new int[]{(int) abs});
+    }
+
+    @TruffleBoundary
+    public void setSeed(BigInteger seed) {
+        BigInteger abs = seed.abs();
+        int words = Math.max(1, (abs.bitLength() + 31) / 32);
+        int[] key = new int[words];
+        for (int i = 0; i < words; i++) {
+            key[i] = abs.shiftRight(i * 32).intValue();
+        }
+        initByArray(key);
+    }
+
+    private void initGenrand(int s) {
+        state[0] = s;
+        for (int i = 1; i < N; i++) {
+            state[i] = 1812433253 * (state[i - 1] ^ (state[i - 1] >>> 30)) + i;
+        }
+        index = N;
+    }
+
+    private void initByArray(int[] key) {
+        initGenrand(19650218);
+        int i = 1;
+        int j = 0;
+        for (int k = Math.max(N, key.length); k > 0; k--) {
+            state[i] = (state[i] ^ ((state[i - 1] ^ (state[i - 1] >>> 30)) * 1664525)) + key[j] + j;
+            i++;
+            j++;
+            if (i >= N) {
+                state[0] = state[N - 1];
+                i = 1;
+            }
+            if (j >= key.length) {
+                j = 0;
+            }
+        }
+        for (int k = N - 1; k > 0; k--) {
+            state[i] = (state[i] ^ ((state[i - 1] ^ (state[i - 1] >>> 30)) * 1566083941)) - i;
+            i++;
+            if (i >= N) {
+                state[0] = state[N - 1];
+                i = 1;
+            }
+        }
+        state[0] = UPPER_MASK;
     }
 
     @TruffleBoundary
-    public long getSeed() {
-        return javaRandom.getSeed();
+    private void twist() {
+        int kk = 0;
+        int y;
+        for (; kk < N - M; kk++) {
+            y = (state[kk] & UPPER_MASK) | (state[kk + 1] & LOWER_MASK);
+            state[kk] = state[kk + M] ^ (y >>> 1) ^ ((y & 1) * MATRIX_A);
+        }
+        for (; kk < N - 1; kk++) {
+            y = (state[kk] & UPPER_MASK) | (state[kk + 1] & LOWER_MASK);
+            state[kk] = state[kk + (M - N)] ^ (y >>> 1) ^ ((y & 1) * MATRIX_A);
+        }
+        y = (state[N - 1] & UPPER_MASK) | (state[0] & LOWER_MASK);
+        state[N - 1] = state[M - 1] ^ (y >>> 1) ^ ((y & 1) * MATRIX_A);
+        index = 0;
     }
 
-    public long nextLong() {
-        return javaRandom.nextLong();
+    /**
+     * Returns the next 32 random bits. Only the refill of the state every {@link #N} calls is
+     * behind a boundary, so this (and {@link #nextDouble()}) can be inlined into compiled code.
+     */
+    public int nextInt() {
+        if (index >= N) {
+            twist();
+        }
+        int y = state[index++];
+        y ^= y >>> 11;
+        y ^= (y << 7) & 0x9d2c5680;
+        y ^= (y << 15) & 0xefc60000;
+        y ^= y >>> 18;
+        return y;
     }
 
+    /**
+     * Same as CPython's {@code random_random}: a double in [0, 1) with 53 random bits.
+     */
     public double nextDouble() {
-        return javaRandom.nextDouble();
+        int a = nextInt() >>> 5;
+        int b = nextInt() >>> 6;
+        return (a * 67108864.0 + b) * (1.0 / 9007199254740992.0);
     }
 
-    public Random getJavaRandom() {
-        return javaRandom;
+    /**
+     * Returns {@code k} random bits, {@code 0 < k <= 64}, in the same order as CPython produces
+     * them.
+     */
+    public long nextBits(int k) {
+        assert k > 0 && k <= 64;
+        if (k <= 32) {
+            return (nextInt() >>> (32 - k)) & 0xFFFFFFFFL;
+        }
+        long low = nextInt() & 0xFFFFFFFFL;
+        long high = (nextInt() >>> (64 - k)) & 0xFFFFFFFFL;
+        return (high << 32) | low;
     }
 
+    /**
+     * Returns {@code k} random bits as an unsigned integer. The words are generated in one go into
+     * a big-endian byte array, least significant word first, as CPython does.
+     */
     @TruffleBoundary
-    public void resetJavaRandom() {
-        javaRandom = new PythonRandom();
+    public BigInteger nextBigBits(int k) {
+        assert k > 0;
+        int words = (k - 1) / 32 + 1;
+        byte[] bytes = new byte[words * 4];
+        int remaining = k;
+        for (int i = 0, pos = bytes.length - 4; i < words; i++, pos -= 4) {
+            int r = nextInt();
+            if (remaining < 32) {
+                r >>>= 32 - remaining;
+            }
+            bytes[pos] = (byte) (r >>> 24);
+            bytes[pos + 1] = (byte) (r >>> 16);
+            bytes[pos + 2] = (byte) (r >>> 8);
+            bytes[pos + 3] = (byte) r;
+            remaining -= 32;
+        }
+        return new BigInteger(1, bytes);
+    }
+
+    public int[] getState() {
+        return state;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setState(int[] newState, int newIndex) {
+        assert newState.length == N && newIndex >= 0 && newIndex <= N;
+        System.arraycopy(newState, 0, state, 0, N);
+        index = newIndex;
     }
 }
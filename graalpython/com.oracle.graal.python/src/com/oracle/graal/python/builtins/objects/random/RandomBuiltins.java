@@ -56,7 +56,7 @@ import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.api.nodes.UnexpectedResultException;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 
 @CoreFunctions(extendClasses = PRandom.class)
 public class RandomBuiltins extends PythonBuiltins {
@@ -70,9 +70,8 @@ public class RandomBuiltins extends PythonBuiltins {
     public abstract static class SeedNode extends PythonBuiltinNode {
 
         @Specialization
-        @TruffleBoundary
         public PNone seed(PRandom random, @SuppressWarnings("unused") PNone none) {
-            random.setSeed(System.currentTimeMillis());
+            random.seedFromTime();
             return PNone.NONE;
         }
 
@@ -83,33 +82,26 @@ public class RandomBuiltins extends PythonBuiltins {
         }
 
         @Specialization
-        public PNone seed(PRandom random, PInt inputSeed) {
-            random.setSeed(inputSeed.longValue());
+        public PNone seed(PRandom random, long inputSeed) {
+            random.setSeed(inputSeed);
             return PNone.NONE;
         }
 
         @Specialization
-        public PNone seed(PRandom random, double inputSeed) {
-            random.setSeed((long) ((Long.MAX_VALUE - inputSeed) * 412316924));
+        public PNone seed(PRandom random, PInt inputSeed) {
+            random.setSeed(inputSeed.getValue());
             return PNone.NONE;
         }
 
-        @Specialization(rewriteOn = UnexpectedResultException.class)
+        @Specialization(guards = {"!isPNone(inputSeed)", "!isInteger(inputSeed)", "!isPInt(inputSeed)"})
         public PNone seedObject(PRandom random, Object inputSeed,
-                        @Cached("create(__HASH__)") LookupAndCallUnaryNode callHash) throws UnexpectedResultException {
-            long hash = callHash.executeLong(inputSeed);
-            random.setSeed(hash);
-            return PNone.NONE;
-        }
-
-        @Specialization(replaces = "seedObject")
-        public PNone seedNonLong(PRandom random, Object inputSeed,
                         @Cached("create(__HASH__)") LookupAndCallUnaryNode callHash) {
-            Object object = callHash.executeObject(inputSeed);
-            if (PGuards.isInteger(object)) {
-                random.setSeed(((Number) object).intValue());
-            } else if (PGuards.isPInt(object)) {
-                random.setSeed(((PInt) object).intValue());
+            // like CPython, use the absolute value of the hash for any other object
+            Object hash = callHash.executeObject(inputSeed);
+            if (PGuards.isInteger(hash)) {
+                random.setSeed(((Number) hash).longValue());
+            } else if (PGuards.isPInt(hash)) {
+                random.setSeed(((PInt) hash).getValue());
             } else {
                 throw raise(PythonErrorType.TypeError, "__hash__ method should return an integer");
             }
@@ -125,15 +117,33 @@ public class RandomBuiltins extends PythonBuiltins {
         @TruffleBoundary
         public PNone setstate(PRandom random, PTuple tuple) {
             Object[] arr = tuple.getArray();
-            if (arr.length == 1) {
-                Object object = arr[0];
-                if (object instanceof Long) {
-                    random.resetJavaRandom();
-                    random.setSeed((Long) object);
-                    return PNone.NONE;
+            if (arr.length != PRandom.N + 1) {
+                throw raise(PythonErrorType.ValueError, "state vector is the wrong size");
+            }
+            int[] state = new int[PRandom.N];
+            for (int i = 0; i < PRandom.N; i++) {
+                long word = toLong(arr[i]);
+                if (word < 0 || word > 0xFFFFFFFFL) {
+                    throw raise(PythonErrorType.OverflowError, "Python int too large to convert to C unsigned long");
                 }
+                state[i] = (int) word;
+            }
+            long index = toLong(arr[PRandom.N]);
+            if (index < 0 || index > PRandom.N) {
+                throw raise(PythonErrorType.ValueError, "invalid state");
             }
-            throw raise(PythonErrorType.SystemError, "state vector invalid.");
+            random.setState(state, (int) index);
+            return PNone.NONE;
+        }
+
+        private long toLong(Object object) {
+            if (object instanceof Integer || object instanceof Long) {
+                return ((Number) object).longValue();
+            } else if (object instanceof PInt) {
+                BigInteger value = ((PInt) object).getValue();
+                return value.bitLength() < 64 ? value.longValue() : -1;
+            }
+            throw raise(PythonErrorType.TypeError, "state vector items must be integers");
         }
     }
 
@@ -144,7 +154,13 @@ public class RandomBuiltins extends PythonBuiltins {
         @Specialization
         @TruffleBoundary
         public PTuple getstate(PRandom random) {
-            return factory().createTuple(new Object[]{random.getSeed()});
+            int[] state = random.getState();
+            Object[] result = new Object[PRandom.N + 1];
+            for (int i = 0; i < PRandom.N; i++) {
+                result[i] = state[i] & 0xFFFFFFFFL;
+            }
+            result[PRandom.N] = random.getIndex();
+            return factory().createTuple(result);
         }
     }
 
@@ -153,7 +169,6 @@ public class RandomBuiltins extends PythonBuiltins {
     public abstract static class RandomNode extends PythonBuiltinNode {
 
         @Specialization
-        @TruffleBoundary
         public double random(PRandom random) {
             return random.nextDouble();
         }
@@ -163,14 +178,19 @@ public class RandomBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class GetRandBitsNode extends PythonBuiltinNode {
 
-        @TruffleBoundary
-        private static BigInteger createRandomBits(PRandom random, int k) {
-            return new BigInteger(k, random.getJavaRandom());
+        @Specialization(guards = "k > 0")
+        public Object getrandbits(PRandom random, int k,
+                        @Cached("createBinaryProfile()") ConditionProfile smallProfile) {
+            if (smallProfile.profile(k < 64)) {
+                // fits into a (positive) long
+                return random.nextBits(k);
+            }
+            return factory().createInt(random.nextBigBits(k));
         }
 
-        @Specialization
-        public PInt getrandbits(PRandom random, int k) {
-            return factory().createInt(createRandomBits(random, k));
+        @Specialization(guards = "k <= 0")
+        public Object getrandbitsInvalid(@SuppressWarnings("unused") PRandom random, @SuppressWarnings("unused") int k) {
+            throw raise(PythonErrorType.ValueError, "number of bits must be greater than zero");
         }
     }
 }
@@ -0,0 +1,693 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.struct;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.bytes.PIBytesLike;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.type.PythonClass;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.Node;
+
+/**
+ * A {@code struct} format string compiled into a list of field codecs. Each codec covers one
+ * format character with its repeat count and knows its offset in the packed data, so packing and
+ * unpacking are a single pass over the codecs against a {@link ByteBuffer} in the format's byte
+ * order. Compiled formats are immutable and therefore shared between {@link PStruct} objects and
+ * the per-context cache used by the module-level functions.
+ */
+public final class StructFormat {
+    /**
+     * The kind of Python value a codec packs, which determines how arguments are converted before
+     * they are handed to {@link #pack}.
+     */
+    public enum Kind {
+        INTEGER,
+        FLOAT,
+        BOOLEAN,
+        BYTES
+    }
+
+    /** Like CPython, the cache is simply cleared once it holds this many formats. */
+    private static final int MAX_CACHE_SIZE = 100;
+
+    private final String format;
+    private final ByteOrder order;
+    private final int size;
+    private final int valueCount;
+    @CompilationFinal(dimensions = 1) private final FieldCodec[] codecs;
+    @CompilationFinal(dimensions = 1) private final Kind[] valueKinds;
+
+    private StructFormat(String format, ByteOrder order, int size, FieldCodec[] codecs) {
+        this.format = format;
+        this.order = order;
+        this.size = size;
+        this.codecs = codecs;
+        int count = 0;
+        for (FieldCodec codec : codecs) {
+            count += codec.count;
+        }
+        this.valueCount = count;
+        this.valueKinds = new Kind[count];
+        int i = 0;
+        for (FieldCodec codec : codecs) {
+            Arrays.fill(valueKinds, i, i + codec.count, codec.getKind());
+            i += codec.count;
+        }
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getValueCount() {
+        return valueCount;
+    }
+
+    /**
+     * The kinds of all values packed by this format, in order. The array must not be modified.
+     */
+    public Kind[] getValueKinds() {
+        return valueKinds;
+    }
+
+    /**
+     * Packs {@code values} into {@code buffer} starting at {@code offset}. Integer values must be
+     * {@code int}, {@code long} or {@link PInt}, float values {@code double} and boolean values
+     * {@code boolean}; see {@link #getValueKinds()}. Padding bytes are zeroed.
+     */
+    @TruffleBoundary
+    public void pack(ByteBuffer buffer, int offset, Object[] values) {
+        assert values.length == valueCount;
+        buffer.order(order);
+        for (int i = 0; i < size; i++) {
+            buffer.put(offset + i, (byte) 0);
+        }
+        int v = 0;
+        for (FieldCodec codec : codecs) {
+            for (int i = 0; i < codec.count; i++) {
+                codec.pack(buffer, offset + codec.offset + i * codec.itemSize, values[v++]);
+            }
+        }
+    }
+
+    @TruffleBoundary
+    public Object[] unpack(PythonObjectFactory factory, ByteBuffer buffer, int offset) {
+        buffer.order(order);
+        Object[] values = new Object[valueCount];
+        int v = 0;
+        for (FieldCodec codec : codecs) {
+            for (int i = 0; i < codec.count; i++) {
+                values[v++] = codec.unpack(factory, buffer, offset + codec.offset + i * codec.itemSize);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns the compiled format from the context's cache, compiling it on a miss.
+     */
+    @TruffleBoundary
+    public static StructFormat lookup(PythonContext context, String format) {
+        Map<String, StructFormat> cache = context.getStructFormatCache();
+        StructFormat compiled = cache.get(format);
+        if (compiled == null) {
+            compiled = compile(format);
+            if (cache.size() >= MAX_CACHE_SIZE) {
+                cache.clear();
+            }
+            cache.put(format, compiled);
+        }
+        return compiled;
+    }
+
+    @TruffleBoundary
+    public static void clearCache(PythonContext context) {
+        context.getStructFormatCache().clear();
+    }
+
+    @TruffleBoundary
+    public static StructFormat compile(String format) {
+        int length = format.length();
+        int pos = 0;
+        ByteOrder order = ByteOrder.nativeOrder();
+        boolean nativeMode = false;
+        char first = length > 0 ? format.charAt(0) : '@';
+        switch (first) {
+            case '<':
+                order = ByteOrder.LITTLE_ENDIAN;
+                pos++;
+                break;
+            case '>':
+            case '!':
+                order = ByteOrder.BIG_ENDIAN;
+                pos++;
+                break;
+            case '=':
+                pos++;
+                break;
+            case '@':
+                pos++;
+                nativeMode = true;
+                break;
+            default:
+                nativeMode = true;
+        }
+
+        List<FieldCodec> codecs = new ArrayList<>();
+        long offset = 0;
+        while (pos < length) {
+            char c = format.charAt(pos++);
+            if (isSpace(c)) {
+                continue;
+            }
+            int count = 1;
+            if (c >= '0' && c <= '9') {
+                long n = c - '0';
+                while (pos < length && (c = format.charAt(pos)) >= '0' && c <= '9') {
+                    n = n * 10 + (c - '0');
+                    if (n > Integer.MAX_VALUE) {
+                        throw raiseError("total struct size too long");
+                    }
+                    pos++;
+                }
+                if (pos == length) {
+                    throw raiseError("repeat count given without format specifier");
+                }
+                c = format.charAt(pos++);
+                count = (int) n;
+            }
+            int itemSize = getItemSize(c, nativeMode);
+            if (nativeMode && itemSize > 1 && offset > 0) {
+                // native alignment is the item size for all types
+                offset = (offset + itemSize - 1) / itemSize * itemSize;
+            }
+            switch (c) {
+                case 'x':
+                    offset += count;
+                    break;
+                case 's':
+                    codecs.add(new BytesCodec((int) offset, count));
+                    offset += count;
+                    break;
+                case 'p':
+                    codecs.add(new PascalStringCodec((int) offset, count));
+                    offset += count;
+                    break;
+                default:
+                    if (count > 0) {
+                        codecs.add(createCodec(c, (int) offset, count, itemSize, nativeMode));
+                    }
+                    offset += (long) count * itemSize;
+            }
+            if (offset > Integer.MAX_VALUE) {
+                throw raiseError("total struct size too long");
+            }
+        }
+        return new StructFormat(format, order, (int) offset, codecs.toArray(new FieldCodec[codecs.size()]));
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\u000b' || c == '\f';
+    }
+
+    /**
+     * Item sizes of the native ('@') mode assume an LP64 platform.
+     */
+    private static int getItemSize(char c, boolean nativeMode) {
+        switch (c) {
+            case 'x':
+            case 'c':
+            case 'b':
+            case 'B':
+            case '?':
+            case 's':
+            case 'p':
+                return 1;
+            case 'h':
+            case 'H':
+            case 'e':
+                return 2;
+            case 'i':
+            case 'I':
+            case 'f':
+                return 4;
+            case 'l':
+            case 'L':
+                return nativeMode ? 8 : 4;
+            case 'q':
+            case 'Q':
+            case 'd':
+                return 8;
+            case 'n':
+            case 'N':
+            case 'P':
+                if (nativeMode) {
+                    return 8;
+                }
+                break;
+        }
+        throw raiseError("bad char in struct format");
+    }
+
+    private static FieldCodec createCodec(char c, int offset, int count, int itemSize, boolean nativeMode) {
+        switch (c) {
+            case 'c':
+                return new CharCodec(offset, count);
+            case '?':
+                return new BooleanCodec(offset, count);
+            case 'e':
+                return new HalfFloatCodec(offset, count);
+            case 'f':
+                return new FloatCodec(offset, count);
+            case 'd':
+                return new DoubleCodec(offset, count);
+            case 'b':
+            case 'h':
+            case 'i':
+            case 'l':
+            case 'q':
+            case 'n':
+                return new IntegerCodec(c, offset, count, itemSize, true, nativeMode);
+            default:
+                return new IntegerCodec(c, offset, count, itemSize, false, nativeMode);
+        }
+    }
+
+    static PException raiseError(String message, Object... args) {
+        throw raiseError(null, message, args);
+    }
+
+    /**
+     * Raises {@code struct.error}. Nodes pass themselves as {@code location}; the codecs, which
+     * run behind {@link #pack} and {@link #unpack}, have none.
+     */
+    @TruffleBoundary
+    public static PException raiseError(Node location, String message, Object... args) {
+        PythonContext context = PythonLanguage.getContext();
+        PythonCore core = context.getCore();
+        PythonClass errorClass = (PythonClass) context.lookupBuiltinModule("_struct").getAttribute("error");
+        throw core.raise(core.factory().createBaseException(errorClass, message, args), location);
+    }
+
+    private abstract static class FieldCodec {
+        final int offset;
+        final int count;
+        final int itemSize;
+
+        FieldCodec(int offset, int count, int itemSize) {
+            this.offset = offset;
+            this.count = count;
+            this.itemSize = itemSize;
+        }
+
+        abstract Kind getKind();
+
+        abstract void pack(ByteBuffer buffer, int index, Object value);
+
+        abstract Object unpack(PythonObjectFactory factory, ByteBuffer buffer, int index);
+    }
+
+    private static final class IntegerCodec extends FieldCodec {
+        private static final BigInteger UNSIGNED_LONG_MAX = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+        private final char code;
+        private final boolean signed;
+        private final boolean nativeMode;
+        private final long min;
+        private final long max;
+
+        IntegerCodec(char code, int offset, int count, int itemSize, boolean signed, boolean nativeMode) {
+            super(offset, count, itemSize);
+            this.code = code;
+            this.signed = signed;
+            this.nativeMode = nativeMode;
+            int bits = itemSize * 8;
+            if (signed) {
+                this.min = itemSize == 8 ? Long.MIN_VALUE : -(1L << (bits - 1));
+                this.max = itemSize == 8 ? Long.MAX_VALUE : (1L << (bits - 1)) - 1;
+            } else {
+                this.min = 0;
+                this.max = itemSize == 8 ? Long.MAX_VALUE : (1L << bits) - 1;
+            }
+        }
+
+        @Override
+        Kind getKind() {
+            return Kind.INTEGER;
+        }
+
+        @Override
+        void pack(ByteBuffer buffer, int index, Object value) {
+            long v;
+            if (value instanceof PInt) {
+                BigInteger big = ((PInt) value).getValue();
+                if (!signed && itemSize == 8 && big.signum() >= 0 && big.bitLength() <= 64) {
+                    buffer.putLong(index, big.longValue());
+                    return;
+                }
+                if (big.bitLength() > 63) {
+                    throw rangeError();
+                }
+                v = big.longValue();
+            } else {
+                v = ((Number) value).longValue();
+            }
+            if (v < min || v > max) {
+                throw rangeError();
+            }
+            switch (itemSize) {
+                case 1:
+                    buffer.put(index, (byte) v);
+                    break;
+                case 2:
+                    buffer.putShort(index, (short) v);
+                    break;
+                case 4:
+                    buffer.putInt(index, (int) v);
+                    break;
+                default:
+                    buffer.putLong(index, v);
+            }
+        }
+
+        private PException rangeError() {
+            if (nativeMode && itemSize == 8) {
+                throw raiseError("argument out of range");
+            }
+            Object maxValue = !signed && itemSize == 8 ? UNSIGNED_LONG_MAX : max;
+            throw raiseError("'%c' format requires %d <= number <= %s", code, min, maxValue);
+        }
+
+        @Override
+        Object unpack(PythonObjectFactory factory, ByteBuffer buffer, int index) {
+            switch (itemSize) {
+                case 1:
+                    return signed ? (int) buffer.get(index) : buffer.get(index) & 0xff;
+                case 2:
+                    return signed ? (int) buffer.getShort(index) : buffer.getShort(index) & 0xffff;
+                case 4:
+                    if (signed) {
+                        return buffer.getInt(index);
+                    }
+                    return Integer.toUnsignedLong(buffer.getInt(index));
+                default:
+                    long v = buffer.getLong(index);
+                    if (signed || v >= 0) {
+                        return v;
+                    }
+                    return factory.createInt(new BigInteger(Long.toUnsignedString(v)));
+            }
+        }
+    }
+
+    private static final class BooleanCodec extends FieldCodec {
+        BooleanCodec(int offset, int count) {
+            super(offset, count, 1);
+        }
+
+        @Override
+        Kind getKind() {
+            return Kind.BOOLEAN;
+        }
+
+        @Override
+        void pack(ByteBuffer buffer, int index, Object value) {
+            buffer.put(index, (Boolean) value ? (byte) 1 : (byte) 0);
+        }
+
+        @Override
+        Object unpack(PythonObjectFactory factory, ByteBuffer buffer, int index) {
+            return buffer.get(index) != 0;
+        }
+    }
+
+    private static final class HalfFloatCodec extends FieldCodec {
+        HalfFloatCodec(int offset, int count) {
+            super(offset, count, 2);
+        }
+
+        @Override
+        Kind getKind() {
+            return Kind.FLOAT;
+        }
+
+        @Override
+        void pack(ByteBuffer buffer, int index, Object value) {
+            buffer.putShort(index, toHalf((Double) value));
+        }
+
+        @Override
+        Object unpack(PythonObjectFactory factory, ByteBuffer buffer, int index) {
+            return fromHalf(buffer.getShort(index));
+        }
+
+        /**
+         * IEEE 754 binary16 conversion with round-half-even, like CPython's {@code _PyFloat_Pack2}.
+         */
+        private static short toHalf(double x) {
+            int sign = Double.doubleToRawLongBits(x) < 0 ? 0x8000 : 0;
+            if (Double.isNaN(x)) {
+                return (short) (sign | 0x7e00);
+            } else if (Double.isInfinite(x)) {
+                return (short) (sign | 0x7c00);
+            }
+            double a = Math.abs(x);
+            if (a == 0) {
+                return (short) sign;
+            }
+            int e = Math.getExponent(a);
+            if (e < -14) {
+                // subnormal, rounding may carry into the smallest normal number
+                return (short) (sign | (int) Math.rint(a * 0x1p24));
+            }
+            long m = (long) Math.rint((Math.scalb(a, -e) - 1.0) * 1024);
+            if (m == 1024) {
+                m = 0;
+                e++;
+            }
+            if (e > 15) {
+                throw PythonLanguage.getCore().raise(OverflowError, "float too large to pack with e format");
+            }
+            return (short) (sign | ((e + 15) << 10) | m);
+        }
+
+        private static double fromHalf(short h) {
+            int e = (h >>> 10) & 0x1f;
+            int m = h & 0x3ff;
+            double v;
+            if (e == 0) {
+                v = m * 0x1p-24;
+            } else if (e == 0x1f) {
+                v = m == 0 ? Double.POSITIVE_INFINITY : Double.NaN;
+            } else {
+                v = Math.scalb((double) (1024 + m), e - 25);
+            }
+            return h < 0 ? -v : v;
+        }
+    }
+
+    private static final class FloatCodec extends FieldCodec {
+        FloatCodec(int offset, int count) {
+            super(offset, count, 4);
+        }
+
+        @Override
+        Kind getKind() {
+            return Kind.FLOAT;
+        }
+
+        @Override
+        void pack(ByteBuffer buffer, int index, Object value) {
+            double d = (Double) value;
+            float f = (float) d;
+            if (Float.isInfinite(f) && !Double.isInfinite(d)) {
+                throw PythonLanguage.getCore().raise(OverflowError, "float too large to pack with f format");
+            }
+            buffer.putFloat(index, f);
+        }
+
+        @Override
+        Object unpack(PythonObjectFactory factory, ByteBuffer buffer, int index) {
+            return (double) buffer.getFloat(index);
+        }
+    }
+
+    private static final class DoubleCodec extends FieldCodec {
+        DoubleCodec(int offset, int count) {
+            super(offset, count, 8);
+        }
+
+        @Override
+        Kind getKind() {
+            return Kind.FLOAT;
+        }
+
+        @Override
+        void pack(ByteBuffer buffer, int index, Object value) {
+            buffer.putDouble(index, (Double) value);
+        }
+
+        @Override
+        Object unpack(PythonObjectFactory factory, ByteBuffer buffer, int index) {
+            return buffer.getDouble(index);
+        }
+    }
+
+    private static final class CharCodec extends FieldCodec {
+        CharCodec(int offset, int count) {
+            super(offset, count, 1);
+        }
+
+        @Override
+        Kind getKind() {
+            return Kind.BYTES;
+        }
+
+        @Override
+        void pack(ByteBuffer buffer, int index, Object value) {
+            if (!(value instanceof PIBytesLike) || ((PIBytesLike) value).len() != 1) {
+                throw raiseError("char format requires a bytes object of length 1");
+            }
+            buffer.put(index, ((PIBytesLike) value).getInternalByteArray()[0]);
+        }
+
+        @Override
+        Object unpack(PythonObjectFactory factory, ByteBuffer buffer, int index) {
+            return factory.createBytes(new byte[]{buffer.get(index)});
+        }
+    }
+
+    /**
+     * The 's' code; unlike the others, its repeat count is the length of a single value.
+     */
+    private static final class BytesCodec extends FieldCodec {
+        BytesCodec(int offset, int length) {
+            super(offset, 1, length);
+        }
+
+        @Override
+        Kind getKind() {
+            return Kind.BYTES;
+        }
+
+        @Override
+        void pack(ByteBuffer buffer, int index, Object value) {
+            if (!(value instanceof PIBytesLike)) {
+                throw raiseError("argument for 's' must be a bytes object");
+            }
+            PIBytesLike bytes = (PIBytesLike) value;
+            int n = Math.min(bytes.len(), itemSize);
+            for (int i = 0; i < n; i++) {
+                buffer.put(index + i, bytes.getInternalByteArray()[i]);
+            }
+        }
+
+        @Override
+        Object unpack(PythonObjectFactory factory, ByteBuffer buffer, int index) {
+            byte[] bytes = new byte[itemSize];
+            for (int i = 0; i < itemSize; i++) {
+                bytes[i] = buffer.get(index + i);
+            }
+            return factory.createBytes(bytes);
+        }
+    }
+
+    /**
+     * The 'p' code: a length byte followed by at most {@code itemSize - 1} bytes of data.
+     */
+    private static final class PascalStringCodec extends FieldCodec {
+        PascalStringCodec(int offset, int length) {
+            super(offset, 1, length);
+        }
+
+        @Override
+        Kind getKind() {
+            return Kind.BYTES;
+        }
+
+        @Override
+        void pack(ByteBuffer buffer, int index, Object value) {
+            if (!(value instanceof PIBytesLike)) {
+                throw raiseError("argument for 'p' must be a bytes object");
+            }
+            if (itemSize == 0) {
+                return;
+            }
+            PIBytesLike bytes = (PIBytesLike) value;
+            int n = Math.min(bytes.len(), itemSize - 1);
+            for (int i = 0; i < n; i++) {
+                buffer.put(index + 1 + i, bytes.getInternalByteArray()[i]);
+            }
+            buffer.put(index, (byte) Math.min(n, 255));
+        }
+
+        @Override
+        Object unpack(PythonObjectFactory factory, ByteBuffer buffer, int index) {
+            if (itemSize == 0) {
+                return factory.createBytes(new byte[0]);
+            }
+            int n = Math.min(buffer.get(index) & 0xff, itemSize - 1);
+            byte[] bytes = new byte[n];
+            for (int i = 0; i < n; i++) {
+                bytes[i] = buffer.get(index + 1 + i);
+            }
+            return factory.createBytes(bytes);
+        }
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.struct;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__FLOAT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__INDEX__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.bytes.PIBytesLike;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.PBaseNode;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.SpecialMethodNames;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallTernaryNode;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.expression.CastToBooleanNode;
+import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
+
+/**
+ * The operations shared by {@code Struct} methods and the module-level functions of
+ * {@code _struct}. Bytes and bytearray buffers are accessed in place; other buffer objects (e.g.
+ * memoryview, which is implemented in C) go through {@code tobytes} and {@code __setitem__}.
+ */
+@GenerateNodeFactory
+public abstract class StructNodes {
+
+    /**
+     * Compiles a format string, first looking in an inline cache and then in the context's cache.
+     */
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    public abstract static class GetStructFormatNode extends PBaseNode {
+        public abstract StructFormat execute(Object format);
+
+        @Specialization(guards = "cachedFormat.equals(format)", limit = "1")
+        StructFormat doCached(@SuppressWarnings("unused") String format,
+                        @SuppressWarnings("unused") @Cached("format") String cachedFormat,
+                        @Cached("doString(format)") StructFormat compiled) {
+            return compiled;
+        }
+
+        @Specialization(replaces = "doCached")
+        StructFormat doString(String format) {
+            return StructFormat.lookup(getContext(), format);
+        }
+
+        @Specialization
+        StructFormat doBytes(PIBytesLike format) {
+            return doString(decode(format));
+        }
+
+        @Fallback
+        StructFormat doGeneric(Object format) {
+            throw raise(TypeError, "Struct() argument 1 must be a str or bytes object, not %p", format);
+        }
+
+        @TruffleBoundary
+        private static String decode(PIBytesLike format) {
+            return new String(format.getInternalByteArray(), 0, format.len(), StandardCharsets.US_ASCII);
+        }
+
+        public static GetStructFormatNode create() {
+            return StructNodesFactory.GetStructFormatNodeGen.create();
+        }
+    }
+
+    /**
+     * Converts the arguments of a pack operation to the values expected by
+     * {@link StructFormat#pack}, calling {@code __index__}, {@code __float__} and {@code __bool__}
+     * where necessary.
+     */
+    public static final class ConvertValuesNode extends PBaseNode {
+        @Child private LookupAndCallUnaryNode callIndexNode;
+        @Child private LookupAndCallUnaryNode callFloatNode;
+        @Child private CastToBooleanNode castToBooleanNode;
+
+        public Object[] execute(String name, StructFormat format, Object[] args) {
+            if (args.length != format.getValueCount()) {
+                throw StructFormat.raiseError(this, "%s expected %d items for packing (got %d)", name, format.getValueCount(), args.length);
+            }
+            StructFormat.Kind[] kinds = format.getValueKinds();
+            Object[] values = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                switch (kinds[i]) {
+                    case INTEGER:
+                        values[i] = asInteger(args[i]);
+                        break;
+                    case FLOAT:
+                        values[i] = asDouble(args[i]);
+                        break;
+                    case BOOLEAN:
+                        values[i] = getCastToBooleanNode().executeWith(args[i]);
+                        break;
+                    default:
+                        values[i] = args[i];
+                }
+            }
+            return values;
+        }
+
+        private Object asInteger(Object value) {
+            if (value instanceof Integer || value instanceof Long || value instanceof PInt) {
+                return value;
+            } else if (value instanceof Boolean) {
+                return PInt.intValue((Boolean) value);
+            }
+            Object index = getCallIndexNode().executeObject(value);
+            if (index == PNone.NO_VALUE) {
+                throw StructFormat.raiseError(this, "required argument is not an integer");
+            } else if (index instanceof Integer || index instanceof Long || index instanceof PInt) {
+                return index;
+            } else if (index instanceof Boolean) {
+                return PInt.intValue((Boolean) index);
+            }
+            throw raise(TypeError, "__index__ returned non-int (type %p)", index);
+        }
+
+        private double asDouble(Object value) {
+            if (value instanceof Double) {
+                return (double) value;
+            } else if (value instanceof PFloat) {
+                return ((PFloat) value).getValue();
+            } else if (value instanceof Integer || value instanceof Long) {
+                return ((Number) value).doubleValue();
+            } else if (value instanceof Boolean) {
+                return PInt.doubleValue((Boolean) value);
+            } else if (value instanceof PInt) {
+                double d = ((PInt) value).doubleValue();
+                if (Double.isInfinite(d)) {
+                    throw raise(OverflowError, "int too large to convert to float");
+                }
+                return d;
+            }
+            Object result = getCallFloatNode().executeObject(value);
+            if (result instanceof Double) {
+                return (double) result;
+            } else if (result instanceof PFloat) {
+                return ((PFloat) result).getValue();
+            }
+            throw StructFormat.raiseError(this, "required argument is not a float");
+        }
+
+        private LookupAndCallUnaryNode getCallIndexNode() {
+            if (callIndexNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                callIndexNode = insert(LookupAndCallUnaryNode.create(__INDEX__));
+            }
+            return callIndexNode;
+        }
+
+        private LookupAndCallUnaryNode getCallFloatNode() {
+            if (callFloatNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                callFloatNode = insert(LookupAndCallUnaryNode.create(__FLOAT__));
+            }
+            return callFloatNode;
+        }
+
+        private CastToBooleanNode getCastToBooleanNode() {
+            if (castToBooleanNode == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                castToBooleanNode = insert(CastToBooleanNode.createIfTrueNode());
+            }
+            return castToBooleanNode;
+        }
+
+        public static ConvertValuesNode create() {
+            return new ConvertValuesNode();
+        }
+    }
+
+    public static final class PackNode extends PBaseNode {
+        @Child private ConvertValuesNode convertValuesNode = ConvertValuesNode.create();
+
+        public PBytes execute(StructFormat format, Object[] args) {
+            Object[] values = convertValuesNode.execute("pack", format, args);
+            byte[] bytes = new byte[format.getSize()];
+            format.pack(ByteBuffer.wrap(bytes), 0, values);
+            return factory().createBytes(bytes);
+        }
+
+        public static PackNode create() {
+            return new PackNode();
+        }
+    }
+
+    @ImportStatic(SpecialMethodNames.class)
+    public abstract static class PackIntoNode extends PBaseNode {
+        @Child private ConvertValuesNode convertValuesNode = ConvertValuesNode.create();
+
+        public abstract void execute(StructFormat format, Object buffer, long offset, Object[] args);
+
+        @Specialization
+        void packInto(StructFormat format, PByteArray buffer, long offset, Object[] args) {
+            Object[] values = convertValuesNode.execute("pack_into", format, args);
+            int length = buffer.len();
+            int start = checkOffset(format, offset, length);
+            format.pack(ByteBuffer.wrap(buffer.getInternalByteArray(), 0, length), start, values);
+            ((ByteSequenceStorage) buffer.getSequenceStorage()).flushInternalByteArray();
+        }
+
+        @Specialization
+        void packInto(@SuppressWarnings("unused") StructFormat format, PBytes buffer, @SuppressWarnings("unused") long offset, @SuppressWarnings("unused") Object[] args) {
+            throw raise(TypeError, "argument must be read-write bytes-like object, not %p", buffer);
+        }
+
+        @Specialization(guards = "!isBytesLike(buffer)")
+        void packInto(StructFormat format, Object buffer, long offset, Object[] args,
+                        @Cached("create(__LEN__)") LookupAndCallUnaryNode callLen,
+                        @Cached("create(__SETITEM__)") LookupAndCallTernaryNode callSetItem) {
+            Object[] values = convertValuesNode.execute("pack_into", format, args);
+            Object length = callLen.executeObject(buffer);
+            if (!(length instanceof Integer)) {
+                throw raise(TypeError, "argument must be read-write bytes-like object, not %p", buffer);
+            }
+            int start = checkOffset(format, offset, (int) length);
+            byte[] bytes = new byte[format.getSize()];
+            format.pack(ByteBuffer.wrap(bytes), 0, values);
+            callSetItem.execute(buffer, factory().createSlice(start, start + bytes.length, 1), factory().createBytes(bytes));
+        }
+
+        protected static boolean isBytesLike(Object buffer) {
+            return buffer instanceof PIBytesLike;
+        }
+
+        private int checkOffset(StructFormat format, long offset, int length) {
+            int size = format.getSize();
+            long start = offset;
+            if (start < 0) {
+                if (start + size > 0) {
+                    throw StructFormat.raiseError(this, "no space to pack %d bytes at offset %d", size, offset);
+                }
+                if (start + length < 0) {
+                    throw StructFormat.raiseError(this, "offset %d out of range for %d-byte buffer", offset, length);
+                }
+                start += length;
+            }
+            if (length - start < size) {
+                throw StructFormat.raiseError(this, "pack_into requires a buffer of at least %d bytes for packing %d bytes at offset %d (actual buffer size is %d)", size + start, size, start, length);
+            }
+            return (int) start;
+        }
+
+        public static PackIntoNode create() {
+            return StructNodesFactory.PackIntoNodeGen.create();
+        }
+    }
+
+    /**
+     * Unpacks from a bytes-like object. A negative {@code offset} counts from the end of the
+     * buffer; {@code exact} requires the buffer to have exactly the size of the format, as
+     * {@code unpack} does.
+     */
+    public abstract static class UnpackNode extends PBaseNode {
+        public abstract PTuple execute(StructFormat format, Object buffer, long offset, boolean exact);
+
+        @Specialization
+        PTuple unpack(StructFormat format, PIBytesLike buffer, long offset, boolean exact) {
+            return unpack(format, buffer.getInternalByteArray(), buffer.len(), offset, exact);
+        }
+
+        @Specialization(guards = "!isBytesLike(buffer)")
+        PTuple unpack(StructFormat format, Object buffer, long offset, boolean exact,
+                        @Cached("create(\"tobytes\")") LookupAndCallUnaryNode callToBytes) {
+            Object bytes = PNone.NO_VALUE;
+            if (!PGuards.isString(buffer)) {
+                bytes = callToBytes.executeObject(buffer);
+            }
+            if (!(bytes instanceof PBytes)) {
+                throw raise(TypeError, "a bytes-like object is required, not '%p'", buffer);
+            }
+            PBytes copy = (PBytes) bytes;
+            return unpack(format, copy.getInternalByteArray(), copy.len(), offset, exact);
+        }
+
+        protected static boolean isBytesLike(Object buffer) {
+            return buffer instanceof PIBytesLike;
+        }
+
+        private PTuple unpack(StructFormat format, byte[] bytes, int length, long offset, boolean exact) {
+            int size = format.getSize();
+            long start = offset;
+            if (exact) {
+                if (length != size) {
+                    throw StructFormat.raiseError(this, "unpack requires a buffer of %d bytes", size);
+                }
+            } else {
+                if (start < 0) {
+                    if (start + length < 0) {
+                        throw StructFormat.raiseError(this, "offset %d out of range for %d-byte buffer", offset, length);
+                    }
+                    start += length;
+                }
+                if (length - start < size) {
+                    throw StructFormat.raiseError(this, "unpack_from requires a buffer of at least %d bytes for unpacking %d bytes at offset %d (actual buffer size is %d)", size + start, size, start,
+                                    length);
+                }
+            }
+            return factory().createTuple(format.unpack(factory(), ByteBuffer.wrap(bytes, 0, length), (int) start));
+        }
+
+        public static UnpackNode create() {
+            return StructNodesFactory.UnpackNodeGen.create();
+        }
+    }
+}
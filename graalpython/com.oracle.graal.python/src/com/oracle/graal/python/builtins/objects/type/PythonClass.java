@@ -31,16 +31,21 @@ import static com.oracle.graal.python.nodes.SpecialAttributeNames.__NAME__;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.function.PFunction;
 import com.oracle.graal.python.builtins.objects.function.PythonCallable;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
+import com.oracle.graal.python.runtime.CacheStatistics;
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.DynamicObjectFactory;
 import com.oracle.truffle.api.object.Layout;
 import com.oracle.truffle.api.object.ObjectType;
 import com.oracle.truffle.api.object.Shape;
@@ -56,10 +61,34 @@ public class PythonClass extends PythonObject {
 
     @CompilationFinal(dimensions = 1) private PythonClass[] baseClasses;
     @CompilationFinal(dimensions = 1) private PythonClass[] methodResolutionOrder;
-    private CyclicAssumption lookupStableAssumption;
+
+    /**
+     * One assumption per attribute name that was looked up in the MRO of this class. Writing an
+     * attribute only invalidates the assumption of that name (in this class and its subclasses),
+     * so unrelated cached lookups stay valid.
+     */
+    private final Map<Object, CyclicAssumption> attributesInMROFinalAssumptions = new ConcurrentHashMap<>();
+
+    /**
+     * Cache of the successful results of {@link #getAttribute(String)}. Names that are not defined
+     * anywhere in the MRO are not cached, so that looking up arbitrary names does not grow the map.
+     * Classes of the shared core are used by many contexts, so the map is read without locking and
+     * written under its own lock together with {@link #resolvedAttributesVersion}.
+     */
+    private final Map<Object, Object> resolvedAttributes = new ConcurrentHashMap<>();
+    private volatile int resolvedAttributesVersion;
 
     private final Set<PythonClass> subClasses = Collections.newSetFromMap(new WeakHashMap<PythonClass, Boolean>());
-    private final Shape instanceShape;
+    @CompilationFinal private Shape instanceShape;
+
+    /**
+     * The names of all slots of instances (including inherited ones), or {@code null} if neither
+     * this class nor any of its bases declares {@code __slots__}.
+     */
+    @CompilationFinal(dimensions = 1) private String[] slots;
+    @CompilationFinal private boolean hasInstanceDict = true;
+    @CompilationFinal private DynamicObjectFactory slotsInstanceFactory;
+    @CompilationFinal(dimensions = 1) private Object[] slotsInitialValues;
     private final FlagsContainer flags;
 
     public final boolean isBuiltin() {
@@ -70,7 +99,6 @@ public class PythonClass extends PythonObject {
     public PythonClass(PythonClass typeClass, String name, PythonClass... baseClasses) {
         super(typeClass);
         this.className = name;
-        this.lookupStableAssumption = new CyclicAssumption(className);
 
         assert baseClasses.length > 0;
         if (baseClasses.length == 1 && baseClasses[0] == null) {
@@ -92,13 +120,59 @@ public class PythonClass extends PythonObject {
         instanceShape = freshShape();
     }
 
-    public Assumption getLookupStableAssumption() {
-        return lookupStableAssumption.getAssumption();
+    /**
+     * Returns an assumption that stays valid as long as the result of looking up {@code name} in
+     * the MRO of this class does not change.
+     */
+    @TruffleBoundary
+    public Assumption getAttributeInMROFinalAssumption(String name) {
+        CyclicAssumption assumption = attributesInMROFinalAssumptions.get(name);
+        if (assumption == null) {
+            assumption = attributesInMROFinalAssumptions.computeIfAbsent(name, n -> new CyclicAssumption(className + "." + n));
+        }
+        return assumption.getAssumption();
+    }
+
+    /**
+     * Invalidates all cached lookups of {@code name} in this class and all of its subclasses.
+     */
+    @TruffleBoundary
+    public void invalidateFinalAttribute(Object name) {
+        if (CacheStatistics.isEnabled()) {
+            CacheStatistics.recordInvalidation(this, name);
+        }
+        invalidateAttributeInMRO(name);
+    }
+
+    private void invalidateAttributeInMRO(Object name) {
+        synchronized (resolvedAttributes) {
+            resolvedAttributesVersion++;
+            resolvedAttributes.remove(name);
+        }
+        CyclicAssumption assumption = attributesInMROFinalAssumptions.get(name);
+        if (assumption != null) {
+            assumption.invalidate();
+        }
+        for (PythonClass subclass : getSubClasses()) {
+            if (subclass != null) {
+                subclass.invalidateAttributeInMRO(name);
+            }
+        }
     }
 
+    /**
+     * Invalidates all cached lookups in this class and all of its subclasses, e.g., because the MRO
+     * changed.
+     */
     @TruffleBoundary
     public void lookupChanged() {
-        lookupStableAssumption.invalidate();
+        synchronized (resolvedAttributes) {
+            resolvedAttributesVersion++;
+            resolvedAttributes.clear();
+        }
+        for (CyclicAssumption assumption : attributesInMROFinalAssumptions.values()) {
+            assumption.invalidate();
+        }
         for (PythonClass subclass : getSubClasses()) {
             if (subclass != null) {
                 subclass.lookupChanged();
@@ -114,6 +188,89 @@ public class PythonClass extends PythonObject {
         return instanceShape;
     }
 
+    /**
+     * Creates the storage for a new instance of this class. For classes with {@code __slots__}, all
+     * slots are pre-allocated and initialized to {@link PNone#NO_VALUE}, so assigning them does
+     * not change the shape.
+     */
+    public DynamicObject newInstanceStorage() {
+        if (slotsInstanceFactory != null) {
+            return slotsInstanceFactory.newInstance(slotsInitialValues);
+        }
+        return instanceShape.newInstance();
+    }
+
+    public boolean hasSlots() {
+        return slots != null;
+    }
+
+    public String[] getSlots() {
+        return slots;
+    }
+
+    /**
+     * Returns {@code false} if instances of this class have a fixed set of attributes (i.e., this
+     * class and all its non-builtin bases declare {@code __slots__} without {@code __dict__}).
+     */
+    public boolean hasInstanceDict() {
+        return hasInstanceDict;
+    }
+
+    /**
+     * Sets the slots declared by this class. Must be called before any instance is created. The
+     * instance shape is pre-built with the slots of this class and of all its bases.
+     */
+    @TruffleBoundary
+    public void setSlots(String[] ownSlots, boolean ownDict) {
+        assert slots == null;
+        List<String> allSlots = new ArrayList<>();
+        boolean instanceDict = ownDict;
+        for (int i = methodResolutionOrder.length - 1; i > 0; i--) {
+            PythonClass base = methodResolutionOrder[i];
+            if (base.slots != null) {
+                for (String slot : base.slots) {
+                    if (!allSlots.contains(slot)) {
+                        allSlots.add(slot);
+                    }
+                }
+            }
+            if (!base.isBuiltin() && base.hasInstanceDict) {
+                instanceDict = true;
+            }
+        }
+        for (String slot : ownSlots) {
+            if (!allSlots.contains(slot)) {
+                allSlots.add(slot);
+            }
+        }
+
+        Shape shape = freshShape();
+        Object[] initialValues = new Object[allSlots.size()];
+        for (int i = 0; i < initialValues.length; i++) {
+            shape = shape.defineProperty(allSlots.get(i), PNone.NO_VALUE, 0);
+            initialValues[i] = PNone.NO_VALUE;
+        }
+        this.slots = allSlots.toArray(new String[allSlots.size()]);
+        this.hasInstanceDict = instanceDict;
+        this.instanceShape = shape;
+        this.slotsInstanceFactory = shape.createFactory();
+        this.slotsInitialValues = initialValues;
+    }
+
+    /**
+     * Pre-builds the instance shape of a class that does not declare {@code __slots__} itself but
+     * inherits slots from its bases. Its instances still get a {@code __dict__}.
+     */
+    @TruffleBoundary
+    public void inheritSlots() {
+        for (int i = 1; i < methodResolutionOrder.length; i++) {
+            if (methodResolutionOrder[i].slots != null) {
+                setSlots(new String[0], true);
+                return;
+            }
+        }
+    }
+
     public PythonClass getSuperClass() {
         return getBaseClasses().length > 0 ? getBaseClasses()[0] : null;
     }
@@ -224,14 +381,41 @@ public class PythonClass extends PythonObject {
     @TruffleBoundary
     public void setAttribute(Object name, Object value) {
         super.setAttribute(name, value);
-        lookupChanged();
+        invalidateFinalAttribute(name);
     }
 
     @Override
+    @TruffleBoundary
+    public void deleteAttribute(String name) {
+        super.deleteAttribute(name);
+        invalidateFinalAttribute(name);
+    }
+
+    @Override
+    @TruffleBoundary
     public Object getAttribute(String name) {
+        Object result = resolvedAttributes.get(name);
+        if (result == null) {
+            int version = resolvedAttributesVersion;
+            result = lookupInMRO(name);
+            if (result != PNone.NO_VALUE) {
+                synchronized (resolvedAttributes) {
+                    // do not cache a value that was overwritten while we looked it up
+                    if (version == resolvedAttributesVersion) {
+                        resolvedAttributes.put(name, result);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private Object lookupInMRO(String name) {
         for (PythonClass o : methodResolutionOrder) {
-            if (o.getStorage().containsKey(name)) {
-                return o.getStorage().get(name);
+            Object value = o.getStorage().get(name);
+            // deleted attributes are stored as NO_VALUE and must not shadow the bases
+            if (value != null && value != PNone.NO_VALUE) {
+                return value;
             }
         }
         return PNone.NO_VALUE;
@@ -251,6 +435,7 @@ public class PythonClass extends PythonObject {
             }
         }
         computeMethodResolutionOrder();
+        lookupChanged();
     }
 
     public final Set<PythonClass> getSubClasses() {
@@ -50,6 +50,8 @@ public abstract class SpecialAttributeNames {
     public static final String __FUNC__ = "__func__";
     public static final String __MODULE__ = "__module__";
     public static final String __DICT__ = "__dict__";
+    public static final String __SLOTS__ = "__slots__";
+    public static final String __WEAKREF__ = "__weakref__";
     public static final String __CLASS__ = "__class__";
     public static final String __BASES__ = "__bases__";
     public static final String __NAME__ = "__name__";
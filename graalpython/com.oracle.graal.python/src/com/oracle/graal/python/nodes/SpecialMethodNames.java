@@ -132,6 +132,7 @@ public abstract class SpecialMethodNames {
     public static final String __INT__ = "__int__";
     public static final String __FLOAT__ = "__float__";
     public static final String __ROUND__ = "__round__";
+    public static final String __TRUNC__ = "__trunc__";
     public static final String __INDEX__ = "__index__";
     public static final String __ENTER__ = "__enter__";
     public static final String __EXIT__ = "__exit__";
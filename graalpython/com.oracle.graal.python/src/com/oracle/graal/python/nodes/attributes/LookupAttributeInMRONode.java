@@ -41,6 +41,8 @@ package com.oracle.graal.python.nodes.attributes;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.type.PythonClass;
 import com.oracle.graal.python.nodes.PNode;
+import com.oracle.graal.python.runtime.CacheStatistics;
+import com.oracle.graal.python.runtime.CacheStatistics.Event;
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
@@ -67,13 +69,23 @@ public abstract class LookupAttributeInMRONode extends PNode {
     protected Object returnDirect(PythonClass klass, String key,
                     @Cached("klass") PythonClass cachedKlass,
                     @Cached("key") String cachedKey,
-                    @Cached("cachedKlass.getLookupStableAssumption()") Assumption lookupStable,
-                    @Cached("cachedKlass.getAttribute(cachedKey)") Object result) {
+                    @Cached("cachedKlass.getAttributeInMROFinalAssumption(cachedKey)") Assumption lookupStable,
+                    @Cached("lookupCached(cachedKlass, cachedKey)") Object result) {
         return result;
     }
 
+    protected Object lookupCached(PythonClass klass, String key) {
+        if (CacheStatistics.isEnabled()) {
+            CacheStatistics.record(this, "LookupAttributeInMRO", Event.CACHE_ENTRY);
+        }
+        return klass.getAttribute(key);
+    }
+
     @Specialization(replaces = "returnDirect")
     protected Object lookup(PythonClass klass, String key) {
+        if (CacheStatistics.isEnabled()) {
+            CacheStatistics.record(this, "LookupAttributeInMRO", Event.GENERIC);
+        }
         return klass.getAttribute(key);
     }
 
@@ -41,6 +41,8 @@ package com.oracle.graal.python.nodes.attributes;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
 import com.oracle.graal.python.nodes.PNode;
+import com.oracle.graal.python.runtime.CacheStatistics;
+import com.oracle.graal.python.runtime.CacheStatistics.Event;
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Cached;
@@ -60,6 +62,9 @@ public abstract class ReadAttributeFromObjectNode extends PNode {
     public abstract Object execute(Object object, Object key);
 
     protected Location getLocationOrNull(Property prop) {
+        if (CacheStatistics.isEnabled()) {
+            CacheStatistics.record(this, "ReadAttributeFromObject", Event.CACHE_ENTRY);
+        }
         return prop == null ? null : prop.getLocation();
     }
 
@@ -99,6 +104,9 @@ public abstract class ReadAttributeFromObjectNode extends PNode {
 
     @Specialization(replaces = "readDirect")
     protected Object readIndirect(PythonObject object, Object key) {
+        if (CacheStatistics.isEnabled()) {
+            CacheStatistics.record(this, "ReadAttributeFromObject", Event.GENERIC);
+        }
         Object value = object.getStorage().get(key);
         if (value == null) {
             return PNone.NO_VALUE;
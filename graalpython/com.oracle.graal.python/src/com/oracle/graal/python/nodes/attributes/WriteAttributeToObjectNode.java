@@ -38,7 +38,9 @@
  */
 package com.oracle.graal.python.nodes.attributes;
 
+import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
+import com.oracle.graal.python.builtins.objects.type.PythonClass;
 import com.oracle.graal.python.nodes.PNode;
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerDirectives;
@@ -48,6 +50,7 @@ import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.object.FinalLocationException;
+import com.oracle.truffle.api.object.HiddenKey;
 import com.oracle.truffle.api.object.IncompatibleLocationException;
 import com.oracle.truffle.api.object.Location;
 import com.oracle.truffle.api.object.Property;
@@ -65,6 +68,30 @@ public abstract class WriteAttributeToObjectNode extends PNode {
         return prop == null ? null : prop.getLocation();
     }
 
+    /**
+     * Instances of classes with {@code __slots__} (and without {@code __dict__}) cannot get new
+     * attributes, except for hidden keys used internally.
+     */
+    protected static boolean canDefine(PythonObject object, Object key) {
+        return key instanceof HiddenKey || object.getPythonClass().hasInstanceDict();
+    }
+
+    /**
+     * Class attributes are written on the slow path, because lookups of the written name in the
+     * class and its subclasses have to be invalidated. The write goes through the class, so that
+     * builtin classes can refuse it. Deleting writes {@link PNone#NO_VALUE}.
+     */
+    @TruffleBoundary
+    @Specialization
+    protected boolean writeToClass(PythonClass klass, Object key, Object value) {
+        if (value == PNone.NO_VALUE && klass.isBuiltin() && key instanceof String) {
+            klass.deleteAttribute((String) key);
+        } else {
+            klass.setAttribute(key, value);
+        }
+        return true;
+    }
+
     @SuppressWarnings("unused")
     @Specialization(guards = {
                     "object.getStorage().getShape() == cachedShape",
@@ -111,6 +138,7 @@ public abstract class WriteAttributeToObjectNode extends PNode {
                                     "object.getStorage().getShape() == cachedShape",
                                     "cachedKey.equals(key)",
                                     "loc == null || !loc.canSet(value)",
+                                    "canDefine",
                                     "newLoc.canSet(value)"
                     }, //
                     assumptions = {
@@ -122,6 +150,7 @@ public abstract class WriteAttributeToObjectNode extends PNode {
                     @Cached("object.getStorage().getShape()") Shape cachedShape,
                     @Cached("cachedShape.getValidAssumption()") Assumption layoutAssumption,
                     @Cached("getLocationOrNull(cachedShape.getProperty(key))") Location loc,
+                    @Cached("canDefine(object, key)") boolean canDefine,
                     @Cached("cachedShape.defineProperty(key, value, 0)") Shape newShape,
                     @Cached("newShape.getValidAssumption()") Assumption newLayoutAssumption,
                     @Cached("getLocationOrNull(newShape.getProperty(key))") Location newLoc) {
@@ -138,6 +167,9 @@ public abstract class WriteAttributeToObjectNode extends PNode {
     @TruffleBoundary
     @Specialization(replaces = {"doDirect", "defineDirect"}, guards = {"object.getStorage().getShape().isValid()"})
     protected boolean doIndirect(PythonObject object, Object key, Object value) {
+        if (!canDefine(object, key) && !object.getStorage().containsKey(key)) {
+            return false;
+        }
         object.setAttribute(key, value);
         return true;
     }
@@ -107,13 +107,14 @@ public abstract class JoinInternalNode extends PBaseNode {
 
         StringBuilder sb = new StringBuilder();
         char[] stringList = array.getSequence();
+        int length = array.len();
 
-        for (int i = 0; i < stringList.length - 1; i++) {
-            sb.append(Character.toString(stringList[i]));
+        for (int i = 0; i < length - 1; i++) {
+            sb.append(stringList[i]);
             sb.append(string);
         }
 
-        sb.append(Character.toString(stringList[stringList.length - 1]));
+        sb.append(stringList[length - 1]);
         return sb.toString();
     }
 
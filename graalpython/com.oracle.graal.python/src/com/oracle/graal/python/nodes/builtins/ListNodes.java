@@ -59,14 +59,17 @@ import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
 import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.graal.python.runtime.sequence.storage.ListStorageFeedback;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.graal.python.runtime.sequence.storage.SequenceStoreException;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Fallback;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 
 @GenerateNodeFactory
@@ -75,19 +78,34 @@ public abstract class ListNodes {
     @ImportStatic({PGuards.class, SpecialMethodNames.class})
     public abstract static class CreateListFromIteratorNode extends PBaseNode {
 
+        /*
+         * Only replaced in copies. Until the enclosing builtin is split, all callers of e.g. the
+         * list constructor share this feedback, which is why it only ever generalizes its kind.
+         */
+        @CompilationFinal private ListStorageFeedback allocationSite = new ListStorageFeedback();
+
         public abstract PList execute(PythonClass cls, Object iterable);
 
+        @Override
+        public Node copy() {
+            // a split copy is a separate call site and learns on its own
+            CreateListFromIteratorNode copy = (CreateListFromIteratorNode) super.copy();
+            copy.allocationSite = new ListStorageFeedback();
+            return copy;
+        }
+
         @Specialization
         public PList executeGeneric(PythonClass cls, Object iterator,
                         @Cached("create()") GetNextNode next,
                         @Cached("createBinaryProfile()") ConditionProfile errorProfile) {
-            PList list = factory().createList(cls);
+            PList list = factory().createList(cls, allocationSite.createStorage());
             while (true) {
                 Object value;
                 try {
                     value = next.execute(iterator);
                 } catch (PException e) {
                     e.expectStopIteration(getCore(), errorProfile);
+                    allocationSite.recordFinal(list.getSequenceStorage());
                     return list;
                 }
                 list.append(value);
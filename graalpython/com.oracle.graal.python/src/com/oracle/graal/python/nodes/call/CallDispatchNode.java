@@ -31,6 +31,8 @@ import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.function.PythonCallable;
 import com.oracle.graal.python.builtins.objects.method.PBuiltinMethod;
 import com.oracle.graal.python.builtins.objects.method.PMethod;
+import com.oracle.graal.python.runtime.CacheStatistics;
+import com.oracle.graal.python.runtime.CacheStatistics.Event;
 import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.ImportStatic;
@@ -46,7 +48,10 @@ public abstract class CallDispatchNode extends Node {
         this.calleeName = calleeName;
     }
 
-    protected static InvokeNode createInvokeNode(PythonCallable callee) {
+    protected InvokeNode createInvokeNode(PythonCallable callee) {
+        if (CacheStatistics.isEnabled()) {
+            CacheStatistics.recordCall(this, calleeName, Event.CACHE_ENTRY);
+        }
         return InvokeNode.create(callee);
     }
 
@@ -91,6 +96,9 @@ public abstract class CallDispatchNode extends Node {
     @Specialization(replaces = {"callMethod", "callBuiltinMethod", "callFunction"})
     protected Object callGeneric(PythonCallable callee, Object[] arguments, PKeyword[] keywords,
                     @Cached("create()") GenericInvokeNode invoke) {
+        if (CacheStatistics.isEnabled()) {
+            CacheStatistics.recordCall(this, calleeName, Event.GENERIC);
+        }
         return invoke.execute(callee, arguments, keywords);
     }
 }
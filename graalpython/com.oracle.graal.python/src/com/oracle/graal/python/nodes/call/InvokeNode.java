@@ -144,13 +144,19 @@ public abstract class InvokeNode extends AbstractInvokeNode {
     @Child private ArityCheckNode arityCheck = ArityCheckNode.create();
     private final Arity arity;
     private final PythonObject globals;
+    /**
+     * The callee if its globals depend on the calling context (see
+     * {@link PFunction#hasContextGlobals()}), in which case they are looked up on every call.
+     */
+    private final PFunction contextGlobalsFunction;
     private final PCell[] closure;
     protected final boolean isBuiltin;
 
-    protected InvokeNode(CallTarget callTarget, Arity calleeArity, PythonObject globals, PCell[] closure, boolean isBuiltin) {
+    protected InvokeNode(CallTarget callTarget, Arity calleeArity, PythonObject globals, PFunction contextGlobalsFunction, PCell[] closure, boolean isBuiltin) {
         this.callNode = Truffle.getRuntime().createDirectCallNode(callTarget);
         this.arity = calleeArity;
         this.globals = globals;
+        this.contextGlobalsFunction = contextGlobalsFunction;
         this.closure = closure;
         this.isBuiltin = isBuiltin;
     }
@@ -173,7 +179,18 @@ public abstract class InvokeNode extends AbstractInvokeNode {
         if (builtin && shouldSplit(callee)) {
             callTarget = split(callTarget);
         }
-        return InvokeNodeGen.create(callTarget, getArity(callee), callee.getGlobals(), callee.getClosure(), builtin);
+        PFunction function = callee instanceof PMethod ? ((PMethod) callee).__func__() : callee instanceof PFunction ? (PFunction) callee : null;
+        if (function != null && function.hasContextGlobals()) {
+            return InvokeNodeGen.create(callTarget, getArity(callee), null, function, callee.getClosure(), builtin);
+        }
+        return InvokeNodeGen.create(callTarget, getArity(callee), callee.getGlobals(), null, callee.getClosure(), builtin);
+    }
+
+    private PythonObject getGlobals() {
+        if (contextGlobalsFunction != null) {
+            return contextGlobalsFunction.getGlobals();
+        }
+        return globals;
     }
 
     /**
@@ -206,7 +223,7 @@ public abstract class InvokeNode extends AbstractInvokeNode {
 
     @Specialization(guards = {"keywords.length == 0"})
     protected Object doNoKeywords(VirtualFrame frame, Object[] arguments, PKeyword[] keywords) {
-        PArguments.setGlobals(arguments, globals);
+        PArguments.setGlobals(arguments, getGlobals());
         PArguments.setClosure(arguments, closure);
         PArguments.setCallerFrame(arguments, getCallerFrame(frame));
         arityCheck.execute(arity, arguments, keywords);
@@ -217,7 +234,7 @@ public abstract class InvokeNode extends AbstractInvokeNode {
     protected Object doWithKeywords(VirtualFrame frame, Object[] arguments, PKeyword[] keywords,
                     @Cached("create()") ApplyKeywordsNode applyKeywords) {
         Object[] combined = applyKeywords.execute(arity, arguments, keywords);
-        PArguments.setGlobals(combined, globals);
+        PArguments.setGlobals(combined, getGlobals());
         PArguments.setClosure(combined, closure);
         PArguments.setCallerFrame(arguments, getCallerFrame(frame));
         arityCheck.execute(arity, combined, PArguments.getKeywordArguments(combined));
@@ -97,7 +97,7 @@ public abstract class GetIteratorNode extends UnaryOpNode {
         }
     }
 
-    @Specialization(guards = "iterCannotBeOverridden(value)")
+    @Specialization(guards = {"iterCannotBeOverridden(value)", "!value.isUnsigned()"})
     public PythonObject doPIntArray(PIntArray value) {
         if (PythonOptions.getOption(getContext(), PythonOptions.UnboxSequenceIteration)) {
             return factory().createIntArrayIterator(value);
@@ -106,7 +106,7 @@ public abstract class GetIteratorNode extends UnaryOpNode {
         }
     }
 
-    @Specialization(guards = "iterCannotBeOverridden(value)")
+    @Specialization(guards = {"iterCannotBeOverridden(value)", "!value.isUnsigned()"})
     public PythonObject doPLongArray(PLongArray value) {
         if (PythonOptions.getOption(getContext(), PythonOptions.UnboxSequenceIteration)) {
             return factory().createLongArrayIterator(value);
@@ -124,7 +124,7 @@ public class TopLevelExceptionHandler extends RootNode {
         PythonClass type = value.getPythonClass();
         PTraceback tb = value.getTraceback(core.factory());
 
-        PythonModule sys = core.lookupBuiltinModule("sys");
+        PythonModule sys = context.lookupBuiltinModule("sys");
         sys.setAttribute(BuiltinNames.LAST_TYPE, type);
         sys.setAttribute(BuiltinNames.LAST_VALUE, value);
         sys.setAttribute(BuiltinNames.LAST_TRACEBACK, tb);
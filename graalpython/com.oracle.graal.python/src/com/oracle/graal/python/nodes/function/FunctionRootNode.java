@@ -118,6 +118,8 @@ public class FunctionRootNode extends PClosureRootNode implements CellSupplier {
 
     @Override
     public FunctionRootNode copy() {
+        // the copy takes a snapshot of the frame descriptor, which must have all slots of the body
+        LazyFunctionBodyNode.translateIn(uninitializedBody);
         return new FunctionRootNode(getLanguage(PythonLanguage.class), getSourceSection(), functionName, isGenerator, getFrameDescriptor().shallowCopy(), uninitializedBody, executionCellSlots);
     }
 
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.nodes.function;
+
+import java.util.function.Supplier;
+
+import com.oracle.graal.python.nodes.PNode;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeUtil;
+
+/**
+ * Stands in for the body of a function that has not been translated yet and replaces itself with
+ * the translated body when the function is first called. The {@link FunctionRootNode} keeps clones
+ * of its body, so all clones share one {@link Translation} and the function is translated at most
+ * once.
+ *
+ * Translating the body adds its temporaries to the function's frame descriptor. The frame of the
+ * first call grows to the descriptor when the new slots are accessed, and {@link #translateIn} is
+ * used to complete the descriptor before a copy of it is taken, so it does not change any more
+ * once code using it runs.
+ */
+public final class LazyFunctionBodyNode extends PNode {
+    private final Translation translation;
+    private PNode translatedBody;
+
+    public LazyFunctionBodyNode(Supplier<PNode> translator) {
+        this.translation = new Translation(translator);
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        PNode body = atomic(() -> {
+            if (translatedBody == null) {
+                translatedBody = replace(NodeUtil.cloneNode(translation.get()));
+            }
+            return translatedBody;
+        });
+        return body.execute(frame);
+    }
+
+    /**
+     * Translates the deferred bodies in {@code body} if that has not happened yet.
+     */
+    public static void translateIn(Node body) {
+        for (LazyFunctionBodyNode lazyBody : NodeUtil.findAllNodeInstances(body, LazyFunctionBodyNode.class)) {
+            lazyBody.translation.get();
+        }
+    }
+
+    private static final class Translation {
+        private Supplier<PNode> translator;
+        private PNode body;
+
+        Translation(Supplier<PNode> translator) {
+            this.translator = translator;
+        }
+
+        synchronized PNode get() {
+            if (body == null) {
+                body = translator.get();
+                translator = null;
+            }
+            return body;
+        }
+    }
+}
@@ -41,20 +41,31 @@ package com.oracle.graal.python.nodes.statement;
 import static com.oracle.graal.python.nodes.BuiltinNames.GLOBALS;
 import static com.oracle.graal.python.nodes.BuiltinNames.LOCALS;
 import static com.oracle.graal.python.nodes.BuiltinNames.__IMPORT__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__SPEC__;
 
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes.GetItemNode;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.function.PFunction;
 import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.function.PythonCallable;
+import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
 import com.oracle.graal.python.nodes.call.InvokeNode;
+import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.instrumentation.StandardTags;
 import com.oracle.truffle.api.instrumentation.Tag;
 
 public abstract class AbstractImportNode extends StatementNode {
+    private static final String IMPORTLIB_MODULE = "_frozen_importlib";
+    private static final String INITIALIZING = "_initializing";
 
     @Child private InvokeNode invokeNode;
+    @Child private ReadAttributeFromObjectNode readImportNode;
+    @Child private GetItemNode getModuleNode;
+    @Child private ReadAttributeFromObjectNode readSpecNode;
+    @Child private ReadAttributeFromObjectNode readInitializingNode;
 
     public AbstractImportNode() {
         super();
@@ -80,6 +91,72 @@ public abstract class AbstractImportNode extends StatementNode {
         return __import__(name, globals, fromList, level);
     }
 
+    /**
+     * Returns the entry of {@code sys.modules} for {@code name} if the import can be satisfied
+     * without calling {@code __import__}, otherwise {@code null}. This is only the case if
+     * {@code builtins.__import__} is still the one installed by importlib, since that function
+     * does nothing else for absolute imports of already loaded modules, and if the module is not
+     * still being initialized by another thread, in which case {@code __import__} has to wait for
+     * its module lock.
+     */
+    protected Object findLoadedModule(String name) {
+        if (!getCore().isInitialized() || !isImportlibImport()) {
+            return null;
+        }
+        if (getModuleNode == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            getModuleNode = insert(GetItemNode.create());
+        }
+        Object module = getModuleNode.execute(getContext().getSysModules().getDictStorage(), name);
+        if (module == null || module == PNone.NONE || isInitializing(module)) {
+            // not loaded, or 'sys.modules[name] = None' blocks the import
+            return null;
+        }
+        return module;
+    }
+
+    private boolean isInitializing(Object module) {
+        if (readSpecNode == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            readSpecNode = insert(ReadAttributeFromObjectNode.create());
+            readInitializingNode = insert(ReadAttributeFromObjectNode.create());
+        }
+        Object spec = readSpecNode.execute(module, __SPEC__);
+        if (spec == PNone.NO_VALUE || spec == PNone.NONE) {
+            return false;
+        }
+        return readInitializingNode.execute(spec, INITIALIZING) == Boolean.TRUE;
+    }
+
+    /**
+     * The importlib function is remembered per context, since compiled code is shared between
+     * the contexts of an engine and each context runs its own copy of importlib.
+     */
+    private boolean isImportlibImport() {
+        if (readImportNode == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            readImportNode = insert(ReadAttributeFromObjectNode.create());
+        }
+        PythonContext context = getContext();
+        Object builtinImport = readImportNode.execute(context.getBuiltins(), __IMPORT__);
+        if (builtinImport == context.getImportlibImport()) {
+            return true;
+        } else if (isDefinedByImportlib(builtinImport)) {
+            context.setImportlibImport(builtinImport);
+            return true;
+        }
+        return false;
+    }
+
+    @TruffleBoundary
+    private boolean isDefinedByImportlib(Object builtinImport) {
+        if (builtinImport instanceof PFunction) {
+            PFunction function = (PFunction) builtinImport;
+            return __IMPORT__.equals(function.getName()) && function.getGlobals() == getContext().lookupBuiltinModule(IMPORTLIB_MODULE);
+        }
+        return false;
+    }
+
     Object __import__(String name, Object globals, String[] fromList, int level) {
         PFunction builtinImport = (PFunction) getContext().getBuiltins().getAttribute(__IMPORT__);
         Object[] importArguments = PArguments.create(1);
@@ -59,19 +59,40 @@ public class ImportFromNode extends AbstractImportNode {
     }
 
     @Override
-    @ExplodeLoop
     public Object execute(VirtualFrame frame) {
+        if (level == 0) {
+            Object loadedModule = findLoadedModule(importee);
+            if (loadedModule != null && writeAttributes(frame, loadedModule, false)) {
+                return PNone.NONE;
+            }
+        }
         Object globals = PArguments.getGlobals(frame);
         Object importedModule = importModule(importee, globals, fromlist, level);
+        writeAttributes(frame, importedModule, true);
+        return PNone.NONE;
+    }
+
+    /**
+     * Binds the imported names. If an attribute is missing and {@code raiseImportError} is not set,
+     * {@code false} is returned, since {@code __import__} may still have to load it as a
+     * submodule.
+     */
+    @ExplodeLoop
+    private boolean writeAttributes(VirtualFrame frame, Object importedModule, boolean raiseImportError) {
         for (int i = 0; i < fromlist.length; i++) {
             String attr = fromlist[i];
             WriteNode writeNode = aslist[i];
+            Object value;
             try {
-                writeNode.doWrite(frame, readNode.execute(importedModule, attr));
+                value = readNode.execute(importedModule, attr);
             } catch (PException e) {
-                throw raise(ImportError, "cannot import name '%s'", attr);
+                if (raiseImportError) {
+                    throw raise(ImportError, "cannot import name '%s'", attr);
+                }
+                return false;
             }
+            writeNode.doWrite(frame, value);
         }
-        return PNone.NONE;
+        return true;
     }
 }
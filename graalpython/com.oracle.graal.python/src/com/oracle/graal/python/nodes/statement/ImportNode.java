@@ -29,13 +29,27 @@ import com.oracle.truffle.api.frame.VirtualFrame;
 
 public class ImportNode extends AbstractImportNode {
     private final String moduleName;
+    private final String topLevelName;
 
     public ImportNode(String moduleName) {
         this.moduleName = moduleName;
+        int dot = moduleName.indexOf('.');
+        this.topLevelName = dot < 0 ? null : moduleName.substring(0, dot);
     }
 
     @Override
     public Object execute(VirtualFrame frame) {
+        Object module = findLoadedModule(moduleName);
+        if (module != null) {
+            // 'import a.b' evaluates to the top-level package 'a'
+            if (topLevelName == null) {
+                return module;
+            }
+            Object topLevelModule = findLoadedModule(topLevelName);
+            if (topLevelModule != null) {
+                return topLevelModule;
+            }
+        }
         return importModule(moduleName);
     }
 }
@@ -173,22 +173,22 @@ public abstract class GetItemNode extends BinaryOpNode implements ReadNode {
         return primary.getItemNormalized(normalize.forRange(idx, primary.len()));
     }
 
-    @Specialization
+    @Specialization(guards = "!primary.isUnsigned()")
     public int doPIntArray(PIntArray primary, int idx) {
         return primary.getIntItemNormalized(normalize.forArray(idx, primary.len()));
     }
 
-    @Specialization
+    @Specialization(guards = "!primary.isUnsigned()")
     public int doPIntArray(PIntArray primary, long idx) {
         return primary.getIntItemNormalized(normalize.forArray(idx, primary.len()));
     }
 
-    @Specialization
+    @Specialization(guards = "!primary.isUnsigned()")
     public long doPLongArray(PLongArray primary, int idx) {
         return primary.getLongItemNormalized(normalize.forArray(idx, primary.len()));
     }
 
-    @Specialization
+    @Specialization(guards = "!primary.isUnsigned()")
     public long doPLongArray(PLongArray primary, long idx) {
         return primary.getLongItemNormalized(normalize.forArray(idx, primary.len()));
     }
@@ -204,13 +204,18 @@ public abstract class GetItemNode extends BinaryOpNode implements ReadNode {
     }
 
     @Specialization
-    public char doPCharArray(PCharArray primary, int idx) {
-        return primary.getCharItemNormalized(normalize.forArray(idx, primary.len()));
+    public String doPCharArray(PCharArray primary, int idx) {
+        return String.valueOf(primary.getCharItemNormalized(normalize.forArray(idx, primary.len())));
     }
 
     @Specialization
-    public char doPCharArray(PCharArray primary, long idx) {
-        return primary.getCharItemNormalized(normalize.forArray(idx, primary.len()));
+    public String doPCharArray(PCharArray primary, long idx) {
+        return String.valueOf(primary.getCharItemNormalized(normalize.forArray(idx, primary.len())));
+    }
+
+    @Specialization
+    public Object doPArray(PArray primary, int idx) {
+        return primary.getItemNormalized(normalize.forArray(idx, primary.len()));
     }
 
     @Specialization
@@ -154,7 +154,7 @@ public abstract class SetItemNode extends StatementNode implements WriteNode {
     /**
      * Unboxed array stores.
      */
-    @Specialization
+    @Specialization(guards = "!primary.isUnsigned()")
     public Object doPArrayInt(PIntArray primary, int index, int value) {
         primary.setIntItemNormalized(normalize.forArrayAssign(index, primary.len()), value);
         return PNone.NONE;
@@ -172,6 +172,12 @@ public abstract class SetItemNode extends StatementNode implements WriteNode {
         return PNone.NONE;
     }
 
+    @Specialization
+    public Object doPArray(PArray primary, int index, Object value) {
+        primary.setItemNormalized(normalize.forArrayAssign(index, primary.len()), value);
+        return PNone.NONE;
+    }
+
     @Specialization
     public Object doSpecialObject(PythonObject primary, int index, Object value,
                     @Cached("create()") GetattributeNode getSetitemNode,
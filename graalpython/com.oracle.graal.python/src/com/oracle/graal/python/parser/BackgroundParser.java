@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.parser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import com.oracle.graal.python.parser.antlr.Python3Parser;
+import com.oracle.graal.python.runtime.PathEntryFinder;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.SourceDecoder;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+
+/**
+ * Parses the modules that a module is likely to import next on a pool of background threads, so
+ * that the importing thread finds the parse trees ready when it compiles them. When a module is
+ * compiled, the modules named in its import statements outside of function bodies are resolved
+ * against {@code sys.path} (or, for relative imports, against the module's package) and scheduled,
+ * as are all modules in the directory of a package's {@code __init__.py}.
+ *
+ * The background threads are not entered into the context. They read the files, decode them with
+ * {@link SourceDecoder} and run the ANTLR parse, and they list the package directories whose
+ * modules are parsed ahead, so the importing thread does no file I/O for them. Resolving import
+ * names through the cached {@link PathEntryFinder}, and scope and tree translation stay on the
+ * importing thread. A parse tree is only used if the file still has exactly the text that was
+ * parsed, and files that need the full error reporting of the parser are simply parsed again by
+ * the importing thread.
+ *
+ * A parse tree is dropped when it is taken or when it has not been taken for
+ * {@link #MAX_AGE_SECONDS}, and at most {@link #MAX_PENDING} files are queued or retained at a
+ * time. The paths that were scheduled are remembered, so that modules importing each other are
+ * parsed ahead only once.
+ */
+public final class BackgroundParser {
+    private static final String SUFFIX = ".py";
+    private static final String[] SUFFIXES = new String[]{SUFFIX};
+    private static final String INIT_FILE = "__init__" + SUFFIX;
+    /** Upper bound for the number of files queued or parsed and not yet taken. */
+    private static final int MAX_PENDING = 1024;
+    /** Time after which a parse tree that was not taken is dropped. */
+    private static final long MAX_AGE_SECONDS = 30;
+
+    private static final class ParsedFile {
+        private final String text;
+        private final ParserRuleContext tree;
+
+        ParsedFile(String text, ParserRuleContext tree) {
+            this.text = text;
+            this.tree = tree;
+        }
+    }
+
+    private final class ParseTask implements Runnable {
+        private final String path;
+        /** Set by whoever gets to the task first, the worker or the importing thread. */
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<ParsedFile> result = new CompletableFuture<>();
+
+        ParseTask(String path) {
+            this.path = path;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            ParsedFile parsed = null;
+            try {
+                String text = read(path);
+                if (text != null) {
+                    parsed = new ParsedFile(text, PythonParserImpl.parseFileInputAhead(text));
+                }
+            } catch (Throwable e) {
+                // needs the full parse, the importing thread will do it
+            } finally {
+                result.complete(parsed);
+            }
+            try {
+                executor.schedule(() -> tasks.remove(path, this), MAX_AGE_SECONDS, TimeUnit.SECONDS);
+            } catch (RejectedExecutionException e) {
+                // shut down with the context
+            }
+        }
+    }
+
+    private final Env env;
+    private final PathEntryFinder finder;
+    private final ScheduledExecutorService executor;
+    private final Map<String, ParseTask> tasks = new ConcurrentHashMap<>();
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+
+    public BackgroundParser(Env env, PathEntryFinder finder, int threads) {
+        this.env = env;
+        this.finder = finder;
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "python-background-parser");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the parse tree of the file at {@code path} if it was parsed ahead with the given
+     * text. If the file is currently being parsed, this waits for the result. If the file is
+     * still queued, the task is dropped and {@code null} is returned, since the caller parses it
+     * sooner itself.
+     */
+    @TruffleBoundary
+    ParserRuleContext take(String path, String text) {
+        ParseTask task = tasks.remove(path);
+        if (task == null || task.claimed.compareAndSet(false, true)) {
+            return null;
+        }
+        ParsedFile parsed = task.result.join();
+        if (parsed != null && parsed.text.equals(text)) {
+            return parsed.tree;
+        }
+        return null;
+    }
+
+    /**
+     * Schedules the imports of a module that the importing thread is about to compile, no matter
+     * whether it parsed it itself or took the tree. Must be called on the importing thread.
+     */
+    @TruffleBoundary
+    void parsedFile(String path, ParserRuleContext tree, String[] searchPath) {
+        scheduled.add(path);
+        scheduleImports(path, tree, searchPath);
+    }
+
+    @TruffleBoundary
+    public void shutdown() {
+        executor.shutdownNow();
+        tasks.clear();
+    }
+
+    private String read(String path) {
+        try {
+            byte[] bytes = env.getTruffleFile(path).readAllBytes();
+            return SourceDecoder.decode(bytes, bytes.length);
+        } catch (IOException | SecurityException | IllegalArgumentException e) {
+            // unreadable or of unknown encoding, the import will report it
+            return null;
+        }
+    }
+
+    private void schedule(String path) {
+        if (tasks.size() < MAX_PENDING && scheduled.add(path)) {
+            ParseTask task = new ParseTask(path);
+            tasks.put(path, task);
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                // shut down with the context
+                tasks.remove(path, task);
+            }
+        }
+    }
+
+    private void scheduleImports(String path, ParserRuleContext tree, String[] searchPath) {
+        String directory = getDirectory(path);
+        if (path.endsWith(PythonCore.FILE_SEPARATOR + INIT_FILE)) {
+            scheduleSiblings(directory);
+        }
+        List<ParserRuleContext> imports = new ArrayList<>();
+        collectImports(tree, imports);
+        for (ParserRuleContext statement : imports) {
+            if (statement instanceof Python3Parser.Import_nameContext) {
+                for (Python3Parser.Dotted_as_nameContext name : ((Python3Parser.Import_nameContext) statement).dotted_as_names().dotted_as_name()) {
+                    resolve(searchPath, getNames(name.dotted_name()), null);
+                }
+            } else {
+                scheduleImportFrom((Python3Parser.Import_fromContext) statement, directory, searchPath);
+            }
+        }
+    }
+
+    private void scheduleImportFrom(Python3Parser.Import_fromContext ctx, String directory, String[] searchPath) {
+        int level = 0;
+        for (int i = 1; i < ctx.getChildCount(); i++) {
+            String text = ctx.getChild(i).getText();
+            if (text.equals(".")) {
+                level += 1;
+            } else if (text.equals("...")) {
+                level += 3;
+            } else {
+                break;
+            }
+        }
+        List<String> fromList = new ArrayList<>();
+        if (ctx.import_as_names() != null) {
+            for (Python3Parser.Import_as_nameContext name : ctx.import_as_names().import_as_name()) {
+                fromList.add(name.NAME(0).getText());
+            }
+        }
+        List<String> names = ctx.dotted_name() != null ? getNames(ctx.dotted_name()) : new ArrayList<>();
+        if (level == 0) {
+            resolve(searchPath, names, fromList);
+        } else {
+            String base = directory;
+            for (int i = 1; i < level && base != null; i++) {
+                base = getDirectory(base);
+            }
+            if (base != null) {
+                resolve(new String[]{base}, names, fromList);
+            }
+        }
+    }
+
+    /**
+     * Schedules the packages along a dotted module name and the module itself, as well as the
+     * names of a from-list that are modules in the resulting package.
+     */
+    private void resolve(String[] directories, List<String> names, List<String> fromList) {
+        String packagePath = null;
+        if (names.isEmpty()) {
+            packagePath = directories[0];
+        } else {
+            for (String directory : directories) {
+                PathEntryFinder.Result found = finder.find(env, directory, names.get(0), SUFFIXES);
+                if (found != null) {
+                    packagePath = resolveIn(found, names);
+                    break;
+                }
+            }
+        }
+        if (packagePath != null && fromList != null) {
+            for (String name : fromList) {
+                PathEntryFinder.Result found = finder.find(env, packagePath, name, SUFFIXES);
+                if (found != null && found.suffixIndex >= 0) {
+                    schedule(found.path);
+                }
+            }
+        }
+    }
+
+    private String resolveIn(PathEntryFinder.Result first, List<String> names) {
+        PathEntryFinder.Result found = first;
+        for (int i = 1; found != null; i++) {
+            if (found.suffixIndex >= 0) {
+                schedule(found.path);
+            }
+            if (i == names.size() || found.packagePath == null) {
+                return found.packagePath;
+            }
+            found = finder.find(env, found.packagePath, names.get(i), SUFFIXES);
+        }
+        return null;
+    }
+
+    private void scheduleSiblings(String directory) {
+        try {
+            executor.execute(() -> {
+                try {
+                    for (TruffleFile file : env.getTruffleFile(directory).list()) {
+                        String name = file.getName();
+                        if (name.endsWith(SUFFIX) && !name.equals(INIT_FILE) && file.isRegularFile()) {
+                            schedule(directory + PythonCore.FILE_SEPARATOR + name);
+                        }
+                    }
+                } catch (IOException | SecurityException e) {
+                    // nothing to parse ahead
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // shut down with the context
+        }
+    }
+
+    /**
+     * Collects the import statements that are executed when the module is, i.e. all but those in
+     * function bodies.
+     */
+    private static void collectImports(ParseTree tree, List<ParserRuleContext> imports) {
+        if (tree instanceof Python3Parser.Import_nameContext || tree instanceof Python3Parser.Import_fromContext) {
+            imports.add((ParserRuleContext) tree);
+        } else if (tree instanceof ParserRuleContext && !(tree instanceof Python3Parser.FuncdefContext)) {
+            for (int i = 0; i < tree.getChildCount(); i++) {
+                collectImports(tree.getChild(i), imports);
+            }
+        }
+    }
+
+    private static List<String> getNames(Python3Parser.Dotted_nameContext ctx) {
+        List<String> names = new ArrayList<>();
+        for (TerminalNode name : ctx.NAME()) {
+            names.add(name.getText());
+        }
+        return names;
+    }
+
+    private static String getDirectory(String path) {
+        int index = path.lastIndexOf(PythonCore.FILE_SEPARATOR);
+        return index > 0 ? path.substring(0, index) : null;
+    }
+}
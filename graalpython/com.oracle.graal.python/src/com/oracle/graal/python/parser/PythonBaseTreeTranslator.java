@@ -44,6 +44,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.Token;
@@ -85,6 +86,7 @@ import com.oracle.graal.python.nodes.function.FunctionDefinitionNode;
 import com.oracle.graal.python.nodes.function.FunctionRootNode;
 import com.oracle.graal.python.nodes.function.GeneratorExpressionNode;
 import com.oracle.graal.python.nodes.function.GeneratorFunctionDefinitionNode;
+import com.oracle.graal.python.nodes.function.LazyFunctionBodyNode;
 import com.oracle.graal.python.nodes.literal.LiteralNode;
 import com.oracle.graal.python.nodes.literal.StarredExpressionNode;
 import com.oracle.graal.python.nodes.literal.StringLiteralNode;
@@ -113,9 +115,29 @@ public abstract class PythonBaseTreeTranslator<T> extends Python3BaseVisitor<Obj
     protected final AssignmentTranslator assigns;
     protected final Source source;
     protected final String name;
+    private final boolean lazyFunctionBodies;
+    /**
+     * The qualified name of the function whose detached body is translated, followed by
+     * {@code <locals>}, or {@code null} if the whole parse tree is translated.
+     */
+    private final String qualnamePrefix;
 
     public PythonBaseTreeTranslator(PythonCore core, String name, TranslationEnvironment environment, Source source) {
+        this(core, name, environment, source, false);
+    }
+
+    /**
+     * @param lazyFunctionBodies translate the bodies of functions that are not generators only when
+     *            they are first called
+     */
+    public PythonBaseTreeTranslator(PythonCore core, String name, TranslationEnvironment environment, Source source, boolean lazyFunctionBodies) {
+        this(core, name, environment, source, lazyFunctionBodies, null);
+    }
+
+    private PythonBaseTreeTranslator(PythonCore core, String name, TranslationEnvironment environment, Source source, boolean lazyFunctionBodies, String qualnamePrefix) {
         this.name = name;
+        this.lazyFunctionBodies = lazyFunctionBodies;
+        this.qualnamePrefix = qualnamePrefix;
         this.core = core;
         this.source = source;
         this.factory = core.getLanguage().getNodeFactory();
@@ -1356,12 +1378,17 @@ public abstract class PythonBaseTreeTranslator<T> extends Python3BaseVisitor<Obj
         /**
          * Function body
          */
-        List<PNode> bodyNodes = asList(ctx.suite().accept(this));
-        PNode doc = null;
-        if (bodyNodes.size() > 0 && bodyNodes.get(0) instanceof StringLiteralNode) {
-            doc = bodyNodes.remove(0);
+        PNode doc;
+        PNode body;
+        ScopeInfo scope = environment.getCurrentScope();
+        if (lazyFunctionBodies && !scope.containsYield()) {
+            doc = translateDocString(ctx.suite());
+            body = new LazyFunctionBodyNode(deferFunctionBody(core, name, source, environment.createDeferred(scope, ctx.suite()), scope, ctx.suite(), calculateLocalsQualname(ctx)));
+        } else {
+            List<PNode> bodyNodes = asList(ctx.suite().accept(this));
+            doc = removeDocString(bodyNodes);
+            body = asBlockOrPNode(bodyNodes);
         }
-        PNode body = asBlockOrPNode(bodyNodes);
 
         body = factory.createBlock(argumentLoads, body);
         body = new ReturnTargetNode(body, factory.createReadLocal(environment.getReturnSlot()));
@@ -1405,6 +1432,73 @@ public abstract class PythonBaseTreeTranslator<T> extends Python3BaseVisitor<Obj
         }
     }
 
+    private static PNode removeDocString(List<PNode> bodyNodes) {
+        if (bodyNodes.size() > 0 && bodyNodes.get(0) instanceof StringLiteralNode) {
+            return bodyNodes.remove(0);
+        }
+        return null;
+    }
+
+    /**
+     * Translates only the doc string of a function whose body is translated later. The first
+     * statement is a doc string if it consists of nothing but string literals, so it is found by
+     * descending through the rules with a single child down to the atom.
+     */
+    private PNode translateDocString(Python3Parser.SuiteContext suite) {
+        ParseTree node = suite.simple_stmt() != null ? suite.simple_stmt() : suite.stmt(0);
+        while (node instanceof ParserRuleContext && !(node instanceof Python3Parser.AtomContext)) {
+            if (node instanceof Python3Parser.Simple_stmtContext) {
+                node = ((Python3Parser.Simple_stmtContext) node).small_stmt(0);
+            } else if (node.getChildCount() == 1) {
+                node = node.getChild(0);
+            } else {
+                return null;
+            }
+        }
+        if (node instanceof Python3Parser.AtomContext && !((Python3Parser.AtomContext) node).STRING().isEmpty()) {
+            Object doc = node.accept(this);
+            return doc instanceof StringLiteralNode ? (PNode) doc : null;
+        }
+        return null;
+    }
+
+    /**
+     * Captures only what the body of a function needs to be translated later: its subtree, which
+     * is detached from the rest of the parse tree, and an environment that knows nothing but the
+     * scopes around and inside it. The module's parse tree, its environment and this translator
+     * can thus be collected once the module is translated. Static, so that the translator is not
+     * captured by accident.
+     */
+    private static Supplier<PNode> deferFunctionBody(PythonCore core, String name, Source source, TranslationEnvironment environment, ScopeInfo scope, Python3Parser.SuiteContext suite,
+                    String qualnamePrefix) {
+        suite.parent = null;
+        return () -> new DeferredBodyTranslator(core, name, environment, source, qualnamePrefix, scope, suite).getTranslationResult();
+    }
+
+    /**
+     * Translates the body of a single function in the scope it was deferred in.
+     */
+    private static final class DeferredBodyTranslator extends PythonBaseTreeTranslator<PNode> {
+        private final PNode body;
+
+        DeferredBodyTranslator(PythonCore core, String name, TranslationEnvironment environment, Source source, String qualnamePrefix, ScopeInfo scope, Python3Parser.SuiteContext suite) {
+            super(core, name, environment, source, true, qualnamePrefix);
+            environment.enterDeferredScope(scope);
+            try {
+                List<PNode> bodyNodes = asList(suite.accept(this));
+                removeDocString(bodyNodes);
+                this.body = asBlockOrPNode(bodyNodes);
+            } finally {
+                environment.exitDeferredScope();
+            }
+        }
+
+        @Override
+        public PNode getTranslationResult() {
+            return body;
+        }
+    }
+
     public PNode visitArgs(ParserRuleContext ctx) {
         if (ctx == null) {
             return EmptyNode.create();
@@ -1606,12 +1700,24 @@ public abstract class PythonBaseTreeTranslator<T> extends Python3BaseVisitor<Obj
         }
     }
 
-    private static String calculateQualname(Python3Parser.ClassdefContext ctx) {
-        String className = ctx.NAME().getText();
-        ParserRuleContext parent = ctx.getParent();
+    private String calculateQualname(Python3Parser.ClassdefContext ctx) {
+        Deque<String> stack = new ArrayDeque<>();
+        stack.push(ctx.NAME().getText());
+        pushEnclosingFunctions(ctx.getParent(), stack);
+        return String.join(".", stack);
+    }
+
+    /**
+     * The prefix of the qualified names of classes defined in the body of {@code ctx}.
+     */
+    private String calculateLocalsQualname(Python3Parser.FuncdefContext ctx) {
         Deque<String> stack = new ArrayDeque<>();
-        stack.push(className);
+        pushEnclosingFunctions(ctx, stack);
+        return String.join(".", stack);
+    }
 
+    private void pushEnclosingFunctions(ParserRuleContext ctx, Deque<String> stack) {
+        ParserRuleContext parent = ctx;
         while (parent != null) {
             if (parent instanceof Python3Parser.FuncdefContext) {
                 Python3Parser.FuncdefContext funcdefContext = (Python3Parser.FuncdefContext) parent;
@@ -1621,8 +1727,10 @@ public abstract class PythonBaseTreeTranslator<T> extends Python3BaseVisitor<Obj
 
             parent = parent.getParent();
         }
-
-        return String.join(".", stack);
+        if (qualnamePrefix != null) {
+            // the body being translated is detached from the functions enclosing it
+            stack.push(qualnamePrefix);
+        }
     }
 
     @Override
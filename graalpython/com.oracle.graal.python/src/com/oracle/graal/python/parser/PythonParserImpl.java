@@ -27,22 +27,33 @@ package com.oracle.graal.python.parser;
 
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.SyntaxError;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.function.Function;
 
-import org.antlr.v4.runtime.CharStreams;
-import org.antlr.v4.runtime.CodePointCharStream;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 
 import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.str.PString;
 import com.oracle.graal.python.nodes.PNode;
 import com.oracle.graal.python.parser.antlr.Builder;
 import com.oracle.graal.python.parser.antlr.Python3Parser;
+import com.oracle.graal.python.parser.antlr.SourceCharStream;
 import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.PythonParseResult;
 import com.oracle.graal.python.runtime.PythonParser;
+import com.oracle.graal.python.runtime.StartupProfile;
+import com.oracle.graal.python.runtime.StartupProfile.Phase;
 import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.frame.Frame;
@@ -54,8 +65,8 @@ import com.oracle.truffle.api.source.SourceSection;
 public final class PythonParserImpl implements PythonParser {
     private static final Map<String, ParserRuleContext> cachedParseTrees = new HashMap<>();
 
-    private static Python3Parser getPython3Parser(CodePointCharStream fromString) {
-        Python3Parser parser = new Builder.Parser(fromString).build();
+    private static Python3Parser getPython3Parser(CharStream input) {
+        Python3Parser parser = new Builder.Parser(input).build();
         parser.setErrorHandler(new PythonErrorStrategy());
         return parser;
     }
@@ -66,31 +77,58 @@ public final class PythonParserImpl implements PythonParser {
         return parser;
     }
 
+    /**
+     * Parses with SLL prediction first, which is considerably faster and sufficient for almost all
+     * valid input. Only if that fails, the tokens are rewound and the rule is parsed again with
+     * full LL prediction and the usual error reporting, so syntax errors are still detected and
+     * reported exactly as before.
+     */
+    private static ParserRuleContext parseTwoStage(Python3Parser parser, Function<Python3Parser, ParserRuleContext> rule) {
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.setErrorHandler(new BailErrorStrategy());
+        try {
+            return rule.apply(parser);
+        } catch (ParseCancellationException e) {
+            parser.reset();
+            parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+            parser.setErrorHandler(new PythonErrorStrategy());
+            return rule.apply(parser);
+        }
+    }
+
+    /**
+     * Returns the last two segments of the source's path, which is used as the name of the
+     * character stream and to identify the core files.
+     */
+    private static String getFileDirAndName(Source source) {
+        String path = source.getURI().toString();
+        int nameStart = path.lastIndexOf(PythonCore.FILE_SEPARATOR);
+        int dirStart = nameStart > 0 ? path.lastIndexOf(PythonCore.FILE_SEPARATOR, nameStart - 1) : -1;
+        return path.substring(dirStart + 1);
+    }
+
     @TruffleBoundary
     private static ParserRuleContext preParseWithAntlr(PythonCore core, Source source) {
-        String path = source.getURI().toString();
-        String[] pathParts = path.split(Pattern.quote(PythonCore.FILE_SEPARATOR));
-        String fileDirAndName = pathParts[pathParts.length - 2] + PythonCore.FILE_SEPARATOR + pathParts[pathParts.length - 1];
-        CodePointCharStream fromString = CharStreams.fromString(source.getCharacters().toString(), fileDirAndName);
-        Python3Parser parser = getPython3Parser(fromString);
+        String fileDirAndName = getFileDirAndName(source);
         ParserRuleContext input;
         if (!core.isInitialized()) {
             input = cachedParseTrees.get(fileDirAndName);
             if (input == null) {
-                input = parser.file_input();
+                input = parseTwoStage(getPython3Parser(SourceCharStream.create(source.getCharacters(), fileDirAndName)), Python3Parser::file_input);
                 cachedParseTrees.put(fileDirAndName, input);
             }
         } else {
+            Python3Parser parser = getPython3Parser(SourceCharStream.create(source.getCharacters(), fileDirAndName));
             try {
                 if (source.isInteractive()) {
-                    input = parser.single_input();
+                    input = parseTwoStage(parser, Python3Parser::single_input);
                 } else {
-                    input = parser.file_input();
+                    input = parseTwoStage(parser, Python3Parser::file_input);
                 }
             } catch (Throwable e) {
                 try {
                     parser.reset();
-                    input = parser.eval_input();
+                    input = parseTwoStage(parser, Python3Parser::eval_input);
                 } catch (Throwable e2) {
                     if (source.isInteractive() && e instanceof PIncompleteSourceException) {
                         ((PIncompleteSourceException) e).setSource(source);
@@ -106,14 +144,14 @@ public final class PythonParserImpl implements PythonParser {
 
     @TruffleBoundary
     private static ParserRuleContext preParseInlineWithAntlr(PythonCore core, Source source) {
-        Python3Parser parser = getPython3Parser(source.getCharacters().toString());
+        Python3Parser parser = getPython3Parser(SourceCharStream.create(source.getCharacters()));
         ParserRuleContext input;
         try {
-            input = parser.single_input();
+            input = parseTwoStage(parser, Python3Parser::single_input);
         } catch (Throwable e) {
             try {
                 parser.reset();
-                input = parser.eval_input();
+                input = parseTwoStage(parser, Python3Parser::eval_input);
             } catch (Throwable e2) {
                 Node location = getLocation(source, PythonErrorStrategy.getLine(e));
                 throw core.raise(SyntaxError, location, e.getMessage());
@@ -139,7 +177,13 @@ public final class PythonParserImpl implements PythonParser {
     @Override
     @TruffleBoundary
     public PythonParseResult parse(PythonCore core, Source source) {
-        return translateParseResult(core, source.getName(), preParseWithAntlr(core, source), source);
+        long start = StartupProfile.start();
+        ParserRuleContext input = preParseWithAntlr(core, source);
+        start = StartupProfile.record(source.getName(), Phase.PARSE, start);
+        boolean lazyFunctionBodies = !source.isInteractive() && PythonOptions.getOption(PythonLanguage.getContext(), PythonOptions.LazyTranslation);
+        PythonParseResult result = translateParseResult(core, source.getName(), input, source, null, lazyFunctionBodies);
+        StartupProfile.record(source.getName(), Phase.TRANSLATE, start);
+        return result;
     }
 
     @Override
@@ -154,7 +198,7 @@ public final class PythonParserImpl implements PythonParser {
         Python3Parser parser = getPython3Parser(expression);
         ParserRuleContext input;
         try {
-            input = parser.eval_input();
+            input = parseTwoStage(parser, Python3Parser::eval_input);
         } catch (Throwable e) {
             throw handleParserError(core, e);
         }
@@ -166,24 +210,62 @@ public final class PythonParserImpl implements PythonParser {
     @Override
     @TruffleBoundary
     public PythonParseResult parseExec(PythonCore core, String expression, String filename) {
-        Python3Parser parser = getPython3Parser(expression);
-        ParserRuleContext input;
-        try {
-            input = parser.file_input();
-        } catch (Throwable e) {
-            throw handleParserError(core, e);
+        BackgroundParser backgroundParser = filename.endsWith(PythonLanguage.EXTENSION) ? PythonLanguage.getContext().getBackgroundParser() : null;
+        ParserRuleContext input = backgroundParser != null ? backgroundParser.take(filename, expression) : null;
+        if (input == null) {
+            try {
+                input = parseFileInput(expression);
+            } catch (Throwable e) {
+                throw handleParserError(core, e);
+            }
+        }
+        if (backgroundParser != null) {
+            backgroundParser.parsedFile(filename, input, getSearchPath());
         }
         Source source = Source.newBuilder(expression).name(filename).mimeType(PythonLanguage.MIME_TYPE).build();
         return translateParseResult(core, filename, input, source);
     }
 
+    static ParserRuleContext parseFileInput(String text) {
+        return parseTwoStage(getPython3Parser(text), Python3Parser::file_input);
+    }
+
+    /**
+     * Only the first, SLL stage of {@link #parseFileInput}, which does not need the error
+     * reporting of {@link PythonErrorStrategy} and can therefore run on a thread that has not
+     * entered the context. Throws if the text needs the second stage.
+     */
+    static ParserRuleContext parseFileInputAhead(String text) {
+        Python3Parser parser = new Builder.Parser(text).build();
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.setErrorHandler(new BailErrorStrategy());
+        return parser.file_input();
+    }
+
+    private static String[] getSearchPath() {
+        Object path = PythonLanguage.getContext().lookupBuiltinModule("sys").getAttribute("path");
+        List<String> entries = new ArrayList<>();
+        if (path instanceof PList) {
+            SequenceStorage storage = ((PList) path).getSequenceStorage();
+            for (int i = 0; i < storage.length(); i++) {
+                Object entry = storage.getItemNormalized(i);
+                if (entry instanceof String) {
+                    entries.add((String) entry);
+                } else if (entry instanceof PString) {
+                    entries.add(((PString) entry).getValue());
+                }
+            }
+        }
+        return entries.toArray(new String[entries.size()]);
+    }
+
     @Override
     @TruffleBoundary
     public PythonParseResult parseSingle(PythonCore core, String expression, String filename) {
         Python3Parser parser = getPython3Parser(expression);
         ParserRuleContext input;
         try {
-            input = parser.single_input();
+            input = parseTwoStage(parser, Python3Parser::single_input);
         } catch (Throwable e) {
             throw handleParserError(core, e);
         }
@@ -209,16 +291,20 @@ public final class PythonParserImpl implements PythonParser {
     }
 
     private static PythonParseResult translateParseResult(PythonCore core, String name, ParserRuleContext input, Source source) {
-        return translateParseResult(core, name, input, source, null);
+        return translateParseResult(core, name, input, source, null, false);
     }
 
     private static PythonParseResult translateParseResult(PythonCore core, String name, ParserRuleContext input, Source source, Frame frame) {
+        return translateParseResult(core, name, input, source, frame, false);
+    }
+
+    private static PythonParseResult translateParseResult(PythonCore core, String name, ParserRuleContext input, Source source, Frame frame, boolean lazyFunctionBodies) {
         TranslationEnvironment environment = new TranslationEnvironment(core.getLanguage());
         ScopeTranslator.accept(input, environment,
                         (env, trackCells) -> new ScopeTranslator<>(core, env, source.isInteractive(), trackCells),
                         (env) -> env.setFreeVarsInRootScope(frame));
 
-        PythonTreeTranslator treeTranslator = new PythonTreeTranslator(core, name, input, environment, source);
+        PythonTreeTranslator treeTranslator = new PythonTreeTranslator(core, name, input, environment, source, lazyFunctionBodies);
         return treeTranslator.getTranslationResult();
     }
 
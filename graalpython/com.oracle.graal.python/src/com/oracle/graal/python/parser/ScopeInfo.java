@@ -75,6 +75,12 @@ public class ScopeInfo {
     private List<PNode> defaultArgumentNodes;
     private ReadDefaultArgumentNode[] defaultArgumentReads;
 
+    /**
+     * Set by the scope translator if a yield expression appears directly in this scope, so it is
+     * known to be a generator before its body is translated.
+     */
+    private boolean containsYield;
+
     public ScopeInfo(String scopeId, ScopeKind kind, FrameDescriptor frameDescriptor, ScopeInfo parent) {
         this.scopeId = scopeId;
         this.scopeKind = kind;
@@ -103,6 +109,14 @@ public class ScopeInfo {
         scopeKind = ScopeKind.Generator;
     }
 
+    public void setContainsYield() {
+        containsYield = true;
+    }
+
+    public boolean containsYield() {
+        return containsYield;
+    }
+
     public FrameDescriptor getFrameDescriptor() {
         return frameDescriptor;
     }
@@ -25,6 +25,8 @@
  */
 package com.oracle.graal.python.parser;
 
+import static com.oracle.graal.python.nodes.BuiltinNames.SUPER;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Stack;
@@ -385,4 +387,29 @@ public class ScopeTranslator<T> extends Python3BaseVisitor<T> {
         }
         return super.visitAtom(ctx);
     }
+
+    @Override
+    public T visitYield_expr(Python3Parser.Yield_exprContext ctx) {
+        environment.registerYield();
+        return super.visitYield_expr(ctx);
+    }
+
+    @Override
+    public T visitAtom_expr(Python3Parser.Atom_exprContext ctx) {
+        if (trackCells && isSuperCallWithoutArguments(ctx)) {
+            // the __class__ cell has to be known when the class body is translated, which may be
+            // before the body of the method is
+            environment.registerSpecialClassCellVar();
+        }
+        return super.visitAtom_expr(ctx);
+    }
+
+    private static boolean isSuperCallWithoutArguments(Python3Parser.Atom_exprContext ctx) {
+        TerminalNode name = ctx.atom().NAME();
+        if (name == null || !SUPER.equals(name.getText()) || ctx.trailer().isEmpty()) {
+            return false;
+        }
+        Python3Parser.TrailerContext call = ctx.trailer(0);
+        return call.NAME() == null && call.subscriptlist() == null && call.arglist() == null;
+    }
 }
@@ -35,6 +35,7 @@ import java.util.Map;
 import java.util.function.Function;
 
 import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ParseTree;
 
 import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.objects.cell.PCell;
@@ -65,7 +66,11 @@ public class TranslationEnvironment implements CellFrameSlotSupplier {
     private int listComprehensionSlotCounter = 0;
 
     public TranslationEnvironment(PythonLanguage language) {
-        this.factory = language.getNodeFactory();
+        this(language.getNodeFactory());
+    }
+
+    private TranslationEnvironment(NodeFactory factory) {
+        this.factory = factory;
         scopeInfos = new HashMap<>();
     }
 
@@ -101,6 +106,59 @@ public class TranslationEnvironment implements CellFrameSlotSupplier {
         currentScope = currentScope.getParent();
     }
 
+    public ScopeInfo getCurrentScope() {
+        return currentScope;
+    }
+
+    /**
+     * Creates the environment in which the body of a function is translated when it is first
+     * called. It shares the scopes of the function and its enclosing scopes, whose frame slots
+     * were all created by the scope pass, and knows the scopes nested in {@code body}, but none of
+     * the rest of the parse tree.
+     */
+    public TranslationEnvironment createDeferred(ScopeInfo scope, ParseTree body) {
+        TranslationEnvironment deferred = new TranslationEnvironment(factory);
+        ScopeInfo root = scope;
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        deferred.globalScope = root;
+        addNestedScopes(body, deferred.scopeInfos);
+        return deferred;
+    }
+
+    private void addNestedScopes(ParseTree tree, Map<ParserRuleContext, ScopeInfo> nestedScopes) {
+        ScopeInfo info = scopeInfos.get(tree);
+        if (info != null) {
+            nestedScopes.put((ParserRuleContext) tree, info);
+        }
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            ParseTree child = tree.getChild(i);
+            if (child instanceof ParserRuleContext) {
+                addNestedScopes(child, nestedScopes);
+            }
+        }
+    }
+
+    /**
+     * Makes a scope of an already translated tree the current one again, so that the body of a
+     * function can be translated when it is first called. Must be followed by
+     * {@link #exitDeferredScope()}.
+     */
+    public void enterDeferredScope(ScopeInfo scope) {
+        assert currentScope == null : "deferred translation while the tree is translated";
+        currentScope = scope;
+        scopeLevel = 0;
+        for (ScopeInfo s = scope; s != null; s = s.getParent()) {
+            scopeLevel++;
+        }
+    }
+
+    public void exitDeferredScope() {
+        currentScope = null;
+        scopeLevel = 0;
+    }
+
     public boolean atModuleLevel() {
         assert scopeLevel > 0;
         return scopeLevel == 1;
@@ -119,6 +177,10 @@ public class TranslationEnvironment implements CellFrameSlotSupplier {
         currentScope.setAsGenerator();
     }
 
+    public void registerYield() {
+        currentScope.setContainsYield();
+    }
+
     public boolean isInModuleScope() {
         return getScopeKind() == ScopeInfo.ScopeKind.Module;
     }
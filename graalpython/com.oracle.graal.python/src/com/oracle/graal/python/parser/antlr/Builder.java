@@ -40,7 +40,6 @@ package com.oracle.graal.python.parser.antlr;
 
 import org.antlr.v4.runtime.ANTLRErrorListener;
 import org.antlr.v4.runtime.CharStream;
-import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 
 public final class Builder {
@@ -56,7 +55,7 @@ public final class Builder {
         private Python3Lexer lexer;
 
         public Lexer(String input) {
-            this(CharStreams.fromString(input));
+            this(SourceCharStream.create(input));
         }
 
         public Lexer(CharStream input) {
@@ -81,7 +80,7 @@ public final class Builder {
         private Python3Parser parser;
 
         public Parser(String input) {
-            this(CharStreams.fromString(input));
+            this(SourceCharStream.create(input));
         }
 
         public Parser(CharStream input) {
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.parser.antlr;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+
+/**
+ * A {@link CharStream} reading directly from the characters of a source, instead of copying them
+ * into a code point buffer like {@link CharStreams#fromString}. The lexer consumes code points, so
+ * this is only possible as long as the text contains no surrogate pairs, which are rare in Python
+ * code. Otherwise {@link #create} falls back to a copying stream.
+ */
+public final class SourceCharStream implements CharStream {
+    private final CharSequence chars;
+    private final int size;
+    private final String name;
+    private int index;
+
+    private SourceCharStream(CharSequence chars, String name) {
+        this.chars = chars;
+        this.size = chars.length();
+        this.name = name;
+    }
+
+    public static CharStream create(CharSequence chars, String name) {
+        String sourceName = name == null || name.isEmpty() ? IntStream.UNKNOWN_SOURCE_NAME : name;
+        for (int i = 0; i < chars.length(); i++) {
+            if (Character.isSurrogate(chars.charAt(i))) {
+                return CharStreams.fromString(chars.toString(), sourceName);
+            }
+        }
+        return new SourceCharStream(chars, sourceName);
+    }
+
+    public static CharStream create(CharSequence chars) {
+        return create(chars, null);
+    }
+
+    @Override
+    public void consume() {
+        if (index >= size) {
+            assert LA(1) == IntStream.EOF;
+            throw new IllegalStateException("cannot consume EOF");
+        }
+        index++;
+    }
+
+    @Override
+    public int LA(int i) {
+        int offset;
+        if (i > 0) {
+            offset = index + i - 1;
+        } else if (i < 0) {
+            offset = index + i;
+        } else {
+            // undefined
+            return 0;
+        }
+        if (offset < 0 || offset >= size) {
+            return IntStream.EOF;
+        }
+        return chars.charAt(offset);
+    }
+
+    @Override
+    public int mark() {
+        return -1;
+    }
+
+    @Override
+    public void release(int marker) {
+    }
+
+    @Override
+    public int index() {
+        return index;
+    }
+
+    @Override
+    public void seek(int newIndex) {
+        index = Math.min(newIndex, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String getSourceName() {
+        return name;
+    }
+
+    @Override
+    public String getText(Interval interval) {
+        int start = Math.min(interval.a, size);
+        int stop = Math.min(interval.b + 1, size);
+        if (stop <= start) {
+            return "";
+        }
+        return chars.subSequence(start, stop).toString();
+    }
+
+    @Override
+    public String toString() {
+        return chars.toString();
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2017, 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.type.PythonClass;
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameInstance;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.SourceSection;
+
+/**
+ * Collects per source location counts of inline cache entries, fallbacks to generic
+ * specializations, class lookup invalidations and sequence storage generalizations. Enabled with
+ * the {@link PythonOptions#CacheStatistics} option and dumped when the context is finalized.
+ *
+ * Each context that enabled the option owns its statistics, and events are recorded for the
+ * context that is current on the recording thread. Whether any context enabled the option is
+ * checked through an assumption so that the recording calls fold away otherwise.
+ */
+public final class CacheStatistics {
+
+    public enum Event {
+        CACHE_ENTRY("entries"),
+        GENERIC("generic"),
+        INVALIDATION("invalidations"),
+        GENERALIZATION("generalizations");
+
+        private final String label;
+
+        Event(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final Assumption disabled = Truffle.getRuntime().createAssumption("cache statistics disabled");
+    private final Map<String, Site> sites = new HashMap<>();
+    private final boolean json;
+
+    private static final class Site {
+        private final String location;
+        private final String kind;
+        private final long[] counts = new long[Event.values().length];
+
+        private Site(String location, String kind) {
+            this.location = location;
+            this.kind = kind;
+        }
+
+        private long total() {
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            return total;
+        }
+
+        private long weight() {
+            // generic fallbacks and invalidations are what makes code slow
+            return counts[Event.GENERIC.ordinal()] + counts[Event.INVALIDATION.ordinal()] + counts[Event.GENERALIZATION.ordinal()];
+        }
+    }
+
+    public static boolean isEnabled() {
+        return !disabled.isValid();
+    }
+
+    private CacheStatistics(boolean json) {
+        this.json = json;
+    }
+
+    /**
+     * Creates the statistics of a context that enabled the option.
+     *
+     * @param format the value of the option, {@code "table"} or {@code "json"}
+     * @throws IllegalArgumentException if the format is not known
+     */
+    @TruffleBoundary
+    public static CacheStatistics create(String format) {
+        if (!"table".equals(format) && !"json".equals(format)) {
+            throw new IllegalArgumentException(String.format("invalid value '%s' for option CacheStatistics, expected 'table' or 'json'", format));
+        }
+        disabled.invalidate();
+        return new CacheStatistics("json".equals(format));
+    }
+
+    private static CacheStatistics current() {
+        PythonContext context;
+        try {
+            context = PythonLanguage.getContext();
+        } catch (IllegalStateException e) {
+            // no context is entered on this thread
+            return null;
+        }
+        return context != null ? context.getCacheStatistics() : null;
+    }
+
+    /**
+     * Records an event for the inline cache of {@code node}. The location is the closest enclosing
+     * source section or, if there is none, the name of the root node.
+     */
+    @TruffleBoundary
+    public static void record(Node node, String kind, Event event) {
+        record(getLocation(node), kind, event);
+    }
+
+    @TruffleBoundary
+    public static void recordCall(Node node, String calleeName, Event event) {
+        record(getLocation(node), "call " + calleeName, event);
+    }
+
+    @TruffleBoundary
+    public static void recordInvalidation(PythonClass klass, Object attributeName) {
+        record(klass.toString(), "lookup of '" + attributeName + "'", Event.INVALIDATION);
+    }
+
+    /**
+     * Records a storage generalization. Storages do not know where they are used, so the location
+     * is the function that is currently executing, i.e., the one that stored the value the storage
+     * had to be generalized for.
+     */
+    @TruffleBoundary
+    public static void recordGeneralization(Object from, Object to) {
+        String location = "<unknown>";
+        FrameInstance current = Truffle.getRuntime().getCurrentFrame();
+        if (current != null && current.getCallTarget() instanceof RootCallTarget) {
+            location = getLocation(((RootCallTarget) current.getCallTarget()).getRootNode());
+        } else if (current != null) {
+            location = current.getCallTarget().toString();
+        }
+        record(location, from.getClass().getSimpleName() + " -> " + to.getClass().getSimpleName(), Event.GENERALIZATION);
+    }
+
+    private static void record(String location, String kind, Event event) {
+        CacheStatistics statistics = current();
+        if (statistics != null) {
+            statistics.add(location, kind, event);
+        }
+    }
+
+    private void add(String location, String kind, Event event) {
+        String key = location + "\0" + kind;
+        synchronized (sites) {
+            Site site = sites.get(key);
+            if (site == null) {
+                site = new Site(location, kind);
+                sites.put(key, site);
+            }
+            site.counts[event.ordinal()]++;
+        }
+    }
+
+    private static String getLocation(Node node) {
+        SourceSection section = node.getEncapsulatingSourceSection();
+        if (section != null && section.isAvailable()) {
+            return section.getSource().getName() + ":" + section.getStartLine();
+        }
+        RootNode root = node.getRootNode();
+        if (root != null) {
+            return root.getName();
+        }
+        return "<unknown>";
+    }
+
+    private List<Site> sortedSites() {
+        List<Site> result;
+        synchronized (sites) {
+            result = new ArrayList<>(sites.values());
+        }
+        Collections.sort(result, (a, b) -> {
+            int cmp = Long.compare(b.weight(), a.weight());
+            return cmp != 0 ? cmp : Long.compare(b.total(), a.total());
+        });
+        return result;
+    }
+
+    /**
+     * Writes the collected statistics either as a JSON array or as a summary table to the given
+     * stream, depending on the format they were created with.
+     */
+    @TruffleBoundary
+    public void dump(OutputStream out) {
+        StringBuilder sb = new StringBuilder();
+        List<Site> result = sortedSites();
+        if (json) {
+            sb.append("[");
+            for (int i = 0; i < result.size(); i++) {
+                Site site = result.get(i);
+                sb.append(i == 0 ? "\n" : ",\n");
+                sb.append("  {\"location\": ").append(quote(site.location));
+                sb.append(", \"kind\": ").append(quote(site.kind));
+                for (Event event : Event.values()) {
+                    sb.append(", \"").append(event.label).append("\": ").append(site.counts[event.ordinal()]);
+                }
+                sb.append("}");
+            }
+            sb.append("\n]\n");
+        } else {
+            sb.append(String.format("%-50s %-40s", "location", "kind"));
+            for (Event event : Event.values()) {
+                sb.append(String.format(" %15s", event.label));
+            }
+            sb.append('\n');
+            for (Site site : result) {
+                sb.append(String.format("%-50s %-40s", site.location, site.kind));
+                for (Event event : Event.values()) {
+                    sb.append(String.format(" %15d", site.counts[event.ordinal()]));
+                }
+                sb.append('\n');
+            }
+        }
+        try {
+            out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        } catch (IOException e) {
+            // ignore, this is only diagnostic output
+        }
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.math.BigInteger;
+
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Parses integer literals as accepted by {@code int(x, base)} directly from a {@link String} or
+ * from a {@code byte[]} (interpreted as ASCII), optionally restricted to a subrange. Surrounding
+ * whitespace, a sign, a base prefix and single underscores between digits are accepted. The result
+ * is an {@link Integer}, {@link Long} or {@link BigInteger} depending on the number of digits, or
+ * {@code null} if the input is not a valid literal; no exceptions are used for control flow.
+ */
+public final class IntegerParser {
+
+    /** The number of digits in the given base that always fit into a positive long. */
+    @CompilationFinal(dimensions = 1) private static final int[] SAFE_DIGITS = new int[37];
+
+    static {
+        for (int base = 2; base <= 36; base++) {
+            int n = 0;
+            long limit = Long.MAX_VALUE;
+            while (limit >= base) {
+                limit /= base;
+                n++;
+            }
+            SAFE_DIGITS[base] = n;
+        }
+    }
+
+    private IntegerParser() {
+    }
+
+    public static boolean isValidBase(int base) {
+        return base == 0 || (base >= 2 && base <= 36);
+    }
+
+    @TruffleBoundary
+    public static Object parse(String s, int base) {
+        return parse(s, 0, s.length(), base);
+    }
+
+    @TruffleBoundary
+    public static Object parse(String s, int start, int end, int base) {
+        assert start >= 0 && end <= s.length();
+        return parseSource(s, start, end, base);
+    }
+
+    @TruffleBoundary
+    public static Object parse(byte[] b, int base) {
+        return parse(b, 0, b.length, base);
+    }
+
+    @TruffleBoundary
+    public static Object parse(byte[] b, int start, int end, int base) {
+        assert start >= 0 && end <= b.length;
+        return parseSource(b, start, end, base);
+    }
+
+    private static char charAt(Object source, int i) {
+        if (source instanceof String) {
+            return ((String) source).charAt(i);
+        }
+        return (char) (((byte[]) source)[i] & 0xFF);
+    }
+
+    private static boolean isWhitespace(Object source, char c) {
+        if (source instanceof String) {
+            return Character.isWhitespace(c);
+        }
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private static int digit(Object source, char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        } else if (c > 127 && source instanceof String && Character.getType(c) == Character.DECIMAL_DIGIT_NUMBER) {
+            // like CPython, non-ASCII decimal digits are accepted in strings
+            return Character.digit(c, 10);
+        }
+        return 36;
+    }
+
+    private static Object parseSource(Object source, int startIndex, int endIndex, int baseArg) {
+        assert isValidBase(baseArg);
+        int i = startIndex;
+        int end = endIndex;
+        while (i < end && isWhitespace(source, charAt(source, i))) {
+            i++;
+        }
+        while (end > i && isWhitespace(source, charAt(source, end - 1))) {
+            end--;
+        }
+        boolean negative = false;
+        if (i < end && (charAt(source, i) == '-' || charAt(source, i) == '+')) {
+            negative = charAt(source, i) == '-';
+            i++;
+        }
+
+        int base = baseArg;
+        boolean hasPrefix = false;
+        if (i + 1 < end && charAt(source, i) == '0') {
+            char p = Character.toLowerCase(charAt(source, i + 1));
+            int prefixBase = p == 'x' ? 16 : p == 'o' ? 8 : p == 'b' ? 2 : 0;
+            if (prefixBase != 0 && (base == 0 || base == prefixBase)) {
+                base = prefixBase;
+                hasPrefix = true;
+                i += 2;
+            }
+        }
+        boolean decimalWithoutPrefix = base == 0;
+        if (base == 0) {
+            base = 10;
+        }
+
+        // first pass: validate and count digits
+        int digitsStart = i;
+        int digits = 0;
+        boolean allZeros = true;
+        // an underscore may follow a base prefix, but not a sign or start the literal
+        boolean underscoreAllowed = hasPrefix;
+        for (; i < end; i++) {
+            char c = charAt(source, i);
+            if (c == '_') {
+                if (!underscoreAllowed) {
+                    return null;
+                }
+                underscoreAllowed = false;
+                continue;
+            }
+            int d = digit(source, c);
+            if (d >= base) {
+                return null;
+            }
+            allZeros &= d == 0;
+            digits++;
+            underscoreAllowed = true;
+        }
+        if (digits == 0 || (end > digitsStart && charAt(source, end - 1) == '_')) {
+            return null;
+        }
+        if (decimalWithoutPrefix && !allZeros && digit(source, charAt(source, digitsStart)) == 0) {
+            // leading zeros are not allowed in decimal literals with base 0
+            return null;
+        }
+
+        // second pass: accumulate
+        if (digits <= SAFE_DIGITS[base]) {
+            long value = accumulate(source, digitsStart, end, base);
+            value = negative ? -value : value;
+            if (value == (int) value) {
+                return (int) value;
+            }
+            return value;
+        }
+        BigInteger value = accumulateBig(source, digitsStart, end, base);
+        value = negative ? value.negate() : value;
+        if (value.bitLength() < 64) {
+            return value.longValue();
+        }
+        return value;
+    }
+
+    private static long accumulate(Object source, int start, int end, int base) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = charAt(source, i);
+            if (c != '_') {
+                value = value * base + digit(source, c);
+            }
+        }
+        return value;
+    }
+
+    private static BigInteger accumulateBig(Object source, int start, int end, int base) {
+        int chunkDigits = SAFE_DIGITS[base];
+        BigInteger chunkMultiplier = BigInteger.valueOf(base).pow(chunkDigits);
+        BigInteger value = BigInteger.ZERO;
+        long chunk = 0;
+        int inChunk = 0;
+        for (int i = start; i < end; i++) {
+            char c = charAt(source, i);
+            if (c == '_') {
+                continue;
+            }
+            chunk = chunk * base + digit(source, c);
+            if (++inChunk == chunkDigits) {
+                value = value.multiply(chunkMultiplier).add(BigInteger.valueOf(chunk));
+                chunk = 0;
+                inChunk = 0;
+            }
+        }
+        if (inChunk > 0) {
+            value = value.multiply(BigInteger.valueOf(base).pow(inChunk)).add(BigInteger.valueOf(chunk));
+        }
+        return value;
+    }
+}
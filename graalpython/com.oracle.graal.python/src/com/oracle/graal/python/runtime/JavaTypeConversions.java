@@ -32,6 +32,7 @@ import java.math.BigInteger;
 import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.objects.complex.PComplex;
 import com.oracle.graal.python.builtins.objects.type.PythonClass;
+import com.oracle.graal.python.runtime.formatting.FloatReprFormatter;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.runtime.sequence.PLenSupplier;
 import com.oracle.truffle.api.CompilerAsserts;
@@ -39,20 +40,6 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 public class JavaTypeConversions {
 
-    @TruffleBoundary
-    public static Object stringToInt(String num, int base) {
-        if ((base >= 2 && base <= 32) || base == 0) {
-            BigInteger bi = asciiToBigInteger(num, 10, false);
-            if (bi.compareTo(BigInteger.valueOf(Integer.MAX_VALUE)) > 0 || bi.compareTo(BigInteger.valueOf(Integer.MIN_VALUE)) < 0) {
-                return bi;
-            } else {
-                return bi.intValue();
-            }
-        } else {
-            throw new RuntimeException("base is out of range for int()");
-        }
-    }
-
     public static boolean toBoolean(Object arg) {
         CompilerAsserts.neverPartOfCompilation();
 
@@ -78,36 +65,6 @@ public class JavaTypeConversions {
         }
     }
 
-    @TruffleBoundary
-    public static Object toInt(Object arg) {
-        if (arg instanceof Integer || arg instanceof BigInteger) {
-            return arg;
-        } else if (arg instanceof Boolean) {
-            return (boolean) arg ? 1 : 0;
-        } else if (arg instanceof Double) {
-            return doubleToInt((Double) arg);
-        } else if (arg instanceof String) {
-            return stringToInt((String) arg, 10);
-        }
-        return null;
-    }
-
-    public static Object toInt(Object arg1, Object arg2) {
-        if (arg1 instanceof String && arg2 instanceof Integer) {
-            return stringToInt((String) arg1, (Integer) arg2);
-        } else {
-            throw new RuntimeException("invalid base or val for int()");
-        }
-    }
-
-    public static Object doubleToInt(double num) {
-        if (num > Integer.MAX_VALUE || num < Integer.MIN_VALUE) {
-            return BigInteger.valueOf((long) num);
-        } else {
-            return (int) num;
-        }
-    }
-
     public static double toDouble(Object value) {
         try {
             return (double) value;
@@ -124,90 +81,93 @@ public class JavaTypeConversions {
         }
     }
 
-    // Copied directly from Jython
-    @TruffleBoundary
-    private static BigInteger asciiToBigInteger(String str, int possibleBase, boolean isLong) {
-        int base = possibleBase;
-        int b = 0;
-        int e = str.length();
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+                    1e21, 1e22};
 
-        while (b < e && Character.isWhitespace(str.charAt(b))) {
-            b++;
+    /**
+     * Parses plain ASCII decimal literals in one pass. If there are at most 15 significant digits
+     * and the decimal exponent is small enough, both the digits and the power of ten are exact
+     * doubles and a single multiplication or division gives the correctly rounded result. Other
+     * well-formed literals are handed to {@link Double#parseDouble} without further checks;
+     * everything else (special values, non-ASCII digits, errors) takes the generic path.
+     */
+    @TruffleBoundary
+    public static double convertStringToDouble(String str) {
+        int n = str.length();
+        int i = 0;
+        while (i < n && Character.isWhitespace(str.charAt(i))) {
+            i++;
         }
-
-        while (e > b && Character.isWhitespace(str.charAt(e - 1))) {
-            e--;
+        int start = i;
+        boolean negative = false;
+        if (i < n && (str.charAt(i) == '-' || str.charAt(i) == '+')) {
+            negative = str.charAt(i) == '-';
+            i++;
         }
-
-        char sign = 0;
-        if (b < e) {
-            sign = str.charAt(b);
-            if (sign == '-' || sign == '+') {
-                b++;
-                while (b < e && Character.isWhitespace(str.charAt(b))) {
-                    b++;
-                }
-            }
-
-            if (base == 16) {
-                if (str.charAt(b) == '0') {
-                    if (b < e - 1 && Character.toUpperCase(str.charAt(b + 1)) == 'X') {
-                        b += 2;
-                    }
-                }
-            } else if (base == 0) {
-                if (str.charAt(b) == '0') {
-                    if (b < e - 1 && Character.toUpperCase(str.charAt(b + 1)) == 'X') {
-                        base = 16;
-                        b += 2;
-                    } else if (b < e - 1 && Character.toUpperCase(str.charAt(b + 1)) == 'O') {
-                        base = 8;
-                        b += 2;
-                    } else if (b < e - 1 && Character.toUpperCase(str.charAt(b + 1)) == 'B') {
-                        base = 2;
-                        b += 2;
+        long mantissa = 0;
+        int significantDigits = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean seenPoint = false;
+        for (; i < n; i++) {
+            char c = str.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (mantissa != 0 || c != '0') {
+                    significantDigits++;
+                    if (significantDigits <= 18) {
+                        mantissa = mantissa * 10 + (c - '0');
                     } else {
-                        base = 8;
+                        exponent++;
                     }
                 }
-            } else if (base == 8) {
-                if (b < e - 1 && Character.toUpperCase(str.charAt(b + 1)) == 'O') {
-                    b += 2;
-                }
-            } else if (base == 2) {
-                if (b < e - 1 && Character.toUpperCase(str.charAt(b + 1)) == 'B') {
-                    b += 2;
+                if (seenPoint) {
+                    exponent--;
                 }
+            } else if (c == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                break;
             }
         }
-
-        if (base == 0) {
-            base = 10;
+        if (digits == 0) {
+            return convertStringToDoubleGeneric(str);
         }
-
-        // if the base >= 22, then an 'l' or 'L' is a digit!
-        if (isLong && base < 22 && e > b && (str.charAt(e - 1) == 'L' || str.charAt(e - 1) == 'l')) {
-            e--;
+        if (i < n && (str.charAt(i) == 'e' || str.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < n && (str.charAt(i) == '-' || str.charAt(i) == '+')) {
+                negativeExponent = str.charAt(i) == '-';
+                i++;
+            }
+            int expStart = i;
+            int explicitExponent = 0;
+            while (i < n && str.charAt(i) >= '0' && str.charAt(i) <= '9') {
+                explicitExponent = Math.min(explicitExponent * 10 + (str.charAt(i) - '0'), 100000);
+                i++;
+            }
+            if (i == expStart) {
+                return convertStringToDoubleGeneric(str);
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
         }
-
-        String s = str;
-        if (b > 0 || e < str.length()) {
-            s = str.substring(b, e);
+        int end = i;
+        while (i < n && Character.isWhitespace(str.charAt(i))) {
+            i++;
         }
-
-        BigInteger bi;
-        if (sign == '-') {
-            bi = new BigInteger("-" + s, base);
-        } else {
-            bi = new BigInteger(s, base);
+        if (i != n) {
+            return convertStringToDoubleGeneric(str);
         }
-        return bi;
+        if (significantDigits <= 15 && exponent >= -22 && exponent <= 22) {
+            double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(str.substring(start, end));
     }
 
     // Taken from Jython PyString's atof() method
     // The last statement throw Py.ValueError is modified
-    @TruffleBoundary
-    public static double convertStringToDouble(String str) {
+    private static double convertStringToDoubleGeneric(String str) {
         StringBuilder s = null;
         int n = str.length();
 
@@ -387,27 +347,7 @@ public class JavaTypeConversions {
 
     @TruffleBoundary
     public static String doubleToString(double item) {
-
-        String d = Double.toString(item);
-        int exp = d.indexOf("E");
-        if (exp != -1) {
-            int l = d.length() - 1;
-            if (exp == (l - 2)) {
-                if (d.charAt(exp + 1) == '-') {
-                    if (Integer.valueOf(d.charAt(l) + "") == 4)
-                        /*- Java convert double when 0.000###... while Python does it when 0.0000####... */
-                        d = Double.toString((item * 10)).replace(".", ".0");
-                    else
-                        d = d.substring(0, l) + "0" + d.substring(l);
-
-                    exp = d.indexOf("E");
-                }
-            }
-            if (exp != -1 && d.charAt(exp + 1) != '-')
-                d = d.substring(0, exp + 1) + "+" + d.substring(exp + 1, l + 1);
-            d = d.toLowerCase();
-        }
-        return d;
+        return FloatReprFormatter.repr(item);
     }
 
     @TruffleBoundary
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+
+/**
+ * Resolves module names against the directories on {@code sys.path} the same way as importlib's
+ * {@code FileFinder.find_spec}, but keeps the directory listings in Java. A listing is reused as
+ * long as the modification time of its directory does not change. A lookup costs a {@code stat} of
+ * the path entry and one for the file that is found. If the path entry contains a directory with
+ * the name of the module, that directory is statted as well, and listed when it changed. That
+ * entry is known not to be a directory while the path entry does not change, so other files with
+ * the name are neither statted nor listed again.
+ */
+public final class PathEntryFinder {
+
+    /** Result of {@link #find}. */
+    public static final class Result {
+        /** Index into the suffixes, or {@code -1} for a namespace package. */
+        public final int suffixIndex;
+        /** The file to load, or the package directory for a namespace package. */
+        public final String path;
+        /** The package directory, or {@code null} if a plain module was found. */
+        public final String packagePath;
+
+        Result(int suffixIndex, String path, String packagePath) {
+            this.suffixIndex = suffixIndex;
+            this.path = path;
+            this.packagePath = packagePath;
+        }
+    }
+
+    private static final class Listing {
+        /**
+         * The modification time of the directory, or of its parent if the path is not a directory.
+         */
+        private final long mtime;
+        private final Set<String> names;
+        private final boolean isDirectory;
+
+        Listing(long mtime, Set<String> names, boolean isDirectory) {
+            this.mtime = mtime;
+            this.names = names;
+            this.isDirectory = isDirectory;
+        }
+    }
+
+    private static final Listing NOT_FOUND = new Listing(-1, Collections.emptySet(), false);
+
+    private final Map<String, Listing> listings = new ConcurrentHashMap<>();
+
+    @TruffleBoundary
+    public Result find(Env env, String directory, String name, String[] suffixes) {
+        Listing listing = getListing(env, directory);
+        String packagePath = null;
+        if (listing.names.contains(name)) {
+            String basePath = join(directory, name);
+            Listing packageListing = getPackageListing(env, listing, basePath);
+            for (int i = 0; i < suffixes.length; i++) {
+                String initName = "__init__" + suffixes[i];
+                if (packageListing.names.contains(initName)) {
+                    String initPath = join(basePath, initName);
+                    if (isFile(env, initPath)) {
+                        return new Result(i, initPath, basePath);
+                    }
+                }
+            }
+            // a directory without __init__ is a namespace package, unless a module is found
+            if (packageListing.isDirectory) {
+                packagePath = basePath;
+            }
+        }
+        for (int i = 0; i < suffixes.length; i++) {
+            String fileName = name + suffixes[i];
+            if (listing.names.contains(fileName)) {
+                String filePath = join(directory, fileName);
+                if (isFile(env, filePath)) {
+                    return new Result(i, filePath, null);
+                }
+            }
+        }
+        if (packagePath != null) {
+            return new Result(-1, packagePath, packagePath);
+        }
+        return null;
+    }
+
+    @TruffleBoundary
+    public void invalidate(String directory) {
+        listings.remove(directory.isEmpty() ? "." : directory);
+    }
+
+    @TruffleBoundary
+    public void invalidateAll() {
+        listings.clear();
+    }
+
+    private Listing getListing(Env env, String directory) {
+        String key = directory.isEmpty() ? "." : directory;
+        TruffleFile dir = env.getTruffleFile(key);
+        long mtime;
+        try {
+            mtime = dir.getLastModifiedTime().toMillis();
+        } catch (IOException | SecurityException e) {
+            listings.remove(key);
+            return NOT_FOUND;
+        }
+        Listing listing = listings.get(key);
+        if (listing == null || listing.mtime != mtime) {
+            listing = list(dir, mtime);
+            listings.put(key, listing);
+        }
+        return listing;
+    }
+
+    /**
+     * Returns the listing of an entry of {@code parent}. Files with the name of a module, and
+     * entries that cannot be read, are remembered as no directory until the parent changes.
+     */
+    private Listing getPackageListing(Env env, Listing parent, String path) {
+        Listing listing = listings.get(path);
+        if (listing != null && !listing.isDirectory && listing.mtime == parent.mtime) {
+            return listing;
+        }
+        TruffleFile dir = env.getTruffleFile(path);
+        long mtime;
+        try {
+            mtime = dir.getLastModifiedTime().toMillis();
+        } catch (IOException | SecurityException e) {
+            listing = new Listing(parent.mtime, Collections.emptySet(), false);
+            listings.put(path, listing);
+            return listing;
+        }
+        if (listing == null || !listing.isDirectory || listing.mtime != mtime) {
+            listing = list(dir, mtime);
+            if (!listing.isDirectory) {
+                listing = new Listing(parent.mtime, listing.names, false);
+            }
+            listings.put(path, listing);
+        }
+        return listing;
+    }
+
+    private static Listing list(TruffleFile dir, long mtime) {
+        try {
+            Collection<TruffleFile> files = dir.list();
+            Set<String> names = new HashSet<>(files.size() * 2);
+            for (TruffleFile f : files) {
+                names.add(f.getName());
+            }
+            return new Listing(mtime, names, true);
+        } catch (IOException | SecurityException e) {
+            // removed, made unreadable or not a directory
+            return new Listing(mtime, Collections.emptySet(), false);
+        }
+    }
+
+    private static boolean isFile(Env env, String path) {
+        try {
+            return env.getTruffleFile(path).isRegularFile();
+        } catch (SecurityException e) {
+            return false;
+        }
+    }
+
+    private static String join(String directory, String name) {
+        if (directory.isEmpty()) {
+            return name;
+        } else if (directory.endsWith(PythonCore.FILE_SEPARATOR)) {
+            return directory + name;
+        }
+        return directory + PythonCore.FILE_SEPARATOR + name;
+    }
+}
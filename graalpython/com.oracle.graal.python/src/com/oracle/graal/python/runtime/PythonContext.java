@@ -30,6 +30,8 @@ import static com.oracle.graal.python.nodes.BuiltinNames.__MAIN__;
 
 import java.io.OutputStream;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.graalvm.options.OptionValues;
@@ -38,7 +40,11 @@ import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.objects.common.HashingStorage;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.module.PythonModule;
+import com.oracle.graal.python.builtins.objects.object.PythonObject;
+import com.oracle.graal.python.builtins.objects.struct.StructFormat;
+import com.oracle.graal.python.parser.BackgroundParser;
 import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.truffle.api.CallTarget;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
@@ -62,16 +68,39 @@ public class PythonContext {
     @CompilationFinal private PythonModule builtinsModule;
     @CompilationFinal private PDict sysModules;
 
+    /**
+     * Copies of the shared core's modules made for this context, or {@code null} if this context
+     * owns its core. Builtin modules are copied when they are first looked up, so a new context
+     * only pays for the modules it actually uses.
+     */
+    private final Map<Object, Object> sharedCoreCopies;
+
     private OutputStream out;
     private OutputStream err;
     @CompilationFinal private boolean capiWasLoaded = false;
 
     @CompilationFinal private HashingStorage.Equivalence slowPathEquivalence;
 
+    /** Compiled formats of the module-level {@code _struct} functions, see {@link StructFormat}. */
+    private final Map<String, StructFormat> structFormatCache = new HashMap<>();
+
+    /** Directory listings of the path entries searched by importlib's file finders. */
+    private final PathEntryFinder pathEntryFinder = new PathEntryFinder();
+    private BackgroundParser backgroundParser;
+    /** The {@code __import__} function importlib installed into this context's builtins. */
+    private Object importlibImport;
+    /** Only set if the {@link PythonOptions#CacheStatistics} option is enabled. */
+    private CacheStatistics cacheStatistics;
+    /** Only set if the {@link PythonOptions#StartupProfile} option is enabled. */
+    private final StartupProfile startupProfile;
+
     public PythonContext(PythonLanguage language, TruffleLanguage.Env env, PythonCore core) {
         this.language = language;
         this.core = core;
         this.env = env;
+        this.sharedCoreCopies = env != null && env.getOptions().get(PythonOptions.SharedCore) ? new IdentityHashMap<>() : null;
+        // created right away, because the core is bootstrapped before the context is initialized
+        this.startupProfile = env != null && env.getOptions().get(PythonOptions.StartupProfile) ? StartupProfile.create() : null;
         if (env == null) {
             this.out = System.out;
             this.err = System.err;
@@ -105,6 +134,50 @@ public class PythonContext {
         return builtinsModule;
     }
 
+    /**
+     * Look up a builtin module as seen by this context. When the core is shared between contexts,
+     * this returns the context's own copy of the module, so that modifications do not leak into
+     * other contexts.
+     */
+    @TruffleBoundary
+    public PythonModule lookupBuiltinModule(String name) {
+        PythonModule module = core.lookupBuiltinModule(name);
+        if (module == null || !isUsingSharedCopies()) {
+            return module;
+        }
+        synchronized (sharedCoreCopies) {
+            return (PythonModule) core.duplicate(sharedCoreCopies, module);
+        }
+    }
+
+    /**
+     * @return this context's copy of an object of the shared core, or the object itself if this
+     *         context does not work on copies.
+     */
+    @TruffleBoundary
+    public PythonObject getSharedCoreCopy(PythonObject object) {
+        if (!isUsingSharedCopies()) {
+            return object;
+        }
+        synchronized (sharedCoreCopies) {
+            return (PythonObject) core.duplicate(sharedCoreCopies, object);
+        }
+    }
+
+    /**
+     * @return the map of core objects already copied for this context, if this context works on
+     *         copies of a shared, fully initialized core.
+     */
+    public Map<Object, Object> getSharedCoreCopies() {
+        assert isUsingSharedCopies();
+        return sharedCoreCopies;
+    }
+
+    private boolean isUsingSharedCopies() {
+        // while the shared core is being initialized, the first context works on the originals
+        return sharedCoreCopies != null && core.isInitialized();
+    }
+
     public PythonModule createMainModule(String path) {
         mainModule = core.factory().createPythonModule(__MAIN__, path);
         mainModule.setAttribute(__BUILTINS__, sysModules.getItem("builtins"));
@@ -169,12 +242,29 @@ public class PythonContext {
         if (!PythonOptions.getOption(this, PythonOptions.SharedCore)) {
             core.setSingletonContext(this);
         }
+        if (!PythonOptions.getOption(this, PythonOptions.CacheStatistics).isEmpty()) {
+            cacheStatistics = CacheStatistics.create(PythonOptions.getOption(this, PythonOptions.CacheStatistics));
+        }
+        if (PythonOptions.getOption(this, PythonOptions.TraceSequenceStorageGeneralization)) {
+            SequenceStorage.enableGeneralizationTracing();
+        }
+        initializeSysModules();
+        isInitialized = true;
+    }
 
+    /**
+     * Sets up {@code sys} and {@code sys.modules}. The first context of a shared core calls this
+     * once before {@link #initialize()}, so that the core files are loaded into the shared
+     * originals; {@link #initialize()} then switches it over to its own copies like every other
+     * context.
+     */
+    public void initializeSysModules() {
         PythonModule sysModule = core.createSysModule(this);
         sysModules = (PDict) sysModule.getAttribute("modules");
         builtinsModule = (PythonModule) sysModules.getItem("builtins");
-
-        isInitialized = true;
+        if (core.isInitialized()) {
+            core.exportCInterface(this);
+        }
     }
 
     public boolean capiWasLoaded() {
@@ -193,6 +283,45 @@ public class PythonContext {
         return slowPathEquivalence;
     }
 
+    public Map<String, StructFormat> getStructFormatCache() {
+        return structFormatCache;
+    }
+
+    public PathEntryFinder getPathEntryFinder() {
+        return pathEntryFinder;
+    }
+
+    public CacheStatistics getCacheStatistics() {
+        return cacheStatistics;
+    }
+
+    public StartupProfile getStartupProfile() {
+        return startupProfile;
+    }
+
+    public Object getImportlibImport() {
+        return importlibImport;
+    }
+
+    public void setImportlibImport(Object importlibImport) {
+        this.importlibImport = importlibImport;
+    }
+
+    /**
+     * @return the pool that parses modules ahead of their import, or {@code null} if that is
+     *         disabled
+     */
+    @TruffleBoundary
+    public synchronized BackgroundParser getBackgroundParser() {
+        if (backgroundParser == null) {
+            int threads = PythonOptions.getIntOption(this, PythonOptions.BackgroundParseThreads);
+            if (threads > 0 && env != null) {
+                backgroundParser = new BackgroundParser(env, pathEntryFinder, threads);
+            }
+        }
+        return backgroundParser;
+    }
+
     @TruffleBoundary
     public void registerShutdownHook(Object callable, CallTarget ct) {
         atExitHooks.put(callable, ct);
@@ -208,5 +337,14 @@ public class PythonContext {
         for (CallTarget f : atExitHooks.values()) {
             f.call();
         }
+        if (cacheStatistics != null) {
+            cacheStatistics.dump(err);
+        }
+        if (startupProfile != null) {
+            startupProfile.dump(err);
+        }
+        if (backgroundParser != null) {
+            backgroundParser.shutdown();
+        }
     }
 }
@@ -27,6 +27,7 @@ package com.oracle.graal.python.runtime;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
 
 import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
@@ -111,6 +112,15 @@ public interface PythonCore {
 
     public PythonModule createSysModule(PythonContext context);
 
+    /**
+     * Copy a core object for a context that shares this core. Objects already copied for that
+     * context are kept in {@code copies}, so that each object is copied at most once per context
+     * and references between copied objects stay consistent.
+     */
+    public Object duplicate(Map<Object, Object> copies, Object value);
+
+    public void exportCInterface(PythonContext context);
+
     public PException getCurrentException();
 
     public void setCurrentException(PException e);
@@ -43,15 +43,34 @@ public final class PythonOptions {
     @Option(category = OptionCategory.DEBUG, help = "Defer loading the core lib until after language initialization, so it can be debugged.") //
     public static final OptionKey<Boolean> LazyInit = new OptionKey<>(false);
 
+    @Option(category = OptionCategory.EXPERT, help = "Load the core library files of builtin modules that are not needed during startup only when the module is first imported.") //
+    public static final OptionKey<Boolean> LazyCoreModules = new OptionKey<>(false);
+
+    @Option(category = OptionCategory.EXPERT, help = "Measure the time spent bootstrapping and parsing, translating and executing each core library file and print it at exit.") //
+    public static final OptionKey<Boolean> StartupProfile = new OptionKey<>(false);
+
+    @Option(category = OptionCategory.EXPERT, help = "Translate the bodies of functions in modules loaded from files into Truffle nodes only when a function is first called. " +
+                    "Syntax errors that are only detected during translation are then raised on the first call.") //
+    public static final OptionKey<Boolean> LazyTranslation = new OptionKey<>(false);
+
+    @Option(category = OptionCategory.EXPERT, help = "Number of threads that parse the modules imported by a module in the background before they are imported. " +
+                    "0 disables parsing ahead.") //
+    public static final OptionKey<Integer> BackgroundParseThreads = new OptionKey<>(0);
+
     @Option(category = OptionCategory.DEBUG, help = "Print the java stacktrace if enabled") //
     public static final OptionKey<Boolean> WithJavaStacktrace = new OptionKey<>(false);
 
-    @Option(category = OptionCategory.DEBUG, help = "Share the core library between all contexts of an engine.") //
+    @Option(category = OptionCategory.EXPERT, help = "Share the initialized core library between all contexts of an engine. Each context gets its own copies of the " +
+                    "builtin modules, which are made when a module is first imported in that context.") //
     public static final OptionKey<Boolean> SharedCore = new OptionKey<>(false);
 
-    @Option(category = OptionCategory.DEBUG, help = "") //
+    @Option(category = OptionCategory.DEBUG, help = "Print a message whenever a sequence storage is generalized to a more general storage.") //
     public static final OptionKey<Boolean> TraceSequenceStorageGeneralization = new OptionKey<>(false);
 
+    @Option(category = OptionCategory.EXPERT, help = "Record inline cache entries, generic fallbacks, class lookup invalidations and sequence storage generalizations " +
+                    "per source location and print them at exit. Valid values are 'table' and 'json', empty disables the statistics.") //
+    public static final OptionKey<String> CacheStatistics = new OptionKey<>("");
+
     @Option(category = OptionCategory.DEBUG, help = "") //
     public static final OptionKey<Boolean> UnboxSequenceStorage = new OptionKey<>(true);
 
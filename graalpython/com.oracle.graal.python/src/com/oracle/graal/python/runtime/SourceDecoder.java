@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Decodes the bytes of a source file as described in PEP 263: a UTF-8 byte order mark or a coding
+ * declaration in one of the first two lines selects the encoding, which is UTF-8 otherwise.
+ * {@code compile} uses this for bytes and the background parser for the files it reads, so both
+ * arrive at the same text.
+ */
+public final class SourceDecoder {
+    private static final Pattern CODING_DECLARATION = Pattern.compile("^[ \\t\\f]*#.*?coding[:=][ \\t]*([-\\w.]+)");
+    private static final Pattern BLANK_OR_COMMENT = Pattern.compile("^[ \\t\\f]*(#.*)?$");
+
+    private SourceDecoder() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the declared encoding is not known
+     */
+    @TruffleBoundary
+    public static String decode(byte[] bytes, int length) {
+        if (length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+            return new String(bytes, 3, length - 3, StandardCharsets.UTF_8);
+        }
+        return new String(bytes, 0, length, detectEncoding(bytes, length));
+    }
+
+    private static Charset detectEncoding(byte[] bytes, int length) {
+        int firstEnd = lineEnd(bytes, 0, length);
+        // the declaration is ASCII, so the lines can be looked at as Latin-1
+        String first = new String(bytes, 0, firstEnd, StandardCharsets.ISO_8859_1);
+        Matcher matcher = CODING_DECLARATION.matcher(first);
+        if (!matcher.find()) {
+            if (firstEnd >= length || !BLANK_OR_COMMENT.matcher(first).matches()) {
+                return StandardCharsets.UTF_8;
+            }
+            int secondStart = firstEnd + 1;
+            if (bytes[firstEnd] == '\r' && secondStart < length && bytes[secondStart] == '\n') {
+                secondStart++;
+            }
+            String second = new String(bytes, secondStart, lineEnd(bytes, secondStart, length) - secondStart, StandardCharsets.ISO_8859_1);
+            matcher = CODING_DECLARATION.matcher(second);
+            if (!matcher.find()) {
+                return StandardCharsets.UTF_8;
+            }
+        }
+        return forName(matcher.group(1));
+    }
+
+    private static Charset forName(String name) {
+        String normalized = name.toLowerCase().replace('_', '-');
+        if (normalized.equals("utf-8") || normalized.startsWith("utf-8-")) {
+            return StandardCharsets.UTF_8;
+        } else if (normalized.equals("latin-1") || normalized.equals("iso-8859-1") || normalized.equals("iso-latin-1") ||
+                        normalized.startsWith("latin-1-") || normalized.startsWith("iso-8859-1-") || normalized.startsWith("iso-latin-1-")) {
+            return StandardCharsets.ISO_8859_1;
+        }
+        return Charset.forName(name);
+    }
+
+    private static int lineEnd(byte[] bytes, int start, int length) {
+        for (int i = start; i < length; i++) {
+            if (bytes[i] == '\n' || bytes[i] == '\r') {
+                return i;
+            }
+        }
+        return length;
+    }
+}
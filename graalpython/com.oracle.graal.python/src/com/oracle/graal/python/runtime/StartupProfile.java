@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.truffle.api.Assumption;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
+
+/**
+ * Measures how long the startup phases take for each core library file (and any other source that
+ * is parsed while the profile is enabled). Each context that enables the
+ * {@link PythonOptions#StartupProfile} option owns a profile, which is dumped when the context is
+ * finalized. Work done on threads that have not entered a context is not measured.
+ *
+ * Execution times are inclusive, i.e., the time to execute a file contains the time spent loading
+ * the files it pulls in.
+ */
+public final class StartupProfile {
+
+    public enum Phase {
+        BOOTSTRAP("bootstrap"),
+        PARSE("parse"),
+        TRANSLATE("translate"),
+        EXECUTE("execute");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final Assumption disabled = Truffle.getRuntime().createAssumption("startup profile disabled");
+    private final Map<String, long[]> units = new LinkedHashMap<>();
+
+    private StartupProfile() {
+    }
+
+    /**
+     * Creates the profile of a context that enabled the option.
+     */
+    @TruffleBoundary
+    public static StartupProfile create() {
+        disabled.invalidate();
+        return new StartupProfile();
+    }
+
+    @TruffleBoundary
+    private static StartupProfile current() {
+        PythonContext context;
+        try {
+            context = PythonLanguage.getContext();
+        } catch (IllegalStateException e) {
+            // no context is entered on this thread
+            return null;
+        }
+        return context != null ? context.getStartupProfile() : null;
+    }
+
+    /**
+     * @return the start time to pass to {@link #record}, or {@code 0} if the current context does
+     *         not profile its startup
+     */
+    public static long start() {
+        if (disabled.isValid() || current() == null) {
+            return 0;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Adds the time since {@code start} to the given phase of {@code unit} in the profile of the
+     * current context.
+     *
+     * @return the current time, so that consecutive phases can be chained
+     */
+    @TruffleBoundary
+    public static long record(String unit, Phase phase, long start) {
+        if (start == 0) {
+            return start();
+        }
+        StartupProfile profile = current();
+        if (profile == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        profile.add(unit, phase, now - start);
+        return now;
+    }
+
+    private void add(String unit, Phase phase, long nanos) {
+        synchronized (units) {
+            long[] times = units.get(unit);
+            if (times == null) {
+                times = new long[Phase.values().length];
+                units.put(unit, times);
+            }
+            times[phase.ordinal()] += nanos;
+        }
+    }
+
+    @TruffleBoundary
+    public void dump(OutputStream out) {
+        StringBuilder sb = new StringBuilder();
+        long[] total = new long[Phase.values().length];
+        sb.append(String.format("%-40s", "unit"));
+        for (Phase phase : Phase.values()) {
+            sb.append(String.format(" %12s", phase.label + " ms"));
+        }
+        sb.append('\n');
+        synchronized (units) {
+            for (Map.Entry<String, long[]> entry : units.entrySet()) {
+                sb.append(String.format("%-40s", entry.getKey()));
+                for (Phase phase : Phase.values()) {
+                    long nanos = entry.getValue()[phase.ordinal()];
+                    if (phase != Phase.EXECUTE) {
+                        total[phase.ordinal()] += nanos;
+                    }
+                    sb.append(String.format(" %12.3f", nanos / 1e6));
+                }
+                sb.append('\n');
+            }
+        }
+        // execution times nest, so they cannot be summed up
+        sb.append(String.format("%-40s", "total"));
+        for (Phase phase : Phase.values()) {
+            if (phase == Phase.EXECUTE) {
+                sb.append(String.format(" %12s", "-"));
+            } else {
+                sb.append(String.format(" %12.3f", total[phase.ordinal()] / 1e6));
+            }
+        }
+        sb.append('\n');
+        try {
+            out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        } catch (IOException e) {
+            // ignore, this is only diagnostic output
+        }
+    }
+}
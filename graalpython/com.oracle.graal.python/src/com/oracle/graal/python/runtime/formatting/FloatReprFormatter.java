@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime.formatting;
+
+import java.math.BigInteger;
+
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+
+/**
+ * Formats doubles like CPython's {@code float.__repr__}: the shortest digit string that reads back
+ * as the same double, in fixed notation for decimal exponents in (-4, 16] and in exponent notation
+ * otherwise. The digits are computed with the Ryu algorithm (Ulf Adams, "Ryu: fast float-to-string
+ * conversion", PLDI 2018) and written into a single char buffer.
+ */
+public final class FloatReprFormatter {
+
+    private static final int MANTISSA_BITS = 52;
+    private static final int EXPONENT_BITS = 11;
+    private static final int EXPONENT_BIAS = 1023;
+
+    private static final int POW5_BITCOUNT = 125;
+    private static final int POW5_INV_BITCOUNT = 125;
+    private static final int POW5_TABLE_SIZE = 326;
+    private static final int POW5_INV_TABLE_SIZE = 342;
+
+    // 125-bit values stored as {low 64 bits, high 64 bits}
+    @CompilationFinal(dimensions = 2) private static final long[][] POW5_SPLIT = new long[POW5_TABLE_SIZE][];
+    @CompilationFinal(dimensions = 2) private static final long[][] POW5_INV_SPLIT = new long[POW5_INV_TABLE_SIZE][];
+
+    static {
+        BigInteger mask64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        for (int i = 0; i < POW5_INV_TABLE_SIZE; i++) {
+            BigInteger pow = BigInteger.valueOf(5).pow(i);
+            int pow5len = pow.bitLength();
+            if (i < POW5_TABLE_SIZE) {
+                int shift = pow5len - POW5_BITCOUNT;
+                BigInteger split = shift > 0 ? pow.shiftRight(shift) : pow.shiftLeft(-shift);
+                POW5_SPLIT[i] = new long[]{split.and(mask64).longValue(), split.shiftRight(64).longValue()};
+            }
+            int j = pow5len - 1 + POW5_INV_BITCOUNT;
+            BigInteger inv = BigInteger.ONE.shiftLeft(j).divide(pow).add(BigInteger.ONE);
+            POW5_INV_SPLIT[i] = new long[]{inv.and(mask64).longValue(), inv.shiftRight(64).longValue()};
+        }
+    }
+
+    private FloatReprFormatter() {
+    }
+
+    public static String repr(double value) {
+        if (Double.isNaN(value)) {
+            return "nan";
+        } else if (Double.isInfinite(value)) {
+            return value > 0 ? "inf" : "-inf";
+        }
+        long bits = Double.doubleToRawLongBits(value);
+        boolean negative = bits < 0;
+        long ieeeMantissa = bits & ((1L << MANTISSA_BITS) - 1);
+        int ieeeExponent = (int) ((bits >>> MANTISSA_BITS) & ((1 << EXPONENT_BITS) - 1));
+        if (ieeeExponent == 0 && ieeeMantissa == 0) {
+            return negative ? "-0.0" : "0.0";
+        }
+
+        int e2;
+        long m2;
+        if (ieeeExponent == 0) {
+            e2 = 1 - EXPONENT_BIAS - MANTISSA_BITS - 2;
+            m2 = ieeeMantissa;
+        } else {
+            e2 = ieeeExponent - EXPONENT_BIAS - MANTISSA_BITS - 2;
+            m2 = (1L << MANTISSA_BITS) | ieeeMantissa;
+        }
+        boolean acceptBounds = (m2 & 1) == 0;
+
+        // Step 2: determine the interval of valid decimal representations
+        long mv = 4 * m2;
+        int mmShift = ieeeMantissa != 0 || ieeeExponent <= 1 ? 1 : 0;
+
+        // Step 3: convert to a decimal power base using 128-bit arithmetic
+        long vr;
+        long vp;
+        long vm;
+        int e10;
+        boolean vmIsTrailingZeros = false;
+        boolean vrIsTrailingZeros = false;
+        if (e2 >= 0) {
+            int q = log10Pow2(e2) - (e2 > 3 ? 1 : 0);
+            e10 = q;
+            int k = POW5_INV_BITCOUNT + pow5bits(q) - 1;
+            int i = -e2 + q + k;
+            long[] mul = POW5_INV_SPLIT[q];
+            vr = mulShift64(4 * m2, mul, i);
+            vp = mulShift64(4 * m2 + 2, mul, i);
+            vm = mulShift64(4 * m2 - 1 - mmShift, mul, i);
+            if (q <= 21) {
+                if (mv % 5 == 0) {
+                    vrIsTrailingZeros = multipleOfPowerOf5(mv, q);
+                } else if (acceptBounds) {
+                    vmIsTrailingZeros = multipleOfPowerOf5(mv - 1 - mmShift, q);
+                } else if (multipleOfPowerOf5(mv + 2, q)) {
+                    vp--;
+                }
+            }
+        } else {
+            int q = log10Pow5(-e2) - (-e2 > 1 ? 1 : 0);
+            e10 = q + e2;
+            int i = -e2 - q;
+            int k = pow5bits(i) - POW5_BITCOUNT;
+            int j = q - k;
+            long[] mul = POW5_SPLIT[i];
+            vr = mulShift64(4 * m2, mul, j);
+            vp = mulShift64(4 * m2 + 2, mul, j);
+            vm = mulShift64(4 * m2 - 1 - mmShift, mul, j);
+            if (q <= 1) {
+                vrIsTrailingZeros = true;
+                if (acceptBounds) {
+                    vmIsTrailingZeros = mmShift == 1;
+                } else {
+                    vp--;
+                }
+            } else if (q < 63) {
+                vrIsTrailingZeros = (mv & ((1L << q) - 1)) == 0;
+            }
+        }
+
+        // Step 4: find the shortest decimal representation in the interval
+        int removed = 0;
+        int lastRemovedDigit = 0;
+        long output;
+        if (vmIsTrailingZeros || vrIsTrailingZeros) {
+            while (vp / 10 > vm / 10) {
+                vmIsTrailingZeros &= vm % 10 == 0;
+                vrIsTrailingZeros &= lastRemovedDigit == 0;
+                lastRemovedDigit = (int) (vr % 10);
+                vr /= 10;
+                vp /= 10;
+                vm /= 10;
+                removed++;
+            }
+            if (vmIsTrailingZeros) {
+                while (vm % 10 == 0) {
+                    vrIsTrailingZeros &= lastRemovedDigit == 0;
+                    lastRemovedDigit = (int) (vr % 10);
+                    vr /= 10;
+                    vp /= 10;
+                    vm /= 10;
+                    removed++;
+                }
+            }
+            if (vrIsTrailingZeros && lastRemovedDigit == 5 && vr % 2 == 0) {
+                // round to even
+                lastRemovedDigit = 4;
+            }
+            output = vr + ((vr == vm && (!acceptBounds || !vmIsTrailingZeros)) || lastRemovedDigit >= 5 ? 1 : 0);
+        } else {
+            boolean roundUp = false;
+            if (vp / 100 > vm / 100) {
+                roundUp = vr % 100 >= 50;
+                vr /= 100;
+                vp /= 100;
+                vm /= 100;
+                removed += 2;
+            }
+            while (vp / 10 > vm / 10) {
+                roundUp = vr % 10 >= 5;
+                vr /= 10;
+                vp /= 10;
+                vm /= 10;
+                removed++;
+            }
+            output = vr + (vr == vm || roundUp ? 1 : 0);
+        }
+        return format(negative, output, e10 + removed);
+    }
+
+    /**
+     * Writes {@code digits * 10^exp} in the format of CPython's {@code repr}.
+     */
+    private static String format(boolean negative, long digits, int exp) {
+        int length = decimalLength(digits);
+        // position of the decimal point relative to the first digit
+        int decpt = exp + length;
+        // sign, "0.", up to three leading zeros, 17 digits, trailing zeros up to exponent 16, ".0"
+        char[] buf = new char[26];
+        int pos = 0;
+        if (negative) {
+            buf[pos++] = '-';
+        }
+        if (decpt > -4 && decpt <= 16) {
+            if (decpt <= 0) {
+                buf[pos++] = '0';
+                buf[pos++] = '.';
+                for (int i = decpt; i < 0; i++) {
+                    buf[pos++] = '0';
+                }
+                pos = writeDigits(buf, pos, digits, length);
+            } else if (decpt >= length) {
+                pos = writeDigits(buf, pos, digits, length);
+                for (int i = length; i < decpt; i++) {
+                    buf[pos++] = '0';
+                }
+                buf[pos++] = '.';
+                buf[pos++] = '0';
+            } else {
+                pos = writeDigits(buf, pos, digits, length);
+                // shift the fractional digits to make room for the point
+                System.arraycopy(buf, pos - (length - decpt), buf, pos - (length - decpt) + 1, length - decpt);
+                buf[pos - (length - decpt)] = '.';
+                pos++;
+            }
+        } else {
+            int start = pos;
+            pos = writeDigits(buf, pos + 1, digits, length);
+            buf[start] = buf[start + 1];
+            if (length > 1) {
+                buf[start + 1] = '.';
+            } else {
+                pos--;
+            }
+            int e = decpt - 1;
+            buf[pos++] = 'e';
+            buf[pos++] = e < 0 ? '-' : '+';
+            e = Math.abs(e);
+            if (e >= 100) {
+                buf[pos++] = (char) ('0' + e / 100);
+                e %= 100;
+            }
+            buf[pos++] = (char) ('0' + e / 10);
+            buf[pos++] = (char) ('0' + e % 10);
+        }
+        return new String(buf, 0, pos);
+    }
+
+    private static int writeDigits(char[] buf, int start, long digits, int length) {
+        long rest = digits;
+        for (int i = start + length - 1; i >= start; i--) {
+            buf[i] = (char) ('0' + rest % 10);
+            rest /= 10;
+        }
+        return start + length;
+    }
+
+    private static int decimalLength(long v) {
+        int length = 1;
+        for (long limit = 10; length < 17 && v >= limit; limit *= 10) {
+            length++;
+        }
+        return length;
+    }
+
+    private static int pow5bits(int e) {
+        return ((e * 1217359) >>> 19) + 1;
+    }
+
+    private static int log10Pow2(int e) {
+        return (e * 78913) >>> 18;
+    }
+
+    private static int log10Pow5(int e) {
+        return (e * 732923) >>> 20;
+    }
+
+    private static boolean multipleOfPowerOf5(long value, int p) {
+        long v = value;
+        int count = 0;
+        while (v > 0 && v % 5 == 0) {
+            v /= 5;
+            count++;
+        }
+        return count >= p;
+    }
+
+    /**
+     * Computes {@code (m * mul) >> j} for a 55-bit {@code m} and a 125-bit {@code mul}, where the
+     * result fits into 63 bits.
+     */
+    private static long mulShift64(long m, long[] mul, int j) {
+        long low1 = m * mul[1];
+        long high1 = multiplyHighUnsigned(m, mul[1]);
+        long high0 = multiplyHighUnsigned(m, mul[0]);
+        long sum = high0 + low1;
+        if (Long.compareUnsigned(sum, high0) < 0) {
+            high1++;
+        }
+        int shift = j - 64;
+        assert shift > 0 && shift < 64;
+        return (high1 << (64 - shift)) | (sum >>> shift);
+    }
+
+    private static long multiplyHighUnsigned(long a, long b) {
+        long aLow = a & 0xFFFFFFFFL;
+        long aHigh = a >>> 32;
+        long bLow = b & 0xFFFFFFFFL;
+        long bHigh = b >>> 32;
+        long cross = ((aLow * bLow) >>> 32) + ((aHigh * bLow) & 0xFFFFFFFFL) + aLow * bHigh;
+        return aHigh * bHigh + ((aHigh * bLow) >>> 32) + (cross >>> 32);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime.interop;
+
+import java.util.Arrays;
+
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.TruffleObject;
+
+/**
+ * The result of the {@code KEYS} message on Python objects. The keys are copied once when the view
+ * is created, so the view does not change when the object is modified while the host iterates
+ * over it, and it can be read from any thread. The keys of a dict are copied straight from its
+ * {@link HashingStorage}, without the intermediate Python lists and tuples of {@code keys()}.
+ */
+public final class PythonKeysView implements TruffleObject {
+    private static final Object[] EMPTY = new Object[0];
+
+    private final Object[] keys;
+
+    PythonKeysView(Object[] keys) {
+        this.keys = keys;
+    }
+
+    static PythonKeysView empty() {
+        return new PythonKeysView(EMPTY);
+    }
+
+    /**
+     * Creates a view of the attribute names followed by the keys of a dict. Foreign languages
+     * expect keys to be strings, so the dict keys are only included if there are no others.
+     */
+    @TruffleBoundary
+    static PythonKeysView withDictKeys(Object[] attributeNames, HashingStorage storage) {
+        Object[] keys = Arrays.copyOf(attributeNames, attributeNames.length + storage.length());
+        int i = attributeNames.length;
+        for (Object key : storage.keys()) {
+            if (!(key instanceof String || key instanceof PString)) {
+                return new PythonKeysView(attributeNames);
+            }
+            keys[i++] = key.toString();
+        }
+        return new PythonKeysView(i == keys.length ? keys : Arrays.copyOf(keys, i));
+    }
+
+    int getSize() {
+        return keys.length;
+    }
+
+    /**
+     * @return the key at {@code index} as a Java string, or {@code null} if the index is out of
+     *         bounds.
+     */
+    Object get(long index) {
+        if (index < 0 || index >= keys.length) {
+            return null;
+        }
+        return keys[(int) index];
+    }
+
+    static boolean isInstance(TruffleObject o) {
+        return o instanceof PythonKeysView;
+    }
+
+    public ForeignAccess getForeignAccess() {
+        return PythonKeysViewMRForeign.ACCESS;
+    }
+}
@@ -45,21 +45,28 @@ import com.oracle.graal.python.builtins.modules.BuiltinFunctionsFactory;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.PythonAbstractObject;
 import com.oracle.graal.python.builtins.objects.cext.PythonNativeObject;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageNodes;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
+import com.oracle.graal.python.builtins.objects.function.PFunction;
 import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.method.PMethod;
 import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
 import com.oracle.graal.python.builtins.objects.str.PString;
 import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
 import com.oracle.graal.python.builtins.objects.type.PythonClass;
 import com.oracle.graal.python.nodes.SpecialMethodNames;
-import com.oracle.graal.python.nodes.argument.ArityCheckNode;
 import com.oracle.graal.python.nodes.argument.CreateArgumentsNode;
 import com.oracle.graal.python.nodes.attributes.DeleteAttributeNode;
 import com.oracle.graal.python.nodes.attributes.GetAttributeNode;
 import com.oracle.graal.python.nodes.attributes.LookupInheritedAttributeNode;
+import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
 import com.oracle.graal.python.nodes.attributes.SetAttributeNode;
 import com.oracle.graal.python.nodes.call.CallDispatchNode;
+import com.oracle.graal.python.nodes.call.InvokeNode;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
 import com.oracle.graal.python.nodes.datamodel.IsCallableNode;
 import com.oracle.graal.python.nodes.datamodel.IsMappingNode;
@@ -72,10 +79,15 @@ import com.oracle.graal.python.nodes.interop.PTypeUnboxNode;
 import com.oracle.graal.python.nodes.subscript.DeleteItemNode;
 import com.oracle.graal.python.nodes.subscript.GetItemNode;
 import com.oracle.graal.python.nodes.subscript.SetItemNode;
+import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.exception.PException;
-import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.interop.PythonMessageResolutionFactory.ExecuteFunctionNodeGen;
 import com.oracle.graal.python.runtime.sequence.PSequence;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.interop.CanResolve;
 import com.oracle.truffle.api.interop.KeyInfo;
 import com.oracle.truffle.api.interop.Message;
@@ -85,6 +97,7 @@ import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.api.profiles.ValueProfile;
@@ -152,20 +165,49 @@ public class PythonMessageResolution {
         }
     }
 
+    /**
+     * Checks if reading an attribute could succeed without actually reading it, so that we do not
+     * have to raise and catch an {@code AttributeError} for every missing attribute. Only objects
+     * whose type uses the builtin {@code __getattribute__} and {@code __getattr__} are checked, all
+     * others may have any attribute.
+     */
+    private static final class MayHaveAttribute extends Node {
+        @Child private ReadAttributeFromObjectNode readOwnNode = ReadAttributeFromObjectNode.create();
+        @Child private LookupInheritedAttributeNode lookupNode = LookupInheritedAttributeNode.create();
+        @Child private LookupInheritedAttributeNode lookupGetattributeNode = LookupInheritedAttributeNode.create();
+        @Child private LookupInheritedAttributeNode lookupGetattrNode = LookupInheritedAttributeNode.create();
+        final ConditionProfile plainObjectProfile = ConditionProfile.createBinaryProfile();
+
+        public boolean execute(Object object, String key) {
+            if (plainObjectProfile.profile(object instanceof PythonObject && !(object instanceof PythonClass) && !(object instanceof PythonNativeObject))) {
+                if (!(lookupGetattributeNode.execute(object, SpecialMethodNames.__GETATTRIBUTE__) instanceof PBuiltinFunction) ||
+                                !(lookupGetattrNode.execute(object, SpecialMethodNames.__GETATTR__) instanceof PBuiltinFunction)) {
+                    return true;
+                }
+                return readOwnNode.execute(object, key) != PNone.NO_VALUE || lookupNode.execute(object, key) != PNone.NO_VALUE;
+            }
+            return true;
+        }
+    }
+
     private static final class ReadNode extends Node {
         private static final Object NONEXISTING_IDENTIFIER = new Object();
 
         @Child private IsSequenceNode isSequence = IsSequenceNode.create();
         @Child private GetAttributeNode readNode = GetAttributeNode.create();
         @Child private GetItemNode getItemNode = GetItemNode.create();
+        @Child private MayHaveAttribute mayHaveAttribute = new MayHaveAttribute();
+        @Child private HashingStorageNodes.GetItemNode getDictItemNode = HashingStorageNodes.GetItemNode.create();
+        @Child private PForeignToPTypeNode fromForeign = PForeignToPTypeNode.create();
         @Child private KeyForAttributeAccess getAttributeKey = new KeyForAttributeAccess();
         @Child private KeyForItemAccess getItemKey = new KeyForItemAccess();
         final ConditionProfile strProfile = ConditionProfile.createBinaryProfile();
+        final ConditionProfile dictProfile = ConditionProfile.createBinaryProfile();
         @Child private PTypeToForeignNode toForeign = PTypeToForeignNodeGen.create();
 
         public Object execute(Object object, Object key) {
             String attrKey = getAttributeKey.execute(key);
-            if (attrKey != null) {
+            if (attrKey != null && mayHaveAttribute.execute(object, attrKey)) {
                 try {
                     return toForeign.executeConvert(readNode.execute(object, attrKey));
                 } catch (PException e) {
@@ -173,18 +215,36 @@ public class PythonMessageResolution {
                 }
             }
 
+            boolean isDict = dictProfile.profile(isBuiltinDict(object));
             String itemKey = getItemKey.execute(key);
             if (itemKey != null) {
+                if (isDict) {
+                    Object value = getDictItemNode.execute(((PDict) object).getDictStorage(), itemKey);
+                    if (value != null) {
+                        return toForeign.executeConvert(value);
+                    }
+                }
                 return toForeign.executeConvert(getItemNode.execute(object, itemKey));
             }
 
-            if (strProfile.profile(key instanceof String)) {
+            if (strProfile.profile(key instanceof String) && mayHaveAttribute.execute(object, (String) key)) {
                 try {
                     return toForeign.executeConvert(readNode.execute(object, key));
                 } catch (PException e) {
                     // pass
                 }
             }
+            if (isDict) {
+                try {
+                    Object value = getDictItemNode.execute(((PDict) object).getDictStorage(), fromForeign.executeConvert(key));
+                    if (value != null) {
+                        return toForeign.executeConvert(value);
+                    }
+                } catch (PException e) {
+                    // pass, the key is not hashable
+                }
+                return NONEXISTING_IDENTIFIER;
+            }
             if (isSequence.execute(object)) {
                 try {
                     return toForeign.executeConvert(getItemNode.execute(object, key));
@@ -196,19 +256,29 @@ public class PythonMessageResolution {
         }
     }
 
+    /**
+     * Dicts of subclasses may override {@code __getitem__} or {@code __missing__}, so only the
+     * storage of builtin dicts is read directly.
+     */
+    private static boolean isBuiltinDict(Object object) {
+        return object instanceof PDict && ((PDict) object).getPythonClass() instanceof PythonBuiltinClass;
+    }
+
     private static final class KeysNode extends Node {
         @Child private IsMappingNode isMapping = IsMappingNode.create();
         @Child private LookupAndCallUnaryNode keysNode = LookupAndCallUnaryNode.create(SpecialMethodNames.KEYS);
         @Child private CastToListNode castToList = CastToListNode.create();
-        @Child private PythonObjectFactory factory = PythonObjectFactory.create();
+        final ConditionProfile dictProfile = ConditionProfile.createBinaryProfile();
 
         public Object execute(Object obj) {
             if (obj instanceof PythonNativeObject || !(obj instanceof PythonObject)) {
-                return factory.createTuple(new Object[0]);
+                return PythonKeysView.empty();
             }
             PythonObject object = (PythonObject) obj;
             Object[] attributeNames = object.getAttributeNames().toArray();
-            if (isMapping.execute(object)) {
+            if (dictProfile.profile(isBuiltinDict(object))) {
+                return PythonKeysView.withDictKeys(attributeNames, ((PDict) object).getDictStorage());
+            } else if (isMapping.execute(object)) {
                 PList keys = castToList.executeWith(keysNode.executeObject(object));
                 Object[] keysArray = keys.getSequenceStorage().getCopyOfInternalArray();
                 Object[] retVal = Arrays.copyOf(attributeNames, keysArray.length + attributeNames.length);
@@ -217,24 +287,122 @@ public class PythonMessageResolution {
                     if (key instanceof String || key instanceof PString) {
                         retVal[i + attributeNames.length] = key.toString();
                     } else {
-                        return factory.createTuple(attributeNames);
+                        return new PythonKeysView(attributeNames);
                     }
                 }
-                return factory.createTuple(retVal);
+                return new PythonKeysView(retVal);
+            } else {
+                return new PythonKeysView(attributeNames);
+            }
+        }
+    }
+
+    /**
+     * Converts foreign arguments and writes them straight into a {@link PArguments} array. Each
+     * argument position has its own conversion node and class profile, so that the conversion
+     * folds away for call sites that always pass the same types.
+     */
+    static final class ForeignArgumentsNode extends Node {
+        @Children private final PForeignToPTypeNode[] fromForeign;
+        @CompilationFinal(dimensions = 1) private final ValueProfile[] argumentProfiles;
+
+        ForeignArgumentsNode(int length) {
+            fromForeign = new PForeignToPTypeNode[length];
+            argumentProfiles = new ValueProfile[length];
+            for (int i = 0; i < length; i++) {
+                fromForeign[i] = PForeignToPTypeNode.create();
+                argumentProfiles[i] = ValueProfile.createClassProfile();
+            }
+        }
+
+        @ExplodeLoop
+        public Object[] execute(Object self, Object[] arguments) {
+            int offset = PArguments.USER_ARGUMENTS_OFFSET;
+            Object[] pArguments;
+            if (self == null) {
+                pArguments = PArguments.create(fromForeign.length);
             } else {
-                return factory.createTuple(attributeNames);
+                pArguments = PArguments.create(fromForeign.length + 1);
+                pArguments[offset++] = self;
             }
+            for (int i = 0; i < fromForeign.length; i++) {
+                pArguments[offset + i] = fromForeign[i].executeConvert(argumentProfiles[i].profile(arguments[i]));
+            }
+            return pArguments;
+        }
+
+        static ForeignArgumentsNode create(int length) {
+            return new ForeignArgumentsNode(length);
         }
     }
 
+    /**
+     * Calls Python functions and bound methods directly, instead of going through their
+     * {@code __call__} builtin.
+     */
+    @ImportStatic(PythonOptions.class)
+    abstract static class ExecuteFunctionNode extends Node {
+
+        public abstract Object execute(Object receiver, Object[] arguments);
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"receiver == cachedCallee", "arguments.length == cachedLength"}, limit = "getCallSiteInlineCacheMaxDepth()")
+        Object callFunction(PFunction receiver, Object[] arguments,
+                        @Cached("receiver") PFunction cachedCallee,
+                        @Cached("arguments.length") int cachedLength,
+                        @Cached("create(cachedLength)") ForeignArgumentsNode createArgs,
+                        @Cached("create(cachedCallee)") InvokeNode invoke) {
+            return invoke.invoke(createArgs.execute(null, arguments), PKeyword.EMPTY_KEYWORDS);
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"receiver.__func__() == cachedCallee", "arguments.length == cachedLength"}, limit = "getCallSiteInlineCacheMaxDepth()")
+        Object callMethod(PMethod receiver, Object[] arguments,
+                        @Cached("receiver.__func__()") PFunction cachedCallee,
+                        @Cached("arguments.length") int cachedLength,
+                        @Cached("create(cachedLength)") ForeignArgumentsNode createArgs,
+                        @Cached("create(cachedCallee)") InvokeNode invoke) {
+            return invoke.invoke(createArgs.execute(receiver.__self__(), arguments), PKeyword.EMPTY_KEYWORDS);
+        }
+
+        @Specialization(replaces = "callFunction")
+        Object callFunctionGeneric(PFunction receiver, Object[] arguments,
+                        @Cached("create()") PForeignToPTypeNode fromForeign,
+                        @Cached("create()") CreateArgumentsNode createArgs,
+                        @Cached("create()") CallDispatchNode dispatch) {
+            return dispatch.executeCall(receiver, createArgs.execute(convertArguments(fromForeign, arguments)), PKeyword.EMPTY_KEYWORDS);
+        }
+
+        @Specialization(replaces = "callMethod")
+        Object callMethodGeneric(PMethod receiver, Object[] arguments,
+                        @Cached("create()") PForeignToPTypeNode fromForeign,
+                        @Cached("create()") CreateArgumentsNode createArgs,
+                        @Cached("create()") CallDispatchNode dispatch) {
+            return dispatch.executeCall(receiver.__func__(), createArgs.executeWithSelf(receiver.__self__(), convertArguments(fromForeign, arguments)), PKeyword.EMPTY_KEYWORDS);
+        }
+
+        public static ExecuteFunctionNode create() {
+            return ExecuteFunctionNodeGen.create();
+        }
+    }
+
+    private static Object[] convertArguments(PForeignToPTypeNode fromForeign, Object[] arguments) {
+        Object[] convertedArgs = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            convertedArgs[i] = fromForeign.executeConvert(arguments[i]);
+        }
+        return convertedArgs;
+    }
+
     private static final class ExecuteNode extends Node {
         @Child private PTypeToForeignNode toForeign = PTypeToForeignNodeGen.create();
         @Child private PForeignToPTypeNode fromForeign = PForeignToPTypeNode.create();
         @Child private LookupInheritedAttributeNode getCall = LookupInheritedAttributeNode.create();
         @Child private CallDispatchNode dispatch;
         @Child private CreateArgumentsNode createArgs = CreateArgumentsNode.create();
-        @Child private ArityCheckNode arityCheckNode = ArityCheckNode.create();
+        @Child private ExecuteFunctionNode executeFunction;
         final ValueProfile classProfile = ValueProfile.createClassProfile();
+        final ConditionProfile functionProfile = ConditionProfile.createBinaryProfile();
 
         private CallDispatchNode getDispatchNode() {
             if (dispatch == null) {
@@ -244,24 +412,32 @@ public class PythonMessageResolution {
             return dispatch;
         }
 
+        private ExecuteFunctionNode getExecuteFunctionNode() {
+            if (executeFunction == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                executeFunction = insert(ExecuteFunctionNode.create());
+            }
+            return executeFunction;
+        }
+
         public Object execute(Object receiver, Object[] arguments) {
+            if (functionProfile.profile(receiver instanceof PFunction || receiver instanceof PMethod)) {
+                return toForeign.executeConvert(getExecuteFunctionNode().execute(receiver, arguments));
+            }
+
             Object callable = getCall.execute(receiver, SpecialMethodNames.__CALL__);
 
             // convert foreign argument values to Python values
-            Object[] convertedArgs = new Object[arguments.length];
-            for (int i = 0; i < arguments.length; i++) {
-                convertedArgs[i] = fromForeign.executeConvert(arguments[i]);
-            }
+            Object[] convertedArgs = convertArguments(fromForeign, arguments);
 
             Object profiledCallable = classProfile.profile(callable);
             if (profiledCallable == PNone.NO_VALUE) {
                 throw UnsupportedMessageException.raise(Message.createExecute(convertedArgs.length));
             }
 
-            PKeyword[] emptyKeywords = new PKeyword[0];
             Object[] pArguments = createArgs.executeWithSelf(receiver, convertedArgs);
 
-            return toForeign.executeConvert(getDispatchNode().executeCall(profiledCallable, pArguments, emptyKeywords));
+            return toForeign.executeConvert(getDispatchNode().executeCall(profiledCallable, pArguments, PKeyword.EMPTY_KEYWORDS));
         }
     }
 
@@ -471,19 +647,17 @@ public class PythonMessageResolution {
 
     @Resolve(message = "KEY_INFO")
     abstract static class PKeyInfoNode extends Node {
-        @Child private GetAttributeNode getCallNode = GetAttributeNode.create();
-        ReadNode readNode = new ReadNode();
-        IsImmutable isImmutable = new IsImmutable();
+        @Child private LookupInheritedAttributeNode getCallNode = LookupInheritedAttributeNode.create();
+        @Child private ReadNode readNode = new ReadNode();
+        @Child private IsImmutable isImmutable = new IsImmutable();
 
         public int access(Object object, Object fieldName) {
             Object attr = readNode.execute(object, fieldName);
             int info = KeyInfo.NONE;
             if (attr != ReadNode.NONEXISTING_IDENTIFIER) {
                 info |= KeyInfo.READABLE;
-                try {
-                    getCallNode.execute(attr, SpecialMethodNames.__CALL__);
+                if (getCallNode.execute(attr, SpecialMethodNames.__CALL__) != PNone.NO_VALUE) {
                     info |= KeyInfo.INVOCABLE;
-                } catch (PException e) {
                 }
             }
             if (!isImmutable.execute(object)) {
@@ -508,11 +682,10 @@ public class PythonMessageResolution {
     @Resolve(message = "KEYS")
     abstract static class PForeignKeysNode extends Node {
         @Child KeysNode keysNode = new KeysNode();
-        @Child private PythonObjectFactory factory = PythonObjectFactory.create();
 
         @SuppressWarnings("unused")
         public Object access(PNone object) {
-            return factory.createTuple(new Object[0]);
+            return PythonKeysView.empty();
         }
 
         public Object access(Object object) {
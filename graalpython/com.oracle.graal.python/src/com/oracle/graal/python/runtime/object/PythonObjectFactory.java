@@ -33,8 +33,11 @@ import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.objects.array.PCharArray;
 import com.oracle.graal.python.builtins.objects.array.PDoubleArray;
+import com.oracle.graal.python.builtins.objects.array.PFloatArray;
+import com.oracle.graal.python.builtins.objects.array.PInt8Array;
 import com.oracle.graal.python.builtins.objects.array.PIntArray;
 import com.oracle.graal.python.builtins.objects.array.PLongArray;
+import com.oracle.graal.python.builtins.objects.array.PShortArray;
 import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
 import com.oracle.graal.python.builtins.objects.cell.PCell;
@@ -63,6 +66,7 @@ import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.function.PythonCallable;
 import com.oracle.graal.python.builtins.objects.generator.PGenerator;
 import com.oracle.graal.python.builtins.objects.getsetdescriptor.GetSetDescriptor;
+import com.oracle.graal.python.builtins.objects.getsetdescriptor.MemberDescriptor;
 import com.oracle.graal.python.builtins.objects.ints.PInt;
 import com.oracle.graal.python.builtins.objects.iterator.PBaseSetIterator;
 import com.oracle.graal.python.builtins.objects.iterator.PCharArrayIterator;
@@ -95,6 +99,8 @@ import com.oracle.graal.python.builtins.objects.set.PFrozenSet;
 import com.oracle.graal.python.builtins.objects.set.PSet;
 import com.oracle.graal.python.builtins.objects.slice.PSlice;
 import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.struct.PStruct;
+import com.oracle.graal.python.builtins.objects.struct.StructFormat;
 import com.oracle.graal.python.builtins.objects.traceback.PTraceback;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.builtins.objects.type.PythonClass;
@@ -312,6 +318,10 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PRandom(cls));
     }
 
+    public PStruct createStruct(PythonClass cls, StructFormat format) {
+        return trace(new PStruct(cls, format));
+    }
+
     /*
      * Classes, methods and functions
      */
@@ -356,6 +366,10 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new GetSetDescriptor(lookupClass(PythonBuiltinClassType.GetSetDescriptor), get, set, name, type));
     }
 
+    public MemberDescriptor createMemberDescriptor(String name, PythonClass type) {
+        return trace(new MemberDescriptor(lookupClass(PythonBuiltinClassType.MemberDescriptor), name, type));
+    }
+
     /*
      * Lists, sets and dicts
      */
@@ -521,20 +535,32 @@ public abstract class PythonObjectFactory extends Node {
      * Arrays
      */
 
-    public PIntArray createIntArray(PythonClass cls, int[] array) {
-        return trace(new PIntArray(cls, array));
+    public PInt8Array createInt8Array(PythonClass cls, char typeCode, byte[] array) {
+        return trace(new PInt8Array(cls, typeCode, array));
+    }
+
+    public PShortArray createShortArray(PythonClass cls, char typeCode, short[] array) {
+        return trace(new PShortArray(cls, typeCode, array));
+    }
+
+    public PIntArray createIntArray(PythonClass cls, char typeCode, int[] array) {
+        return trace(new PIntArray(cls, typeCode, array));
     }
 
-    public PDoubleArray createDoubleArray(PythonClass cls, double[] array) {
-        return trace(new PDoubleArray(cls, array));
+    public PLongArray createLongArray(PythonClass cls, char typeCode, long[] array) {
+        return trace(new PLongArray(cls, typeCode, array));
     }
 
-    public PCharArray createCharArray(PythonClass cls, char[] array) {
-        return trace(new PCharArray(cls, array));
+    public PFloatArray createFloatArray(PythonClass cls, char typeCode, float[] array) {
+        return trace(new PFloatArray(cls, typeCode, array));
     }
 
-    public PLongArray createLongArray(PythonClass cls, long[] array) {
-        return trace(new PLongArray(cls, array));
+    public PDoubleArray createDoubleArray(PythonClass cls, char typeCode, double[] array) {
+        return trace(new PDoubleArray(cls, typeCode, array));
+    }
+
+    public PCharArray createCharArray(PythonClass cls, char typeCode, char[] array) {
+        return trace(new PCharArray(cls, typeCode, array));
     }
 
     public PByteArray createByteArray(PythonClass cls, byte[] array) {
@@ -545,20 +571,32 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PByteArray(cls, storage));
     }
 
-    public PIntArray createIntArray(int[] array) {
-        return trace(new PIntArray(lookupClass(PythonBuiltinClassType.PIntArray), array));
+    public PInt8Array createInt8Array(char typeCode, byte[] array) {
+        return createInt8Array(lookupClass(PythonBuiltinClassType.PArray), typeCode, array);
+    }
+
+    public PShortArray createShortArray(char typeCode, short[] array) {
+        return createShortArray(lookupClass(PythonBuiltinClassType.PArray), typeCode, array);
+    }
+
+    public PIntArray createIntArray(char typeCode, int[] array) {
+        return createIntArray(lookupClass(PythonBuiltinClassType.PArray), typeCode, array);
+    }
+
+    public PLongArray createLongArray(char typeCode, long[] array) {
+        return createLongArray(lookupClass(PythonBuiltinClassType.PArray), typeCode, array);
     }
 
-    public PDoubleArray createDoubleArray(double[] array) {
-        return trace(new PDoubleArray(lookupClass(PythonBuiltinClassType.PDoubleArray), array));
+    public PFloatArray createFloatArray(char typeCode, float[] array) {
+        return createFloatArray(lookupClass(PythonBuiltinClassType.PArray), typeCode, array);
     }
 
-    public PCharArray createCharArray(char[] array) {
-        return trace(new PCharArray(lookupClass(PythonBuiltinClassType.PCharArray), array));
+    public PDoubleArray createDoubleArray(char typeCode, double[] array) {
+        return createDoubleArray(lookupClass(PythonBuiltinClassType.PArray), typeCode, array);
     }
 
-    public PLongArray createLongArray(long[] array) {
-        return trace(new PLongArray(lookupClass(PythonBuiltinClassType.PLongArray), array));
+    public PCharArray createCharArray(char typeCode, char[] array) {
+        return createCharArray(lookupClass(PythonBuiltinClassType.PArray), typeCode, array);
     }
 
     public PByteArray createByteArray(byte[] array) {
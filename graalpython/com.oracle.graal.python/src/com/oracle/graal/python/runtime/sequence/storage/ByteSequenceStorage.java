@@ -37,6 +37,10 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
 
     private byte[] values;
 
+    // off-heap copy of the elements once native code got a pointer to them; it is authoritative
+    // from then on and 'values' is only synchronized with it around bulk operations
+    private NativeMirror nativeMirror;
+
     public ByteSequenceStorage(byte[] elements) {
         this.values = elements;
         this.capacity = values.length;
@@ -63,9 +67,75 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
 
     @Override
     public SequenceStorage copy() {
+        syncFromNative();
         return new ByteSequenceStorage(Arrays.copyOf(values, length));
     }
 
+    @Override
+    public void setNewLength(int length) {
+        syncFromNative();
+        super.setNewLength(length);
+        syncToNative();
+    }
+
+    /**
+     * Moves the elements into native memory, followed by a {@code 0} byte as C expects for
+     * {@code ob_sval}, and returns the address of that memory. From then on, element reads and
+     * writes of this storage go through the native memory, and bulk operations copy the elements
+     * from and back to it. The memory is freed once {@code owner} (the native wrapper of the
+     * object, which native code must keep a reference to while it uses the pointer) and this
+     * storage are unreachable.
+     */
+    public long attachNativeMirror(Object owner) {
+        if (nativeMirror == null) {
+            nativeMirror = NativeMirror.allocate(owner, length + 1);
+            syncToNative();
+        }
+        return nativeMirror.getAddress();
+    }
+
+    public boolean isNativeMirrorAttached() {
+        return nativeMirror != null;
+    }
+
+    /**
+     * Picks up writes that native code did through its pointer.
+     */
+    private void syncFromNative() {
+        if (nativeMirror != null) {
+            nativeMirror.copyTo(values, length);
+        }
+    }
+
+    /**
+     * Publishes the result of a managed bulk operation to native code. If the elements no longer
+     * fit, the native memory is reallocated, which invalidates old pointers like a resize in
+     * CPython does.
+     */
+    private void syncToNative() {
+        if (nativeMirror != null) {
+            if (nativeMirror.getCapacity() < length + 1) {
+                nativeMirror.reallocate(Math.max(length, capacity) + 1);
+            }
+            nativeMirror.copyFrom(values, length);
+            nativeMirror.putByte(length, (byte) 0);
+        }
+    }
+
+    /**
+     * Makes room for {@code newLength} elements in the native memory and in {@link #values}, which
+     * must be able to take the elements when they are synchronized. The native memory grows with
+     * the managed capacity, so single element operations do not reallocate it every time.
+     */
+    private void ensureNativeCapacity(int newLength) {
+        ensureCapacity(newLength);
+        if (nativeMirror.getCapacity() < newLength + 1) {
+            syncFromNative();
+            nativeMirror.reallocate(capacity + 1);
+            nativeMirror.copyFrom(values, length);
+        }
+    }
+
     @Override
     public SequenceStorage createEmpty(int newCapacity) {
         return new ByteSequenceStorage(newCapacity);
@@ -73,6 +143,7 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
 
     @Override
     public Object[] getInternalArray() {
+        syncFromNative();
         /**
          * Have to box and copy.
          */
@@ -85,16 +156,32 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
         return boxed;
     }
 
+    /**
+     * Returns the elements, including the writes native code did. If native code has a pointer to
+     * the elements, writes to the returned array must be published with
+     * {@link #flushInternalByteArray()}.
+     */
     public byte[] getInternalByteArray() {
+        syncFromNative();
         return values;
     }
 
+    /**
+     * Publishes writes to the array returned by {@link #getInternalByteArray()} to native code.
+     */
+    public void flushInternalByteArray() {
+        syncToNative();
+    }
+
     @Override
     public Object getItemNormalized(int idx) {
         return getIntItemNormalized(idx);
     }
 
     public int getIntItemNormalized(int idx) {
+        if (nativeMirror != null) {
+            return nativeMirror.getByte(idx) & 0xFF;
+        }
         return values[idx] & 0xFF;
     }
 
@@ -113,6 +200,10 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
     }
 
     public void setByteItemNormalized(int idx, byte value) {
+        if (nativeMirror != null) {
+            nativeMirror.putByte(idx, value);
+            return;
+        }
         values[idx] = value;
     }
 
@@ -128,12 +219,17 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
     }
 
     public void insertByteItem(int idx, byte value) {
+        if (nativeMirror != null) {
+            ensureNativeCapacity(length + 1);
+            nativeMirror.move(idx, idx + 1, length - idx + 1);
+            nativeMirror.putByte(idx, value);
+            length++;
+            return;
+        }
         ensureCapacity(length + 1);
 
         // shifting tail to the right by one slot
-        for (int i = values.length - 1; i > idx; i--) {
-            values[i] = values[i - 1];
-        }
+        System.arraycopy(values, idx, values, idx + 1, length - idx);
 
         values[idx] = value;
         length++;
@@ -141,11 +237,14 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
 
     @Override
     public void copyItem(int idxTo, int idxFrom) {
+        syncFromNative();
         values[idxTo] = values[idxFrom];
+        syncToNative();
     }
 
     @Override
     public ByteSequenceStorage getSliceInBound(int start, int stop, int step, int sliceLength) {
+        syncFromNative();
         byte[] newArray = new byte[sliceLength];
 
         if (step == 1) {
@@ -172,6 +271,7 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
     }
 
     public void setByteSliceInBound(int start, int stop, int step, IntSequenceStorage sequence) {
+        syncFromNative();
         ensureCapacity(stop);
 
         int[] seqValues = sequence.getInternalIntArray();
@@ -180,30 +280,36 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
         }
 
         length = length > stop ? length : stop;
+        syncToNative();
     }
 
     public void setByteSliceInBound(int start, int stop, int step, ByteSequenceStorage sequence) {
+        syncFromNative();
         int otherLength = sequence.length();
 
         // range is the whole sequence?
         if (start == 0 && stop == length) {
-            values = Arrays.copyOf(sequence.values, otherLength);
+            values = Arrays.copyOf(sequence.getInternalByteArray(), otherLength);
             length = otherLength;
             minimizeCapacity();
+            syncToNative();
             return;
         }
 
         ensureCapacity(stop);
 
+        byte[] otherValues = sequence.getInternalByteArray();
         for (int i = start, j = 0; i < stop; i += step, j++) {
-            values[i] = sequence.values[j];
+            values[i] = otherValues[j];
         }
 
         length = length > stop ? length : stop;
+        syncToNative();
     }
 
     @Override
     public void delSlice(int startParam, int stopParam, int stepParam) {
+        syncFromNative();
         int start = startParam;
         int stop = stopParam;
         int step = stepParam;
@@ -251,6 +357,7 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
                 length = length - decraseLen;
             }
         }
+        syncToNative();
     }
 
     @Override
@@ -264,6 +371,7 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
 
     @Override
     public Object popInBound(int idx) {
+        syncFromNative();
         int pop = values[idx] & 0xFF;
 
         for (int i = idx; i < values.length - 1; i++) {
@@ -271,12 +379,15 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
         }
 
         length--;
+        syncToNative();
         return pop;
     }
 
     public int popInt() {
+        syncFromNative();
         int pop = values[capacity - 1] & 0xFF;
         length--;
+        syncToNative();
         return pop;
     }
 
@@ -293,6 +404,7 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
     }
 
     public int indexOfByte(byte value) {
+        syncFromNative();
         for (int i = 0; i < length; i++) {
             if (values[i] == value) {
                 return i;
@@ -303,6 +415,7 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
     }
 
     public int indexOfInt(int value) {
+        syncFromNative();
         for (int i = 0; i < length; i++) {
             if ((values[i] & 0xFF) == value) {
                 return i;
@@ -324,12 +437,17 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
     }
 
     public void appendInt(int value) {
-        ensureCapacity(length + 1);
-        values[length] = ((Integer) value).byteValue();
-        length++;
+        appendByte(((Integer) value).byteValue());
     }
 
     public void appendByte(byte value) {
+        if (nativeMirror != null) {
+            ensureNativeCapacity(length + 1);
+            nativeMirror.putByte(length, value);
+            length++;
+            nativeMirror.putByte(length, (byte) 0);
+            return;
+        }
         ensureCapacity(length + 1);
         values[length] = value;
         length++;
@@ -345,19 +463,22 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
     }
 
     public void extendWithByteStorage(ByteSequenceStorage other) {
+        syncFromNative();
         int extendedLength = length + other.length();
         ensureCapacity(extendedLength);
-        byte[] otherValues = other.values;
+        byte[] otherValues = other.getInternalByteArray();
 
         for (int i = length, j = 0; i < extendedLength; i++, j++) {
             values[i] = otherValues[j];
         }
 
         length = extendedLength;
+        syncToNative();
     }
 
     @Override
     public void reverse() {
+        syncFromNative();
         if (length > 0) {
             int head = 0;
             int tail = length - 1;
@@ -369,14 +490,17 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
                 values[tail] = temp;
             }
         }
+        syncToNative();
     }
 
     @Override
     public void sort() {
+        syncFromNative();
         byte[] copy = Arrays.copyOf(values, length);
         Arrays.sort(copy);
         values = copy;
         minimizeCapacity();
+        syncToNative();
     }
 
     @Override
@@ -386,6 +510,7 @@ public final class ByteSequenceStorage extends TypedSequenceStorage {
 
     @Override
     public boolean equals(SequenceStorage other) {
+        syncFromNative();
         if (other.length() != length() || !(other instanceof ByteSequenceStorage)) {
             return false;
         }
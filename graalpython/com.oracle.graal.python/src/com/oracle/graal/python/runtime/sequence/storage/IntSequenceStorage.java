@@ -124,9 +124,7 @@ public final class IntSequenceStorage extends TypedSequenceStorage {
         ensureCapacity(length + 1);
 
         // shifting tail to the right by one slot
-        for (int i = values.length - 1; i > idx; i--) {
-            values[i] = values[i - 1];
-        }
+        System.arraycopy(values, idx, values, idx + 1, length - idx);
 
         values[idx] = value;
         length++;
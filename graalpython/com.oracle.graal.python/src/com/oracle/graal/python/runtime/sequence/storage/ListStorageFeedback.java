@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime.sequence.storage;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.utilities.CyclicAssumption;
+
+/**
+ * Allocation-site feedback for list storages. An allocation site (a node building lists from an
+ * iterator) owns one instance and records which storage its lists ended up with and how long they
+ * became. New lists from the same site then start with that storage and capacity instead of
+ * starting empty and being generalized (and copied) on the way.
+ *
+ * The recorded kind only moves up the lattice {@code EMPTY < INT < LONG < OBJECT},
+ * {@code EMPTY < DOUBLE < OBJECT}, so a site is invalidated a bounded number of times. The capacity
+ * is not compiled in; it follows the recent list lengths and decays again after a run of lists
+ * that used only a fraction of it. This matters because sites like the {@code list} constructor
+ * are shared by all its callers.
+ */
+public final class ListStorageFeedback {
+
+    /**
+     * Upper bound for the capacity a site pre-allocates, so that one huge list does not make every
+     * later list from the same site big.
+     */
+    private static final int MAX_CAPACITY = 1 << 12;
+
+    /**
+     * Number of consecutive lists using at most a quarter of the capacity after which it is halved.
+     */
+    private static final int DECAY_THRESHOLD = 8;
+
+    private enum Kind {
+        EMPTY,
+        INT,
+        LONG,
+        DOUBLE,
+        OBJECT
+    }
+
+    private final CyclicAssumption stable = new CyclicAssumption("list storage feedback");
+    @CompilationFinal private Kind kind = Kind.EMPTY;
+    private int capacity;
+    private int underusedCount;
+
+    /**
+     * Creates an empty storage of the kind this site has seen so far, with the capacity recent lists
+     * needed.
+     */
+    public SequenceStorage createStorage() {
+        if (!stable.getAssumption().isValid()) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+        }
+        switch (kind) {
+            case INT:
+                return new IntSequenceStorage(capacity);
+            case LONG:
+                return new LongSequenceStorage(capacity);
+            case DOUBLE:
+                return new DoubleSequenceStorage(capacity);
+            case OBJECT:
+                return new ObjectSequenceStorage(capacity);
+            default:
+                return EmptySequenceStorage.INSTANCE;
+        }
+    }
+
+    /**
+     * Records the final storage of a list that was completely built at this site.
+     */
+    public void recordFinal(SequenceStorage storage) {
+        Kind newKind = join(kind, kindOf(storage));
+        if (newKind != kind) {
+            updateKind(newKind);
+        }
+        int needed = capacityFor(storage.length());
+        if (needed > capacity) {
+            capacity = needed;
+            underusedCount = 0;
+        } else if (needed <= capacity / 4) {
+            if (++underusedCount >= DECAY_THRESHOLD) {
+                capacity /= 2;
+                underusedCount = 0;
+            }
+        } else {
+            underusedCount = 0;
+        }
+    }
+
+    @TruffleBoundary
+    private void updateKind(Kind newKind) {
+        kind = newKind;
+        stable.invalidate();
+    }
+
+    private static int capacityFor(int length) {
+        if (length == 0) {
+            return 0;
+        } else if (length >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit(length - 1) << 1;
+    }
+
+    private static Kind kindOf(SequenceStorage storage) {
+        if (storage instanceof EmptySequenceStorage) {
+            return Kind.EMPTY;
+        } else if (storage instanceof IntSequenceStorage) {
+            return Kind.INT;
+        } else if (storage instanceof LongSequenceStorage) {
+            return Kind.LONG;
+        } else if (storage instanceof DoubleSequenceStorage) {
+            return Kind.DOUBLE;
+        }
+        return Kind.OBJECT;
+    }
+
+    private static Kind join(Kind a, Kind b) {
+        if (a == b || b == Kind.EMPTY) {
+            return a;
+        } else if (a == Kind.EMPTY) {
+            return b;
+        } else if ((a == Kind.INT && b == Kind.LONG) || (a == Kind.LONG && b == Kind.INT)) {
+            return Kind.LONG;
+        }
+        return Kind.OBJECT;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or data
+ * (collectively the "Software"), free of charge and under any and all copyright
+ * rights in the Software, and any and all patent rights owned or freely
+ * licensable by each licensor hereunder covering either (i) the unmodified
+ * Software as contributed to or provided by such licensor, or (ii) the Larger
+ * Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ *     one is included with the Software (each a "Larger Work" to which the
+ *     Software is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime.sequence.storage;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.reflect.Field;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import sun.misc.Unsafe;
+
+/**
+ * An off-heap copy of the elements of a primitive sequence storage. Native code receives the
+ * address of the buffer and can use plain pointer arithmetic on it, while the owning storage reads
+ * and writes its elements through the same memory.
+ *
+ * The memory lives as long as the owner, i.e., the native wrapper of the Python object that native
+ * code holds a reference to. The mirror keeps its owner alive, so the memory cannot go away while
+ * the storage still uses it either. Memory of unreachable owners is freed by a daemon thread once
+ * the garbage collector enqueued them, and memory replaced by {@link #reallocate(int)} is freed
+ * immediately, just like {@code realloc} would in CPython.
+ */
+public final class NativeMirror {
+
+    private static final Unsafe UNSAFE = getUnsafe();
+
+    private static final ReferenceQueue<Object> unreachableOwners = new ReferenceQueue<>();
+    // keeps the deallocators alive until their owner became unreachable
+    private static final Set<Deallocator> deallocators = ConcurrentHashMap.newKeySet();
+
+    @SuppressWarnings("unused") private final Object owner;
+    private final Deallocator deallocator;
+    private long address;
+    private int capacity;
+
+    private NativeMirror(Object owner, long address, int capacity) {
+        this.owner = owner;
+        this.address = address;
+        this.capacity = capacity;
+        this.deallocator = new Deallocator(owner, address);
+        deallocators.add(deallocator);
+    }
+
+    @TruffleBoundary
+    static NativeMirror allocate(Object owner, int capacity) {
+        DEALLOCATOR_THREAD.ensureStarted();
+        return new NativeMirror(owner, UNSAFE.allocateMemory(capacity), capacity);
+    }
+
+    /**
+     * Replaces the memory by a new buffer of the given capacity. The old buffer is freed, so any
+     * pointer native code still holds into it becomes invalid.
+     */
+    @TruffleBoundary
+    void reallocate(int newCapacity) {
+        long newAddress = UNSAFE.allocateMemory(newCapacity);
+        UNSAFE.freeMemory(address);
+        address = newAddress;
+        capacity = newCapacity;
+        deallocator.address = newAddress;
+    }
+
+    private static final DeallocatorThread DEALLOCATOR_THREAD = new DeallocatorThread();
+
+    /**
+     * Frees the memory of mirrors whose owners became unreachable, without waiting for another
+     * mirror to be allocated.
+     */
+    private static final class DeallocatorThread extends Thread {
+        private volatile boolean started;
+
+        private DeallocatorThread() {
+            super("graalpython-native-mirror-deallocator");
+            setDaemon(true);
+        }
+
+        private void ensureStarted() {
+            if (!started) {
+                synchronized (this) {
+                    if (!started) {
+                        start();
+                        started = true;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                try {
+                    Deallocator deallocator = (Deallocator) unreachableOwners.remove();
+                    deallocators.remove(deallocator);
+                    UNSAFE.freeMemory(deallocator.address);
+                } catch (InterruptedException e) {
+                    // keep freeing memory for as long as the VM runs
+                }
+            }
+        }
+    }
+
+    public long getAddress() {
+        return address;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    byte getByte(int idx) {
+        assert idx >= 0 && idx < capacity;
+        return UNSAFE.getByte(address + idx);
+    }
+
+    void putByte(int idx, byte value) {
+        assert idx >= 0 && idx < capacity;
+        UNSAFE.putByte(address + idx, value);
+    }
+
+    /**
+     * Moves {@code length} bytes from {@code from} to {@code to}, which may overlap.
+     */
+    void move(int from, int to, int length) {
+        assert from + length <= capacity && to + length <= capacity;
+        UNSAFE.copyMemory(address + from, address + to, length);
+    }
+
+    void copyFrom(byte[] src, int length) {
+        assert length <= capacity;
+        UNSAFE.copyMemory(src, Unsafe.ARRAY_BYTE_BASE_OFFSET, null, address, length);
+    }
+
+    void copyTo(byte[] dest, int length) {
+        assert length <= capacity && length <= dest.length;
+        UNSAFE.copyMemory(null, address, dest, Unsafe.ARRAY_BYTE_BASE_OFFSET, length);
+    }
+
+    private static final class Deallocator extends PhantomReference<Object> {
+        private volatile long address;
+
+        private Deallocator(Object owner, long address) {
+            super(owner, unreachableOwners);
+            this.address = address;
+        }
+    }
+
+    private static Unsafe getUnsafe() {
+        try {
+            return Unsafe.getUnsafe();
+        } catch (SecurityException e) {
+        }
+        try {
+            Field theUnsafeInstance = Unsafe.class.getDeclaredField("theUnsafe");
+            theUnsafeInstance.setAccessible(true);
+            return (Unsafe) theUnsafeInstance.get(Unsafe.class);
+        } catch (Exception e) {
+            throw new RuntimeException("exception while trying to get Unsafe.theUnsafe via reflection:", e);
+        }
+    }
+}
@@ -26,13 +26,16 @@
 package com.oracle.graal.python.runtime.sequence.storage;
 
 import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.runtime.CacheStatistics;
+import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonOptions;
-import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
 
 public abstract class SequenceStorage {
 
-    @CompilationFinal private static boolean LOG_GENERALIZATION = false;
+    private static final Assumption noGeneralizationTracing = Truffle.getRuntime().createAssumption("no sequence storage generalization tracing");
 
     public abstract int length();
 
@@ -96,21 +99,36 @@ public abstract class SequenceStorage {
         return count;
     }
 
-    protected void logGeneralization() {
-        // TODO(ls): this is expensive
-        if (LOG_GENERALIZATION && PythonOptions.getOption(PythonLanguage.getContext(), PythonOptions.TraceSequenceStorageGeneralization)) {
-            printGeneralization("ObjectSequenceStorage");
-        }
+    /**
+     * Called by contexts that enable the {@link PythonOptions#TraceSequenceStorageGeneralization}
+     * option. Generalizations are only printed for those contexts; the assumption just lets the
+     * check fold away as long as no context enabled the option.
+     */
+    @TruffleBoundary
+    public static void enableGeneralizationTracing() {
+        noGeneralizationTracing.invalidate();
     }
 
     protected void logGeneralization(SequenceStorage storage) {
-        if (LOG_GENERALIZATION && PythonOptions.getOption(PythonLanguage.getContext(), PythonOptions.TraceSequenceStorageGeneralization)) {
+        if (!noGeneralizationTracing.isValid()) {
             printGeneralization(storage);
         }
+        if (CacheStatistics.isEnabled()) {
+            CacheStatistics.recordGeneralization(this, storage);
+        }
     }
 
     @TruffleBoundary
     private void printGeneralization(Object storage) {
-        System.out.println("[GraalPython]" + this + " generalizing to " + storage);
+        PythonContext context;
+        try {
+            context = PythonLanguage.getContext();
+        } catch (IllegalStateException e) {
+            // no context is entered on this thread
+            return;
+        }
+        if (context != null && PythonOptions.getOption(context, PythonOptions.TraceSequenceStorageGeneralization)) {
+            System.out.println("[GraalPython] " + getClass().getSimpleName() + " generalizing to " + storage.getClass().getSimpleName());
+        }
     }
 }
@@ -29,8 +29,9 @@ public abstract class TypedSequenceStorage extends BasicSequenceStorage {
 
     @Override
     public final ObjectSequenceStorage generalizeFor(Object value) {
-        logGeneralization();
-        return new ObjectSequenceStorage(getInternalArray());
+        ObjectSequenceStorage generalized = new ObjectSequenceStorage(getInternalArray());
+        logGeneralization(generalized);
+        return generalized;
     }
 
     @Override
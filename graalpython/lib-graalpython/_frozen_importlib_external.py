@@ -52,3 +52,41 @@ if lib_python is None:
 
 _imp._truffle_bootstrap_file_into_module(lib_python + "/importlib/_bootstrap_external.py", "_frozen_importlib_external")
 sys.modules[__name__] = sys.modules['_frozen_importlib_external']
+
+
+_FileFinder_find_spec = FileFinder.find_spec
+_FileFinder_invalidate_caches = FileFinder.invalidate_caches
+
+
+def find_spec(self, fullname, target=None):
+    """Try to find a spec for the specified module.
+
+    Returns the matching spec, or None if not found. The directory listings
+    are cached in Java and refreshed when the directory's mtime changes.
+    """
+    if _relax_case():
+        return _FileFinder_find_spec(self, fullname, target)
+    tail_module = fullname.rpartition('.')[2]
+    found = _imp._truffle_find_module_file(self.path, tail_module, tuple(suffix for suffix, _ in self._loaders))
+    if found is None:
+        return None
+    full_path, index, base_path = found
+    if index < 0:
+        _bootstrap._verbose_message('possible namespace for {}', base_path)
+        spec = _bootstrap.ModuleSpec(fullname, None)
+        spec.submodule_search_locations = [base_path]
+        return spec
+    smsl = None if base_path is None else [base_path]
+    return self._get_spec(self._loaders[index][1], fullname, full_path, smsl, target)
+
+
+def invalidate_caches(self):
+    """Invalidate the directory mtime and the cached listing."""
+    _FileFinder_invalidate_caches(self)
+    _imp._truffle_invalidate_path_cache(self.path)
+
+
+FileFinder.find_spec = find_spec
+FileFinder.invalidate_caches = invalidate_caches
+del find_spec
+del invalidate_caches
@@ -115,13 +115,6 @@ def PyDict_Next(dictObj, pos):
     return error_handler
 
 
-@may_raise(-1)
-def PyDict_Size(dictObj):
-    if not isinstance(dictObj, dict):
-        raise TypeError('expected dict, {!s} found'.format(type(dictObj)))
-    return len(dictObj)
-
-
 @may_raise(None)
 def PyDict_Copy(dictObj):
     if not isinstance(dictObj, dict):
@@ -129,29 +122,6 @@ def PyDict_Copy(dictObj):
     return dictObj.copy()
 
 
-@may_raise
-def PyDict_GetItem(dictObj, key):
-    if not isinstance(dictObj, dict):
-        raise TypeError('expected dict, {!s} found'.format(type(dictObj)))
-    return dictObj.get(key, error_handler)
-
-
-@may_raise(-1)
-def PyDict_SetItem(dictObj, key, value):
-    if not isinstance(dictObj, dict):
-        raise TypeError('expected dict, {!s} found'.format(type(dictObj)))
-    dictObj[key] = value
-    return 0
-
-
-@may_raise(-1)
-def PyDict_DelItem(dictObj, key):
-    if not isinstance(dictObj, dict):
-        raise TypeError('expected dict, {!s} found'.format(type(dictObj)))
-    del dictObj[key]
-    return 0
-
-
 ##################### SET, FROZENSET
 
 
@@ -201,6 +171,10 @@ def PyBytes_FromStringAndSize(string, encoding):
     return bytes(string, encoding)
 
 
+def PyTruffle_Bytes_EmptyWithCapacity(size):
+    return bytes(size)
+
+
 def PyBytes_AsStringCheckEmbeddedNull(obj, encoding):
     if not PyBytes_Check(obj):
         raise TypeError('expected bytes, {!s} found'.format(type(obj)))
@@ -237,33 +211,6 @@ def PyList_New(size):
     return [None] * size
 
 
-@may_raise
-def PyList_GetItem(listObj, pos):
-    if not isinstance(listObj, list):
-        _PyErr_BadInternalCall(None, None, listObj)
-    if pos < 0:
-        raise IndexError("list index out of range")
-    return listObj[pos]
-
-
-@may_raise(-1)
-def PyList_SetItem(listObj, pos, newitem):
-    if not isinstance(listObj, list):
-        _PyErr_BadInternalCall(None, None, listObj)
-    if pos < 0:
-        raise IndexError("list assignment index out of range")
-    listObj[pos] = newitem
-    return 0
-
-
-@may_raise(-1)
-def PyList_Append(listObj, newitem):
-    if not isinstance(listObj, list):
-        _PyErr_BadInternalCall(None, None, listObj)
-    listObj.append(newitem)
-    return 0
-
-
 @may_raise
 def PyList_AsTuple(listObj):
     if not isinstance(listObj, list):
@@ -278,13 +225,6 @@ def PyList_GetSlice(listObj, ilow, ihigh):
     return listObj[ilow:ihigh]
 
 
-@may_raise(-1)
-def PyList_Size(listObj):
-    if not isinstance(listObj, list):
-        _PyErr_BadInternalCall(None, None, listObj)
-    return len(listObj)
-
-
 ##################### LONG
 
 @may_raise
@@ -340,34 +280,6 @@ def PyNumber_Check(v):
     return _safe_check(v, lambda x: isinstance(int(x), int)) or _safe_check(v, lambda x: isinstance(float(x), float))
 
 
-@may_raise
-def PyNumber_BinOp(v, w, binop, name):
-    if binop == 0:
-        return v + w
-    elif binop == 1:
-        return v - w
-    elif binop == 2:
-        return v * w
-    elif binop == 3:
-        return v / w
-    elif binop == 4:
-        return v << w
-    elif binop == 5:
-        return v >> w
-    elif binop == 6:
-        return v | w
-    elif binop == 7:
-        return v & w
-    elif binop == 8:
-        return v ^ w
-    elif binop == 9:
-        return v // w
-    elif binop == 10:
-        return v % w
-    else:
-        raise SystemError("unknown binary operator %s" % name)
-
-
 @may_raise
 def PyNumber_UnaryOp(v, unaryop, name):
     if unaryop == 0:
@@ -403,11 +315,6 @@ def PyNumber_Long(v):
     return int(v)
 
 
-@may_raise
-def PyIter_Next(itObj):
-    return next(itObj)
-
-
 ##################### SEQUENCE
 
 
@@ -433,15 +340,6 @@ def PySequence_Check(obj):
     return hasattr(obj, '__getitem__')
 
 
-@may_raise
-def PySequence_GetItem(obj, key):
-    if not hasattr(obj, '__getitem__'):
-        raise TypeError("'%s' object does not support indexing)" % repr(obj))
-    if len(obj) < 0:
-        return error_marker
-    return obj[key]
-
-
 @may_raise(-1)
 def PySequence_SetItem(obj, key, value):
     if not hasattr(obj, '__setitem__'):
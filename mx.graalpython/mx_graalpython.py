@@ -38,7 +38,8 @@ import mx_gate
 import mx_subst
 from mx_downstream import testdownstream
 from mx_gate import Task
-from mx_graalpython_benchmark import PythonBenchmarkSuite
+from mx_graalpython_benchmark import PythonBenchmarkSuite, PythonJMHBenchmarkSuite, PythonStartupBenchmarkSuite, \
+    PythonMemoryBenchmarkSuite
 from mx_unittest import unittest
 from mx_urlrewrites import _urlrewrites
 
@@ -686,6 +687,9 @@ def python_checkcopyrights(args):
 # ----------------------------------------------------------------------------------------------------------------------
 for py_bench_suite in PythonBenchmarkSuite.get_benchmark_suites():
     mx_benchmark.add_bm_suite(py_bench_suite)
+mx_benchmark.add_bm_suite(PythonJMHBenchmarkSuite())
+mx_benchmark.add_bm_suite(PythonStartupBenchmarkSuite())
+mx_benchmark.add_bm_suite(PythonMemoryBenchmarkSuite())
 
 
 # ----------------------------------------------------------------------------------------------------------------------
@@ -28,6 +28,8 @@ py = ".py"
 pathBench = "graalpython/benchmarks/src/benchmarks/"
 pathMicro = "graalpython/benchmarks/src/micro/"
 pathInterop = "graalpython/benchmarks/src/interop/"
+pathStartup = "graalpython/benchmarks/src/startup/"
+pathMemory = "graalpython/benchmarks/src/memory/"
 
 
 def _compile_interop():
@@ -122,7 +124,9 @@ pythonMicroBenchmarks = {
     'list-iterating': [],
     'math-sqrt': [],
     # 'object-allocate': [],
+    'object-allocate-slots': [],
     # 'object-layout-change': [],
+    'object-layout-change-slots': [],
     # 'special-add': [],
     # 'special-add-int': [],
     # 'special-len': [],
@@ -144,6 +148,35 @@ pythonInteropBenchmarks = {
     'for-range-cext': [],
 }
 
+# ----------------------------------------------------------------------------------------------------------------------
+#
+# the startup benchmarks, their wall time is measured by mx
+#
+# ----------------------------------------------------------------------------------------------------------------------
+pythonStartupBenchmarks = {
+    'startup': [],
+    'import-re': [],
+    'import-json': [],
+    'import-collections': [],
+    'import-datetime': [],
+}
+
+startup_benchmarks = [pathStartup, pythonStartupBenchmarks]
+
+# ----------------------------------------------------------------------------------------------------------------------
+#
+# the memory benchmarks, they report the bytes retained per object
+#
+# ----------------------------------------------------------------------------------------------------------------------
+pythonMemoryBenchmarks = {
+    'small-objects': [],
+    'dict-of-strings': [],
+    'nested-lists': [],
+    'tuples-of-ints': [],
+}
+
+memory_benchmarks = [pathMemory, pythonMemoryBenchmarks]
+
 # helper list
 
 benchmarks_list = {
@@ -25,11 +25,12 @@ from __future__ import print_function
 import argparse
 import re
 import os
+import time
 from abc import ABCMeta, abstractproperty, abstractmethod
 from os.path import join, exists
 import mx
-from mx_benchmark import StdOutRule, VmRegistry, java_vm_registry, Vm, GuestVm, VmBenchmarkSuite
-from mx_graalpython_bench_param import benchmarks_list
+from mx_benchmark import StdOutRule, VmRegistry, java_vm_registry, Vm, GuestVm, VmBenchmarkSuite, JMHRunnerBenchmarkSuite
+from mx_graalpython_bench_param import benchmarks_list, startup_benchmarks, memory_benchmarks
 
 # ----------------------------------------------------------------------------------------------------------------------
 #
@@ -49,8 +50,12 @@ VM_NAME_CPYTHON = "cpython"
 VM_NAME_PYPY = "pypy"
 GROUP_GRAAL = "Graal"
 SUBGROUP_TRUFFLE_PYTHON = "graalpython"
+JMH_SUITE_NAME = "python-jmh"
 PYTHON_VM_REGISTRY_NAME = "Python"
 CONFIGURATION_DEFAULT = "default"
+CONFIGURATION_STARTUP_PROFILE = "startup-profile"
+STARTUP_SUITE_NAME = "python-startup"
+MEMORY_SUITE_NAME = "python-memory"
 _HRULE = ''.join(['-' for _ in range(120)])
 
 
@@ -146,9 +151,17 @@ class PyPyVm(AbstractPythonVm):
 
 
 class GraalPythonVm(GuestVm):
+    def __init__(self, config_name=CONFIGURATION_DEFAULT, options=None, host_vm=None):
+        super(GraalPythonVm, self).__init__(host_vm=host_vm)
+        self._config_name = config_name
+        self._options = options
+
     def hosting_registry(self):
         return java_vm_registry
 
+    def with_host_vm(self, host_vm):
+        return self.__class__(config_name=self._config_name, options=self._options, host_vm=host_vm)
+
     def run(self, cwd, args):
         _check_vm_args(self.name(), args)
 
@@ -161,7 +174,7 @@ class GraalPythonVm(GuestVm):
             '-cp',
             mx.classpath(["com.oracle.graal.python", "com.oracle.graal.python.shell"]),
             "com.oracle.graal.python.shell.GraalPythonMain"
-        ]
+        ] + (self._options or [])
 
         cmd = truffle_options + vm_args + args
         return self.host_vm().run(cwd, cmd)
@@ -170,7 +183,7 @@ class GraalPythonVm(GuestVm):
         return VM_NAME_TRUFFLE_PYTHON
 
     def config_name(self):
-        return CONFIGURATION_DEFAULT
+        return self._config_name
 
 
 # ----------------------------------------------------------------------------------------------------------------------
@@ -252,6 +265,142 @@ class PythonBenchmarkSuite(VmBenchmarkSuite):
         return [cls(suite_name) for suite_name in benchmarks_list]
 
 
+class PythonScriptBenchmarkSuite(PythonBenchmarkSuite):
+    """
+    A suite of scripts that take no arguments and report their own metrics.
+    """
+    def __init__(self, name, benchmarks):
+        self._name = name
+        self._bench_path, self._benchmarks = benchmarks
+        self._bench_path = join(_truffle_python_suite.dir, self._bench_path)
+
+    def createVmCommandLineArgs(self, benchmarks, run_args):
+        if not benchmarks or len(benchmarks) != 1:
+            mx.abort("Please run a specific benchmark (mx benchmark {}:<benchmark-name>) or all the benchmarks "
+                     "(mx benchmark {}:*)".format(self.name(), self.name()))
+        return [join(self._bench_path, "{}.py".format(benchmarks[0]))]
+
+
+class PythonStartupBenchmarkSuite(PythonScriptBenchmarkSuite):
+    """
+    Runs each benchmark in a new process and reports the wall time of the whole process, as well as
+    the cold and warm import times the import benchmarks print. The warm import is a re-import in
+    the same process after the package was removed from sys.modules (see _startup.py). With the graalpython VM in the
+    'startup-profile' configuration, the time spent bootstrapping, parsing, translating and
+    executing each core file is reported, too.
+    """
+    def __init__(self):
+        super(PythonStartupBenchmarkSuite, self).__init__(STARTUP_SUITE_NAME, startup_benchmarks)
+
+    def runAndReturnStdOut(self, benchmarks, bmSuiteArgs):
+        start = time.time()
+        ret_code, out, dims = super(PythonStartupBenchmarkSuite, self).runAndReturnStdOut(benchmarks, bmSuiteArgs)
+        wall_time = time.time() - start
+        return ret_code, "{}\nstartup-wall-time: {:.6f}\n".format(out, wall_time), dims
+
+    def rules(self, output, benchmarks, bm_suite_args):
+        bench_name = '{}.{}'.format(self._name, os.path.basename(os.path.splitext(benchmarks[0])[0]))
+
+        def time_rule(pattern, metric_name, unit="s", **extra):
+            replacement = {
+                "benchmark": bench_name,
+                "metric.name": metric_name,
+                "metric.type": "numeric",
+                "metric.value": ("<time>", float),
+                "metric.unit": unit,
+                "metric.score-function": "id",
+                "metric.better": "lower",
+            }
+            replacement.update(extra)
+            return StdOutRule(pattern, replacement)
+
+        rules = [
+            time_rule(r"^startup-wall-time: (?P<time>[0-9]+(\.[0-9]+)?)$", "time"),
+            time_rule(r"^import-[a-zA-Z0-9_.]+-cold: (?P<time>[0-9]+(\.[0-9]+)?)$", "cold-import-time"),
+            time_rule(r"^import-[a-zA-Z0-9_.]+-warm: (?P<time>[0-9]+(\.[0-9]+)?)$", "warm-import-time"),
+        ]
+        # the rows of the startup profile: unit, then bootstrap, parse, translate and execute times in ms
+        profile_row = r"^(?P<unit>[^\s]+)" + r"\s+(?P<{}>[0-9]+\.[0-9]+)" * 4 + r"$"
+        for phase in ["bootstrap", "parse", "translate", "execute"]:
+            pattern = profile_row.format(*["time" if p == phase else p for p in ["bootstrap", "parse", "translate", "execute"]])
+            rules.append(time_rule(pattern, "{}-time".format(phase), unit="ms", **{"metric.object": ("<unit>", str)}))
+        return rules
+
+    def successPatterns(self):
+        # the last line each script prints, the wall time line is appended by runAndReturnStdOut
+        return [
+            re.compile(r"^startup: 1$", re.MULTILINE),
+            re.compile(r"^import-[a-zA-Z0-9_.]+-warm: [0-9]+(\.[0-9]+)?$", re.MULTILINE)
+        ]
+
+
+class PythonMemoryBenchmarkSuite(PythonScriptBenchmarkSuite):
+    """
+    Builds object graphs and reports the bytes they retain per object. On graalpython, the number of
+    instances and the bytes each Python type and Java class adds to the heap is reported, too.
+    """
+    def __init__(self):
+        super(PythonMemoryBenchmarkSuite, self).__init__(MEMORY_SUITE_NAME, memory_benchmarks)
+
+    def rules(self, output, benchmarks, bm_suite_args):
+        bench_name = '{}.{}'.format(self._name, os.path.basename(os.path.splitext(benchmarks[0])[0]))
+        return [
+            StdOutRule(
+                r"^[a-zA-Z0-9\-]+-bytes-per-object: (?P<bytes>[0-9]+(\.[0-9]+)?)$",
+                {
+                    "benchmark": bench_name,
+                    "metric.name": "memory",
+                    "metric.type": "numeric",
+                    "metric.value": ("<bytes>", float),
+                    "metric.unit": "B",
+                    "metric.score-function": "id",
+                    "metric.better": "lower",
+                }
+            ),
+            StdOutRule(
+                r"^type (?P<type>[^\s]+): (?P<instances>[0-9]+) (?P<bytes>[0-9]+)$",
+                {
+                    "benchmark": bench_name,
+                    "metric.name": "type-memory",
+                    "metric.object": ("<type>", str),
+                    "metric.type": "numeric",
+                    "metric.value": ("<bytes>", int),
+                    "metric.unit": "B",
+                    "metric.score-function": "id",
+                    "metric.better": "lower",
+                }
+            ),
+        ]
+
+    def successPatterns(self):
+        return [
+            re.compile(r"^[a-zA-Z0-9\-]+-bytes-per-object: [0-9]+(\.[0-9]+)?$", re.MULTILINE)
+        ]
+
+
+class PythonJMHBenchmarkSuite(JMHRunnerBenchmarkSuite):
+    """
+    Runs the JMH benchmarks of the interpreter internals in com.oracle.graal.python.benchmarks, e.g.
+    'mx benchmark python-jmh' or, for a subset, 'mx benchmark python-jmh -- -- EconomicMapStorageBenchmark'.
+    The GC profiler is always enabled, so allocation rates are reported next to the times.
+    """
+    def name(self):
+        return JMH_SUITE_NAME
+
+    def group(self):
+        return GROUP_GRAAL
+
+    def subgroup(self):
+        return SUBGROUP_TRUFFLE_PYTHON
+
+    def extraVmArgs(self):
+        return ["-Dpython.home=%s" % join(_truffle_python_suite.dir, "graalpython")] + \
+            super(PythonJMHBenchmarkSuite, self).extraVmArgs()
+
+    def runArgs(self, bmSuiteArgs):
+        return ["-prof", "gc"] + super(PythonJMHBenchmarkSuite, self).runArgs(bmSuiteArgs)
+
+
 # ----------------------------------------------------------------------------------------------------------------------
 #
 # register locally VMs
@@ -261,3 +410,4 @@ python_vm_registry = VmRegistry(PYTHON_VM_REGISTRY_NAME, known_host_registries=[
 python_vm_registry.add_vm(CPythonVm(CONFIGURATION_DEFAULT), _truffle_python_suite)
 python_vm_registry.add_vm(PyPyVm(CONFIGURATION_DEFAULT), _truffle_python_suite)
 python_vm_registry.add_vm(GraalPythonVm(), _truffle_python_suite, 10)
+python_vm_registry.add_vm(GraalPythonVm(CONFIGURATION_STARTUP_PROFILE, ["--python.StartupProfile=true"]), _truffle_python_suite)
@@ -144,6 +144,21 @@ suite = {
             "workingSets": "Truffle,Python",
         },
 
+        # GRAALPYTHON BENCHMARKS
+        "com.oracle.graal.python.benchmarks": {
+            "subDir": "graalpython",
+            "sourceDirs": ["src"],
+            "dependencies": [
+                "com.oracle.graal.python",
+                "sdk:GRAAL_SDK",
+                "mx:JMH_1_18",
+            ],
+            "checkstyle": "com.oracle.graal.python",
+            "javaCompliance": "1.8",
+            "annotationProcessors": ["mx:JMH_1_18"],
+            "workingSets": "Truffle,Python",
+        },
+
         "com.oracle.graal.python.tck": {
             "subDir": "graalpython",
             "sourceDirs": ["src"],